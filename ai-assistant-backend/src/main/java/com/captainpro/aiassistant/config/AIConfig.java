@@ -0,0 +1,69 @@
+package com.captainpro.aiassistant.config;
+
+import com.captainpro.aiassistant.service.CachingChatClient;
+import com.captainpro.aiassistant.service.InFlightRequestRegistry;
+import com.captainpro.aiassistant.service.ModelCallBulkhead;
+import com.captainpro.aiassistant.service.ResponseCache;
+import org.springframework.ai.chat.ChatClient;
+import org.springframework.ai.chat.StreamingChatClient;
+import org.springframework.ai.openai.OpenAiChatClient;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.client.ClientHttpRequestFactories;
+import org.springframework.boot.web.client.ClientHttpRequestFactorySettings;
+import org.springframework.boot.web.client.RestClientCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+import java.time.Duration;
+
+/**
+ * AI Configuration
+ * 
+ * Wires the chat model client used by the AI services:
+ * - OpenAI chat client from Spring AI auto-configuration, with connect and read
+ *   timeouts so a stalled model call fails instead of hanging its callers
+ * - Prompt-response cache in front of it
+ * - Single-flight coalescing of identical concurrent prompts
+ * - Bulkhead bounding concurrent calls that reach the model
+ */
+@Configuration
+public class AIConfig {
+
+    /**
+     * HTTP timeouts of the OpenAI client. Coalesced callers wait as long as the read
+     * timeout allows, so slow completions must fit within it.
+     */
+    @Bean
+    public RestClientCustomizer aiRestClientCustomizer(@Value("${app.ai.connect-timeout:5000}") long connectTimeout,
+                                                       @Value("${app.ai.response-timeout:120000}") long responseTimeout) {
+        ClientHttpRequestFactorySettings settings = ClientHttpRequestFactorySettings.DEFAULTS
+            .withConnectTimeout(Duration.ofMillis(connectTimeout))
+            .withReadTimeout(Duration.ofMillis(responseTimeout));
+        return builder -> builder.requestFactory(ClientHttpRequestFactories.get(settings));
+    }
+
+    /**
+     * Chat client used by the AI services
+     */
+    @Bean
+    @Primary
+    public CachingChatClient chatClient(OpenAiChatClient openAiChatClient,
+                                        ResponseCache responseCache,
+                                        ResponseCacheProperties responseCacheProperties,
+                                        InFlightRequestRegistry inFlightRequestRegistry,
+                                        ModelCallBulkhead modelCallBulkhead) {
+        ChatClient bounded = prompt -> modelCallBulkhead.call(() -> openAiChatClient.call(prompt));
+        return new CachingChatClient(bounded, responseCache, responseCacheProperties, inFlightRequestRegistry);
+    }
+
+    /**
+     * Streaming chat client used by the AI services
+     */
+    @Bean
+    @Primary
+    public StreamingChatClient streamingChatClient(OpenAiChatClient openAiChatClient,
+                                                   ModelCallBulkhead modelCallBulkhead) {
+        return prompt -> modelCallBulkhead.stream(() -> openAiChatClient.stream(prompt));
+    }
+}
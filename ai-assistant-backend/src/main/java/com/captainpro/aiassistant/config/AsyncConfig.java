@@ -0,0 +1,177 @@
+package com.captainpro.aiassistant.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Async Configuration
+ * 
+ * Bounded executors for concurrent service work:
+ * - Insights fan-out (sub-generators of comprehensive insights)
+ * - Background refresh-ahead of cache entries
+ * - Named workload executors (ai, analytics-ingest, notification, report, scheduler, outbox)
+ *   sized from {@code app.executors}
+ *
+ * Every executor exports queue depth, active threads and pool size gauges plus
+ * queue-wait ({@code executor.idle}) and execution ({@code executor}) timers, tagged by name.
+ * Notification delivery runs on its own per-channel lanes (see NotificationDeliveryEngine).
+ */
+@Configuration
+@RequiredArgsConstructor
+public class AsyncConfig {
+
+    private final ExecutorProperties executorProperties;
+    private final MeterRegistry meterRegistry;
+    private final Environment environment;
+
+    /**
+     * Executor for blocking chat model work
+     */
+    @Bean(name = "aiExecutor")
+    public ThreadPoolTaskExecutor aiExecutor() {
+        return workloadExecutor("ai");
+    }
+
+    /**
+     * Executor for writing analytics ingestion batches
+     */
+    @Bean(name = "analyticsIngestExecutor")
+    public ThreadPoolTaskExecutor analyticsIngestExecutor() {
+        return workloadExecutor("analytics-ingest");
+    }
+
+    /**
+     * Executor for {@code @Async} notification sends; rejects when saturated so callers can retry
+     */
+    @Bean(name = "notificationExecutor")
+    public ThreadPoolTaskExecutor notificationExecutor() {
+        return workloadExecutor("notification");
+    }
+
+    /**
+     * Executor for report, analysis and action processing
+     */
+    @Bean(name = "reportExecutor")
+    public ThreadPoolTaskExecutor reportExecutor() {
+        return workloadExecutor("report");
+    }
+
+    /**
+     * Executor for batches of due tasks fired by the time wheel scheduler
+     */
+    @Bean(name = "schedulerExecutor")
+    public ThreadPoolTaskExecutor schedulerExecutor() {
+        return workloadExecutor("scheduler");
+    }
+
+    /**
+     * Executor for outbox handlers and the acknowledgement of published outbox batches
+     */
+    @Bean(name = "outboxExecutor")
+    public ThreadPoolTaskExecutor outboxExecutor() {
+        return workloadExecutor("outbox");
+    }
+
+    /**
+     * Executor for the parallel sub-generators of comprehensive insights
+     */
+    @Bean(name = "insightsExecutor")
+    public ThreadPoolTaskExecutor insightsExecutor(
+            @Value("${app.insights.executor.core-size:8}") int coreSize,
+            @Value("${app.insights.executor.max-size:32}") int maxSize,
+            @Value("${app.insights.executor.queue-capacity:200}") int queueCapacity) {
+        
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix("insights-");
+        executor.setCorePoolSize(coreSize);
+        executor.setMaxPoolSize(maxSize);
+        executor.setQueueCapacity(queueCapacity);
+        // When saturated, reject the sub-generator; its section is reported as incomplete so the
+        // request still returns within its deadline
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(10);
+        executor.setTaskDecorator(timed("insights"));
+        executor.initialize();
+        return instrument(executor, "insights");
+    }
+
+    /**
+     * Executor for background refresh-ahead of cache entries
+     */
+    @Bean(name = "cacheRefreshExecutor")
+    public ThreadPoolTaskExecutor cacheRefreshExecutor(
+            @Value("${app.cache.refresh-executor.core-size:2}") int coreSize,
+            @Value("${app.cache.refresh-executor.max-size:8}") int maxSize,
+            @Value("${app.cache.refresh-executor.queue-capacity:100}") int queueCapacity) {
+        
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix("cache-refresh-");
+        executor.setCorePoolSize(coreSize);
+        executor.setMaxPoolSize(maxSize);
+        executor.setQueueCapacity(queueCapacity);
+        // When saturated, skip the refresh; the entry is recomputed on expiry instead
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.setTaskDecorator(timed("cache-refresh"));
+        executor.initialize();
+        return instrument(executor, "cache-refresh");
+    }
+
+    // Helper methods
+
+    private ThreadPoolTaskExecutor workloadExecutor(String name) {
+        ExecutorProperties.Pool pool = executorProperties.poolFor(name);
+        
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix(name + "-");
+        executor.setCorePoolSize(pool.getCoreSize());
+        executor.setMaxPoolSize(pool.getMaxSize());
+        executor.setQueueCapacity(pool.getQueueCapacity());
+        executor.setKeepAliveSeconds((int) pool.getKeepAlive().toSeconds());
+        executor.setRejectedExecutionHandler(pool.getRejectionPolicy().handler());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationMillis(pool.getShutdownTimeout().toMillis());
+        // Pool bounds still apply; only the carrier of each task changes
+        executor.setVirtualThreads(Threading.VIRTUAL.isActive(environment));
+        executor.setTaskDecorator(timed(name));
+        executor.initialize();
+        return instrument(executor, name);
+    }
+
+    private ThreadPoolTaskExecutor instrument(ThreadPoolTaskExecutor executor, String name) {
+        new ExecutorServiceMetrics(executor.getThreadPoolExecutor(), name, Tags.empty()).bindTo(meterRegistry);
+        return executor;
+    }
+
+    private TaskDecorator timed(String name) {
+        Timer idle = Timer.builder("executor.idle")
+            .description("Time tasks spend queued before they start")
+            .tag("name", name)
+            .register(meterRegistry);
+        Timer execution = Timer.builder("executor")
+            .description("Time tasks spend running")
+            .tag("name", name)
+            .register(meterRegistry);
+        
+        return task -> {
+            long queuedAt = System.nanoTime();
+            return () -> {
+                idle.record(System.nanoTime() - queuedAt, TimeUnit.NANOSECONDS);
+                execution.record(task);
+            };
+        };
+    }
+}
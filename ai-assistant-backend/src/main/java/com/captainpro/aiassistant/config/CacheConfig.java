@@ -0,0 +1,88 @@
+package com.captainpro.aiassistant.config;
+
+import com.captainpro.aiassistant.service.CacheInvalidationBus;
+import com.captainpro.aiassistant.service.CacheValueCodec;
+import com.captainpro.aiassistant.service.TieredCacheManager;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.data.redis.serializer.RedisSerializationContext;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Executor;
+
+/**
+ * Cache Configuration
+ *
+ * Wires the cache manager behind the {@code @Cacheable} regions:
+ * - Redis (L2) shared by all nodes, with per-region TTL
+ * - In-process Caffeine (L1) per node, with per-region TTL and size
+ * - Redis pub/sub invalidation of L1 copies on other nodes
+ * - Compact, optionally compressed encoding of Redis values
+ * - Per-key stampede protection and refresh-ahead
+ */
+@Configuration
+public class CacheConfig {
+
+    @Bean
+    public CacheInvalidationBus cacheInvalidationBus(StringRedisTemplate redisTemplate,
+                                                     ObjectMapper objectMapper,
+                                                     TieredCacheProperties properties,
+                                                     MeterRegistry meterRegistry) {
+        return new CacheInvalidationBus(redisTemplate, objectMapper, properties, meterRegistry);
+    }
+
+    @Bean
+    public RedisMessageListenerContainer cacheInvalidationListenerContainer(RedisConnectionFactory connectionFactory,
+                                                                            CacheInvalidationBus invalidationBus,
+                                                                            TieredCacheProperties properties) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(invalidationBus, new ChannelTopic(properties.getInvalidationChannel()));
+        return container;
+    }
+
+    @Bean
+    public CacheManager cacheManager(RedisConnectionFactory connectionFactory,
+                                     CacheInvalidationBus invalidationBus,
+                                     TieredCacheProperties properties,
+                                     ObjectMapper objectMapper,
+                                     @Qualifier("cacheRefreshExecutor") Executor refreshExecutor,
+                                     MeterRegistry meterRegistry) {
+        Map<String, RedisCacheConfiguration> regionConfigurations = new HashMap<>();
+        properties.getRegions().keySet().forEach(name -> regionConfigurations.put(name,
+            redisCacheConfiguration(name, properties.regionFor(name), properties, objectMapper, meterRegistry)));
+
+        RedisCacheManager redisCacheManager = RedisCacheManager.builder(connectionFactory)
+            .cacheDefaults(redisCacheConfiguration(
+                "default", properties.getDefaults(), properties, objectMapper, meterRegistry))
+            .withInitialCacheConfigurations(regionConfigurations)
+            .build();
+        redisCacheManager.afterPropertiesSet();
+
+        return new TieredCacheManager(redisCacheManager, invalidationBus, properties, refreshExecutor, meterRegistry);
+    }
+
+    private RedisCacheConfiguration redisCacheConfiguration(String cacheName,
+                                                            TieredCacheProperties.Region region,
+                                                            TieredCacheProperties properties,
+                                                            ObjectMapper objectMapper,
+                                                            MeterRegistry meterRegistry) {
+        CacheValueCodec codec = new CacheValueCodec(cacheName, properties.getCodec(), properties.getCompression(),
+            properties.getCompressionThreshold(), objectMapper, meterRegistry);
+
+        return RedisCacheConfiguration.defaultCacheConfig()
+            .entryTtl(region.getTtl())
+            .serializeValuesWith(RedisSerializationContext.SerializationPair.fromSerializer(codec));
+    }
+}
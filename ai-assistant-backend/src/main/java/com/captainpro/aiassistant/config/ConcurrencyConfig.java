@@ -0,0 +1,81 @@
+package com.captainpro.aiassistant.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.task.SimpleAsyncTaskExecutorBuilder;
+import org.springframework.boot.task.ThreadPoolTaskExecutorBuilder;
+import org.springframework.boot.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.AsyncTaskExecutor;
+
+import javax.sql.DataSource;
+
+/**
+ * Concurrency Configuration
+ *
+ * Thread model for request handling and background work:
+ * - Application task executor for {@code @Async} and {@code CompletableFuture} work,
+ *   backed by virtual threads when {@code spring.threads.virtual.enabled} is set on Java 21
+ *   and by a bounded platform thread pool otherwise
+ * - In virtual-thread mode, a bulkhead in front of the JDBC connection pool
+ *
+ * Tomcat request handling switches to virtual threads through the same property.
+ */
+@Configuration
+@Slf4j
+public class ConcurrencyConfig {
+
+    /**
+     * Executor used by {@code @Async} methods and general asynchronous service work
+     */
+    @Bean(name = {"taskExecutor", TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME})
+    public AsyncTaskExecutor applicationTaskExecutor(Environment environment,
+                                                     ThreadPoolTaskExecutorBuilder threadPoolBuilder,
+                                                     SimpleAsyncTaskExecutorBuilder virtualThreadBuilder) {
+        if (Threading.VIRTUAL.isActive(environment)) {
+            log.info("Running asynchronous work on virtual threads");
+            return virtualThreadBuilder
+                .virtualThreads(true)
+                .threadNamePrefix("async-vt-")
+                .build();
+        }
+        return threadPoolBuilder
+            .threadNamePrefix("async-")
+            .build();
+    }
+
+    /**
+     * Wraps the DataSource in a bulkhead so virtual threads wait on a semaphore instead of the pool
+     */
+    @Bean
+    @ConditionalOnThreading(Threading.VIRTUAL)
+    public static BeanPostProcessor dataSourceBulkheadPostProcessor(
+            @Value("${app.datasource.bulkhead.max-concurrent:${spring.datasource.hikari.maximum-pool-size:10}}") int maxConcurrent,
+            @Value("${app.datasource.bulkhead.acquire-timeout:30000}") long acquireTimeout,
+            ObjectProvider<MeterRegistry> meterRegistry) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof DataSource dataSource) || bean instanceof BulkheadDataSource) {
+                    return bean;
+                }
+
+                BulkheadDataSource bulkhead = new BulkheadDataSource(dataSource, maxConcurrent, acquireTimeout);
+                meterRegistry.ifAvailable(registry ->
+                    Gauge.builder("db.bulkhead.available", bulkhead, BulkheadDataSource::getAvailablePermits)
+                        .description("Free database connection permits")
+                        .register(registry));
+                log.info("Bounding DataSource '{}' to {} concurrent connections", beanName, maxConcurrent);
+                return bulkhead;
+            }
+        };
+    }
+}
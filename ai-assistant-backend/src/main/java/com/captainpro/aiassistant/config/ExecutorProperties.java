@@ -0,0 +1,66 @@
+package com.captainpro.aiassistant.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * Executor Properties
+ *
+ * Sizing of the named workload executors, bound from {@code app.executors}.
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "app.executors")
+public class ExecutorProperties {
+
+    /**
+     * Pool settings per workload name
+     */
+    private Map<String, Pool> pools = new HashMap<>();
+
+    public Pool poolFor(String workload) {
+        return pools.getOrDefault(workload, new Pool());
+    }
+
+    public enum RejectionPolicy {
+        CALLER_RUNS, ABORT, DISCARD, DISCARD_OLDEST;
+
+        public RejectedExecutionHandler handler() {
+            return switch (this) {
+                case CALLER_RUNS -> new ThreadPoolExecutor.CallerRunsPolicy();
+                case ABORT -> new ThreadPoolExecutor.AbortPolicy();
+                case DISCARD -> new ThreadPoolExecutor.DiscardPolicy();
+                case DISCARD_OLDEST -> new ThreadPoolExecutor.DiscardOldestPolicy();
+            };
+        }
+    }
+
+    @Data
+    public static class Pool {
+
+        private int coreSize = 4;
+
+        private int maxSize = 16;
+
+        private int queueCapacity = 100;
+
+        private Duration keepAlive = Duration.ofSeconds(60);
+
+        /**
+         * What happens to a task when all threads are busy and the queue is full
+         */
+        private RejectionPolicy rejectionPolicy = RejectionPolicy.CALLER_RUNS;
+
+        /**
+         * How long shutdown waits for queued and running tasks
+         */
+        private Duration shutdownTimeout = Duration.ofSeconds(10);
+    }
+}
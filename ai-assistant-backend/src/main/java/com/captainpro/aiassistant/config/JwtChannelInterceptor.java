@@ -0,0 +1,92 @@
+package com.captainpro.aiassistant.config;
+
+import com.captainpro.aiassistant.service.JwtService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.lang.NonNull;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.MessageHeaderAccessor;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * JWT Channel Interceptor
+ * 
+ * Authenticates STOMP push connections. Browsers cannot set headers on the WebSocket
+ * upgrade request, so the JWT is sent in the {@code Authorization} header of the
+ * CONNECT frame instead. Authenticated clients may only subscribe to their own
+ * queues and to the live analytics topic, and may not send messages.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class JwtChannelInterceptor implements ChannelInterceptor {
+
+    public static final String ANALYTICS_TOPIC = "/topic/analytics/realtime";
+
+    private static final String AUTHORIZATION_HEADER = "Authorization";
+    private static final String BEARER_PREFIX = "Bearer ";
+    private static final String USER_QUEUE_PREFIX = "/user/queue/";
+
+    private final JwtService jwtService;
+
+    @Override
+    public Message<?> preSend(@NonNull Message<?> message, @NonNull MessageChannel channel) {
+        StompHeaderAccessor accessor = MessageHeaderAccessor.getAccessor(message, StompHeaderAccessor.class);
+        if (accessor == null || accessor.getCommand() == null) {
+            return message;
+        }
+        
+        switch (accessor.getCommand()) {
+            case CONNECT -> accessor.setUser(authenticate(accessor));
+            case SUBSCRIBE -> authorizeSubscription(accessor);
+            case SEND -> throw new AccessDeniedException("Push clients may not send to " + accessor.getDestination());
+            default -> {
+            }
+        }
+        return message;
+    }
+
+    // Helper methods
+
+    private UsernamePasswordAuthenticationToken authenticate(StompHeaderAccessor accessor) {
+        String authorizationHeader = accessor.getFirstNativeHeader(AUTHORIZATION_HEADER);
+        if (authorizationHeader == null || !authorizationHeader.startsWith(BEARER_PREFIX)) {
+            throw new BadCredentialsException("Missing bearer token on push connection");
+        }
+        
+        String jwt = authorizationHeader.substring(BEARER_PREFIX.length());
+        if (!jwtService.isTokenValid(jwt) || jwtService.isRefreshToken(jwt)) {
+            throw new BadCredentialsException("Invalid token on push connection");
+        }
+        
+        String username = jwtService.extractUsername(jwt);
+        List<String> roles = jwtService.extractRoles(jwt);
+        List<SimpleGrantedAuthority> authorities = roles.stream()
+            .map(role -> new SimpleGrantedAuthority("ROLE_" + role.toUpperCase()))
+            .collect(Collectors.toList());
+        
+        log.debug("Push connection authenticated for user: {}", username);
+        return new UsernamePasswordAuthenticationToken(username, null, authorities);
+    }
+
+    private void authorizeSubscription(StompHeaderAccessor accessor) {
+        String destination = accessor.getDestination();
+        if (accessor.getUser() == null) {
+            throw new AccessDeniedException("Unauthenticated subscription to " + destination);
+        }
+        if (destination == null
+                || !(destination.startsWith(USER_QUEUE_PREFIX) || destination.equals(ANALYTICS_TOPIC))) {
+            throw new AccessDeniedException("Subscription to " + destination + " is not allowed");
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.captainpro.aiassistant.config;
+
+import com.captainpro.aiassistant.model.NotificationChannel;
+import com.captainpro.aiassistant.service.NotificationProvider;
+import com.captainpro.aiassistant.service.StubNotificationProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Notification Delivery Configuration
+ *
+ * Local stub providers for the email, push and SMS channels, used until real providers
+ * are registered. Disable with {@code app.notifications.delivery.stub.enabled=false}.
+ * In-app notifications are always delivered by {@code InAppNotificationProvider}.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.notifications.delivery.stub.enabled", havingValue = "true", matchIfMissing = true)
+public class NotificationDeliveryConfig {
+
+    @Bean
+    public NotificationProvider emailProvider(NotificationDeliveryProperties properties) {
+        return stub(NotificationChannel.EMAIL, properties);
+    }
+
+    @Bean
+    public NotificationProvider pushProvider(NotificationDeliveryProperties properties) {
+        return stub(NotificationChannel.PUSH, properties);
+    }
+
+    @Bean
+    public NotificationProvider smsProvider(NotificationDeliveryProperties properties) {
+        return stub(NotificationChannel.SMS, properties);
+    }
+
+    // Helper methods
+
+    private NotificationProvider stub(NotificationChannel channel, NotificationDeliveryProperties properties) {
+        NotificationDeliveryProperties.Stub stub = properties.getStub();
+        return new StubNotificationProvider(channel, stub.getCallLatency(), stub.getRecipientsPerCall());
+    }
+}
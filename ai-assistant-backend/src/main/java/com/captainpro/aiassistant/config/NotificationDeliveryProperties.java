@@ -0,0 +1,78 @@
+package com.captainpro.aiassistant.config;
+
+import com.captainpro.aiassistant.model.NotificationChannel;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Notification Delivery Properties
+ *
+ * Per-channel delivery lane settings, bound from {@code app.notifications.delivery}.
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "app.notifications.delivery")
+public class NotificationDeliveryProperties {
+
+    /**
+     * Lane settings per channel key (email, push, sms, in_app)
+     */
+    private Map<String, Channel> channels = new HashMap<>();
+
+    /**
+     * Settings of the local stub providers
+     */
+    private Stub stub = new Stub();
+
+    public Channel channelFor(NotificationChannel channel) {
+        return channels.getOrDefault(channel.key(), new Channel());
+    }
+
+    @Data
+    public static class Channel {
+
+        private int workers = 2;
+
+        private int queueCapacity = 10000;
+
+        /**
+         * Most deliveries handed to the provider at once
+         */
+        private int batchSize = 100;
+
+        /**
+         * How long a worker waits for a batch to fill after its first delivery
+         */
+        private Duration linger = Duration.ofMillis(5);
+
+        /**
+         * Deliveries per second across all workers of the channel; 0 disables the limit
+         */
+        private double ratePerSecond = 0;
+
+        private int maxAttempts = 3;
+
+        /**
+         * Delay before the first retry, doubled per attempt
+         */
+        private Duration retryBackoff = Duration.ofSeconds(1);
+    }
+
+    @Data
+    public static class Stub {
+
+        private boolean enabled = true;
+
+        /**
+         * Simulated duration of one provider call
+         */
+        private Duration callLatency = Duration.ofMillis(20);
+
+        private int recipientsPerCall = 500;
+    }
+}
@@ -0,0 +1,93 @@
+package com.captainpro.aiassistant.config;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.messaging.simp.config.ChannelRegistration;
+import org.springframework.messaging.simp.config.MessageBrokerRegistry;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.web.socket.config.annotation.EnableWebSocketMessageBroker;
+import org.springframework.web.socket.config.annotation.StompEndpointRegistry;
+import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerConfigurer;
+import org.springframework.web.socket.config.annotation.WebSocketTransportRegistration;
+
+/**
+ * Push Messaging Configuration
+ * 
+ * STOMP over WebSocket push channel at {@code /api/v1/push/ws}:
+ * - In-app notifications on {@code /user/queue/notifications}
+ * - Live analytics broadcast on {@code /topic/analytics/realtime}
+ * - JWT authentication on the CONNECT frame ({@link JwtChannelInterceptor})
+ * - Bounded per-connection send buffers; a connection whose buffer overflows or whose
+ *   send stalls beyond the time limit is closed instead of slowing the broker down
+ */
+@Configuration
+@EnableWebSocketMessageBroker
+@RequiredArgsConstructor
+public class PushMessagingConfig implements WebSocketMessageBrokerConfigurer {
+
+    private final JwtChannelInterceptor jwtChannelInterceptor;
+
+    private TaskScheduler messageBrokerTaskScheduler;
+
+    @Value("${app.push.send-buffer-size-limit:524288}")
+    private int sendBufferSizeLimit;
+
+    @Value("${app.push.send-time-limit:10000}")
+    private int sendTimeLimit;
+
+    @Value("${app.push.message-size-limit:65536}")
+    private int messageSizeLimit;
+
+    @Value("${app.push.heartbeat:10000}")
+    private long heartbeat;
+
+    @Value("${app.push.outbound-threads:8}")
+    private int outboundThreads;
+
+    @Autowired
+    public void setMessageBrokerTaskScheduler(@Lazy TaskScheduler messageBrokerTaskScheduler) {
+        this.messageBrokerTaskScheduler = messageBrokerTaskScheduler;
+    }
+
+    @Override
+    public void registerStompEndpoints(StompEndpointRegistry registry) {
+        registry.addEndpoint("/api/v1/push/ws")
+            .setAllowedOriginPatterns(
+                "http://localhost:3000",
+                "http://localhost:5173",
+                "https://*.captainpro.com",
+                "https://*.vercel.app"
+            );
+    }
+
+    @Override
+    public void configureMessageBroker(MessageBrokerRegistry registry) {
+        registry.enableSimpleBroker("/topic", "/queue")
+            .setHeartbeatValue(new long[] {heartbeat, heartbeat})
+            .setTaskScheduler(messageBrokerTaskScheduler);
+        registry.setApplicationDestinationPrefixes("/app");
+        registry.setUserDestinationPrefix("/user");
+    }
+
+    @Override
+    public void configureClientInboundChannel(ChannelRegistration registration) {
+        registration.interceptors(jwtChannelInterceptor);
+    }
+
+    @Override
+    public void configureClientOutboundChannel(ChannelRegistration registration) {
+        registration.taskExecutor()
+            .corePoolSize(outboundThreads)
+            .maxPoolSize(outboundThreads);
+    }
+
+    @Override
+    public void configureWebSocketTransport(WebSocketTransportRegistration registration) {
+        registration.setSendBufferSizeLimit(sendBufferSizeLimit)
+            .setSendTimeLimit(sendTimeLimit)
+            .setMessageSizeLimit(messageSizeLimit);
+    }
+}
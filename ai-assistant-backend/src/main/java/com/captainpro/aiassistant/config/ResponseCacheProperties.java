@@ -0,0 +1,75 @@
+package com.captainpro.aiassistant.config;
+
+import com.captainpro.aiassistant.service.PromptFamily;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * AI Response Cache Properties
+ * 
+ * Settings for the prompt-response cache in front of the chat model,
+ * bound from {@code app.ai.response-cache}.
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "app.ai.response-cache")
+public class ResponseCacheProperties {
+
+    /**
+     * Whether responses are cached at all
+     */
+    private boolean enabled = true;
+
+    /**
+     * Maximum number of cached responses
+     */
+    private int maxEntries = 10_000;
+
+    /**
+     * Maximum total size of cached response content in bytes
+     */
+    private long maxBytes = 64L * 1024 * 1024;
+
+    /**
+     * TTL for families without an explicit setting
+     */
+    private Duration defaultTtl = Duration.ofMinutes(10);
+
+    /**
+     * Maximum SimHash Hamming distance for two queries to count as near-duplicates
+     */
+    private int nearDuplicateMaxDistance = 3;
+
+    /**
+     * Queries with fewer tokens than this are only matched exactly
+     */
+    private int nearDuplicateMinTokens = 4;
+
+    /**
+     * Per prompt-family overrides
+     */
+    private Map<PromptFamily, Family> families = new EnumMap<>(PromptFamily.class);
+
+    public Duration ttlFor(PromptFamily family) {
+        Family settings = families.get(family);
+        return settings != null && settings.getTtl() != null ? settings.getTtl() : defaultTtl;
+    }
+
+    public boolean nearDuplicateEnabledFor(PromptFamily family) {
+        Family settings = families.get(family);
+        return settings != null && settings.isNearDuplicate();
+    }
+
+    @Data
+    public static class Family {
+
+        private Duration ttl;
+
+        private boolean nearDuplicate = false;
+    }
+}
@@ -57,7 +57,11 @@ public class SecurityConfig {
                     "/actuator/prometheus",
                     "/swagger-ui/**",
                     "/v3/api-docs/**",
-                    "/error"
+                    "/error",
+                    // Push connections authenticate with the JWT on the STOMP CONNECT frame
+                    "/api/v1/push/ws",
+                    // AI chat sockets authenticate with the JWT in their first frame
+                    "/api/v1/ai/chat/ws"
                 ).permitAll()
                 
                 // Analytics endpoints - require authentication
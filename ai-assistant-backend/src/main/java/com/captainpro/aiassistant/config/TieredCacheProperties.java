@@ -0,0 +1,122 @@
+package com.captainpro.aiassistant.config;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Tiered Cache Properties
+ *
+ * Settings for the {@code @Cacheable} regions served by an in-process L1
+ * in front of Redis, bound from {@code app.cache}.
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "app.cache")
+public class TieredCacheProperties {
+
+    /**
+     * Redis pub/sub channel used to invalidate L1 entries on other nodes
+     */
+    private String invalidationChannel = "cache:invalidation";
+
+    /**
+     * Serialization format of values stored in Redis
+     */
+    private Codec codec = Codec.SMILE;
+
+    /**
+     * Compression applied to encoded values above {@link #compressionThreshold}
+     */
+    private Compression compression = Compression.LZ4;
+
+    /**
+     * Encoded values smaller than this many bytes are stored uncompressed
+     */
+    private int compressionThreshold = 1024;
+
+    /**
+     * Settings for regions without an explicit entry
+     */
+    private Region defaults = new Region(
+        Duration.ofMinutes(10), Duration.ofMinutes(1), 1_000L, 1.0, 0.0, Duration.ofSeconds(10));
+
+    /**
+     * Per cache-name overrides
+     */
+    private Map<String, Region> regions = new HashMap<>();
+
+    public Region regionFor(String cacheName) {
+        Region region = regions.get(cacheName);
+        if (region == null) {
+            return defaults;
+        }
+
+        return new Region(
+            region.getTtl() != null ? region.getTtl() : defaults.getTtl(),
+            region.getLocalTtl() != null ? region.getLocalTtl() : defaults.getLocalTtl(),
+            region.getLocalMaxSize() != null ? region.getLocalMaxSize() : defaults.getLocalMaxSize(),
+            region.getEarlyExpirationBeta() != null ? region.getEarlyExpirationBeta() : defaults.getEarlyExpirationBeta(),
+            region.getRefreshAheadRatio() != null ? region.getRefreshAheadRatio() : defaults.getRefreshAheadRatio(),
+            region.getLockTimeout() != null ? region.getLockTimeout() : defaults.getLockTimeout());
+    }
+
+    public enum Codec {
+        JDK, JSON, SMILE
+    }
+
+    public enum Compression {
+        NONE, LZ4
+    }
+
+    /**
+     * Region settings; unset values fall back to {@link #defaults}
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Region {
+
+        /**
+         * Time to live of entries in Redis (L2)
+         */
+        private Duration ttl;
+
+        /**
+         * Time to live of entries in the in-process L1, capped at {@link #ttl}
+         */
+        private Duration localTtl;
+
+        /**
+         * Maximum number of entries kept in the in-process L1; 0 disables L1
+         */
+        private Long localMaxSize;
+
+        /**
+         * XFetch weight for probabilistic early recomputation before expiry; 0 disables it
+         */
+        private Double earlyExpirationBeta;
+
+        /**
+         * Fraction of the TTL after which a value is recomputed in the background while
+         * still being served; 0 disables refresh-ahead. Needs {@code @Cacheable(sync = true)}
+         */
+        private Double refreshAheadRatio;
+
+        /**
+         * How long concurrent readers of a missing key wait for the one computing it.
+         * Needs {@code @Cacheable(sync = true)}
+         */
+        private Duration lockTimeout;
+
+        public Duration effectiveLocalTtl() {
+            return localTtl.compareTo(ttl) < 0 ? localTtl : ttl;
+        }
+    }
+}
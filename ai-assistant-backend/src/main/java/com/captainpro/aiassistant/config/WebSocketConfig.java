@@ -0,0 +1,36 @@
+package com.captainpro.aiassistant.config;
+
+import com.captainpro.aiassistant.controller.AIChatWebSocketHandler;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.socket.config.annotation.EnableWebSocket;
+import org.springframework.web.socket.config.annotation.WebSocketConfigurer;
+import org.springframework.web.socket.config.annotation.WebSocketHandlerRegistry;
+
+/**
+ * WebSocket Configuration
+ * 
+ * Registers raw WebSocket endpoints for:
+ * - Streaming AI chat responses
+ * 
+ * The upgrade request is public; connections authenticate with a JWT in their first
+ * frame (see {@link AIChatWebSocketHandler}).
+ */
+@Configuration
+@EnableWebSocket
+@RequiredArgsConstructor
+public class WebSocketConfig implements WebSocketConfigurer {
+
+    private final AIChatWebSocketHandler aiChatWebSocketHandler;
+
+    @Override
+    public void registerWebSocketHandlers(WebSocketHandlerRegistry registry) {
+        registry.addHandler(aiChatWebSocketHandler, "/api/v1/ai/chat/ws")
+            .setAllowedOriginPatterns(
+                "http://localhost:3000",
+                "http://localhost:5173",
+                "https://*.captainpro.com",
+                "https://*.vercel.app"
+            );
+    }
+}
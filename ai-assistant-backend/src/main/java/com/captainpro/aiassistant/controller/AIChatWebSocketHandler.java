@@ -0,0 +1,202 @@
+package com.captainpro.aiassistant.controller;
+
+import com.captainpro.aiassistant.service.AIService;
+import com.captainpro.aiassistant.service.JwtService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.ConcurrentWebSocketSessionDecorator;
+import org.springframework.web.socket.handler.TextWebSocketHandler;
+import reactor.core.Disposable;
+
+import java.io.IOException;
+import java.security.Principal;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * AI Chat WebSocket Handler
+ * 
+ * Streams AI chat responses over WebSocket. Browsers cannot set headers on the
+ * upgrade request, so a connection authenticates with its first frame,
+ * {@code {"type": "auth", "token": "<jwt>"}}; connections that have not done so
+ * within the auth timeout are closed. Clients that can send an {@code Authorization}
+ * header on the upgrade are authenticated already. Every following text frame is a
+ * JSON chat request ({@code message}, optional {@code context}); the reply is a
+ * sequence of JSON frames in the same format as the SSE chat stream. Malformed
+ * frames are answered with an error frame and the connection stays open.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class AIChatWebSocketHandler extends TextWebSocketHandler {
+
+    private static final int SEND_TIME_LIMIT_MS = 10_000;
+    private static final int SEND_BUFFER_SIZE_LIMIT = 512 * 1024;
+    private static final String AUTH_FRAME = "auth";
+
+    private final AIService aiService;
+    private final JwtService jwtService;
+    private final ObjectMapper objectMapper;
+
+    private final Map<String, ChatConnection> connections = new ConcurrentHashMap<>();
+    private final Map<String, Disposable> activeStreams = new ConcurrentHashMap<>();
+
+    @Value("${app.ai.websocket.auth-timeout:10000}")
+    private long authTimeout;
+
+    @Override
+    public void afterConnectionEstablished(WebSocketSession session) {
+        Principal principal = session.getPrincipal();
+        
+        // Token frames are produced on a worker thread, serialize sends per session
+        ChatConnection connection = new ChatConnection(
+            new ConcurrentWebSocketSessionDecorator(session, SEND_TIME_LIMIT_MS, SEND_BUFFER_SIZE_LIMIT),
+            System.currentTimeMillis());
+        if (principal != null) {
+            connection.userId = principal.getName();
+        }
+        connections.put(session.getId(), connection);
+        
+        log.debug("AI chat WebSocket connected: {} (authenticated: {})", session.getId(), principal != null);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    protected void handleTextMessage(WebSocketSession session, TextMessage message) throws Exception {
+        ChatConnection connection = connections.get(session.getId());
+        if (connection == null) {
+            return;
+        }
+        
+        Map<String, Object> request;
+        try {
+            request = objectMapper.readValue(message.getPayload(), Map.class);
+        } catch (JsonProcessingException e) {
+            send(connection.session, error("Malformed request"));
+            return;
+        }
+        
+        if (connection.userId == null) {
+            authenticate(connection, request);
+            return;
+        }
+        
+        String userId = connection.userId;
+        Object chatMessage = request.get("message");
+        Object context = request.getOrDefault("context", Map.of());
+        
+        if (!(chatMessage instanceof String text) || text.isBlank()) {
+            send(connection.session, error("Message is required"));
+            return;
+        }
+        if (!(context instanceof Map)) {
+            send(connection.session, error("Context must be an object"));
+            return;
+        }
+        
+        log.info("Streaming AI chat over WebSocket for user: {}", userId);
+        
+        // A new request on the same connection supersedes the one still streaming
+        Disposable previous = activeStreams.put(session.getId(),
+            aiService.streamChat(userId, text, (Map<String, Object>) context)
+                .subscribe(
+                    frame -> send(connection.session, frame),
+                    error -> log.error("AI chat WebSocket stream failed for user: {}", userId, error)
+                ));
+        
+        if (previous != null) {
+            previous.dispose();
+        }
+    }
+
+    @Override
+    public void afterConnectionClosed(WebSocketSession session, CloseStatus status) {
+        connections.remove(session.getId());
+        
+        Disposable stream = activeStreams.remove(session.getId());
+        if (stream != null) {
+            stream.dispose();
+        }
+        
+        log.debug("AI chat WebSocket closed: {} - {}", session.getId(), status);
+    }
+
+    /**
+     * Close connections that did not authenticate within the auth timeout
+     */
+    @Scheduled(fixedDelayString = "${app.ai.websocket.auth-timeout:10000}")
+    public void closeUnauthenticated() {
+        long cutoff = System.currentTimeMillis() - authTimeout;
+        connections.values().stream()
+            .filter(connection -> connection.userId == null && connection.connectedAt < cutoff)
+            .forEach(connection -> close(connection, "Authentication timed out"));
+    }
+
+    // Helper methods
+
+    private void authenticate(ChatConnection connection, Map<String, Object> request) {
+        Object token = request.get("token");
+        if (!AUTH_FRAME.equals(request.get("type")) || !(token instanceof String jwt) || jwt.isBlank()) {
+            close(connection, "Authentication required");
+            return;
+        }
+        
+        try {
+            if (!jwtService.isTokenValid(jwt) || jwtService.isRefreshToken(jwt)) {
+                close(connection, "Invalid token");
+                return;
+            }
+            connection.userId = jwtService.extractUsername(jwt);
+        } catch (Exception e) {
+            close(connection, "Invalid token");
+            return;
+        }
+        
+        send(connection.session, Map.of("type", "authenticated"));
+        log.debug("AI chat WebSocket authenticated for user: {}", connection.userId);
+    }
+
+    private void close(ChatConnection connection, String reason) {
+        send(connection.session, error(reason));
+        try {
+            connection.session.close(CloseStatus.POLICY_VIOLATION.withReason(reason));
+        } catch (IOException e) {
+            log.debug("Failed to close AI chat session: {} - {}", connection.session.getId(), e.getMessage());
+        }
+    }
+
+    private Map<String, Object> error(String response) {
+        return Map.of("type", "error", "response", response);
+    }
+
+    private void send(WebSocketSession session, Map<String, Object> frame) {
+        if (!session.isOpen()) {
+            return;
+        }
+        
+        try {
+            session.sendMessage(new TextMessage(objectMapper.writeValueAsString(frame)));
+        } catch (IOException e) {
+            log.debug("Failed to send AI chat frame to session: {} - {}", session.getId(), e.getMessage());
+        }
+    }
+
+    private static final class ChatConnection {
+        private final WebSocketSession session;
+        private final long connectedAt;
+        private volatile String userId;
+
+        private ChatConnection(WebSocketSession session, long connectedAt) {
+            this.session = session;
+            this.connectedAt = connectedAt;
+        }
+    }
+}
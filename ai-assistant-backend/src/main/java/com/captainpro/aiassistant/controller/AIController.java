@@ -1,17 +1,25 @@
 package com.captainpro.aiassistant.controller;
 
+import com.captainpro.aiassistant.model.CursorPage;
 import com.captainpro.aiassistant.service.AIService;
 import com.captainpro.aiassistant.service.AnalyticsService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import reactor.core.Disposable;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
 
 /**
  * AI Controller
@@ -33,6 +41,9 @@ public class AIController {
     private final AIService aiService;
     private final AnalyticsService analyticsService;
 
+    @Value("${app.ai.stream-timeout:120000}")
+    private long streamTimeout;
+
     /**
      * Process chat message with AI
      */
@@ -56,6 +67,8 @@ public class AIController {
                 "data", response
             ));
             
+        } catch (RejectedExecutionException e) {
+            throw e;
         } catch (Exception e) {
             log.error("Failed to process chat", e);
             return ResponseEntity.badRequest().body(Map.of(
@@ -65,6 +78,60 @@ public class AIController {
         }
     }
 
+    /**
+     * Stream chat response with AI over Server-Sent Events
+     */
+    @PostMapping(value = "/chat/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @PreAuthorize("hasAnyRole('USER', 'ADMIN', 'COACH')")
+    public SseEmitter streamChat(
+            @RequestBody Map<String, Object> request,
+            Authentication authentication) {
+        
+        String userId = authentication.getName();
+        String message = (String) request.get("message");
+        Map<String, Object> context = (Map<String, Object>) request.getOrDefault("context", Map.of());
+        
+        SseEmitter emitter = new SseEmitter(streamTimeout);
+        
+        if (message == null || message.isBlank()) {
+            try {
+                emitter.send(SseEmitter.event()
+                    .name("error")
+                    .data(Map.of("type", "error", "response", "Message is required"), MediaType.APPLICATION_JSON));
+                emitter.complete();
+            } catch (IOException e) {
+                emitter.completeWithError(e);
+            }
+            return emitter;
+        }
+        
+        log.info("Streaming AI chat for user: {}", userId);
+        
+        Disposable subscription = aiService.streamChat(userId, message, context).subscribe(
+            frame -> {
+                try {
+                    emitter.send(SseEmitter.event()
+                        .name((String) frame.get("type"))
+                        .data(frame, MediaType.APPLICATION_JSON));
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            },
+            error -> {
+                log.debug("Chat stream closed with error for user: {} - {}", userId, error.getMessage());
+                emitter.completeWithError(error);
+            },
+            emitter::complete
+        );
+        
+        // Stop pulling tokens from the model once the client is gone
+        emitter.onTimeout(subscription::dispose);
+        emitter.onError(error -> subscription.dispose());
+        emitter.onCompletion(subscription::dispose);
+        
+        return emitter;
+    }
+
     /**
      * Generate AI-powered insights
      */
@@ -84,6 +151,8 @@ public class AIController {
             
             return ResponseEntity.ok(insights);
             
+        } catch (RejectedExecutionException e) {
+            throw e;
         } catch (Exception e) {
             log.error("Failed to generate insights", e);
             return ResponseEntity.badRequest().body(
@@ -117,6 +186,8 @@ public class AIController {
                 "category", category
             ));
             
+        } catch (RejectedExecutionException e) {
+            throw e;
         } catch (Exception e) {
             log.error("Failed to get recommendations", e);
             return ResponseEntity.badRequest().body(Map.of(
@@ -146,6 +217,8 @@ public class AIController {
                 "data", analysis
             ));
             
+        } catch (RejectedExecutionException e) {
+            throw e;
         } catch (Exception e) {
             log.error("Failed to analyze team performance", e);
             return ResponseEntity.badRequest().body(Map.of(
@@ -175,6 +248,8 @@ public class AIController {
                 "data", recommendations
             ));
             
+        } catch (RejectedExecutionException e) {
+            throw e;
         } catch (Exception e) {
             log.error("Failed to generate training recommendations", e);
             return ResponseEntity.badRequest().body(Map.of(
@@ -212,6 +287,8 @@ public class AIController {
                 )
             ));
             
+        } catch (RejectedExecutionException e) {
+            throw e;
         } catch (Exception e) {
             log.error("Failed to get AI status", e);
             return ResponseEntity.badRequest().body(Map.of(
@@ -228,40 +305,25 @@ public class AIController {
     @PreAuthorize("hasAnyRole('USER', 'ADMIN', 'COACH')")
     public ResponseEntity<Map<String, Object>> getConversationHistory(
             @RequestParam(defaultValue = "10") int limit,
-            @RequestParam(defaultValue = "0") int offset,
+            @RequestParam(required = false) String cursor,
             Authentication authentication) {
         
         try {
             String userId = authentication.getName();
             
-            log.info("Getting conversation history for user: {} (limit: {}, offset: {})", userId, limit, offset);
+            log.info("Getting conversation history for user: {} (limit: {})", userId, limit);
             
-            // In a real implementation, this would fetch from database
-            List<Map<String, Object>> conversations = List.of(
-                Map.of(
-                    "id", "conv_1",
-                    "message", "How can I improve my performance?",
-                    "response", "Based on your recent data, I recommend focusing on endurance training...",
-                    "timestamp", System.currentTimeMillis() - 3600000
-                ),
-                Map.of(
-                    "id", "conv_2",
-                    "message", "What are my team's strengths?",
-                    "response", "Your team excels in defensive coordination and set pieces...",
-                    "timestamp", System.currentTimeMillis() - 7200000
-                )
-            );
+            CursorPage<Map<String, Object>> page = aiService.getConversationHistory(
+                userId, CursorPage.clampLimit(limit), cursor);
             
             return ResponseEntity.ok(Map.of(
                 "success", true,
-                "data", conversations,
-                "pagination", Map.of(
-                    "limit", limit,
-                    "offset", offset,
-                    "total", conversations.size()
-                )
+                "data", page.items(),
+                "pagination", page.pagination()
             ));
             
+        } catch (RejectedExecutionException e) {
+            throw e;
         } catch (Exception e) {
             log.error("Failed to get conversation history", e);
             return ResponseEntity.badRequest().body(Map.of(
@@ -302,6 +364,8 @@ public class AIController {
                 "message", "Feedback received successfully"
             ));
             
+        } catch (RejectedExecutionException e) {
+            throw e;
         } catch (Exception e) {
             log.error("Failed to process feedback", e);
             return ResponseEntity.badRequest().body(Map.of(
@@ -338,6 +402,8 @@ public class AIController {
                 )
             ));
             
+        } catch (RejectedExecutionException e) {
+            throw e;
         } catch (Exception e) {
             log.error("Failed to get AI config", e);
             return ResponseEntity.badRequest().body(Map.of(
@@ -1,17 +1,28 @@
 package com.captainpro.aiassistant.controller;
 
+import com.captainpro.aiassistant.entity.ActionJob;
+import com.captainpro.aiassistant.model.ActionType;
+import com.captainpro.aiassistant.model.CursorPage;
+import com.captainpro.aiassistant.service.ActionJobService;
 import com.captainpro.aiassistant.service.ActionService;
 import com.captainpro.aiassistant.service.AnalyticsService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.io.IOException;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
 
 /**
  * Actions Controller
@@ -32,6 +43,19 @@ public class ActionsController {
 
     private final ActionService actionService;
     private final AnalyticsService analyticsService;
+    private final ActionJobService actionJobService;
+
+    @Value("${app.actions.batch.stream-timeout:300000}")
+    private long batchStreamTimeout;
+
+    @Value("${app.actions.jobs.default-priority:5}")
+    private int defaultJobPriority;
+
+    @Value("${app.actions.jobs.min-client-priority:0}")
+    private int minClientPriority;
+
+    @Value("${app.actions.jobs.max-client-priority:5}")
+    private int maxClientPriority;
 
     /**
      * Execute a single action
@@ -56,6 +80,8 @@ public class ActionsController {
             
             return ResponseEntity.ok(result);
             
+        } catch (RejectedExecutionException e) {
+            throw e;
         } catch (Exception e) {
             log.error("Failed to execute action", e);
             return ResponseEntity.badRequest().body(
@@ -90,6 +116,8 @@ public class ActionsController {
             
             return ResponseEntity.ok(result);
             
+        } catch (RejectedExecutionException e) {
+            throw e;
         } catch (Exception e) {
             log.error("Failed to execute batch actions", e);
             return ResponseEntity.badRequest().body(
@@ -101,6 +129,66 @@ public class ActionsController {
         }
     }
 
+    /**
+     * Execute multiple actions in batch, streaming each result over Server-Sent Events as it completes
+     */
+    @PostMapping(value = "/batch/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @PreAuthorize("hasAnyRole('ADMIN', 'COACH')")
+    public SseEmitter streamBatchActions(
+            @RequestBody Map<String, Object> request,
+            Authentication authentication) {
+        
+        String userId = authentication.getName();
+        List<Map<String, Object>> actions = (List<Map<String, Object>>) request.get("actions");
+        
+        log.info("Streaming batch actions for user: {} - Count: {}", userId, actions != null ? actions.size() : 0);
+        
+        SseEmitter emitter = new SseEmitter(batchStreamTimeout);
+        
+        try {
+            actionService.executeBatchActions(userId, actions, (item, result) -> {
+                    try {
+                        emitter.send(SseEmitter.event()
+                            .name("result")
+                            .data(actionService.describe(item, result), MediaType.APPLICATION_JSON));
+                    } catch (IOException | IllegalStateException e) {
+                        log.debug("Batch stream client gone for user: {} - {}", userId, e.getMessage());
+                    }
+                })
+                .whenComplete((response, error) -> {
+                    if (error != null) {
+                        emitter.completeWithError(error);
+                        return;
+                    }
+                    try {
+                        emitter.send(SseEmitter.event()
+                            .name("complete")
+                            .data(response.get("summary"), MediaType.APPLICATION_JSON));
+                        emitter.complete();
+                    } catch (IOException | IllegalStateException e) {
+                        log.debug("Batch stream closed before completion for user: {}", userId);
+                    }
+                });
+        } catch (RejectedExecutionException e) {
+            throw e;
+        } catch (Exception e) {
+            log.error("Failed to execute batch actions", e);
+            try {
+                emitter.send(SseEmitter.event()
+                    .name("error")
+                    .data(Map.of(
+                        "success", false,
+                        "error", "Failed to execute batch actions: " + e.getMessage()
+                    ), MediaType.APPLICATION_JSON));
+                emitter.complete();
+            } catch (IOException ioException) {
+                emitter.completeWithError(ioException);
+            }
+        }
+        
+        return emitter;
+    }
+
     /**
      * Get available actions for user
      */
@@ -125,6 +213,8 @@ public class ActionsController {
                 "userRoles", userRoles
             ));
             
+        } catch (RejectedExecutionException e) {
+            throw e;
         } catch (Exception e) {
             log.error("Failed to get available actions", e);
             return ResponseEntity.badRequest().body(Map.of(
@@ -160,6 +250,8 @@ public class ActionsController {
             
             return ResponseEntity.ok(result);
             
+        } catch (RejectedExecutionException e) {
+            throw e;
         } catch (Exception e) {
             log.error("Failed to generate team report", e);
             return ResponseEntity.badRequest().body(
@@ -197,6 +289,8 @@ public class ActionsController {
             
             return ResponseEntity.ok(result);
             
+        } catch (RejectedExecutionException e) {
+            throw e;
         } catch (Exception e) {
             log.error("Failed to analyze player performance", e);
             return ResponseEntity.badRequest().body(
@@ -234,6 +328,8 @@ public class ActionsController {
             
             return ResponseEntity.ok(result);
             
+        } catch (RejectedExecutionException e) {
+            throw e;
         } catch (Exception e) {
             log.error("Failed to create training plan", e);
             return ResponseEntity.badRequest().body(
@@ -272,6 +368,8 @@ public class ActionsController {
             
             return ResponseEntity.ok(result);
             
+        } catch (RejectedExecutionException e) {
+            throw e;
         } catch (Exception e) {
             log.error("Failed to optimize formation", e);
             return ResponseEntity.badRequest().body(
@@ -294,30 +392,32 @@ public class ActionsController {
         
         try {
             String userId = authentication.getName();
+            String matchId = (String) scheduleConfig.get("matchId");
+            Object scheduledTime = scheduleConfig.get("scheduledTime");
             
             log.info("Scheduling match analysis by user: {}", userId);
             
-            Map<String, Object> parameters = Map.of(
-                "matchId", scheduleConfig.get("matchId"),
-                "analysisType", scheduleConfig.getOrDefault("analysisType", "post_match"),
-                "scheduledTime", scheduleConfig.get("scheduledTime"),
-                "notifications", scheduleConfig.getOrDefault("notifications", true)
+            ActionJob job = actionJobService.enqueue(
+                userId,
+                ActionJob.MATCH_ANALYSIS,
+                Map.of("matchId", matchId),
+                priority(scheduleConfig),
+                scheduledTime != null ? LocalDateTime.parse(scheduledTime.toString()) : null
             );
             
-            // In a real implementation, this would schedule the analysis
-            String analysisId = "analysis_" + System.currentTimeMillis();
-            
-            return ResponseEntity.ok(Map.of(
+            return ResponseEntity.accepted().body(Map.of(
                 "success", true,
                 "data", Map.of(
-                    "analysisId", analysisId,
-                    "status", "scheduled",
-                    "scheduledTime", parameters.get("scheduledTime"),
-                    "matchId", parameters.get("matchId")
+                    "analysisId", job.getJobId(),
+                    "status", job.getStatus(),
+                    "scheduledTime", job.getAvailableAt(),
+                    "matchId", matchId
                 ),
                 "message", "Match analysis scheduled successfully"
             ));
             
+        } catch (RejectedExecutionException e) {
+            throw e;
         } catch (Exception e) {
             log.error("Failed to schedule match analysis", e);
             return ResponseEntity.badRequest().body(Map.of(
@@ -328,11 +428,11 @@ public class ActionsController {
     }
 
     /**
-     * Export data
+     * Export data as a background job
      */
     @PostMapping("/export")
     @PreAuthorize("hasAnyRole('ADMIN', 'COACH')")
-    public ResponseEntity<CompletableFuture<Map<String, Object>>> exportData(
+    public ResponseEntity<Map<String, Object>> exportData(
             @RequestBody Map<String, Object> exportConfig,
             Authentication authentication) {
         
@@ -348,18 +448,56 @@ public class ActionsController {
                 "includeAnalytics", exportConfig.getOrDefault("includeAnalytics", true)
             );
             
-            CompletableFuture<Map<String, Object>> result = actionService.executeAction(userId, "export_data", parameters);
+            ActionJob job = actionJobService.enqueue(
+                userId, ActionType.EXPORT_DATA.name(), parameters, priority(exportConfig), null);
             
-            return ResponseEntity.ok(result);
+            return ResponseEntity.accepted().body(Map.of(
+                "success", true,
+                "data", actionJobService.describe(job),
+                "message", "Data export queued"
+            ));
             
+        } catch (RejectedExecutionException e) {
+            throw e;
         } catch (Exception e) {
             log.error("Failed to export data", e);
-            return ResponseEntity.badRequest().body(
-                CompletableFuture.completedFuture(Map.of(
+            return ResponseEntity.badRequest().body(Map.of(
+                "success", false,
+                "error", "Failed to export data: " + e.getMessage()
+            ));
+        }
+    }
+
+    /**
+     * Get status and result of an action job
+     */
+    @GetMapping("/jobs/{jobId}")
+    @PreAuthorize("hasAnyRole('USER', 'ADMIN', 'COACH')")
+    public ResponseEntity<Map<String, Object>> getJob(
+            @PathVariable String jobId,
+            Authentication authentication) {
+        
+        try {
+            String userId = authentication.getName();
+            
+            return actionJobService.findJob(jobId, userId)
+                .map(job -> ResponseEntity.ok(Map.<String, Object>of(
+                    "success", true,
+                    "data", actionJobService.describe(job)
+                )))
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.NOT_FOUND).body(Map.of(
                     "success", false,
-                    "error", "Failed to export data: " + e.getMessage()
-                ))
-            );
+                    "error", "Job not found: " + jobId
+                )));
+            
+        } catch (RejectedExecutionException e) {
+            throw e;
+        } catch (Exception e) {
+            log.error("Failed to get action job", e);
+            return ResponseEntity.badRequest().body(Map.of(
+                "success", false,
+                "error", "Failed to get action job: " + e.getMessage()
+            ));
         }
     }
 
@@ -370,46 +508,34 @@ public class ActionsController {
     @PreAuthorize("hasAnyRole('USER', 'ADMIN', 'COACH')")
     public ResponseEntity<Map<String, Object>> getActionHistory(
             @RequestParam(defaultValue = "10") int limit,
-            @RequestParam(defaultValue = "0") int offset,
+            @RequestParam(required = false) String cursor,
             @RequestParam(required = false) String actionType,
+            @RequestParam(defaultValue = "false") boolean includeTotal,
             Authentication authentication) {
         
         try {
             String userId = authentication.getName();
+            String jobType = actionType != null ? actionType.toUpperCase() : null;
             
-            log.info("Getting action history for user: {} (limit: {}, offset: {}, type: {})", 
-                    userId, limit, offset, actionType);
-            
-            // In a real implementation, this would fetch from database
-            List<Map<String, Object>> history = List.of(
-                Map.of(
-                    "id", "action_1",
-                    "type", "generate_report",
-                    "status", "completed",
-                    "executedAt", System.currentTimeMillis() - 3600000,
-                    "duration", 2.5,
-                    "result", "Report generated successfully"
-                ),
-                Map.of(
-                    "id", "action_2",
-                    "type", "analyze_player_performance",
-                    "status", "completed",
-                    "executedAt", System.currentTimeMillis() - 7200000,
-                    "duration", 1.8,
-                    "result", "Analysis completed"
-                )
-            );
+            log.info("Getting action history for user: {} (limit: {}, type: {})", userId, limit, actionType);
+            
+            CursorPage<Map<String, Object>> page = actionJobService
+                .getHistory(userId, jobType, CursorPage.clampLimit(limit), cursor)
+                .map(actionJobService::describe);
+            
+            Map<String, Object> pagination = page.pagination();
+            if (includeTotal) {
+                pagination.put("total", actionJobService.countHistory(userId, jobType));
+            }
             
             return ResponseEntity.ok(Map.of(
                 "success", true,
-                "data", history,
-                "pagination", Map.of(
-                    "limit", limit,
-                    "offset", offset,
-                    "total", history.size()
-                )
+                "data", page.items(),
+                "pagination", pagination
             ));
             
+        } catch (RejectedExecutionException e) {
+            throw e;
         } catch (Exception e) {
             log.error("Failed to get action history", e);
             return ResponseEntity.badRequest().body(Map.of(
@@ -433,13 +559,22 @@ public class ActionsController {
             
             log.info("Cancelling action: {} by user: {}", actionId, userId);
             
-            // In a real implementation, this would cancel the running action
+            ActionJob job = actionJobService.cancel(actionId, userId);
+            String message = switch (job.getStatus()) {
+                case CANCELLED -> "Action cancelled successfully";
+                case RUNNING -> "Cancellation requested; the action stops at its next checkpoint";
+                default -> "Action already finished with status " + job.getStatus();
+            };
+            
             return ResponseEntity.ok(Map.of(
                 "success", true,
-                "message", "Action cancelled successfully",
-                "actionId", actionId
+                "message", message,
+                "actionId", actionId,
+                "data", actionJobService.describe(job)
             ));
             
+        } catch (RejectedExecutionException e) {
+            throw e;
         } catch (Exception e) {
             log.error("Failed to cancel action", e);
             return ResponseEntity.badRequest().body(Map.of(
@@ -448,4 +583,15 @@ public class ActionsController {
             ));
         }
     }
+
+    // Helper methods
+
+    /**
+     * Job priority requested by the client, clamped so clients cannot jump ahead of everyone else's jobs
+     */
+    private int priority(Map<String, Object> config) {
+        Object priority = config.get("priority");
+        int requested = priority instanceof Number number ? number.intValue() : defaultJobPriority;
+        return Math.max(minClientPriority, Math.min(maxClientPriority, requested));
+    }
 }
\ No newline at end of file
@@ -1,6 +1,7 @@
 package com.captainpro.aiassistant.controller;
 
 import com.captainpro.aiassistant.service.AnalyticsService;
+import com.captainpro.aiassistant.service.ResponseTimeSketchService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
@@ -9,9 +10,11 @@ import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
 import java.time.LocalDateTime;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
 
 /**
  * Analytics Controller
@@ -45,7 +48,17 @@ public class AnalyticsController {
             String userId = authentication.getName();
             String action = (String) request.get("action");
             String category = (String) request.getOrDefault("category", "general");
-            Map<String, Object> metadata = (Map<String, Object>) request.getOrDefault("metadata", Map.of());
+            Map<String, Object> metadata = new HashMap<>((Map<String, Object>) request.getOrDefault("metadata", Map.of()));
+            
+            // Response times are measured server-side only; clients must not skew the latency percentiles
+            metadata.remove(ResponseTimeSketchService.RESPONSE_TIME_KEY);
+            
+            if (action == null || action.isBlank()) {
+                return ResponseEntity.badRequest().body(Map.of(
+                    "success", false,
+                    "error", "Action is required"
+                ));
+            }
             
             log.debug("Tracking interaction for user: {} - Action: {} - Category: {}", userId, action, category);
             
@@ -57,6 +70,8 @@ public class AnalyticsController {
                 "timestamp", System.currentTimeMillis()
             ));
             
+        } catch (RejectedExecutionException e) {
+            throw e;
         } catch (Exception e) {
             log.error("Failed to track interaction", e);
             return ResponseEntity.badRequest().body(Map.of(
@@ -88,6 +103,8 @@ public class AnalyticsController {
                 "period", days + " days"
             ));
             
+        } catch (RejectedExecutionException e) {
+            throw e;
         } catch (Exception e) {
             log.error("Failed to get behavior patterns", e);
             return ResponseEntity.badRequest().body(Map.of(
@@ -120,6 +137,8 @@ public class AnalyticsController {
                 "generatedAt", System.currentTimeMillis()
             ));
             
+        } catch (RejectedExecutionException e) {
+            throw e;
         } catch (Exception e) {
             log.error("Failed to get dashboard data", e);
             return ResponseEntity.badRequest().body(Map.of(
@@ -153,7 +172,7 @@ public class AnalyticsController {
                 ),
                 "aiUsage", Map.of(
                     "totalQueries", 67,
-                    "averageResponseTime", 1.2,
+                    "responseTime", analyticsService.getResponseTimeStatistics(days),
                     "satisfactionRate", 4.3,
                     "topCategories", List.of("performance", "training", "tactics")
                 ),
@@ -178,6 +197,8 @@ public class AnalyticsController {
                 "period", days + " days"
             ));
             
+        } catch (RejectedExecutionException e) {
+            throw e;
         } catch (Exception e) {
             log.error("Failed to get performance metrics", e);
             return ResponseEntity.badRequest().body(Map.of(
@@ -209,6 +230,8 @@ public class AnalyticsController {
             
             return ResponseEntity.ok(insights);
             
+        } catch (RejectedExecutionException e) {
+            throw e;
         } catch (Exception e) {
             log.error("Failed to generate predictive insights", e);
             return ResponseEntity.badRequest().body(
@@ -221,11 +244,12 @@ public class AnalyticsController {
     }
 
     /**
-     * Get real-time analytics
+     * Get real-time analytics over the last 1, 5 or 15 minutes
      */
     @GetMapping("/realtime")
     @PreAuthorize("hasAnyRole('USER', 'ADMIN', 'COACH')")
     public ResponseEntity<Map<String, Object>> getRealTimeAnalytics(
+            @RequestParam(defaultValue = "1") int window,
             Authentication authentication) {
         
         try {
@@ -233,26 +257,15 @@ public class AnalyticsController {
             
             log.debug("Getting real-time analytics for user: {}", userId);
             
-            Map<String, Object> realTimeData = Map.of(
-                "activeUsers", 127,
-                "currentSessions", 34,
-                "aiQueriesPerMinute", 8.5,
-                "systemLoad", 0.65,
-                "responseTime", 1.1,
-                "errorRate", 0.02,
-                "topActions", List.of(
-                    Map.of("action", "chat_message", "count", 45),
-                    Map.of("action", "view_insights", "count", 23),
-                    Map.of("action", "generate_report", "count", 12)
-                ),
-                "timestamp", System.currentTimeMillis()
-            );
+            Map<String, Object> realTimeData = analyticsService.getRealTimeAnalytics(window);
             
             return ResponseEntity.ok(Map.of(
                 "success", true,
                 "data", realTimeData
             ));
             
+        } catch (RejectedExecutionException e) {
+            throw e;
         } catch (Exception e) {
             log.error("Failed to get real-time analytics", e);
             return ResponseEntity.badRequest().body(Map.of(
@@ -296,6 +309,8 @@ public class AnalyticsController {
                 "data", exportInfo
             ));
             
+        } catch (RejectedExecutionException e) {
+            throw e;
         } catch (Exception e) {
             log.error("Failed to export analytics data", e);
             return ResponseEntity.badRequest().body(Map.of(
@@ -312,6 +327,7 @@ public class AnalyticsController {
     @PreAuthorize("hasAnyRole('USER', 'ADMIN', 'COACH')")
     public ResponseEntity<Map<String, Object>> getAnalyticsSummary(
             @RequestParam(defaultValue = "7") int days,
+            @RequestParam(required = false) List<String> funnel,
             Authentication authentication) {
         
         try {
@@ -343,13 +359,19 @@ public class AnalyticsController {
                 )
             );
             
+            boolean admin = authentication.getAuthorities().stream()
+                .anyMatch(authority -> "ROLE_ADMIN".equals(authority.getAuthority()));
+            
             return ResponseEntity.ok(Map.of(
                 "success", true,
                 "data", summary,
+                "platform", analyticsService.getPlatformSummary(days, funnel, admin),
                 "period", days + " days",
                 "generatedAt", System.currentTimeMillis()
             ));
             
+        } catch (RejectedExecutionException e) {
+            throw e;
         } catch (Exception e) {
             log.error("Failed to get analytics summary", e);
             return ResponseEntity.badRequest().body(Map.of(
@@ -388,6 +410,8 @@ public class AnalyticsController {
                 "message", "Analytics settings updated successfully"
             ));
             
+        } catch (RejectedExecutionException e) {
+            throw e;
         } catch (Exception e) {
             log.error("Failed to update analytics settings", e);
             return ResponseEntity.badRequest().body(Map.of(
@@ -0,0 +1,39 @@
+package com.captainpro.aiassistant.controller;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Executor Rejection Handler
+ *
+ * Turns work rejected by a saturated executor (including Spring's TaskRejectedException
+ * from {@code @Async} methods and async handler results failing with one) into
+ * 503 Service Unavailable with a Retry-After header, so clients back off and retry
+ * instead of treating overload as a bad request.
+ */
+@RestControllerAdvice
+@Slf4j
+public class ExecutorRejectionHandler {
+
+    @Value("${app.executors.retry-after:5}")
+    private long retryAfterSeconds;
+
+    @ExceptionHandler(RejectedExecutionException.class)
+    public ResponseEntity<Map<String, Object>> handleRejected(RejectedExecutionException e) {
+        log.warn("Rejected request, executor saturated: {}", e.getMessage());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+            .header(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds))
+            .body(Map.of(
+                "success", false,
+                "error", "Server is busy, please retry later"
+            ));
+    }
+}
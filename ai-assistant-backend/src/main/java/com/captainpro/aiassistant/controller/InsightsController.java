@@ -4,6 +4,7 @@ import com.captainpro.aiassistant.service.InsightsService;
 import com.captainpro.aiassistant.service.AnalyticsService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
@@ -12,6 +13,8 @@ import org.springframework.web.bind.annotation.*;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
 
 /**
  * Insights Controller
@@ -33,6 +36,9 @@ public class InsightsController {
     private final InsightsService insightsService;
     private final AnalyticsService analyticsService;
 
+    @Qualifier("aiExecutor")
+    private final Executor aiExecutor;
+
     /**
      * Generate comprehensive user insights
      */
@@ -56,6 +62,8 @@ public class InsightsController {
             
             return ResponseEntity.ok(insights);
             
+        } catch (RejectedExecutionException e) {
+            throw e;
         } catch (Exception e) {
             log.error("Failed to generate insights", e);
             return ResponseEntity.badRequest().body(
@@ -134,6 +142,8 @@ public class InsightsController {
                 "scope", scope
             ));
             
+        } catch (RejectedExecutionException e) {
+            throw e;
         } catch (Exception e) {
             log.error("Failed to get performance insights", e);
             return ResponseEntity.badRequest().body(Map.of(
@@ -205,6 +215,8 @@ public class InsightsController {
                 "period", days + " days"
             ));
             
+        } catch (RejectedExecutionException e) {
+            throw e;
         } catch (Exception e) {
             log.error("Failed to get team insights", e);
             return ResponseEntity.badRequest().body(Map.of(
@@ -270,10 +282,12 @@ public class InsightsController {
                     "type", predictionType,
                     "generatedAt", System.currentTimeMillis()
                 );
-            });
+            }, aiExecutor);
             
             return ResponseEntity.ok(predictions);
             
+        } catch (RejectedExecutionException e) {
+            throw e;
         } catch (Exception e) {
             log.error("Failed to get predictive insights", e);
             return ResponseEntity.badRequest().body(
@@ -356,6 +370,8 @@ public class InsightsController {
                 "metrics", metrics
             ));
             
+        } catch (RejectedExecutionException e) {
+            throw e;
         } catch (Exception e) {
             log.error("Failed to get comparative insights", e);
             return ResponseEntity.badRequest().body(Map.of(
@@ -425,6 +441,8 @@ public class InsightsController {
                 "period", days + " days"
             ));
             
+        } catch (RejectedExecutionException e) {
+            throw e;
         } catch (Exception e) {
             log.error("Failed to get trend analysis", e);
             return ResponseEntity.badRequest().body(Map.of(
@@ -490,6 +508,8 @@ public class InsightsController {
                 "total", recommendations.size()
             ));
             
+        } catch (RejectedExecutionException e) {
+            throw e;
         } catch (Exception e) {
             log.error("Failed to get insight recommendations", e);
             return ResponseEntity.badRequest().body(Map.of(
@@ -531,6 +551,8 @@ public class InsightsController {
                 "message", "Insight saved successfully"
             ));
             
+        } catch (RejectedExecutionException e) {
+            throw e;
         } catch (Exception e) {
             log.error("Failed to save insight", e);
             return ResponseEntity.badRequest().body(Map.of(
@@ -583,6 +605,8 @@ public class InsightsController {
                 )
             ));
             
+        } catch (RejectedExecutionException e) {
+            throw e;
         } catch (Exception e) {
             log.error("Failed to get saved insights", e);
             return ResponseEntity.badRequest().body(Map.of(
@@ -1,5 +1,7 @@
 package com.captainpro.aiassistant.controller;
 
+import com.captainpro.aiassistant.model.CursorPage;
+import com.captainpro.aiassistant.model.InboxCounts;
 import com.captainpro.aiassistant.service.NotificationService;
 import com.captainpro.aiassistant.service.AnalyticsService;
 import lombok.RequiredArgsConstructor;
@@ -9,9 +11,11 @@ import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
 
 /**
  * Notification Controller
@@ -60,10 +64,16 @@ public class NotificationController {
                 Map.of("recipientId", recipientId, "channels", channels));
             
             CompletableFuture<Map<String, Object>> result = notificationService.sendNotification(
-                recipientId, type, title, message, channels, metadata);
+                recipientId, message, type)
+                .thenApply(notificationId -> Map.of(
+                    "success", true,
+                    "data", Map.of("notificationId", notificationId)
+                ));
             
             return ResponseEntity.ok(result);
             
+        } catch (RejectedExecutionException e) {
+            throw e;
         } catch (Exception e) {
             log.error("Failed to send notification", e);
             return ResponseEntity.badRequest().body(
@@ -101,10 +111,16 @@ public class NotificationController {
                 Map.of("recipientCount", recipientIds.size(), "channels", channels));
             
             CompletableFuture<Map<String, Object>> result = notificationService.sendBulkNotifications(
-                recipientIds, type, title, message, channels, metadata);
+                recipientIds, message, type)
+                .thenApply(notificationIds -> Map.of(
+                    "success", true,
+                    "data", Map.of("notificationIds", notificationIds, "sentCount", notificationIds.size())
+                ));
             
             return ResponseEntity.ok(result);
             
+        } catch (RejectedExecutionException e) {
+            throw e;
         } catch (Exception e) {
             log.error("Failed to send bulk notifications", e);
             return ResponseEntity.badRequest().body(
@@ -123,69 +139,31 @@ public class NotificationController {
     @PreAuthorize("hasAnyRole('USER', 'ADMIN', 'COACH')")
     public ResponseEntity<Map<String, Object>> getUserNotifications(
             @RequestParam(defaultValue = "20") int limit,
-            @RequestParam(defaultValue = "0") int offset,
+            @RequestParam(required = false) String cursor,
             @RequestParam(defaultValue = "all") String status,
             Authentication authentication) {
         
         try {
             String userId = authentication.getName();
             
-            log.info("Getting notifications for user: {} (limit: {}, offset: {}, status: {})", 
-                    userId, limit, offset, status);
+            log.info("Getting notifications for user: {} (limit: {}, status: {})", userId, limit, status);
             
-            // In a real implementation, this would fetch from database
-            List<Map<String, Object>> notifications = List.of(
-                Map.of(
-                    "id", "notif_1",
-                    "type", "performance_insight",
-                    "title", "New Performance Insights Available",
-                    "message", "Your weekly performance analysis is ready for review",
-                    "status", "unread",
-                    "priority", "medium",
-                    "createdAt", System.currentTimeMillis() - 3600000,
-                    "metadata", Map.of("insightId", "insight_123")
-                ),
-                Map.of(
-                    "id", "notif_2",
-                    "type", "training_reminder",
-                    "title", "Training Session Reminder",
-                    "message", "Don't forget your training session at 3 PM today",
-                    "status", "read",
-                    "priority", "high",
-                    "createdAt", System.currentTimeMillis() - 7200000,
-                    "metadata", Map.of("sessionId", "session_456")
-                ),
-                Map.of(
-                    "id", "notif_3",
-                    "type", "match_alert",
-                    "title", "Upcoming Match",
-                    "message", "Match against Team Alpha scheduled for tomorrow at 7 PM",
-                    "status", "read",
-                    "priority", "high",
-                    "createdAt", System.currentTimeMillis() - 86400000,
-                    "metadata", Map.of("matchId", "match_789")
-                )
-            );
+            CursorPage<Map<String, Object>> page = notificationService.getInbox(
+                userId, status, CursorPage.clampLimit(limit), cursor);
+            InboxCounts counts = notificationService.getInboxCounts(userId);
             
-            List<Map<String, Object>> filteredNotifications = notifications.stream()
-                .filter(notif -> status.equals("all") || notif.get("status").equals(status))
-                .skip(offset)
-                .limit(limit)
-                .toList();
+            Map<String, Object> pagination = page.pagination();
+            pagination.put("total", counts.total());
+            pagination.put("unreadCount", counts.unread());
             
             return ResponseEntity.ok(Map.of(
                 "success", true,
-                "data", filteredNotifications,
-                "pagination", Map.of(
-                    "limit", limit,
-                    "offset", offset,
-                    "total", notifications.size(),
-                    "unreadCount", notifications.stream()
-                        .mapToInt(notif -> "unread".equals(notif.get("status")) ? 1 : 0)
-                        .sum()
-                )
+                "data", page.items(),
+                "pagination", pagination
             ));
             
+        } catch (RejectedExecutionException e) {
+            throw e;
         } catch (Exception e) {
             log.error("Failed to get user notifications", e);
             return ResponseEntity.badRequest().body(Map.of(
@@ -209,17 +187,17 @@ public class NotificationController {
             
             log.info("Marking notification as read: {} for user: {}", notificationId, userId);
             
-            // Track notification interaction
-            analyticsService.trackUserInteraction(userId, "notification_read", "mark_read", 
-                Map.of("notificationId", notificationId));
+            boolean marked = notificationService.markAsRead(notificationId, userId);
             
-            // In a real implementation, this would update the database
             return ResponseEntity.ok(Map.of(
                 "success", true,
-                "message", "Notification marked as read",
-                "notificationId", notificationId
+                "message", marked ? "Notification marked as read" : "Notification was already read",
+                "notificationId", notificationId,
+                "unreadCount", notificationService.getUnreadCount(userId)
             ));
             
+        } catch (RejectedExecutionException e) {
+            throw e;
         } catch (Exception e) {
             log.error("Failed to mark notification as read", e);
             return ResponseEntity.badRequest().body(Map.of(
@@ -242,16 +220,16 @@ public class NotificationController {
             
             log.info("Marking all notifications as read for user: {}", userId);
             
-            // Track bulk notification interaction
-            analyticsService.trackUserInteraction(userId, "notification_read", "mark_all_read", Map.of());
+            int markedCount = notificationService.markAllAsRead(userId);
             
-            // In a real implementation, this would update the database
             return ResponseEntity.ok(Map.of(
                 "success", true,
                 "message", "All notifications marked as read",
-                "markedCount", 5 // Mock count
+                "markedCount", markedCount
             ));
             
+        } catch (RejectedExecutionException e) {
+            throw e;
         } catch (Exception e) {
             log.error("Failed to mark all notifications as read", e);
             return ResponseEntity.badRequest().body(Map.of(
@@ -275,17 +253,21 @@ public class NotificationController {
             
             log.info("Deleting notification: {} for user: {}", notificationId, userId);
             
-            // Track notification deletion
-            analyticsService.trackUserInteraction(userId, "notification_delete", "delete", 
-                Map.of("notificationId", notificationId));
+            if (!notificationService.deleteNotification(notificationId, userId)) {
+                return ResponseEntity.badRequest().body(Map.of(
+                    "success", false,
+                    "error", "Notification not found: " + notificationId
+                ));
+            }
             
-            // In a real implementation, this would delete from database
             return ResponseEntity.ok(Map.of(
                 "success", true,
                 "message", "Notification deleted successfully",
                 "notificationId", notificationId
             ));
             
+        } catch (RejectedExecutionException e) {
+            throw e;
         } catch (Exception e) {
             log.error("Failed to delete notification", e);
             return ResponseEntity.badRequest().body(Map.of(
@@ -347,6 +329,8 @@ public class NotificationController {
                 "data", preferences
             ));
             
+        } catch (RejectedExecutionException e) {
+            throw e;
         } catch (Exception e) {
             log.error("Failed to get notification preferences", e);
             return ResponseEntity.badRequest().body(Map.of(
@@ -380,6 +364,8 @@ public class NotificationController {
                 "data", preferences
             ));
             
+        } catch (RejectedExecutionException e) {
+            throw e;
         } catch (Exception e) {
             log.error("Failed to update notification preferences", e);
             return ResponseEntity.badRequest().body(Map.of(
@@ -407,11 +393,20 @@ public class NotificationController {
             log.info("Sending recommendation notification from: {} to: {} - Type: {}", 
                     senderId, recipientId, recommendationType);
             
+            Map<String, Object> recommendation = new HashMap<>(recommendationData != null ? recommendationData : Map.of());
+            recommendation.put("type", recommendationType);
+            
             CompletableFuture<Map<String, Object>> result = notificationService.sendRecommendationNotification(
-                recipientId, recommendationType, recommendationData);
+                recipientId, recommendation)
+                .thenApply(notificationId -> Map.of(
+                    "success", true,
+                    "data", Map.of("notificationId", notificationId)
+                ));
             
             return ResponseEntity.ok(result);
             
+        } catch (RejectedExecutionException e) {
+            throw e;
         } catch (Exception e) {
             log.error("Failed to send recommendation notification", e);
             return ResponseEntity.badRequest().body(
@@ -434,16 +429,20 @@ public class NotificationController {
         
         try {
             String senderId = authentication.getName();
-            List<String> recipientIds = (List<String>) request.get("recipientIds");
+            String teamId = (String) request.get("teamId");
             Map<String, Object> matchDetails = (Map<String, Object>) request.get("matchDetails");
             
-            log.info("Sending match alert from: {} to: {} recipients", senderId, recipientIds.size());
+            log.info("Sending match alert from: {} to team: {}", senderId, teamId);
             
-            CompletableFuture<Map<String, Object>> result = notificationService.sendMatchAlert(
-                recipientIds, matchDetails);
+            String alertId = notificationService.sendMatchAlert(teamId, matchDetails);
             
-            return ResponseEntity.ok(result);
+            return ResponseEntity.ok(CompletableFuture.completedFuture(Map.of(
+                "success", true,
+                "data", Map.of("alertId", alertId)
+            )));
             
+        } catch (RejectedExecutionException e) {
+            throw e;
         } catch (Exception e) {
             log.error("Failed to send match alert", e);
             return ResponseEntity.badRequest().body(
@@ -471,11 +470,17 @@ public class NotificationController {
             
             log.info("Sending performance insights notification from: {} to: {}", senderId, recipientId);
             
-            CompletableFuture<Map<String, Object>> result = notificationService.sendPerformanceInsightsNotification(
-                recipientId, insights);
+            CompletableFuture<Map<String, Object>> result = notificationService.sendPerformanceInsights(
+                recipientId, insights)
+                .thenApply(notificationId -> Map.of(
+                    "success", true,
+                    "data", Map.of("notificationId", notificationId)
+                ));
             
             return ResponseEntity.ok(result);
             
+        } catch (RejectedExecutionException e) {
+            throw e;
         } catch (Exception e) {
             log.error("Failed to send performance insights notification", e);
             return ResponseEntity.badRequest().body(
@@ -499,13 +504,15 @@ public class NotificationController {
         try {
             log.info("Getting notification statistics for {} days", days);
             
+            InboxCounts counts = notificationService.getGlobalInboxCounts();
+            long totalRead = counts.total() - counts.unread();
+            
             Map<String, Object> stats = Map.of(
                 "overview", Map.of(
-                    "totalSent", 1247,
-                    "totalDelivered", 1198,
-                    "totalRead", 892,
-                    "deliveryRate", 0.961,
-                    "readRate", 0.745
+                    "totalSent", counts.total(),
+                    "totalRead", totalRead,
+                    "unread", counts.unread(),
+                    "readRate", counts.total() > 0 ? (double) totalRead / counts.total() : 0.0
                 ),
                 "byType", List.of(
                     Map.of("type", "performance_insights", "sent", 345, "read", 267),
@@ -532,6 +539,8 @@ public class NotificationController {
                 "period", days + " days"
             ));
             
+        } catch (RejectedExecutionException e) {
+            throw e;
         } catch (Exception e) {
             log.error("Failed to get notification statistics", e);
             return ResponseEntity.badRequest().body(Map.of(
@@ -0,0 +1,113 @@
+package com.captainpro.aiassistant.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Action Job Entity
+ *
+ * A queued unit of action work. Workers claim runnable jobs by taking a lease
+ * ({@code leaseOwner} until {@code leaseExpiresAt}); a job whose lease runs out
+ * without completion becomes visible again and is picked up by another worker,
+ * so work survives restarts and crashed nodes.
+ */
+@Entity
+@Table(name = "action_jobs",
+    indexes = {
+        @Index(name = "idx_action_jobs_job_id", columnList = "job_id", unique = true),
+        @Index(name = "idx_action_jobs_runnable", columnList = "status, available_at, priority"),
+        @Index(name = "idx_action_jobs_user", columnList = "user_id, created_at, id")
+    })
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ActionJob {
+
+    /**
+     * Job type for deferred match analysis; other jobs use an {@code ActionType} name
+     */
+    public static final String MATCH_ANALYSIS = "MATCH_ANALYSIS";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "action_jobs_seq")
+    @SequenceGenerator(name = "action_jobs_seq", sequenceName = "action_jobs_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "job_id", nullable = false, unique = true, length = 36)
+    private String jobId;
+
+    @Column(name = "user_id", nullable = false)
+    private String userId;
+
+    @Column(name = "job_type", nullable = false, length = 64)
+    private String jobType;
+
+    @Column(name = "parameters", columnDefinition = "TEXT")
+    private String parameters; // JSON parameters
+
+    /**
+     * Higher values are claimed first
+     */
+    @Column(name = "priority", nullable = false)
+    private int priority;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 16)
+    private Status status;
+
+    @Column(name = "attempts", nullable = false)
+    private int attempts;
+
+    @Column(name = "max_attempts", nullable = false)
+    private int maxAttempts;
+
+    /**
+     * Earliest time the job may be claimed; pushed forward by retry backoff
+     */
+    @Column(name = "available_at", nullable = false)
+    private LocalDateTime availableAt;
+
+    @Column(name = "lease_owner")
+    private String leaseOwner;
+
+    @Column(name = "lease_expires_at")
+    private LocalDateTime leaseExpiresAt;
+
+    @Column(name = "cancel_requested", nullable = false)
+    private boolean cancelRequested;
+
+    @Column(name = "result", columnDefinition = "TEXT")
+    private String result; // JSON result data
+
+    @Column(name = "error_message", columnDefinition = "TEXT")
+    private String errorMessage;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "started_at")
+    private LocalDateTime startedAt;
+
+    @Column(name = "completed_at")
+    private LocalDateTime completedAt;
+
+    @Version
+    @Column(name = "version")
+    private Long version;
+
+    // Helper methods
+    public boolean isTerminal() {
+        return status == Status.SUCCEEDED || status == Status.FAILED || status == Status.CANCELLED;
+    }
+
+    // Enums
+    public enum Status {
+        QUEUED, RUNNING, SUCCEEDED, FAILED, CANCELLED
+    }
+}
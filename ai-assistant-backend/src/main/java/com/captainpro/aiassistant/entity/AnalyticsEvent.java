@@ -0,0 +1,43 @@
+package com.captainpro.aiassistant.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Analytics Event Entity
+ * 
+ * Raw analytics event written alongside each tracked user interaction
+ * by the analytics ingestion pipeline.
+ */
+@Entity
+@Table(name = "analytics_events", indexes = {
+    @Index(name = "idx_analytics_events_user_created", columnList = "user_id, created_at")
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AnalyticsEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "analytics_events_seq")
+    @SequenceGenerator(name = "analytics_events_seq", sequenceName = "analytics_events_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private String userId;
+
+    @Column(name = "event_type", nullable = false)
+    private String eventType;
+
+    @Column(name = "event_data", columnDefinition = "TEXT")
+    private String eventData; // JSON event payload
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,73 @@
+package com.captainpro.aiassistant.entity;
+
+import com.captainpro.aiassistant.entity.InteractionRollup.Granularity;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Analytics Sketch Entity
+ *
+ * Platform-wide approximate summary of one metric in one time bucket: a
+ * {@code HyperLogLog} of distinct users, overall or per action, or a {@code TopKSketch}
+ * of the most frequent actions, devices, locations or users. Rows are merged by the
+ * analytics ingestion pipeline in the same transaction that writes the raw interactions.
+ */
+@Entity
+@Table(name = "analytics_sketches",
+    uniqueConstraints = @UniqueConstraint(name = "uk_analytics_sketches_bucket",
+        columnNames = {"metric", "dimension_key", "granularity", "bucket_start"}),
+    indexes = @Index(name = "idx_analytics_sketches_lookup",
+        columnList = "metric, granularity, bucket_start"))
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AnalyticsSketch {
+
+    /**
+     * Dimension key of sketches that cover all interactions
+     */
+    public static final String ALL = "*";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "analytics_sketches_seq")
+    @SequenceGenerator(name = "analytics_sketches_seq", sequenceName = "analytics_sketches_seq", allocationSize = 50)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "metric", nullable = false, length = 32)
+    private Metric metric;
+
+    /**
+     * Action for per-action distinct users, otherwise {@link #ALL}
+     */
+    @Column(name = "dimension_key", nullable = false)
+    private String dimensionKey;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "granularity", nullable = false, length = 16)
+    private Granularity granularity;
+
+    @Column(name = "bucket_start", nullable = false)
+    private LocalDateTime bucketStart;
+
+    /**
+     * Encoded sketch; at most a few KB
+     */
+    @Column(name = "sketch", nullable = false, length = 16384)
+    private byte[] sketch;
+
+    // Enums
+    public enum Metric {
+        DISTINCT_USERS, TOP_ACTIONS, TOP_DEVICES, TOP_LOCATIONS, TOP_USERS;
+
+        public boolean isTopK() {
+            return this != DISTINCT_USERS;
+        }
+    }
+}
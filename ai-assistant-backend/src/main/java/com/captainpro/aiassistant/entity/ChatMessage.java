@@ -18,7 +18,8 @@ import java.time.LocalDateTime;
  * AI responses, system messages, and conversation metadata.
  */
 @Entity
-@Table(name = "chat_messages")
+@Table(name = "chat_messages",
+    indexes = @Index(name = "idx_chat_messages_user_created", columnList = "user_id, created_at, id"))
 @Data
 @Builder
 @NoArgsConstructor
@@ -27,7 +28,8 @@ import java.time.LocalDateTime;
 public class ChatMessage {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "chat_messages_seq")
+    @SequenceGenerator(name = "chat_messages_seq", sequenceName = "chat_messages_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
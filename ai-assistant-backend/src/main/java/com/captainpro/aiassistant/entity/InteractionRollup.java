@@ -0,0 +1,75 @@
+package com.captainpro.aiassistant.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Interaction Rollup Entity
+ *
+ * Pre-aggregated interaction counts for one user, time bucket and dimension.
+ * Rows are incremented by the analytics ingestion pipeline in the same
+ * transaction that writes the raw interactions, so dashboards can be served
+ * without scanning user_interactions.
+ */
+@Entity
+@Table(name = "interaction_rollups",
+    uniqueConstraints = @UniqueConstraint(name = "uk_interaction_rollups_bucket",
+        columnNames = {"user_id", "granularity", "bucket_start", "dimension", "dimension_key"}),
+    indexes = @Index(name = "idx_interaction_rollups_lookup",
+        columnList = "user_id, granularity, dimension, bucket_start"))
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class InteractionRollup {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "interaction_rollups_seq")
+    @SequenceGenerator(name = "interaction_rollups_seq", sequenceName = "interaction_rollups_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private String userId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "granularity", nullable = false, length = 16)
+    private Granularity granularity;
+
+    @Column(name = "bucket_start", nullable = false)
+    private LocalDateTime bucketStart;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "dimension", nullable = false, length = 16)
+    private Dimension dimension;
+
+    @Column(name = "dimension_key", nullable = false)
+    private String dimensionKey;
+
+    @Column(name = "event_count", nullable = false)
+    private long eventCount;
+
+    @Column(name = "first_seen", nullable = false)
+    private LocalDateTime firstSeen;
+
+    @Column(name = "last_seen", nullable = false)
+    private LocalDateTime lastSeen;
+
+    // Enums
+    public enum Granularity {
+        HOURLY, DAILY
+    }
+
+    public enum Dimension {
+        ACTION, HOUR_OF_DAY,
+
+        /**
+         * No longer written; sessions are summarised in user_sessions
+         */
+        SESSION
+    }
+}
@@ -19,7 +19,11 @@ import java.util.List;
  * including email, push notifications, SMS, and in-app messaging.
  */
 @Entity
-@Table(name = "notifications")
+@Table(name = "notifications",
+    indexes = {
+        @Index(name = "idx_notifications_user_inbox", columnList = "user_id, is_read, deleted_at"),
+        @Index(name = "idx_notifications_user_created", columnList = "user_id, created_at, id")
+    })
 @Data
 @Builder
 @NoArgsConstructor
@@ -28,7 +32,8 @@ import java.util.List;
 public class Notification {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "notifications_seq")
+    @SequenceGenerator(name = "notifications_seq", sequenceName = "notifications_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -169,7 +174,7 @@ public class Notification {
     }
 
     public enum Status {
-        PENDING, SCHEDULED, SENT, DELIVERED, READ, CLICKED, 
+        PENDING, SCHEDULED, SENDING, SENT, DELIVERED, READ, CLICKED, 
         FAILED, EXPIRED, CANCELLED, BOUNCED
     }
 
@@ -0,0 +1,90 @@
+package com.captainpro.aiassistant.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Outbox Event Entity
+ *
+ * A message recorded in the same transaction as the change that caused it and
+ * published afterwards by the outbox relay. Relays lease pending rows while they
+ * publish them; a row whose lease runs out before it is acknowledged is published
+ * again, so consumers must tolerate seeing an {@code eventId} twice.
+ */
+@Entity
+@Table(name = "outbox_events",
+    indexes = {
+        @Index(name = "idx_outbox_events_event_id", columnList = "event_id", unique = true),
+        @Index(name = "idx_outbox_events_pending", columnList = "status, available_at, id"),
+        @Index(name = "idx_outbox_events_published", columnList = "status, published_at")
+    })
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OutboxEvent {
+
+    /**
+     * Delivery of a persisted notification through its channels
+     */
+    public static final String NOTIFICATION = "notification";
+
+    /**
+     * User interaction for the analytics tables
+     */
+    public static final String INTERACTION = "interaction";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "outbox_events_seq")
+    @SequenceGenerator(name = "outbox_events_seq", sequenceName = "outbox_events_seq", allocationSize = 50)
+    private Long id;
+
+    /**
+     * Unique ID consumers deduplicate on
+     */
+    @Column(name = "event_id", nullable = false, unique = true, length = 36)
+    private String eventId;
+
+    @Column(name = "topic", nullable = false, length = 64)
+    private String topic;
+
+    @Column(name = "aggregate_id")
+    private String aggregateId;
+
+    @Column(name = "payload", nullable = false, columnDefinition = "TEXT")
+    private String payload; // JSON payload
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false)
+    private Status status;
+
+    @Column(name = "attempts", nullable = false)
+    private int attempts;
+
+    /**
+     * Earliest time the event may be published, pushed back after a failed attempt
+     */
+    @Column(name = "available_at", nullable = false)
+    private LocalDateTime availableAt;
+
+    @Column(name = "lease_expires_at")
+    private LocalDateTime leaseExpiresAt;
+
+    @Column(name = "last_error", length = 1000)
+    private String lastError;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "published_at")
+    private LocalDateTime publishedAt;
+
+    public enum Status {
+        PENDING, PUBLISHED, DEAD
+    }
+}
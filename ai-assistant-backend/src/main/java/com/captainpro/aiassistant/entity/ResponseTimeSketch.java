@@ -0,0 +1,64 @@
+package com.captainpro.aiassistant.entity;
+
+import com.captainpro.aiassistant.entity.InteractionRollup.Granularity;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Response Time Sketch Entity
+ *
+ * Response-time distribution of one interaction type in one time bucket, stored as
+ * an encoded {@code QuantileSketch} alongside exact count, min, max and sum. Rows are
+ * merged by the analytics ingestion pipeline in the same transaction that writes the
+ * raw interactions, and merge with each other to cover any range of buckets.
+ */
+@Entity
+@Table(name = "response_time_sketches",
+    uniqueConstraints = @UniqueConstraint(name = "uk_response_time_sketches_bucket",
+        columnNames = {"interaction_type", "granularity", "bucket_start"}),
+    indexes = @Index(name = "idx_response_time_sketches_lookup",
+        columnList = "granularity, bucket_start"))
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ResponseTimeSketch {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "response_time_sketches_seq")
+    @SequenceGenerator(name = "response_time_sketches_seq", sequenceName = "response_time_sketches_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "interaction_type", nullable = false, length = 100)
+    private String interactionType;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "granularity", nullable = false, length = 16)
+    private Granularity granularity;
+
+    @Column(name = "bucket_start", nullable = false)
+    private LocalDateTime bucketStart;
+
+    @Column(name = "sample_count", nullable = false)
+    private long sampleCount;
+
+    @Column(name = "min_ms", nullable = false)
+    private long minMs;
+
+    @Column(name = "max_ms", nullable = false)
+    private long maxMs;
+
+    @Column(name = "sum_ms", nullable = false)
+    private long sumMs;
+
+    /**
+     * Encoded quantile sketch; a few hundred bytes at most
+     */
+    @Column(name = "sketch", nullable = false, length = 4096)
+    private byte[] sketch;
+}
@@ -18,7 +18,8 @@ import java.time.LocalDateTime;
  * predictive analytics, recommendations, and comparative analysis.
  */
 @Entity
-@Table(name = "user_insights")
+@Table(name = "user_insights",
+    indexes = @Index(name = "idx_user_insights_user_created", columnList = "user_id, created_at, id"))
 @Data
 @Builder
 @NoArgsConstructor
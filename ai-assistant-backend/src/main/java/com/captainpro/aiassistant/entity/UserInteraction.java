@@ -18,7 +18,11 @@ import java.util.Map;
  * behavior analysis, and performance monitoring.
  */
 @Entity
-@Table(name = "user_interactions")
+@Table(name = "user_interactions",
+    indexes = {
+        @Index(name = "idx_user_interactions_user_created", columnList = "user_id, created_at, id"),
+        @Index(name = "idx_user_interactions_created", columnList = "created_at, id")
+    })
 @Data
 @Builder
 @NoArgsConstructor
@@ -27,7 +31,8 @@ import java.util.Map;
 public class UserInteraction {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "user_interactions_seq")
+    @SequenceGenerator(name = "user_interactions_seq", sequenceName = "user_interactions_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
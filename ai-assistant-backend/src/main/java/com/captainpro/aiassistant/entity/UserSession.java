@@ -0,0 +1,81 @@
+package com.captainpro.aiassistant.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * User Session Entity
+ *
+ * Summary of one closed session: a run of a user's interactions with no gap
+ * longer than the inactivity gap. Written by the sessionizer when a session
+ * closes, so session analytics never regroup raw interactions.
+ */
+@Entity
+@Table(name = "user_sessions",
+    indexes = {
+        @Index(name = "idx_user_sessions_session", columnList = "session_id", unique = true),
+        @Index(name = "idx_user_sessions_user_started", columnList = "user_id, started_at"),
+        @Index(name = "idx_user_sessions_started", columnList = "started_at")
+    })
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserSession {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "user_sessions_seq")
+    @SequenceGenerator(name = "user_sessions_seq", sequenceName = "user_sessions_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "session_id", nullable = false)
+    private String sessionId;
+
+    @Column(name = "user_id", nullable = false)
+    private String userId;
+
+    @Column(name = "started_at", nullable = false)
+    private LocalDateTime startedAt;
+
+    @Column(name = "ended_at", nullable = false)
+    private LocalDateTime endedAt;
+
+    @Column(name = "duration_ms", nullable = false)
+    private long durationMs;
+
+    @Column(name = "action_count", nullable = false)
+    private long actionCount;
+
+    @Column(name = "first_action", nullable = false)
+    private String firstAction;
+
+    @Column(name = "last_action", nullable = false)
+    private String lastAction;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "close_reason", nullable = false, length = 16)
+    private CloseReason closeReason;
+
+    // Enums
+    public enum CloseReason {
+        /**
+         * No interaction within the inactivity gap
+         */
+        INACTIVE,
+
+        /**
+         * Evicted early to keep the open-session map within its bound
+         */
+        EVICTED,
+
+        /**
+         * Closed when the node shut down
+         */
+        SHUTDOWN
+    }
+}
@@ -0,0 +1,19 @@
+package com.captainpro.aiassistant.model;
+
+import java.util.List;
+
+/**
+ * Action Batch Item
+ *
+ * One action of a batch, identified within the batch by {@code id}. The action
+ * only starts after every action listed in {@code dependsOn} has succeeded.
+ */
+public record ActionBatchItem(
+    String id,
+    ActionRequest request,
+    List<String> dependsOn
+) {
+    public ActionBatchItem {
+        dependsOn = dependsOn != null ? List.copyOf(dependsOn) : List.of();
+    }
+}
@@ -0,0 +1,57 @@
+package com.captainpro.aiassistant.model;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Cursor Page
+ *
+ * One page of a keyset-paginated history. {@code nextCursor} is null on the last page.
+ * No total is computed; callers that need one count separately.
+ */
+public record CursorPage<T>(List<T> items, int limit, String nextCursor) {
+
+    public static final int MAX_LIMIT = 100;
+
+    /**
+     * Requested page size bounded to 1..{@link #MAX_LIMIT}
+     */
+    public static int clampLimit(int limit) {
+        return Math.max(1, Math.min(MAX_LIMIT, limit));
+    }
+
+    /**
+     * Build a page from up to {@code limit + 1} fetched rows; the extra row only
+     * signals that another page exists
+     */
+    public static <T> CursorPage<T> of(List<T> fetched, int limit, Function<T, PageCursor> cursorOf) {
+        if (fetched.size() <= limit) {
+            return new CursorPage<>(fetched, limit, null);
+        }
+        List<T> items = fetched.subList(0, limit);
+        return new CursorPage<>(items, limit, cursorOf.apply(items.get(limit - 1)).encode());
+    }
+
+    public <R> CursorPage<R> map(Function<T, R> mapper) {
+        return new CursorPage<>(items.stream().map(mapper).toList(), limit, nextCursor);
+    }
+
+    public boolean hasMore() {
+        return nextCursor != null;
+    }
+
+    /**
+     * Pagination block of API responses
+     */
+    public Map<String, Object> pagination() {
+        Map<String, Object> pagination = new LinkedHashMap<>();
+        pagination.put("limit", limit);
+        pagination.put("hasMore", hasMore());
+        if (hasMore()) {
+            pagination.put("nextCursor", nextCursor);
+        }
+        return pagination;
+    }
+}
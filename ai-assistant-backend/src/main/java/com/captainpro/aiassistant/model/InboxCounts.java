@@ -0,0 +1,17 @@
+package com.captainpro.aiassistant.model;
+
+/**
+ * Inbox Counts
+ *
+ * Notifications in a user's inbox ({@code total}) and how many of them are unread.
+ */
+public record InboxCounts(
+    String userId,
+    long total,
+    long unread
+) {
+
+    public static InboxCounts empty(String userId) {
+        return new InboxCounts(userId, 0, 0);
+    }
+}
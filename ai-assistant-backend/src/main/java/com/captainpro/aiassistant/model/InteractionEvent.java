@@ -0,0 +1,39 @@
+package com.captainpro.aiassistant.model;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * Interaction Event
+ * 
+ * Immutable user interaction captured at ingest time and buffered by the
+ * analytics ingestion pipeline until it is written in a batch. {@code userId}
+ * is the username of the acting user, or "system" for platform jobs.
+ */
+public record InteractionEvent(
+    String userId,
+    String action,
+    String context,
+    Map<String, Object> metadata,
+    LocalDateTime timestamp,
+    String sessionId
+) {
+
+    /**
+     * Whether the interaction records a failure: an {@code *_error} action, an
+     * {@code error} context or {@code success: false} in its metadata
+     */
+    public boolean isError() {
+        return action.endsWith("_error")
+                || "error".equals(context)
+                || Boolean.FALSE.equals(metadata.get("success"));
+    }
+
+    /**
+     * Error message carried in the metadata of a failed interaction, or null
+     */
+    public String errorMessage() {
+        Object error = metadata.get("error");
+        return isError() && error != null ? error.toString() : null;
+    }
+}
@@ -0,0 +1,21 @@
+package com.captainpro.aiassistant.model;
+
+/**
+ * Notification Channel
+ *
+ * Delivery channels, each served by its own provider and delivery lane.
+ */
+public enum NotificationChannel {
+    EMAIL, PUSH, SMS, IN_APP;
+
+    /**
+     * Configuration and API key, e.g. {@code in_app}
+     */
+    public String key() {
+        return name().toLowerCase();
+    }
+
+    public static NotificationChannel fromKey(String key) {
+        return valueOf(key.trim().toUpperCase());
+    }
+}
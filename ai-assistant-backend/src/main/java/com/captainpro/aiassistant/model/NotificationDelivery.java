@@ -0,0 +1,32 @@
+package com.captainpro.aiassistant.model;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Notification Delivery
+ *
+ * One notification to one recipient over one channel. {@code result} completes
+ * with true once a provider accepted it, or false once it ran out of attempts.
+ */
+public record NotificationDelivery(
+    String notificationId,
+    String recipientId,
+    NotificationChannel channel,
+    String type,
+    String message,
+    int attempt,
+    long enqueuedAtNanos,
+    CompletableFuture<Boolean> result
+) {
+
+    public static NotificationDelivery of(String notificationId, String recipientId,
+                                          NotificationChannel channel, String type, String message) {
+        return new NotificationDelivery(notificationId, recipientId, channel, type, message,
+            1, System.nanoTime(), new CompletableFuture<>());
+    }
+
+    public NotificationDelivery nextAttempt() {
+        return new NotificationDelivery(notificationId, recipientId, channel, type, message,
+            attempt + 1, enqueuedAtNanos, result);
+    }
+}
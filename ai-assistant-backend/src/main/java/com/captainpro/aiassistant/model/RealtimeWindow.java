@@ -0,0 +1,48 @@
+package com.captainpro.aiassistant.model;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Realtime Window
+ *
+ * Activity over the last {@code minutes} on one node, or merged over several nodes.
+ * Latencies are kept as quantile sketch buckets so windows stay mergeable.
+ */
+public record RealtimeWindow(
+    int minutes,
+    long events,
+    long aiQueries,
+    long errors,
+    long activeUsers,
+    long sessions,
+    Map<Integer, Long> latencyBuckets,
+    Map<String, Long> actionCounts
+) {
+
+    public static RealtimeWindow empty(int minutes) {
+        return new RealtimeWindow(minutes, 0, 0, 0, 0, 0, Map.of(), Map.of());
+    }
+
+    /**
+     * Combine with the same window of another node. Active users and sessions are summed,
+     * which counts a user twice only if they were served by two nodes within the window.
+     */
+    public RealtimeWindow merge(RealtimeWindow other) {
+        Map<Integer, Long> latency = new HashMap<>(latencyBuckets);
+        other.latencyBuckets.forEach((bucket, count) -> latency.merge(bucket, count, Long::sum));
+        Map<String, Long> actions = new HashMap<>(actionCounts);
+        other.actionCounts.forEach((action, count) -> actions.merge(action, count, Long::sum));
+
+        return new RealtimeWindow(
+            minutes,
+            events + other.events,
+            aiQueries + other.aiQueries,
+            errors + other.errors,
+            activeUsers + other.activeUsers,
+            sessions + other.sessions,
+            latency,
+            actions
+        );
+    }
+}
@@ -0,0 +1,18 @@
+package com.captainpro.aiassistant.model;
+
+/**
+ * Response Time Stats
+ *
+ * Response-time summary in milliseconds. Count, min, max and mean are exact;
+ * percentiles are within the relative accuracy of the underlying sketch.
+ */
+public record ResponseTimeStats(
+    long count,
+    long min,
+    long max,
+    double mean,
+    double p50,
+    double p95,
+    double p99
+) {
+}
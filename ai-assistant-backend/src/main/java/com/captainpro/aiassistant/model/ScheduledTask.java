@@ -0,0 +1,16 @@
+package com.captainpro.aiassistant.model;
+
+import java.time.LocalDateTime;
+
+/**
+ * Scheduled Task
+ *
+ * A persisted task due at {@code dueAt}, identified by {@code key} within its source.
+ * {@code id} is its row ID, which orders tasks due at the same instant for paging.
+ */
+public record ScheduledTask(
+    String key,
+    LocalDateTime dueAt,
+    long id
+) {
+}
@@ -0,0 +1,85 @@
+package com.captainpro.aiassistant.repository;
+
+import com.captainpro.aiassistant.entity.ActionJob;
+import com.captainpro.aiassistant.model.ScheduledTask;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Action Job Repository Interface
+ *
+ * Provides queue operations for ActionJob entities: claiming runnable
+ * jobs with row locks, lease renewal and per-user job history.
+ */
+@Repository
+public interface ActionJobRepository extends JpaRepository<ActionJob, Long> {
+
+    Optional<ActionJob> findByJobId(String jobId);
+
+    /**
+     * Runnable jobs in claim order: queued jobs that are due, and running jobs whose lease has expired.
+     * A lock timeout of -2 makes Hibernate emit {@code FOR UPDATE SKIP LOCKED}, so concurrent
+     * workers claim disjoint rows instead of blocking on each other.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT j FROM ActionJob j WHERE (j.status = 'QUEUED' AND j.availableAt <= :now) " +
+           "OR (j.status = 'RUNNING' AND j.leaseExpiresAt < :now) " +
+           "ORDER BY j.priority DESC, j.availableAt ASC")
+    List<ActionJob> findClaimable(@Param("now") LocalDateTime now, Pageable pageable);
+
+    @Query("SELECT new com.captainpro.aiassistant.model.ScheduledTask(j.jobId, j.availableAt, j.id) FROM ActionJob j " +
+           "WHERE j.status = 'QUEUED' AND j.availableAt < :to " +
+           "AND (j.availableAt > :from OR (j.availableAt = :from AND j.id > :afterId)) " +
+           "ORDER BY j.availableAt, j.id")
+    List<ScheduledTask> findQueuedWindow(@Param("from") LocalDateTime from,
+                                         @Param("afterId") long afterId,
+                                         @Param("to") LocalDateTime to,
+                                         Pageable pageable);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT j FROM ActionJob j WHERE j.jobId = :jobId")
+    Optional<ActionJob> findByJobIdForUpdate(@Param("jobId") String jobId);
+
+    @Modifying
+    @Query("UPDATE ActionJob j SET j.leaseExpiresAt = :until " +
+           "WHERE j.jobId IN :jobIds AND j.leaseOwner = :owner AND j.status = 'RUNNING'")
+    int renewLeases(@Param("jobIds") Collection<String> jobIds,
+                    @Param("owner") String owner,
+                    @Param("until") LocalDateTime until);
+
+    @Query("SELECT j.jobId FROM ActionJob j WHERE j.jobId IN :jobIds " +
+           "AND (j.leaseOwner <> :owner OR j.status <> 'RUNNING')")
+    List<String> findLostLeases(@Param("jobIds") Collection<String> jobIds, @Param("owner") String owner);
+
+    @Query("SELECT j.jobId FROM ActionJob j WHERE j.jobId IN :jobIds AND j.cancelRequested = true")
+    List<String> findCancelRequested(@Param("jobIds") Collection<String> jobIds);
+
+    // History queries, keyset-paginated on (createdAt, id); fetch with PageRequest.of(0, limit + 1)
+    @Query("SELECT j FROM ActionJob j WHERE j.userId = :userId AND (:jobType IS NULL OR j.jobType = :jobType) " +
+           "ORDER BY j.createdAt DESC, j.id DESC")
+    List<ActionJob> findHistory(@Param("userId") String userId,
+                                @Param("jobType") String jobType,
+                                Pageable pageable);
+
+    @Query("SELECT j FROM ActionJob j WHERE j.userId = :userId AND (:jobType IS NULL OR j.jobType = :jobType) " +
+           "AND (j.createdAt < :createdAt OR (j.createdAt = :createdAt AND j.id < :id)) " +
+           "ORDER BY j.createdAt DESC, j.id DESC")
+    List<ActionJob> findHistoryBefore(@Param("userId") String userId,
+                                      @Param("jobType") String jobType,
+                                      @Param("createdAt") LocalDateTime createdAt,
+                                      @Param("id") Long id,
+                                      Pageable pageable);
+
+    @Query("SELECT COUNT(j) FROM ActionJob j WHERE j.userId = :userId AND (:jobType IS NULL OR j.jobType = :jobType)")
+    long countHistory(@Param("userId") String userId, @Param("jobType") String jobType);
+}
@@ -0,0 +1,42 @@
+package com.captainpro.aiassistant.repository;
+
+import com.captainpro.aiassistant.entity.AnalyticsSketch;
+import com.captainpro.aiassistant.entity.AnalyticsSketch.Metric;
+import com.captainpro.aiassistant.entity.InteractionRollup.Granularity;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Analytics Sketch Repository Interface
+ *
+ * Provides locked access to sketch buckets for ingestion
+ * and range reads for the analytics summary.
+ */
+@Repository
+public interface AnalyticsSketchRepository extends JpaRepository<AnalyticsSketch, Long> {
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM AnalyticsSketch s WHERE s.metric = :metric AND s.dimensionKey = :dimensionKey " +
+           "AND s.granularity = :granularity AND s.bucketStart = :bucketStart")
+    Optional<AnalyticsSketch> lockBucket(@Param("metric") Metric metric,
+                                         @Param("dimensionKey") String dimensionKey,
+                                         @Param("granularity") Granularity granularity,
+                                         @Param("bucketStart") LocalDateTime bucketStart);
+
+    @Query("SELECT s FROM AnalyticsSketch s WHERE s.metric = :metric AND s.dimensionKey IN :dimensionKeys " +
+           "AND s.granularity = :granularity AND s.bucketStart >= :from AND s.bucketStart < :to")
+    List<AnalyticsSketch> findBuckets(@Param("metric") Metric metric,
+                                      @Param("dimensionKeys") Collection<String> dimensionKeys,
+                                      @Param("granularity") Granularity granularity,
+                                      @Param("from") LocalDateTime from,
+                                      @Param("to") LocalDateTime to);
+}
@@ -40,9 +40,18 @@ public interface ChatMessageRepository extends JpaRepository<ChatMessage, Long>
            "ORDER BY cm.timestamp ASC")
     List<ChatMessage> findConversationMessages(@Param("conversationId") String conversationId);
     
-    @Query("SELECT cm FROM ChatMessage cm WHERE cm.user = :user " +
-           "ORDER BY cm.timestamp DESC")
-    Page<ChatMessage> findUserMessages(@Param("user") User user, Pageable pageable);
+    // Keyset-paginated on (createdAt, id); fetch with PageRequest.of(0, limit + 1)
+    @Query("SELECT cm FROM ChatMessage cm WHERE cm.user = :user AND cm.deletedAt IS NULL " +
+           "ORDER BY cm.createdAt DESC, cm.id DESC")
+    List<ChatMessage> findUserMessages(@Param("user") User user, Pageable pageable);
+    
+    @Query("SELECT cm FROM ChatMessage cm WHERE cm.user = :user AND cm.deletedAt IS NULL " +
+           "AND (cm.createdAt < :createdAt OR (cm.createdAt = :createdAt AND cm.id < :id)) " +
+           "ORDER BY cm.createdAt DESC, cm.id DESC")
+    List<ChatMessage> findUserMessagesBefore(@Param("user") User user,
+                                             @Param("createdAt") LocalDateTime createdAt,
+                                             @Param("id") Long id,
+                                             Pageable pageable);
     
     // Time-based queries
     List<ChatMessage> findByTimestampAfter(LocalDateTime timestamp);
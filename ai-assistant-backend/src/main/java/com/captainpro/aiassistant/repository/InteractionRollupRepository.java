@@ -0,0 +1,42 @@
+package com.captainpro.aiassistant.repository;
+
+import com.captainpro.aiassistant.entity.InteractionRollup;
+import com.captainpro.aiassistant.entity.InteractionRollup.Dimension;
+import com.captainpro.aiassistant.entity.InteractionRollup.Granularity;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Interaction Rollup Repository Interface
+ *
+ * Provides locked access to pre-aggregated interaction buckets for ingestion
+ * and range reads used by the analytics dashboard.
+ */
+@Repository
+public interface InteractionRollupRepository extends JpaRepository<InteractionRollup, Long> {
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT r FROM InteractionRollup r WHERE r.userId = :userId AND r.granularity = :granularity " +
+           "AND r.bucketStart = :bucketStart AND r.dimension = :dimension AND r.dimensionKey = :dimensionKey")
+    Optional<InteractionRollup> lockBucket(@Param("userId") String userId,
+                                           @Param("granularity") Granularity granularity,
+                                           @Param("bucketStart") LocalDateTime bucketStart,
+                                           @Param("dimension") Dimension dimension,
+                                           @Param("dimensionKey") String dimensionKey);
+
+    @Query("SELECT r FROM InteractionRollup r WHERE r.userId = :userId AND r.granularity = :granularity " +
+           "AND r.dimension = :dimension AND r.bucketStart >= :from AND r.bucketStart < :to")
+    List<InteractionRollup> findBuckets(@Param("userId") String userId,
+                                        @Param("granularity") Granularity granularity,
+                                        @Param("dimension") Dimension dimension,
+                                        @Param("from") LocalDateTime from,
+                                        @Param("to") LocalDateTime to);
+}
@@ -0,0 +1,114 @@
+package com.captainpro.aiassistant.repository;
+
+import com.captainpro.aiassistant.entity.Notification;
+import com.captainpro.aiassistant.model.InboxCounts;
+import com.captainpro.aiassistant.model.ScheduledTask;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Notification Repository Interface
+ *
+ * Provides data access operations for Notification entities
+ * supporting delivery, scheduling and user inboxes.
+ */
+@Repository
+public interface NotificationRepository extends JpaRepository<Notification, Long> {
+
+    // Basic queries
+    List<Notification> findByStatus(Notification.Status status);
+
+    @Query("SELECT n FROM Notification n WHERE n.user.id = :userId ORDER BY n.createdAt DESC")
+    Page<Notification> findByUserId(@Param("userId") Long userId, Pageable pageable);
+
+    // Scheduling queries
+    @Query("SELECT new com.captainpro.aiassistant.model.ScheduledTask(CAST(n.id AS String), n.scheduledAt, n.id) " +
+           "FROM Notification n WHERE n.status = 'SCHEDULED' AND n.scheduledAt < :to " +
+           "AND (n.scheduledAt > :from OR (n.scheduledAt = :from AND n.id > :afterId)) " +
+           "ORDER BY n.scheduledAt, n.id")
+    List<ScheduledTask> findScheduledWindow(@Param("from") LocalDateTime from,
+                                            @Param("afterId") long afterId,
+                                            @Param("to") LocalDateTime to,
+                                            Pageable pageable);
+
+    /**
+     * Scheduled notifications among {@code ids} that are still waiting, locked for dispatch.
+     * Rows locked by another node are skipped ({@code FOR UPDATE SKIP LOCKED}).
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT n FROM Notification n WHERE n.id IN :ids AND n.status = 'SCHEDULED'")
+    List<Notification> lockScheduledForDispatch(@Param("ids") Collection<Long> ids);
+
+    // Delivery queries
+
+    /**
+     * Pending notifications among {@code ids}, locked so that only one relay can claim them for delivery
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT n FROM Notification n WHERE n.id IN :ids AND n.status = 'PENDING'")
+    List<Notification> lockPendingForDelivery(@Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @Query("UPDATE Notification n SET n.status = 'SENT', n.sentAt = :now WHERE n.id IN :ids AND n.status = 'SENDING'")
+    int markSent(@Param("ids") Collection<Long> ids, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE Notification n SET n.status = 'PENDING' WHERE n.id IN :ids AND n.status = 'SENDING'")
+    int releaseClaims(@Param("ids") Collection<Long> ids);
+
+    // Inbox queries; the inbox holds notifications that are no longer scheduled and not deleted
+    @Query("SELECT new com.captainpro.aiassistant.model.InboxCounts(u.username, COUNT(n), " +
+           "SUM(CASE WHEN n.isRead = false THEN 1 ELSE 0 END)) " +
+           "FROM Notification n JOIN n.user u WHERE u.username IN :usernames " +
+           "AND n.status <> 'SCHEDULED' AND n.deletedAt IS NULL GROUP BY u.username")
+    List<InboxCounts> countInboxes(@Param("usernames") Collection<String> usernames);
+
+    @Query("SELECT new com.captainpro.aiassistant.model.InboxCounts('*', COUNT(n), " +
+           "COALESCE(SUM(CASE WHEN n.isRead = false THEN 1 ELSE 0 END), 0)) " +
+           "FROM Notification n WHERE n.status <> 'SCHEDULED' AND n.deletedAt IS NULL")
+    InboxCounts countAllInboxes();
+
+    // Inbox pages, keyset-paginated on (createdAt, id); a null isRead returns read and unread
+    @Query("SELECT n FROM Notification n WHERE n.user.id = (SELECT u.id FROM User u WHERE u.username = :username) " +
+           "AND n.status <> 'SCHEDULED' AND n.deletedAt IS NULL AND (:isRead IS NULL OR n.isRead = :isRead) " +
+           "ORDER BY n.createdAt DESC, n.id DESC")
+    List<Notification> findInbox(@Param("username") String username,
+                                 @Param("isRead") Boolean isRead,
+                                 Pageable pageable);
+
+    @Query("SELECT n FROM Notification n WHERE n.user.id = (SELECT u.id FROM User u WHERE u.username = :username) " +
+           "AND n.status <> 'SCHEDULED' AND n.deletedAt IS NULL AND (:isRead IS NULL OR n.isRead = :isRead) " +
+           "AND (n.createdAt < :createdAt OR (n.createdAt = :createdAt AND n.id < :id)) " +
+           "ORDER BY n.createdAt DESC, n.id DESC")
+    List<Notification> findInboxBefore(@Param("username") String username,
+                                       @Param("isRead") Boolean isRead,
+                                       @Param("createdAt") LocalDateTime createdAt,
+                                       @Param("id") Long id,
+                                       Pageable pageable);
+
+    @Query("SELECT n FROM Notification n WHERE n.id = :id AND n.user.username = :username AND n.deletedAt IS NULL")
+    Optional<Notification> findInInbox(@Param("id") Long id, @Param("username") String username);
+
+    @Modifying
+    @Query("UPDATE Notification n SET n.isRead = true, n.readAt = :now " +
+           "WHERE n.id = :id AND n.isRead = false AND n.deletedAt IS NULL AND n.status <> 'SCHEDULED' " +
+           "AND n.user.id = (SELECT u.id FROM User u WHERE u.username = :username)")
+    int markRead(@Param("id") Long id, @Param("username") String username, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE Notification n SET n.isRead = true, n.readAt = :now " +
+           "WHERE n.isRead = false AND n.deletedAt IS NULL AND n.status <> 'SCHEDULED' " +
+           "AND n.user.id = (SELECT u.id FROM User u WHERE u.username = :username)")
+    int markAllRead(@Param("username") String username, @Param("now") LocalDateTime now);
+}
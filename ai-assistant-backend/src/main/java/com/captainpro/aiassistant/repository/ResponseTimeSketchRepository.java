@@ -0,0 +1,37 @@
+package com.captainpro.aiassistant.repository;
+
+import com.captainpro.aiassistant.entity.InteractionRollup.Granularity;
+import com.captainpro.aiassistant.entity.ResponseTimeSketch;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Response Time Sketch Repository Interface
+ *
+ * Provides locked access to response-time sketch buckets for ingestion
+ * and range reads for the performance metrics.
+ */
+@Repository
+public interface ResponseTimeSketchRepository extends JpaRepository<ResponseTimeSketch, Long> {
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM ResponseTimeSketch s WHERE s.interactionType = :interactionType " +
+           "AND s.granularity = :granularity AND s.bucketStart = :bucketStart")
+    Optional<ResponseTimeSketch> lockBucket(@Param("interactionType") String interactionType,
+                                            @Param("granularity") Granularity granularity,
+                                            @Param("bucketStart") LocalDateTime bucketStart);
+
+    @Query("SELECT s FROM ResponseTimeSketch s WHERE s.granularity = :granularity " +
+           "AND s.bucketStart >= :from AND s.bucketStart < :to")
+    List<ResponseTimeSketch> findBuckets(@Param("granularity") Granularity granularity,
+                                         @Param("from") LocalDateTime from,
+                                         @Param("to") LocalDateTime to);
+}
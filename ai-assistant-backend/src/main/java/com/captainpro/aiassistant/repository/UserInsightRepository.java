@@ -59,10 +59,18 @@ public interface UserInsightRepository extends JpaRepository<UserInsight, Long>
            "ORDER BY ui.priority DESC, ui.createdAt DESC")
     List<UserInsight> findHighPriorityInsights(@Param("user") User user);
     
-    // Recent insights
+    // Recent insights, keyset-paginated on (createdAt, id); fetch with PageRequest.of(0, limit + 1)
     @Query("SELECT ui FROM UserInsight ui WHERE ui.user = :user " +
-           "ORDER BY ui.createdAt DESC")
-    Page<UserInsight> findRecentUserInsights(@Param("user") User user, Pageable pageable);
+           "ORDER BY ui.createdAt DESC, ui.id DESC")
+    List<UserInsight> findRecentUserInsights(@Param("user") User user, Pageable pageable);
+    
+    @Query("SELECT ui FROM UserInsight ui WHERE ui.user = :user " +
+           "AND (ui.createdAt < :createdAt OR (ui.createdAt = :createdAt AND ui.id < :id)) " +
+           "ORDER BY ui.createdAt DESC, ui.id DESC")
+    List<UserInsight> findUserInsightsBefore(@Param("user") User user,
+                                             @Param("createdAt") LocalDateTime createdAt,
+                                             @Param("id") Long id,
+                                             Pageable pageable);
     
     // Time-based queries
     List<UserInsight> findByCreatedAtAfter(LocalDateTime dateTime);
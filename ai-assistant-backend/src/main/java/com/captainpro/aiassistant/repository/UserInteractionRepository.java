@@ -92,10 +92,6 @@ public interface UserInteractionRepository extends JpaRepository<UserInteraction
            "GROUP BY ui.interactionType ORDER BY COUNT(ui) DESC")
     List<Object[]> getInteractionTypeStatistics();
     
-    @Query("SELECT ui.action, COUNT(ui) FROM UserInteraction ui " +
-           "WHERE ui.action IS NOT NULL GROUP BY ui.action ORDER BY COUNT(ui) DESC")
-    List<Object[]> getActionStatistics();
-    
     @Query("SELECT ui.category, COUNT(ui) FROM UserInteraction ui " +
            "WHERE ui.category IS NOT NULL GROUP BY ui.category ORDER BY COUNT(ui) DESC")
     List<Object[]> getCategoryStatistics();
@@ -134,14 +130,6 @@ public interface UserInteractionRepository extends JpaRepository<UserInteraction
            "WHERE ui.duration IS NOT NULL")
     Double getAverageDuration();
     
-    @Query("SELECT MIN(ui.responseTimeMs), MAX(ui.responseTimeMs), AVG(ui.responseTimeMs) " +
-           "FROM UserInteraction ui WHERE ui.responseTimeMs IS NOT NULL")
-    Object[] getResponseTimeStatistics();
-    
-    @Query("SELECT ui.interactionType, AVG(ui.responseTimeMs) FROM UserInteraction ui " +
-           "WHERE ui.responseTimeMs IS NOT NULL GROUP BY ui.interactionType")
-    List<Object[]> getAverageResponseTimeByType();
-    
     // Success rate analytics
     @Query("SELECT COUNT(ui) * 100.0 / (SELECT COUNT(ui2) FROM UserInteraction ui2) " +
            "FROM UserInteraction ui WHERE ui.isSuccessful = true")
@@ -168,34 +156,33 @@ public interface UserInteractionRepository extends JpaRepository<UserInteraction
     Double getErrorRate();
     
     // Device and location analytics
-    @Query("SELECT ui.deviceInfo, COUNT(ui) FROM UserInteraction ui " +
-           "WHERE ui.deviceInfo IS NOT NULL GROUP BY ui.deviceInfo " +
-           "ORDER BY COUNT(ui) DESC")
-    List<Object[]> getDeviceStatistics();
-    
-    @Query("SELECT ui.location, COUNT(ui) FROM UserInteraction ui " +
-           "WHERE ui.location IS NOT NULL GROUP BY ui.location " +
-           "ORDER BY COUNT(ui) DESC")
-    List<Object[]> getLocationStatistics();
-    
     @Query("SELECT ui.timezone, COUNT(ui) FROM UserInteraction ui " +
            "WHERE ui.timezone IS NOT NULL GROUP BY ui.timezone " +
            "ORDER BY COUNT(ui) DESC")
     List<Object[]> getTimezoneStatistics();
     
-    // Recent interactions
+    // Recent interactions, keyset-paginated on (createdAt, id); fetch with PageRequest.of(0, limit + 1)
     @Query("SELECT ui FROM UserInteraction ui WHERE ui.user = :user " +
-           "ORDER BY ui.timestamp DESC")
-    Page<UserInteraction> findRecentUserInteractions(@Param("user") User user, Pageable pageable);
-    
-    @Query("SELECT ui FROM UserInteraction ui ORDER BY ui.timestamp DESC")
-    Page<UserInteraction> findRecentInteractions(Pageable pageable);
+           "ORDER BY ui.createdAt DESC, ui.id DESC")
+    List<UserInteraction> findRecentUserInteractions(@Param("user") User user, Pageable pageable);
     
-    // Most active users
-    @Query("SELECT ui.user, COUNT(ui) FROM UserInteraction ui " +
-           "WHERE ui.timestamp >= :startDate GROUP BY ui.user " +
-           "ORDER BY COUNT(ui) DESC")
-    Page<Object[]> findMostActiveUsers(@Param("startDate") LocalDateTime startDate, Pageable pageable);
+    @Query("SELECT ui FROM UserInteraction ui WHERE ui.user = :user " +
+           "AND (ui.createdAt < :createdAt OR (ui.createdAt = :createdAt AND ui.id < :id)) " +
+           "ORDER BY ui.createdAt DESC, ui.id DESC")
+    List<UserInteraction> findUserInteractionsBefore(@Param("user") User user,
+                                                     @Param("createdAt") LocalDateTime createdAt,
+                                                     @Param("id") Long id,
+                                                     Pageable pageable);
+    
+    @Query("SELECT ui FROM UserInteraction ui ORDER BY ui.createdAt DESC, ui.id DESC")
+    List<UserInteraction> findRecentInteractions(Pageable pageable);
+    
+    @Query("SELECT ui FROM UserInteraction ui " +
+           "WHERE ui.createdAt < :createdAt OR (ui.createdAt = :createdAt AND ui.id < :id) " +
+           "ORDER BY ui.createdAt DESC, ui.id DESC")
+    List<UserInteraction> findInteractionsBefore(@Param("createdAt") LocalDateTime createdAt,
+                                                 @Param("id") Long id,
+                                                 Pageable pageable);
     
     // Search functionality
     @Query("SELECT ui FROM UserInteraction ui WHERE " +
@@ -258,11 +245,6 @@ public interface UserInteractionRepository extends JpaRepository<UserInteraction
                                         @Param("startDate") LocalDateTime startDate,
                                         @Param("endDate") LocalDateTime endDate);
     
-    // Conversion funnel analysis
-    @Query("SELECT ui.action, COUNT(DISTINCT ui.user) FROM UserInteraction ui " +
-           "WHERE ui.action IN :actions GROUP BY ui.action")
-    List<Object[]> getFunnelAnalysis(@Param("actions") List<String> actions);
-    
     // Custom metadata queries
     @Query("SELECT ui FROM UserInteraction ui WHERE ui.metadata LIKE %:key% AND ui.metadata LIKE %:value%")
     List<UserInteraction> findByMetadata(@Param("key") String key, @Param("value") String value);
@@ -0,0 +1,24 @@
+package com.captainpro.aiassistant.repository;
+
+import com.captainpro.aiassistant.entity.UserSession;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * User Session Repository Interface
+ *
+ * Provides session analytics over closed-session summaries.
+ */
+@Repository
+public interface UserSessionRepository extends JpaRepository<UserSession, Long> {
+
+    @Query("SELECT AVG(s.durationMs) FROM UserSession s WHERE s.userId = :userId AND s.startedAt >= :from")
+    Double getAverageDurationMs(@Param("userId") String userId, @Param("from") LocalDateTime from);
+
+    @Query("SELECT COUNT(s) FROM UserSession s WHERE s.userId = :userId AND s.startedAt >= :from")
+    long countSessions(@Param("userId") String userId, @Param("from") LocalDateTime from);
+}
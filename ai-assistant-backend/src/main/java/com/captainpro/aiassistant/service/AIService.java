@@ -1,21 +1,32 @@
 package com.captainpro.aiassistant.service;
 
+import com.captainpro.aiassistant.entity.ChatMessage;
+import com.captainpro.aiassistant.entity.User;
+import com.captainpro.aiassistant.model.CursorPage;
+import com.captainpro.aiassistant.model.PageCursor;
+import com.captainpro.aiassistant.repository.ChatMessageRepository;
+import com.captainpro.aiassistant.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.ai.chat.ChatClient;
 import org.springframework.ai.chat.ChatResponse;
+import org.springframework.ai.chat.StreamingChatClient;
 import org.springframework.ai.chat.messages.Message;
 import org.springframework.ai.chat.messages.SystemMessage;
 import org.springframework.ai.chat.messages.UserMessage;
 import org.springframework.ai.chat.prompt.Prompt;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cache.annotation.Cacheable;
-import org.springframework.scheduling.annotation.Async;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Schedulers;
 
 import java.time.LocalDateTime;
 import java.util.*;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
 /**
  * AI Service
@@ -32,10 +43,16 @@ import java.util.concurrent.CompletableFuture;
 @Slf4j
 public class AIService {
 
-    private final ChatClient chatClient;
+    private final CachingChatClient chatClient;
+    private final StreamingChatClient streamingChatClient;
     private final AnalyticsService analyticsService;
     private final InsightsService insightsService;
     private final DataProcessingService dataProcessingService;
+    private final UserRepository userRepository;
+    private final ChatMessageRepository chatMessageRepository;
+
+    @Qualifier("aiExecutor")
+    private final Executor aiExecutor;
 
     @Value("${app.ai.model:gpt-3.5-turbo}")
     private String aiModel;
@@ -46,11 +63,31 @@ public class AIService {
     @Value("${app.ai.temperature:0.7}")
     private double temperature;
 
+    /**
+     * Page of a user's chat messages, newest first, continuing after {@code cursor} if given
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<Map<String, Object>> getConversationHistory(String userId, int limit, String cursor) {
+        PageCursor after = PageCursor.decode(cursor);
+        Optional<User> user = userRepository.findByUsername(userId);
+        if (user.isEmpty()) {
+            return new CursorPage<>(List.of(), limit, null);
+        }
+        
+        PageRequest page = PageRequest.of(0, limit + 1);
+        List<ChatMessage> messages = after == null
+            ? chatMessageRepository.findUserMessages(user.get(), page)
+            : chatMessageRepository.findUserMessagesBefore(user.get(), after.createdAt(), after.id(), page);
+        return CursorPage.of(messages, limit, m -> new PageCursor(m.getCreatedAt(), m.getId()))
+            .map(this::describe);
+    }
+
     /**
      * Process chat message with AI
      */
     public Map<String, Object> processChat(String userId, String message, Map<String, Object> context) {
         log.info("Processing AI chat for user: {} - Message length: {}", userId, message.length());
+        long startedAt = System.currentTimeMillis();
         
         try {
             // Track user interaction
@@ -63,11 +100,9 @@ public class AIService {
             // Build enhanced prompt with context
             String enhancedPrompt = buildEnhancedPrompt(message, context, userInsights);
             
-            // Get AI response
-            ChatResponse response = chatClient.call(new Prompt(List.of(
-                new SystemMessage(getSystemPrompt()),
-                new UserMessage(enhancedPrompt)
-            )));
+            // Get AI response, cached on the question and the context the prompt was built from
+            ChatResponse response = chatClient.call(buildChatPrompt(enhancedPrompt),
+                chatCacheKey(message, context, userInsights));
             
             String aiResponse = response.getResult().getOutput().getContent();
             
@@ -86,7 +121,8 @@ public class AIService {
             
             // Track successful AI interaction
             analyticsService.trackUserInteraction(userId, "ai_response_generated", "success", 
-                Map.of("responseLength", aiResponse.length(), "actionsCount", actions.size()));
+                Map.of("responseLength", aiResponse.length(), "actionsCount", actions.size(),
+                    "responseTimeMs", System.currentTimeMillis() - startedAt));
             
             return result;
             
@@ -107,10 +143,86 @@ public class AIService {
         }
     }
 
+    /**
+     * Stream chat response with AI token by token.
+     *
+     * Emits {@code token} frames as the model produces output, followed by trailing
+     * {@code actions}, {@code recommendations}, {@code insights} and {@code done} frames.
+     * Failures are reported as a single {@code error} frame instead of terminating the stream.
+     */
+    public Flux<Map<String, Object>> streamChat(String userId, String message, Map<String, Object> context) {
+        return Flux.defer(() -> {
+            log.info("Streaming AI chat for user: {} - Message length: {}", userId, message.length());
+            long startedAt = System.currentTimeMillis();
+            
+            // Track user interaction
+            analyticsService.trackUserInteraction(userId, "ai_chat", "stream", 
+                Map.of("messageLength", message.length(), "hasContext", !context.isEmpty()));
+            
+            // Get user context and insights
+            Map<String, Object> userInsights = insightsService.generateUserInsights(userId, "comprehensive");
+            String enhancedPrompt = buildEnhancedPrompt(message, context, userInsights);
+            ResponseCache.CacheKey cacheKey = chatCacheKey(message, context, userInsights);
+            
+            StringBuilder aiResponse = new StringBuilder();
+            
+            // A cached answer is replayed as one token frame; a streamed answer is cached once it completes
+            Optional<ChatResponse> cached = chatClient.lookup(cacheKey);
+            Flux<String> contents = cached.isPresent()
+                ? Flux.just(cached.get().getResult().getOutput().getContent())
+                : streamingChatClient.stream(buildChatPrompt(enhancedPrompt)).map(this::extractStreamedContent);
+            
+            Flux<Map<String, Object>> tokens = contents
+                .filter(content -> !content.isEmpty())
+                .doOnNext(aiResponse::append)
+                .doOnComplete(() -> {
+                    // Only complete answers are cached; cancelled or failed streams are not
+                    if (cached.isEmpty()) {
+                        chatClient.store(cacheKey, aiResponse.toString());
+                    }
+                })
+                .map(content -> Map.<String, Object>of("type", "token", "content", content));
+            
+            // Follow-up frames are built once the full response is known
+            Flux<Map<String, Object>> trailer = Flux.defer(() -> {
+                String response = aiResponse.toString();
+                List<Map<String, Object>> actions = generateFollowUpActions(userId, message, response, context);
+                List<Map<String, Object>> recommendations = generateRecommendations(userId, message, userInsights);
+                
+                analyticsService.trackUserInteraction(userId, "ai_response_generated", "stream", 
+                    Map.of("responseLength", response.length(), "actionsCount", actions.size(),
+                        "responseTimeMs", System.currentTimeMillis() - startedAt));
+                
+                return Flux.just(
+                    Map.<String, Object>of("type", "actions", "data", actions),
+                    Map.<String, Object>of("type", "recommendations", "data", recommendations),
+                    Map.<String, Object>of("type", "insights", "data", extractKeyInsights(userInsights)),
+                    Map.<String, Object>of("type", "done", "timestamp", LocalDateTime.now(), "model", aiModel)
+                );
+            });
+            
+            return tokens.concatWith(trailer);
+        })
+        .onErrorResume(e -> {
+            log.error("Failed to stream AI chat for user: {}", userId, e);
+            
+            // Track error
+            analyticsService.trackUserInteraction(userId, "ai_chat_error", "error", 
+                Map.of("error", String.valueOf(e.getMessage()), "streaming", true));
+            
+            return Flux.just(Map.<String, Object>of(
+                "type", "error",
+                "response", "I apologize, but I'm experiencing technical difficulties. Please try again.",
+                "timestamp", LocalDateTime.now()
+            ));
+        })
+        // Insights lookup and the model call block, keep them off the servlet and event-loop threads
+        .subscribeOn(Schedulers.boundedElastic());
+    }
+
     /**
      * Generate AI-powered insights
      */
-    @Async
     public CompletableFuture<Map<String, Object>> generateAIInsights(String userId, String dataType) {
         log.info("Generating AI insights for user: {} - Data type: {}", userId, dataType);
         
@@ -153,13 +265,13 @@ public class AIService {
                     "timestamp", LocalDateTime.now()
                 );
             }
-        });
+        }, aiExecutor);
     }
 
     /**
      * Generate personalized recommendations
      */
-    @Cacheable(value = "aiRecommendations", key = "#userId + '_' + #category")
+    @Cacheable(value = "aiRecommendations", key = "#userId + '_' + #category", sync = true)
     public List<Map<String, Object>> generatePersonalizedRecommendations(String userId, String category) {
         log.info("Generating personalized recommendations for user: {} - Category: {}", userId, category);
         
@@ -278,6 +390,38 @@ public class AIService {
 
     // Helper methods
     
+    private ResponseCache.CacheKey chatCacheKey(String message, Map<String, Object> context,
+                                                Map<String, Object> userInsights) {
+        return chatClient.keyFor(PromptFamily.CHAT, message,
+            Map.of("context", context, "insights", extractKeyInsights(userInsights)));
+    }
+
+    private Map<String, Object> describe(ChatMessage message) {
+        Map<String, Object> view = new LinkedHashMap<>();
+        view.put("id", message.getId());
+        view.put("conversationId", message.getConversationId());
+        view.put("role", message.getRole() != null ? message.getRole().name().toLowerCase() : null);
+        view.put("content", message.getContent());
+        view.put("createdAt", message.getCreatedAt());
+        return view;
+    }
+
+    private Prompt buildChatPrompt(String enhancedPrompt) {
+        return new Prompt(List.of(
+            new SystemMessage(getSystemPrompt()),
+            new UserMessage(enhancedPrompt)
+        ));
+    }
+
+    private String extractStreamedContent(ChatResponse chunk) {
+        // Streamed chunks may carry no generation (e.g. the final usage-only chunk)
+        if (chunk == null || chunk.getResult() == null || chunk.getResult().getOutput() == null) {
+            return "";
+        }
+        String content = chunk.getResult().getOutput().getContent();
+        return content != null ? content : "";
+    }
+
     private String buildEnhancedPrompt(String message, Map<String, Object> context, Map<String, Object> userInsights) {
         StringBuilder prompt = new StringBuilder();
         prompt.append("User Message: ").append(message).append("\n\n");
@@ -335,29 +479,23 @@ public class AIService {
     }
 
     private String getSystemPrompt() {
-        return "You are an intelligent football assistant with access to comprehensive user data and insights. " +
-               "Provide helpful, personalized responses based on the user's context and football-related needs. " +
-               "Be concise, actionable, and supportive.";
+        return PromptFamily.CHAT.getSystemPrompt();
     }
 
     private String getInsightsSystemPrompt() {
-        return "You are a data analyst specializing in football performance analysis. " +
-               "Analyze the provided data and generate meaningful insights with actionable recommendations.";
+        return PromptFamily.INSIGHTS.getSystemPrompt();
     }
 
     private String getRecommendationsSystemPrompt() {
-        return "You are a personalized recommendation engine for football players and teams. " +
-               "Generate specific, actionable recommendations based on user behavior and performance data.";
+        return PromptFamily.RECOMMENDATIONS.getSystemPrompt();
     }
 
     private String getTeamAnalysisSystemPrompt() {
-        return "You are a football team performance analyst. " +
-               "Analyze team data and provide comprehensive insights for improvement.";
+        return PromptFamily.TEAM_ANALYSIS.getSystemPrompt();
     }
 
     private String getTrainingSystemPrompt() {
-        return "You are a football training specialist. " +
-               "Create personalized training plans based on player data and performance metrics.";
+        return PromptFamily.TRAINING.getSystemPrompt();
     }
 
     private List<Map<String, Object>> generateFollowUpActions(String userId, String message, String aiResponse, Map<String, Object> context) {
@@ -0,0 +1,238 @@
+package com.captainpro.aiassistant.service;
+
+import com.captainpro.aiassistant.model.ActionBatchItem;
+import com.captainpro.aiassistant.model.ActionRequest;
+import com.captainpro.aiassistant.model.ActionResult;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * Action Batch Executor
+ *
+ * Runs a batch of actions as a dependency graph:
+ * - Independent actions run in parallel on the report executor
+ * - An action starts once all actions it depends on have succeeded, and is
+ *   skipped if any of them failed
+ * - Each user has at most a fixed number of actions running at once across all
+ *   their batches; further ready actions wait in that user's lane
+ * - Each result is reported as soon as its action finishes
+ */
+@Component
+@Slf4j
+public class ActionBatchExecutor {
+
+    private final Executor reportExecutor;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Lane> lanes = new ConcurrentHashMap<>();
+
+    @Value("${app.actions.batch.max-concurrent-per-user:4}")
+    private int maxConcurrentPerUser;
+
+    @Value("${app.actions.batch.max-size:50}")
+    private int maxBatchSize;
+
+    public ActionBatchExecutor(@Qualifier("reportExecutor") Executor reportExecutor,
+                               MeterRegistry meterRegistry) {
+        this.reportExecutor = reportExecutor;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Execute a batch. {@code onResult} is called once per action, in completion order.
+     * The returned future completes with all results keyed by action id, in batch order.
+     */
+    public CompletableFuture<Map<String, ActionResult>> execute(String userId,
+                                                                List<ActionBatchItem> items,
+                                                                Function<ActionRequest, ActionResult> action,
+                                                                BiConsumer<ActionBatchItem, ActionResult> onResult) {
+        if (userId == null) {
+            throw new IllegalArgumentException("Batch has no user");
+        }
+        Map<String, ActionBatchItem> byId = validate(items);
+        Map<String, CompletableFuture<ActionResult>> results = new LinkedHashMap<>();
+        byId.keySet().forEach(id -> results.put(id, new CompletableFuture<>()));
+
+        // The batch completes only after every result was reported, so the listener
+        // never sees a result after the batch has finished
+        List<CompletableFuture<Void>> reported = new ArrayList<>(byId.size());
+        for (ActionBatchItem item : byId.values()) {
+            CompletableFuture<ActionResult> result = results.get(item.id());
+            reported.add(result.thenAccept(r -> report(item, r, onResult)));
+
+            CompletableFuture<?>[] dependencies = item.dependsOn().stream()
+                .map(results::get)
+                .toArray(CompletableFuture[]::new);
+
+            CompletableFuture.allOf(dependencies).thenRun(() -> {
+                Optional<String> failed = item.dependsOn().stream()
+                    .filter(dependency -> !results.get(dependency).join().isSuccess())
+                    .findFirst();
+
+                if (failed.isPresent()) {
+                    counter("skipped").increment();
+                    result.complete(ActionResult.error("Skipped: dependency '" + failed.get() + "' did not succeed"));
+                } else {
+                    submit(userId, new LaneTask(item, action, result));
+                }
+            });
+        }
+
+        return CompletableFuture.allOf(reported.toArray(CompletableFuture[]::new))
+            .thenApply(done -> {
+                Map<String, ActionResult> collected = new LinkedHashMap<>();
+                results.forEach((id, result) -> collected.put(id, result.join()));
+                return collected;
+            });
+    }
+
+    // Helper methods
+
+    private Map<String, ActionBatchItem> validate(List<ActionBatchItem> items) {
+        if (items == null || items.isEmpty()) {
+            throw new IllegalArgumentException("Batch contains no actions");
+        }
+        if (items.size() > maxBatchSize) {
+            throw new IllegalArgumentException("Batch exceeds the maximum of " + maxBatchSize + " actions");
+        }
+
+        Map<String, ActionBatchItem> byId = new LinkedHashMap<>();
+        for (ActionBatchItem item : items) {
+            if (byId.putIfAbsent(item.id(), item) != null) {
+                throw new IllegalArgumentException("Duplicate action id in batch: " + item.id());
+            }
+        }
+
+        // Kahn's algorithm: every action must be reachable without a cycle
+        Map<String, Integer> pending = new HashMap<>();
+        Map<String, List<String>> dependents = new HashMap<>();
+        for (ActionBatchItem item : items) {
+            for (String dependency : item.dependsOn()) {
+                if (!byId.containsKey(dependency)) {
+                    throw new IllegalArgumentException(
+                        "Action '" + item.id() + "' depends on unknown action '" + dependency + "'");
+                }
+                dependents.computeIfAbsent(dependency, id -> new ArrayList<>()).add(item.id());
+            }
+            pending.put(item.id(), item.dependsOn().size());
+        }
+
+        Deque<String> ready = new ArrayDeque<>();
+        pending.forEach((id, count) -> {
+            if (count == 0) ready.add(id);
+        });
+        int ordered = 0;
+        while (!ready.isEmpty()) {
+            String id = ready.poll();
+            ordered++;
+            for (String dependent : dependents.getOrDefault(id, List.of())) {
+                if (pending.merge(dependent, -1, Integer::sum) == 0) {
+                    ready.add(dependent);
+                }
+            }
+        }
+        if (ordered != items.size()) {
+            throw new IllegalArgumentException("Batch dependencies contain a cycle");
+        }
+
+        return byId;
+    }
+
+    private void report(ActionBatchItem item, ActionResult result, BiConsumer<ActionBatchItem, ActionResult> onResult) {
+        try {
+            onResult.accept(item, result);
+        } catch (Exception e) {
+            log.debug("Batch result listener failed for action {}: {}", item.id(), e.getMessage());
+        }
+    }
+
+    private void submit(String userId, LaneTask task) {
+        boolean[] runNow = new boolean[1];
+        lanes.compute(userId, (key, lane) -> {
+            Lane current = lane != null ? lane : new Lane();
+            if (current.running < maxConcurrentPerUser) {
+                current.running++;
+                runNow[0] = true;
+            } else {
+                current.waiting.add(task);
+            }
+            return current;
+        });
+
+        if (runNow[0]) {
+            dispatch(userId, task);
+        }
+    }
+
+    private void release(String userId) {
+        LaneTask[] next = new LaneTask[1];
+        lanes.compute(userId, (key, lane) -> {
+            next[0] = lane.waiting.poll();
+            if (next[0] == null) {
+                lane.running--;
+                return lane.running == 0 ? null : lane;
+            }
+            return lane;
+        });
+
+        if (next[0] != null) {
+            dispatch(userId, next[0]);
+        }
+    }
+
+    private void dispatch(String userId, LaneTask task) {
+        try {
+            reportExecutor.execute(() -> {
+                try {
+                    task.run();
+                } finally {
+                    release(userId);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            counter("rejected").increment();
+            task.result().complete(ActionResult.error("Action rejected: executor is saturated"));
+            release(userId);
+        }
+    }
+
+    private Counter counter(String outcome) {
+        return Counter.builder("actions.batch.outcome")
+            .description("Batch actions that did not run, by reason")
+            .tag("outcome", outcome)
+            .register(meterRegistry);
+    }
+
+    private static final class Lane {
+        private int running;
+        private final Deque<LaneTask> waiting = new ArrayDeque<>();
+    }
+
+    private record LaneTask(ActionBatchItem item,
+                            Function<ActionRequest, ActionResult> action,
+                            CompletableFuture<ActionResult> result) {
+
+        void run() {
+            try {
+                result.complete(action.apply(item.request()));
+            } catch (Throwable e) {
+                // Dependents and the batch wait on this result, even when the action dies with an Error
+                result.complete(ActionResult.error("Failed to execute action: " + e.getMessage()));
+                if (e instanceof Error error) {
+                    throw error;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.captainpro.aiassistant.service;
+
+import java.util.concurrent.CancellationException;
+
+/**
+ * Action Job Context
+ *
+ * Cancellation state of the job running on the current thread. Long-running
+ * work calls {@link #throwIfCancelled()} at safe points; outside a job it is a no-op.
+ */
+public final class ActionJobContext {
+
+    private static final ThreadLocal<ActionJobContext> CURRENT = new ThreadLocal<>();
+
+    private final String jobId;
+    private volatile boolean cancelled;
+    private volatile boolean leaseLost;
+
+    ActionJobContext(String jobId) {
+        this.jobId = jobId;
+    }
+
+    /**
+     * Stop the current job if it has been cancelled or its lease was taken over
+     */
+    public static void throwIfCancelled() {
+        ActionJobContext context = CURRENT.get();
+        if (context != null && context.cancelled) {
+            throw new CancellationException("Job " + context.jobId + " was cancelled");
+        }
+    }
+
+    public String getJobId() {
+        return jobId;
+    }
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    public boolean isLeaseLost() {
+        return leaseLost;
+    }
+
+    void cancel() {
+        cancelled = true;
+    }
+
+    void loseLease() {
+        leaseLost = true;
+        cancelled = true;
+    }
+
+    void bind() {
+        CURRENT.set(this);
+    }
+
+    static void clear() {
+        CURRENT.remove();
+    }
+}
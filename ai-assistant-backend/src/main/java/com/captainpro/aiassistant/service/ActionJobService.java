@@ -0,0 +1,347 @@
+package com.captainpro.aiassistant.service;
+
+import com.captainpro.aiassistant.entity.ActionJob;
+import com.captainpro.aiassistant.entity.ActionJob.Status;
+import com.captainpro.aiassistant.model.CursorPage;
+import com.captainpro.aiassistant.model.PageCursor;
+import com.captainpro.aiassistant.model.ScheduledTask;
+import com.captainpro.aiassistant.repository.ActionJobRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Action Job Service
+ *
+ * Durable queue for long-running action work including:
+ * - Prioritized enqueueing with an optional start time
+ * - Leased claims with a visibility timeout, so jobs of a crashed worker are picked up again
+ * - Retries with exponential backoff and jitter
+ * - Cooperative cancellation of queued and running jobs
+ * - Per-user job history
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ActionJobService {
+
+    private static final TypeReference<Map<String, Object>> MAP_TYPE = new TypeReference<>() { };
+
+    private final ActionJobRepository jobRepository;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    private final TimeWheelScheduler timeWheelScheduler;
+
+    @Value("${app.actions.jobs.max-attempts:3}")
+    private int maxAttempts;
+
+    @Value("${app.actions.jobs.visibility-timeout:300000}")
+    private long visibilityTimeout;
+
+    @Value("${app.actions.jobs.retry-backoff:5000}")
+    private long retryBackoff;
+
+    @Value("${app.actions.jobs.max-retry-backoff:300000}")
+    private long maxRetryBackoff;
+
+    /**
+     * Queue a job to run at or after {@code runAt}
+     */
+    @Transactional
+    public ActionJob enqueue(String userId, String jobType, Map<String, Object> parameters,
+                             int priority, LocalDateTime runAt) {
+        LocalDateTime now = LocalDateTime.now();
+        ActionJob job = ActionJob.builder()
+            .jobId(UUID.randomUUID().toString())
+            .userId(userId)
+            .jobType(jobType)
+            .parameters(toJson(parameters))
+            .priority(priority)
+            .status(Status.QUEUED)
+            .maxAttempts(maxAttempts)
+            .availableAt(runAt != null && runAt.isAfter(now) ? runAt : now)
+            .createdAt(now)
+            .build();
+
+        ActionJob saved = jobRepository.save(job);
+        timeWheelScheduler.offerAfterCommit(ActionJobWorker.SOURCE, saved.getJobId(), saved.getAvailableAt());
+        Counter.builder("actions.jobs.enqueued")
+            .tag("type", jobType)
+            .register(meterRegistry)
+            .increment();
+        log.info("Queued {} job {} for user: {} (priority {}, available at {})",
+                jobType, saved.getJobId(), userId, priority, saved.getAvailableAt());
+        return saved;
+    }
+
+    /**
+     * Lease up to {@code limit} runnable jobs to {@code owner}
+     */
+    @Transactional
+    public List<ActionJob> claim(String owner, int limit) {
+        LocalDateTime now = LocalDateTime.now();
+        List<ActionJob> claimed = new ArrayList<>();
+
+        for (ActionJob job : jobRepository.findClaimable(now, PageRequest.of(0, limit))) {
+            LocalDateTime visibleSince = job.getAvailableAt();
+            if (job.getStatus() == Status.RUNNING) {
+                visibleSince = job.getLeaseExpiresAt();
+                log.warn("Lease of job {} held by {} expired after attempt {}",
+                        job.getJobId(), job.getLeaseOwner(), job.getAttempts());
+                Counter.builder("actions.jobs.reclaimed")
+                    .tag("type", job.getJobType())
+                    .register(meterRegistry)
+                    .increment();
+
+                if (job.isCancelRequested()) {
+                    finish(job, Status.CANCELLED, null, "Cancelled");
+                    continue;
+                }
+                if (job.getAttempts() >= job.getMaxAttempts()) {
+                    finish(job, Status.FAILED, null, "Lease expired after " + job.getAttempts() + " attempts");
+                    continue;
+                }
+            }
+
+            job.setStatus(Status.RUNNING);
+            job.setLeaseOwner(owner);
+            job.setLeaseExpiresAt(now.plus(Duration.ofMillis(visibilityTimeout)));
+            job.setAttempts(job.getAttempts() + 1);
+            job.setStartedAt(now);
+            claimed.add(job);
+
+            Timer.builder("actions.jobs.queue.wait")
+                .description("Time from a job becoming runnable until a worker claims it")
+                .tag("type", job.getJobType())
+                .register(meterRegistry)
+                .record(Duration.between(visibleSince, now));
+        }
+
+        return claimed;
+    }
+
+    /**
+     * Record a successful run; returns false if the lease was lost meanwhile
+     */
+    @Transactional
+    public boolean succeed(String jobId, String owner, String message, Object data) {
+        return leased(jobId, owner).map(job -> {
+            Map<String, Object> result = new LinkedHashMap<>();
+            result.put("message", message);
+            result.put("data", data);
+            finish(job, Status.SUCCEEDED, toJson(result), null);
+            return true;
+        }).orElse(false);
+    }
+
+    /**
+     * Record a failed run, scheduling a retry while attempts remain.
+     * Returns the job's new status, or empty if the lease was lost meanwhile.
+     */
+    @Transactional
+    public Optional<Status> fail(String jobId, String owner, String error) {
+        return leased(jobId, owner).map(job -> {
+            if (job.getAttempts() >= job.getMaxAttempts()) {
+                finish(job, Status.FAILED, null, error);
+                return Status.FAILED;
+            }
+
+            long delay = backoff(job.getAttempts());
+            job.setStatus(Status.QUEUED);
+            job.setLeaseOwner(null);
+            job.setLeaseExpiresAt(null);
+            job.setErrorMessage(error);
+            job.setAvailableAt(LocalDateTime.now().plus(Duration.ofMillis(delay)));
+            timeWheelScheduler.offerAfterCommit(ActionJobWorker.SOURCE, jobId, job.getAvailableAt());
+            log.info("Job {} failed attempt {}/{}, retrying in {} ms: {}",
+                    jobId, job.getAttempts(), job.getMaxAttempts(), delay, error);
+            return Status.QUEUED;
+        });
+    }
+
+    /**
+     * Record that a running job stopped because cancellation was requested
+     */
+    @Transactional
+    public boolean markCancelled(String jobId, String owner) {
+        return leased(jobId, owner).map(job -> {
+            finish(job, Status.CANCELLED, null, "Cancelled");
+            return true;
+        }).orElse(false);
+    }
+
+    /**
+     * Hand a claimed job back without counting the attempt, e.g. when no thread could take it
+     */
+    @Transactional
+    public void release(String jobId, String owner) {
+        leased(jobId, owner).ifPresent(job -> {
+            job.setStatus(Status.QUEUED);
+            job.setLeaseOwner(null);
+            job.setLeaseExpiresAt(null);
+            job.setAttempts(Math.max(0, job.getAttempts() - 1));
+        });
+    }
+
+    /**
+     * Extend the leases of running jobs; returns the ids whose lease is no longer held by {@code owner}
+     */
+    @Transactional
+    public List<String> renewLeases(String owner, Collection<String> jobIds) {
+        jobRepository.renewLeases(jobIds, owner, LocalDateTime.now().plus(Duration.ofMillis(visibilityTimeout)));
+        return jobRepository.findLostLeases(jobIds, owner);
+    }
+
+    /**
+     * Queued jobs becoming runnable before {@code to}, after {@code (from, afterId)}, for the time wheel scheduler
+     */
+    @Transactional(readOnly = true)
+    public List<ScheduledTask> findQueuedWindow(LocalDateTime from, long afterId, LocalDateTime to, int limit) {
+        return jobRepository.findQueuedWindow(from, afterId, to, PageRequest.of(0, limit));
+    }
+
+    @Transactional(readOnly = true)
+    public List<String> findCancelRequested(Collection<String> jobIds) {
+        return jobRepository.findCancelRequested(jobIds);
+    }
+
+    /**
+     * Cancel a job. Queued jobs are cancelled at once; running jobs are flagged and
+     * stop at their next cancellation checkpoint.
+     */
+    @Transactional
+    public ActionJob cancel(String jobId, String userId) {
+        ActionJob job = jobRepository.findByJobIdForUpdate(jobId)
+            .filter(candidate -> candidate.getUserId().equals(userId))
+            .orElseThrow(() -> new IllegalArgumentException("Job not found: " + jobId));
+
+        if (job.isTerminal()) {
+            return job;
+        }
+
+        job.setCancelRequested(true);
+        if (job.getStatus() == Status.QUEUED) {
+            finish(job, Status.CANCELLED, null, "Cancelled");
+            timeWheelScheduler.cancel(ActionJobWorker.SOURCE, jobId);
+        }
+        log.info("Cancellation requested for job {} by user: {} (status {})", jobId, userId, job.getStatus());
+        return job;
+    }
+
+    @Transactional(readOnly = true)
+    public Optional<ActionJob> findJob(String jobId, String userId) {
+        return jobRepository.findByJobId(jobId)
+            .filter(job -> job.getUserId().equals(userId));
+    }
+
+    /**
+     * Page of a user's jobs, newest first, continuing after {@code cursor} if given
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<ActionJob> getHistory(String userId, String jobType, int limit, String cursor) {
+        PageCursor after = PageCursor.decode(cursor);
+        PageRequest page = PageRequest.of(0, limit + 1);
+        List<ActionJob> jobs = after == null
+            ? jobRepository.findHistory(userId, jobType, page)
+            : jobRepository.findHistoryBefore(userId, jobType, after.createdAt(), after.id(), page);
+        return CursorPage.of(jobs, limit, job -> new PageCursor(job.getCreatedAt(), job.getId()));
+    }
+
+    @Transactional(readOnly = true)
+    public long countHistory(String userId, String jobType) {
+        return jobRepository.countHistory(userId, jobType);
+    }
+
+    public Map<String, Object> parameters(ActionJob job) {
+        return fromJson(job.getParameters());
+    }
+
+    /**
+     * Describe a job for API responses
+     */
+    public Map<String, Object> describe(ActionJob job) {
+        Map<String, Object> view = new LinkedHashMap<>();
+        view.put("id", job.getJobId());
+        view.put("type", job.getJobType());
+        view.put("status", job.getStatus());
+        view.put("priority", job.getPriority());
+        view.put("attempts", job.getAttempts());
+        view.put("maxAttempts", job.getMaxAttempts());
+        view.put("cancelRequested", job.isCancelRequested());
+        view.put("createdAt", job.getCreatedAt());
+        view.put("availableAt", job.getAvailableAt());
+        view.put("startedAt", job.getStartedAt());
+        view.put("completedAt", job.getCompletedAt());
+        if (job.getResult() != null) {
+            view.put("result", fromJson(job.getResult()));
+        }
+        if (job.getErrorMessage() != null) {
+            view.put("error", job.getErrorMessage());
+        }
+        return view;
+    }
+
+    // Helper methods
+
+    private Optional<ActionJob> leased(String jobId, String owner) {
+        Optional<ActionJob> job = jobRepository.findByJobIdForUpdate(jobId)
+            .filter(candidate -> candidate.getStatus() == Status.RUNNING && owner.equals(candidate.getLeaseOwner()));
+        if (job.isEmpty()) {
+            log.warn("Ignoring outcome of job {}: lease is no longer held by {}", jobId, owner);
+        }
+        return job;
+    }
+
+    private void finish(ActionJob job, Status status, String result, String error) {
+        job.setStatus(status);
+        job.setResult(result);
+        job.setErrorMessage(error);
+        job.setLeaseOwner(null);
+        job.setLeaseExpiresAt(null);
+        job.setCompletedAt(LocalDateTime.now());
+    }
+
+    private long backoff(int attempt) {
+        long exponential = retryBackoff << Math.min(attempt - 1, 20);
+        long capped = Math.min(maxRetryBackoff, exponential);
+        // Equal jitter keeps at least half the delay while spreading out synchronized retries
+        return capped / 2 + ThreadLocalRandom.current().nextLong(capped / 2 + 1);
+    }
+
+    private String toJson(Object value) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Job data is not serializable: " + e.getMessage(), e);
+        }
+    }
+
+    private Map<String, Object> fromJson(String json) {
+        if (json == null || json.isBlank()) {
+            return new HashMap<>();
+        }
+        try {
+            return objectMapper.readValue(json, MAP_TYPE);
+        } catch (JsonProcessingException e) {
+            log.warn("Unreadable job data: {}", e.getMessage());
+            return new HashMap<>();
+        }
+    }
+}
@@ -0,0 +1,205 @@
+package com.captainpro.aiassistant.service;
+
+import com.captainpro.aiassistant.entity.ActionJob;
+import com.captainpro.aiassistant.entity.ActionJob.Status;
+import com.captainpro.aiassistant.model.ActionRequest;
+import com.captainpro.aiassistant.model.ActionResult;
+import com.captainpro.aiassistant.model.ActionType;
+import com.captainpro.aiassistant.model.ScheduledTask;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Action Job Worker
+ *
+ * Runs queued action jobs on the report executor:
+ * - Claims runnable jobs while it has free worker slots, woken by the time wheel
+ *   scheduler when queued jobs come due and by a slow poll as a safety net
+ * - Renews the leases of its running jobs on every heartbeat
+ * - Passes cancellation requests made on any node to the running job
+ * - Records execution time per job type and outcome
+ *
+ * Jobs still running at shutdown keep their lease until it expires and are then
+ * claimed again by the next worker.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ActionJobWorker implements ScheduledTaskSource {
+
+    public static final String SOURCE = "action-jobs";
+
+    private final ActionJobService jobService;
+    private final ActionService actionService;
+    private final DataProcessingService dataProcessingService;
+    private final MeterRegistry meterRegistry;
+
+    @Qualifier("reportExecutor")
+    private final Executor reportExecutor;
+
+    private final String workerId = UUID.randomUUID().toString();
+    private final Map<String, ActionJobContext> running = new ConcurrentHashMap<>();
+    private volatile boolean stopping;
+
+    @Value("${app.actions.jobs.workers:4}")
+    private int workers;
+
+    @PostConstruct
+    public void init() {
+        Gauge.builder("actions.jobs.running", running, Map::size)
+            .description("Action jobs running on this node")
+            .register(meterRegistry);
+    }
+
+    @PreDestroy
+    public void stop() {
+        stopping = true;
+    }
+
+    @Override
+    public String name() {
+        return SOURCE;
+    }
+
+    @Override
+    public List<ScheduledTask> findDue(LocalDateTime from, long afterId, LocalDateTime to, int limit) {
+        return jobService.findQueuedWindow(from, afterId, to, limit);
+    }
+
+    /**
+     * Due jobs are claimed like any other runnable job; one claim covers the whole batch
+     */
+    @Override
+    public void fire(List<String> keys) {
+        poll();
+    }
+
+    /**
+     * Claim runnable jobs up to the number of free worker slots
+     */
+    @Scheduled(fixedDelayString = "${app.actions.jobs.poll-interval:15000}")
+    public synchronized void poll() {
+        int free = workers - running.size();
+        if (stopping || free <= 0) {
+            return;
+        }
+
+        List<ActionJob> jobs;
+        try {
+            jobs = jobService.claim(workerId, free);
+        } catch (Exception e) {
+            log.warn("Failed to claim action jobs: {}", e.getMessage());
+            return;
+        }
+
+        jobs.forEach(this::dispatch);
+    }
+
+    /**
+     * Keep leases of running jobs alive and pick up cancellation requests
+     */
+    @Scheduled(fixedDelayString = "${app.actions.jobs.heartbeat-interval:5000}")
+    public void heartbeat() {
+        if (running.isEmpty()) {
+            return;
+        }
+
+        Set<String> jobIds = new HashSet<>(running.keySet());
+        try {
+            for (String jobId : jobService.renewLeases(workerId, jobIds)) {
+                log.warn("Lost lease of job {}; stopping it", jobId);
+                Optional.ofNullable(running.get(jobId)).ifPresent(ActionJobContext::loseLease);
+            }
+            for (String jobId : jobService.findCancelRequested(jobIds)) {
+                Optional.ofNullable(running.get(jobId)).ifPresent(ActionJobContext::cancel);
+            }
+        } catch (Exception e) {
+            log.warn("Action job heartbeat failed: {}", e.getMessage());
+        }
+    }
+
+    // Helper methods
+
+    private void dispatch(ActionJob job) {
+        ActionJobContext context = new ActionJobContext(job.getJobId());
+        running.put(job.getJobId(), context);
+        try {
+            reportExecutor.execute(() -> run(job, context));
+        } catch (RejectedExecutionException e) {
+            running.remove(job.getJobId());
+            jobService.release(job.getJobId(), workerId);
+        }
+    }
+
+    private void run(ActionJob job, ActionJobContext context) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome;
+        context.bind();
+        try {
+            ActionResult result = execute(job);
+            if (context.isLeaseLost()) {
+                outcome = "lease_lost";
+            } else if (context.isCancelled()) {
+                outcome = jobService.markCancelled(job.getJobId(), workerId) ? "cancelled" : "lease_lost";
+            } else if (result.isSuccess()) {
+                outcome = jobService.succeed(job.getJobId(), workerId, result.getMessage(), result.getData())
+                    ? "succeeded" : "lease_lost";
+            } else {
+                outcome = recordFailure(job, result.getErrorMessage());
+            }
+        } catch (CancellationException e) {
+            outcome = !context.isLeaseLost() && jobService.markCancelled(job.getJobId(), workerId)
+                ? "cancelled" : "lease_lost";
+        } catch (Exception e) {
+            log.error("Action job {} failed", job.getJobId(), e);
+            outcome = recordFailure(job, e.getMessage());
+        } finally {
+            ActionJobContext.clear();
+            running.remove(job.getJobId());
+        }
+
+        sample.stop(Timer.builder("actions.jobs.execution")
+            .description("Action job run time by type and outcome")
+            .tag("type", job.getJobType())
+            .tag("outcome", outcome)
+            .register(meterRegistry));
+    }
+
+    private ActionResult execute(ActionJob job) {
+        Map<String, Object> parameters = jobService.parameters(job);
+
+        if (ActionJob.MATCH_ANALYSIS.equals(job.getJobType())) {
+            String matchId = (String) parameters.get("matchId");
+            return ActionResult.success("Match analysis completed", dataProcessingService.runMatchAnalysis(matchId));
+        }
+
+        ActionRequest request = ActionRequest.builder()
+            .userId(job.getUserId())
+            .actionType(ActionType.valueOf(job.getJobType()))
+            .parameters(parameters)
+            .build();
+        return actionService.executeAction(request);
+    }
+
+    private String recordFailure(ActionJob job, String error) {
+        return jobService.fail(job.getJobId(), workerId, error)
+            .map(status -> status == Status.QUEUED ? "retried" : "failed")
+            .orElse("lease_lost");
+    }
+}
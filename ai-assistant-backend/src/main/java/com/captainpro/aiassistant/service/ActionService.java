@@ -1,5 +1,6 @@
 package com.captainpro.aiassistant.service;
 
+import com.captainpro.aiassistant.model.ActionBatchItem;
 import com.captainpro.aiassistant.model.ActionRequest;
 import com.captainpro.aiassistant.model.ActionResult;
 import com.captainpro.aiassistant.model.ActionType;
@@ -11,6 +12,8 @@ import org.springframework.transaction.annotation.Transactional;
 import java.time.LocalDateTime;
 import java.util.*;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.BiConsumer;
 
 /**
  * Action-Oriented Service
@@ -31,6 +34,7 @@ public class ActionService {
     private final InsightsService insightsService;
     private final DataProcessingService dataProcessingService;
     private final NotificationService notificationService;
+    private final ActionBatchExecutor batchExecutor;
 
     /**
      * Execute an action based on the request
@@ -84,20 +88,80 @@ public class ActionService {
      * Execute multiple actions asynchronously
      */
     public CompletableFuture<List<ActionResult>> executeActionsAsync(List<ActionRequest> requests) {
-        return CompletableFuture.supplyAsync(() -> {
-            List<ActionResult> results = new ArrayList<>();
-            
-            for (ActionRequest request : requests) {
-                try {
-                    ActionResult result = executeAction(request);
-                    results.add(result);
-                } catch (Exception e) {
-                    results.add(ActionResult.error("Failed to execute action: " + e.getMessage()));
+        if (requests.isEmpty()) {
+            return CompletableFuture.completedFuture(List.of());
+        }
+
+        List<ActionBatchItem> items = new ArrayList<>();
+        for (int i = 0; i < requests.size(); i++) {
+            items.add(new ActionBatchItem(String.valueOf(i), requests.get(i), List.of()));
+        }
+        String userId = requests.get(0).getUserId();
+        if (userId == null || requests.stream().anyMatch(request -> !userId.equals(request.getUserId()))) {
+            throw new IllegalArgumentException("All actions in a batch must belong to one user");
+        }
+
+        return batchExecutor.execute(userId, items, this::executeAction, (item, result) -> { })
+            .thenApply(results -> new ArrayList<>(results.values()));
+    }
+
+    /**
+     * Execute a batch of actions submitted as maps with {@code id}, {@code actionType},
+     * {@code parameters} and optional {@code dependsOn}
+     */
+    public CompletableFuture<Map<String, Object>> executeBatchActions(String userId, List<Map<String, Object>> actions) {
+        return executeBatchActions(userId, actions, (item, result) -> { });
+    }
+
+    /**
+     * Execute a batch of actions, reporting each result to {@code onResult} as it completes
+     */
+    public CompletableFuture<Map<String, Object>> executeBatchActions(String userId,
+                                                                      List<Map<String, Object>> actions,
+                                                                      BiConsumer<ActionBatchItem, ActionResult> onResult) {
+        List<ActionBatchItem> items = toBatchItems(userId, actions);
+        long startedAt = System.currentTimeMillis();
+
+        return batchExecutor.execute(userId, items, this::executeAction, onResult)
+            .thenApply(results -> {
+                List<Map<String, Object>> entries = new ArrayList<>();
+                long succeeded = 0;
+                for (ActionBatchItem item : items) {
+                    ActionResult result = results.get(item.id());
+                    if (result.isSuccess()) {
+                        succeeded++;
+                    }
+                    entries.add(describe(item, result));
                 }
-            }
-            
-            return results;
-        });
+
+                Map<String, Object> response = new LinkedHashMap<>();
+                response.put("success", succeeded == items.size());
+                response.put("data", entries);
+                response.put("summary", Map.of(
+                    "total", items.size(),
+                    "succeeded", succeeded,
+                    "failed", items.size() - succeeded,
+                    "durationMs", System.currentTimeMillis() - startedAt
+                ));
+                return response;
+            });
+    }
+
+    /**
+     * Describe a batch action result for API responses
+     */
+    public Map<String, Object> describe(ActionBatchItem item, ActionResult result) {
+        Map<String, Object> entry = new LinkedHashMap<>();
+        entry.put("id", item.id());
+        entry.put("actionType", item.request().getActionType());
+        entry.put("success", result.isSuccess());
+        if (result.isSuccess()) {
+            entry.put("message", result.getMessage());
+            entry.put("data", result.getData());
+        } else {
+            entry.put("error", result.getErrorMessage());
+        }
+        return entry;
     }
 
     /**
@@ -228,8 +292,8 @@ public class ActionService {
             String matchId = (String) request.getParameters().get("matchId");
             LocalDateTime scheduledTime = LocalDateTime.parse((String) request.getParameters().get("scheduledTime"));
             
-            // Schedule the analysis task
-            String taskId = dataProcessingService.scheduleMatchAnalysis(matchId, scheduledTime);
+            // Queue the analysis as a durable job that becomes runnable at the scheduled time
+            String taskId = dataProcessingService.scheduleMatchAnalysis(request.getUserId(), matchId, scheduledTime);
             
             return ActionResult.success(
                 "Match analysis scheduled successfully",
@@ -273,7 +337,8 @@ public class ActionService {
             String message = (String) request.getParameters().get("message");
             String type = (String) request.getParameters().getOrDefault("type", "info");
             
-            String notificationId = notificationService.sendNotification(recipientId, message, type);
+            // Actions already run on the report executor; wait for the notification to be recorded
+            String notificationId = notificationService.sendNotification(recipientId, message, type).join();
             
             return ActionResult.success(
                 "Notification sent successfully",
@@ -283,6 +348,8 @@ public class ActionService {
                     "sentAt", LocalDateTime.now()
                 )
             );
+        } catch (RejectedExecutionException e) {
+            return ActionResult.error("Notification service is busy, please retry later");
         } catch (Exception e) {
             return ActionResult.error("Failed to send notification: " + e.getMessage());
         }
@@ -370,4 +437,32 @@ public class ActionService {
         
         return recommendations;
     }
-}
\ No newline at end of file
+
+    private List<ActionBatchItem> toBatchItems(String userId, List<Map<String, Object>> actions) {
+        if (actions == null) {
+            throw new IllegalArgumentException("Batch contains no actions");
+        }
+
+        List<ActionBatchItem> items = new ArrayList<>();
+        for (int i = 0; i < actions.size(); i++) {
+            Map<String, Object> action = actions.get(i);
+            String id = String.valueOf(action.getOrDefault("id", String.valueOf(i)));
+            Object actionType = action.get("actionType");
+            if (actionType == null) {
+                throw new IllegalArgumentException("Action '" + id + "' has no actionType");
+            }
+            Map<String, Object> parameters = (Map<String, Object>) action.getOrDefault("parameters", Map.of());
+            List<String> dependsOn = ((List<?>) action.getOrDefault("dependsOn", List.of())).stream()
+                .map(String::valueOf)
+                .toList();
+
+            ActionRequest request = ActionRequest.builder()
+                .userId(userId)
+                .actionType(ActionType.valueOf(actionType.toString().toUpperCase()))
+                .parameters(parameters)
+                .build();
+            items.add(new ActionBatchItem(id, request, dependsOn));
+        }
+        return items;
+    }
+}
@@ -0,0 +1,354 @@
+package com.captainpro.aiassistant.service;
+
+import com.captainpro.aiassistant.entity.UserInteraction;
+import com.captainpro.aiassistant.model.InteractionEvent;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.util.*;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Analytics Ingestion Pipeline
+ * 
+ * Write-behind stage for user interaction tracking:
+ * - Bounded in-memory ring buffer of interaction events; events without a user,
+ *   action or timestamp are rejected on submit so they cannot fail a batch
+ * - Overflow policy when the buffer is full (drop newest, drop oldest, block briefly)
+ * - Flushes as JDBC batch inserts when the batch size or flush interval is reached,
+ *   written on the analytics-ingest executor; usernames are resolved to user IDs once
+ *   per batch, and events of unknown users (such as "system") are kept in
+ *   analytics_events and the sketches but get no user_interactions row
+ * - Updates the per-user time-bucket rollups, response-time sketches and platform
+ *   analytics sketches in the same transaction
+ * - Drains the buffer on shutdown
+ */
+@Component
+@Slf4j
+public class AnalyticsIngestionPipeline {
+
+    private static final String INSERT_INTERACTION_SQL =
+        "INSERT INTO user_interactions " +
+        "(id, user_id, session_id, interaction_type, action, category, metadata, response_time_ms, " +
+        "success, error_message, status, priority, created_at) " +
+        "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String SELECT_USER_IDS_SQL = "SELECT id, username FROM users WHERE username IN (%s)";
+
+    private static final int MAX_ACTION_LENGTH = 100;
+    private static final int MAX_ERROR_LENGTH = 255;
+
+    private static final String INSERT_EVENT_SQL =
+        "INSERT INTO analytics_events (id, user_id, event_type, event_data, created_at) VALUES (?, ?, ?, ?, ?)";
+
+    public enum OverflowPolicy {
+        DROP_NEWEST, DROP_OLDEST, BLOCK
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final SequenceIdAllocator idAllocator;
+    private final InteractionRollupService rollupService;
+    private final ResponseTimeSketchService responseTimeSketchService;
+    private final AnalyticsSketchService analyticsSketchService;
+    private final TransactionTemplate transactionTemplate;
+    private final Executor ingestExecutor;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${app.analytics.batch-size:100}")
+    private int batchSize;
+
+    @Value("${app.analytics.flush-interval:30000}")
+    private long flushInterval;
+
+    @Value("${app.analytics.buffer-capacity:10000}")
+    private int bufferCapacity;
+
+    @Value("${app.analytics.overflow-policy:DROP_NEWEST}")
+    private OverflowPolicy overflowPolicy;
+
+    @Value("${app.analytics.enqueue-timeout:50}")
+    private long enqueueTimeout;
+
+    @Value("${app.analytics.shutdown-timeout:10000}")
+    private long shutdownTimeout;
+
+    private ArrayBlockingQueue<InteractionEvent> buffer;
+    private Thread flusher;
+    private volatile boolean running;
+
+    private Counter accepted;
+    private Counter written;
+    private Counter failed;
+    private Counter unattributed;
+    private Timer flushTimer;
+
+    public AnalyticsIngestionPipeline(JdbcTemplate jdbcTemplate,
+                                      SequenceIdAllocator idAllocator,
+                                      InteractionRollupService rollupService,
+                                      ResponseTimeSketchService responseTimeSketchService,
+                                      AnalyticsSketchService analyticsSketchService,
+                                      PlatformTransactionManager transactionManager,
+                                      @Qualifier("analyticsIngestExecutor") Executor ingestExecutor,
+                                      ObjectMapper objectMapper,
+                                      MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.idAllocator = idAllocator;
+        this.rollupService = rollupService;
+        this.responseTimeSketchService = responseTimeSketchService;
+        this.analyticsSketchService = analyticsSketchService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.ingestExecutor = ingestExecutor;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @PostConstruct
+    public void start() {
+        buffer = new ArrayBlockingQueue<>(bufferCapacity);
+        
+        accepted = Counter.builder("analytics.ingest.accepted")
+            .description("Interaction events accepted into the ingest buffer")
+            .register(meterRegistry);
+        written = Counter.builder("analytics.ingest.written")
+            .description("Interaction events written to the database")
+            .register(meterRegistry);
+        failed = Counter.builder("analytics.ingest.failed")
+            .description("Interaction events lost because a batch write failed")
+            .register(meterRegistry);
+        unattributed = Counter.builder("analytics.ingest.unattributed")
+            .description("Interaction events of unknown users, written without a user_interactions row")
+            .register(meterRegistry);
+        flushTimer = Timer.builder("analytics.ingest.flush")
+            .description("Time to write one batch of interaction events")
+            .register(meterRegistry);
+        Gauge.builder("analytics.ingest.buffer.size", buffer, ArrayBlockingQueue::size)
+            .description("Interaction events waiting to be written")
+            .register(meterRegistry);
+        
+        running = true;
+        flusher = new Thread(this::runFlusher, "analytics-ingest-flusher");
+        flusher.setDaemon(true);
+        flusher.start();
+        
+        log.info("Analytics ingestion pipeline started - capacity: {}, batch size: {}, flush interval: {} ms, overflow: {}",
+                bufferCapacity, batchSize, flushInterval, overflowPolicy);
+    }
+
+    /**
+     * Whether an event can be written: it needs a user, an action of at most 100
+     * characters and a timestamp
+     */
+    public static boolean isValid(InteractionEvent event) {
+        return event.userId() != null && !event.userId().isBlank()
+                && event.action() != null && !event.action().isBlank()
+                && event.action().length() <= MAX_ACTION_LENGTH
+                && event.metadata() != null
+                && event.timestamp() != null;
+    }
+
+    /**
+     * Offer an event to the pipeline. Returns false if it was dropped.
+     */
+    public boolean submit(InteractionEvent event) {
+        if (!running) {
+            dropped("shutdown").increment();
+            return false;
+        }
+        if (!isValid(event)) {
+            dropped("invalid").increment();
+            return false;
+        }
+        
+        boolean enqueued = switch (overflowPolicy) {
+            case DROP_NEWEST -> buffer.offer(event);
+            case DROP_OLDEST -> offerDroppingOldest(event);
+            case BLOCK -> offerWithTimeout(event);
+        };
+        
+        if (enqueued) {
+            accepted.increment();
+        } else {
+            dropped("buffer_full").increment();
+        }
+        return enqueued;
+    }
+
+    /**
+     * Write a batch immediately in the caller's transaction, bypassing the buffer.
+     * Used by writers that need the rows committed together with their own changes.
+     */
+    public void write(List<InteractionEvent> batch) {
+        writeBatch(batch);
+        written.increment(batch.size());
+    }
+
+    public int getBufferedCount() {
+        return buffer.size();
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        
+        try {
+            flusher.join(shutdownTimeout);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        
+        if (!buffer.isEmpty()) {
+            log.warn("Analytics ingestion pipeline stopped with {} unwritten events", buffer.size());
+        }
+    }
+
+    // Helper methods
+
+    private boolean offerDroppingOldest(InteractionEvent event) {
+        while (!buffer.offer(event)) {
+            if (buffer.poll() != null) {
+                dropped("evicted_oldest").increment();
+            }
+        }
+        return true;
+    }
+
+    private boolean offerWithTimeout(InteractionEvent event) {
+        try {
+            return buffer.offer(event, enqueueTimeout, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private void runFlusher() {
+        List<InteractionEvent> batch = new ArrayList<>(batchSize);
+        long nextFlush = System.currentTimeMillis() + flushInterval;
+        
+        while (running || !buffer.isEmpty()) {
+            try {
+                long wait = Math.max(1, Math.min(nextFlush - System.currentTimeMillis(), 1000));
+                InteractionEvent event = buffer.poll(wait, TimeUnit.MILLISECONDS);
+                if (event != null) {
+                    batch.add(event);
+                    buffer.drainTo(batch, batchSize - batch.size());
+                }
+            } catch (InterruptedException e) {
+                running = false;
+            }
+            
+            long now = System.currentTimeMillis();
+            if (batch.size() >= batchSize || now >= nextFlush || !running) {
+                if (!batch.isEmpty()) {
+                    // Writes run on the ingest executor; when it is saturated the flusher writes itself
+                    List<InteractionEvent> full = batch;
+                    ingestExecutor.execute(() -> flush(full));
+                    batch = new ArrayList<>(batchSize);
+                }
+                nextFlush = now + flushInterval;
+            }
+        }
+    }
+
+    private void flush(List<InteractionEvent> batch) {
+        flushTimer.record(() -> {
+            try {
+                transactionTemplate.executeWithoutResult(status -> writeBatch(batch));
+                written.increment(batch.size());
+                log.debug("Flushed {} interaction events", batch.size());
+            } catch (Exception e) {
+                failed.increment(batch.size());
+                log.error("Failed to flush {} interaction events", batch.size(), e);
+            }
+        });
+    }
+
+    private void writeBatch(List<InteractionEvent> batch) {
+        Map<String, Long> userIds = resolveUserIds(batch);
+        List<Object[]> interactions = new ArrayList<>(batch.size());
+        List<Object[]> events = new ArrayList<>(batch.size());
+        
+        for (InteractionEvent event : batch) {
+            Timestamp timestamp = Timestamp.valueOf(event.timestamp());
+            String metadata = toJson(event.metadata());
+            
+            Long userId = userIds.get(event.userId());
+            if (userId != null) {
+                boolean error = event.isError();
+                interactions.add(new Object[] {
+                    idAllocator.nextId("user_interactions_seq"), userId, event.sessionId(),
+                    event.action(), event.action(), event.context(), metadata,
+                    ResponseTimeSketchService.responseTime(event),
+                    !error, truncate(event.errorMessage(), MAX_ERROR_LENGTH),
+                    (error ? UserInteraction.Status.FAILED : UserInteraction.Status.COMPLETED).name(),
+                    (error ? UserInteraction.Priority.HIGH : UserInteraction.Priority.MEDIUM).name(),
+                    timestamp
+                });
+            } else {
+                unattributed.increment();
+            }
+            events.add(new Object[] {
+                idAllocator.nextId("analytics_events_seq"), event.userId(), "USER_INTERACTION",
+                toJson(Map.of("action", event.action(), "context", event.context(), "metadata", event.metadata())),
+                timestamp
+            });
+        }
+        
+        if (!interactions.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_INTERACTION_SQL, interactions);
+        }
+        jdbcTemplate.batchUpdate(INSERT_EVENT_SQL, events);
+        rollupService.apply(batch);
+        responseTimeSketchService.apply(batch);
+        analyticsSketchService.apply(batch);
+    }
+
+    private Map<String, Long> resolveUserIds(List<InteractionEvent> batch) {
+        Set<String> usernames = new HashSet<>();
+        batch.forEach(event -> usernames.add(event.userId()));
+        
+        Map<String, Long> userIds = new HashMap<>();
+        String placeholders = String.join(", ", Collections.nCopies(usernames.size(), "?"));
+        jdbcTemplate.query(SELECT_USER_IDS_SQL.formatted(placeholders),
+            (RowCallbackHandler) rs -> userIds.put(rs.getString("username"), rs.getLong("id")),
+            usernames.toArray());
+        return userIds;
+    }
+
+    private String truncate(String value, int maxLength) {
+        return value != null && value.length() > maxLength ? value.substring(0, maxLength) : value;
+    }
+
+    private String toJson(Map<String, Object> value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            return "{}";
+        }
+    }
+
+    private Counter dropped(String reason) {
+        return Counter.builder("analytics.ingest.dropped")
+            .description("Interaction events dropped before reaching the database")
+            .tag("reason", reason)
+            .register(meterRegistry);
+    }
+}
@@ -1,10 +1,13 @@
 package com.captainpro.aiassistant.service;
 
+import com.captainpro.aiassistant.entity.AnalyticsSketch;
+import com.captainpro.aiassistant.model.InteractionEvent;
+import com.captainpro.aiassistant.model.RealtimeWindow;
 import com.captainpro.aiassistant.model.UserInteraction;
-import com.captainpro.aiassistant.model.AnalyticsEvent;
 import com.captainpro.aiassistant.model.UserBehaviorPattern;
 import com.captainpro.aiassistant.repository.UserInteractionRepository;
-import com.captainpro.aiassistant.repository.AnalyticsEventRepository;
+import com.captainpro.aiassistant.repository.UserSessionRepository;
+import com.captainpro.aiassistant.service.InteractionRollupService.RollupSnapshot;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.cache.annotation.Cacheable;
@@ -12,6 +15,7 @@ import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.lang.management.ManagementFactory;
 import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
 import java.util.*;
@@ -33,45 +37,39 @@ import java.util.stream.Collectors;
 public class AnalyticsService {
 
     private final UserInteractionRepository userInteractionRepository;
-    private final AnalyticsEventRepository analyticsEventRepository;
+    private final AnalyticsIngestionPipeline ingestionPipeline;
+    private final InteractionRollupService interactionRollupService;
     private final InsightsService insightsService;
+    private final Sessionizer sessionizer;
+    private final UserSessionRepository userSessionRepository;
+    private final RealtimeAnalyticsEngine realtimeAnalyticsEngine;
+    private final ResponseTimeSketchService responseTimeSketchService;
+    private final AnalyticsSketchService analyticsSketchService;
 
     /**
-     * Track user interaction asynchronously
+     * Track user interaction through the write-behind ingestion pipeline
      */
-    @Async
-    @Transactional
     public void trackUserInteraction(String userId, String action, String context, Map<String, Object> metadata) {
         try {
-            UserInteraction interaction = UserInteraction.builder()
-                    .userId(userId)
-                    .action(action)
-                    .context(context)
-                    .metadata(metadata)
-                    .timestamp(LocalDateTime.now())
-                    .sessionId(generateSessionId(userId))
-                    .build();
-
-            userInteractionRepository.save(interaction);
+            LocalDateTime timestamp = LocalDateTime.now();
+            InteractionEvent event = new InteractionEvent(
+                    userId,
+                    action,
+                    context != null ? context : "",
+                    metadata != null ? metadata : Map.of(),
+                    timestamp,
+                    sessionizer.assign(userId, action, timestamp)
+            );
             
-            // Create analytics event
-            AnalyticsEvent event = AnalyticsEvent.builder()
-                    .userId(userId)
-                    .eventType("USER_INTERACTION")
-                    .eventData(Map.of(
-                            "action", action,
-                            "context", context,
-                            "metadata", metadata
-                    ))
-                    .timestamp(LocalDateTime.now())
-                    .build();
-            
-            analyticsEventRepository.save(event);
+            if (!ingestionPipeline.submit(event)) {
+                log.warn("Dropped user interaction: userId={}, action={}", userId, action);
+                return;
+            }
             
-            log.info("Tracked user interaction: userId={}, action={}, context={}", userId, action, context);
+            log.debug("Tracked user interaction: userId={}, action={}, context={}", userId, action, context);
             
             // Trigger real-time analysis
-            analyzeInteractionInRealTime(interaction);
+            analyzeInteractionInRealTime(event);
             
         } catch (Exception e) {
             log.error("Failed to track user interaction for userId: {}", userId, e);
@@ -81,61 +79,130 @@ public class AnalyticsService {
     /**
      * Get user behavior patterns with caching
      */
-    @Cacheable(value = "userBehaviorPatterns", key = "#userId")
+    @Cacheable(value = "userBehaviorPatterns", key = "#userId", sync = true)
     @Transactional(readOnly = true)
     public UserBehaviorPattern getUserBehaviorPattern(String userId) {
-        List<UserInteraction> interactions = userInteractionRepository
-                .findByUserIdAndTimestampAfter(userId, LocalDateTime.now().minus(30, ChronoUnit.DAYS));
+        LocalDateTime from = LocalDateTime.now().minus(30, ChronoUnit.DAYS);
+        List<UserInteraction> interactions = userInteractionRepository.findByUserIdAndTimestampAfter(userId, from);
 
-        return analyzeUserBehavior(interactions);
+        return analyzeUserBehavior(interactions, from);
     }
 
     /**
      * Get comprehensive analytics dashboard data
      */
-    @Cacheable(value = "analyticsDashboard", key = "#userId + '_' + #timeRange")
+    @Cacheable(value = "analyticsDashboard", key = "#userId + '_' + #timeRange", sync = true)
     @Transactional(readOnly = true)
     public Map<String, Object> getAnalyticsDashboard(String userId, String timeRange) {
         LocalDateTime startDate = getStartDateForTimeRange(timeRange);
         
-        List<UserInteraction> interactions = userInteractionRepository
-                .findByUserIdAndTimestampAfter(userId, startDate);
+        // Served from pre-aggregated hourly/daily buckets instead of raw interactions
+        RollupSnapshot rollups = interactionRollupService.loadSince(userId, startDate);
         
         Map<String, Object> dashboard = new HashMap<>();
         
         // Basic metrics
-        dashboard.put("totalInteractions", interactions.size());
-        dashboard.put("uniqueActions", interactions.stream()
-                .map(UserInteraction::getAction)
-                .distinct()
-                .count());
+        dashboard.put("totalInteractions", rollups.totalInteractions());
+        dashboard.put("uniqueActions", (long) rollups.actionCounts().size());
         
         // Activity timeline
-        Map<String, Long> activityTimeline = interactions.stream()
+        Map<String, Long> activityTimeline = rollups.hourlyCounts().entrySet().stream()
                 .collect(Collectors.groupingBy(
-                        interaction -> interaction.getTimestamp().toLocalDate().toString(),
-                        Collectors.counting()
+                        entry -> entry.getKey().toLocalDate().toString(),
+                        Collectors.summingLong(Map.Entry::getValue)
                 ));
         dashboard.put("activityTimeline", activityTimeline);
         
         // Most used features
-        Map<String, Long> featureUsage = interactions.stream()
-                .collect(Collectors.groupingBy(
-                        UserInteraction::getAction,
-                        Collectors.counting()
-                ));
-        dashboard.put("featureUsage", featureUsage);
+        dashboard.put("featureUsage", rollups.actionCounts());
         
         // Performance metrics
-        dashboard.put("averageSessionDuration", calculateAverageSessionDuration(interactions));
-        dashboard.put("peakUsageHours", getPeakUsageHours(interactions));
+        dashboard.put("totalSessions", userSessionRepository.countSessions(userId, startDate));
+        dashboard.put("averageSessionDuration", calculateAverageSessionDuration(userId, startDate));
+        dashboard.put("peakUsageHours", getPeakUsageHours(rollups));
         
         // User engagement score
-        dashboard.put("engagementScore", calculateEngagementScore(interactions));
+        dashboard.put("engagementScore", calculateEngagementScore(rollups));
         
         return dashboard;
     }
 
+    /**
+     * Get live activity counters for the real-time dashboard and push subscribers
+     */
+    public Map<String, Object> getRealTimeAnalytics() {
+        return getRealTimeAnalytics(1);
+    }
+
+    /**
+     * Get live activity counters over the last 1, 5 or 15 minutes across all nodes
+     */
+    public Map<String, Object> getRealTimeAnalytics(int windowMinutes) {
+        RealtimeWindow window = realtimeAnalyticsEngine.getWindow(windowMinutes);
+        QuantileSketch latency = QuantileSketch.fromBuckets(window.latencyBuckets());
+
+        List<Map<String, Object>> topActions = window.actionCounts().entrySet().stream()
+                .sorted(Map.Entry.<String, Long>comparingByValue().reversed())
+                .limit(10)
+                .map(entry -> Map.<String, Object>of("action", entry.getKey(), "count", entry.getValue()))
+                .collect(Collectors.toList());
+
+        Map<String, Object> realTime = new HashMap<>();
+        realTime.put("window", windowMinutes);
+        realTime.put("activeUsers", window.activeUsers());
+        realTime.put("currentSessions", window.sessions());
+        realTime.put("aiQueriesPerMinute", (double) window.aiQueries() / windowMinutes);
+        realTime.put("eventsPerMinute", (double) window.events() / windowMinutes);
+        realTime.put("errorRate", window.events() > 0 ? (double) window.errors() / window.events() : 0.0);
+        realTime.put("responseTime", Map.of(
+            "p50", latency.quantile(0.50),
+            "p95", latency.quantile(0.95),
+            "p99", latency.quantile(0.99),
+            "samples", latency.count()
+        ));
+        realTime.put("topActions", topActions);
+        realTime.put("systemLoad", ManagementFactory.getOperatingSystemMXBean().getSystemLoadAverage());
+        realTime.put("nodes", realtimeAnalyticsEngine.getNodes());
+        realTime.put("timestamp", System.currentTimeMillis());
+        return realTime;
+    }
+
+    /**
+     * Get response-time percentiles over the last days, overall and per interaction type
+     */
+    public Map<String, Object> getResponseTimeStatistics(int days) {
+        LocalDateTime from = LocalDateTime.now().minusDays(days);
+        return Map.of(
+            "overall", responseTimeSketchService.loadOverallSince(from),
+            "byType", responseTimeSketchService.loadSince(from)
+        );
+    }
+
+    /**
+     * Get platform-wide activity over the last days from the analytics sketches: distinct users,
+     * top actions, devices and locations, and optionally the most active users and a funnel
+     * of distinct users per action. Each figure comes with its error bound.
+     */
+    public Map<String, Object> getPlatformSummary(int days, List<String> funnel, boolean includeUsers) {
+        LocalDateTime from = LocalDateTime.now().minusDays(days);
+        TopKSketch actions = analyticsSketchService.loadTopK(AnalyticsSketch.Metric.TOP_ACTIONS, from);
+
+        Map<String, Object> summary = new HashMap<>();
+        summary.put("totalInteractions", actions.total());
+        summary.put("uniqueUsers", analyticsSketchService.estimateDistinctUsers(from));
+        summary.put("uniqueUsersRelativeError", HyperLogLog.RELATIVE_ERROR);
+        summary.put("topActions", topK(actions));
+        summary.put("topDevices", topK(analyticsSketchService.loadTopK(AnalyticsSketch.Metric.TOP_DEVICES, from)));
+        summary.put("topLocations", topK(analyticsSketchService.loadTopK(AnalyticsSketch.Metric.TOP_LOCATIONS, from)));
+        if (includeUsers) {
+            summary.put("mostActiveUsers", topK(analyticsSketchService.loadTopK(AnalyticsSketch.Metric.TOP_USERS, from)));
+        }
+        if (funnel != null && !funnel.isEmpty()) {
+            summary.put("funnel", analyticsSketchService.estimateDistinctUsers(funnel, from));
+        }
+        return summary;
+    }
+
     /**
      * Generate predictive insights based on user behavior
      */
@@ -165,7 +232,7 @@ public class AnalyticsService {
     /**
      * Real-time interaction analysis
      */
-    private void analyzeInteractionInRealTime(UserInteraction interaction) {
+    private void analyzeInteractionInRealTime(InteractionEvent interaction) {
         // Detect anomalies
         if (isAnomalousInteraction(interaction)) {
             log.warn("Anomalous interaction detected: {}", interaction);
@@ -182,7 +249,7 @@ public class AnalyticsService {
     /**
      * Analyze user behavior patterns
      */
-    private UserBehaviorPattern analyzeUserBehavior(List<UserInteraction> interactions) {
+    private UserBehaviorPattern analyzeUserBehavior(List<UserInteraction> interactions, LocalDateTime from) {
         if (interactions.isEmpty()) {
             return UserBehaviorPattern.builder()
                     .userId("unknown")
@@ -204,7 +271,7 @@ public class AnalyticsService {
                 .map(Map.Entry::getKey)
                 .orElse("unknown");
         
-        double averageSessionDuration = calculateAverageSessionDuration(interactions);
+        double averageSessionDuration = calculateAverageSessionDuration(userId, from);
         String preferredTimeOfDay = getPreferredTimeOfDay(interactions);
         String engagementLevel = calculateEngagementLevel(interactions);
         
@@ -220,10 +287,6 @@ public class AnalyticsService {
     }
 
     // Helper methods
-    private String generateSessionId(String userId) {
-        return userId + "_" + System.currentTimeMillis();
-    }
-
     private LocalDateTime getStartDateForTimeRange(String timeRange) {
         return switch (timeRange.toLowerCase()) {
             case "day" -> LocalDateTime.now().minus(1, ChronoUnit.DAYS);
@@ -234,37 +297,19 @@ public class AnalyticsService {
         };
     }
 
-    private double calculateAverageSessionDuration(List<UserInteraction> interactions) {
-        // Implementation for session duration calculation
-        return interactions.stream()
-                .collect(Collectors.groupingBy(UserInteraction::getSessionId))
-                .values().stream()
-                .mapToDouble(this::calculateSessionDuration)
-                .average()
-                .orElse(0.0);
-    }
-
-    private double calculateSessionDuration(List<UserInteraction> sessionInteractions) {
-        if (sessionInteractions.size() < 2) return 0.0;
-        
-        LocalDateTime start = sessionInteractions.stream()
-                .map(UserInteraction::getTimestamp)
-                .min(LocalDateTime::compareTo)
-                .orElse(LocalDateTime.now());
-        
-        LocalDateTime end = sessionInteractions.stream()
-                .map(UserInteraction::getTimestamp)
-                .max(LocalDateTime::compareTo)
-                .orElse(LocalDateTime.now());
-        
-        return ChronoUnit.MINUTES.between(start, end);
+    /**
+     * Average duration in minutes of the user's closed sessions that started since {@code from}
+     */
+    private double calculateAverageSessionDuration(String userId, LocalDateTime from) {
+        Double averageMs = userSessionRepository.getAverageDurationMs(userId, from);
+        return averageMs != null ? averageMs / 60000.0 : 0.0;
     }
 
-    private List<Integer> getPeakUsageHours(List<UserInteraction> interactions) {
-        return interactions.stream()
+    private List<Integer> getPeakUsageHours(RollupSnapshot rollups) {
+        return rollups.hourlyCounts().entrySet().stream()
                 .collect(Collectors.groupingBy(
-                        interaction -> interaction.getTimestamp().getHour(),
-                        Collectors.counting()
+                        entry -> entry.getKey().getHour(),
+                        Collectors.summingLong(Map.Entry::getValue)
                 ))
                 .entrySet().stream()
                 .sorted(Map.Entry.<Integer, Long>comparingByValue().reversed())
@@ -274,16 +319,36 @@ public class AnalyticsService {
     }
 
     private double calculateEngagementScore(List<UserInteraction> interactions) {
-        // Complex engagement calculation based on various factors
-        double baseScore = Math.min(interactions.size() / 10.0, 10.0); // Max 10 points for volume
-        double diversityScore = interactions.stream()
+        long distinctActions = interactions.stream()
                 .map(UserInteraction::getAction)
                 .distinct()
-                .count() * 2.0; // 2 points per unique action
-        double recencyScore = interactions.stream()
+                .count();
+        OptionalDouble averageAgeHours = interactions.stream()
                 .mapToLong(interaction -> ChronoUnit.HOURS.between(interaction.getTimestamp(), LocalDateTime.now()))
-                .average()
+                .average();
+        
+        return calculateEngagementScore(interactions.size(), distinctActions, averageAgeHours);
+    }
+
+    private double calculateEngagementScore(RollupSnapshot rollups) {
+        LocalDateTime now = LocalDateTime.now();
+        long total = rollups.totalInteractions();
+        OptionalDouble averageAgeHours = total == 0 ? OptionalDouble.empty() : OptionalDouble.of(
+                rollups.hourlyCounts().entrySet().stream()
+                        .mapToDouble(entry -> ChronoUnit.HOURS.between(entry.getKey(), now) * (double) entry.getValue())
+                        .sum() / total);
+        
+        return calculateEngagementScore(total, rollups.actionCounts().size(), averageAgeHours);
+    }
+
+    private double calculateEngagementScore(long totalInteractions, long distinctActions, OptionalDouble averageAgeHours) {
+        // Complex engagement calculation based on various factors
+        double baseScore = Math.min(totalInteractions / 10.0, 10.0); // Max 10 points for volume
+        double diversityScore = distinctActions * 2.0; // 2 points per unique action
+        double recencyScore = averageAgeHours
+                .stream()
                 .map(avg -> Math.max(0, 10 - (avg / 24.0))) // Decay over days
+                .findFirst()
                 .orElse(0.0);
         
         return Math.min((baseScore + diversityScore + recencyScore) / 3.0, 10.0);
@@ -315,21 +380,28 @@ public class AnalyticsService {
         return "low";
     }
 
-    private boolean isAnomalousInteraction(UserInteraction interaction) {
+    private Map<String, Object> topK(TopKSketch sketch) {
+        return Map.of(
+            "items", sketch.top(10),
+            "maxError", sketch.maxError()
+        );
+    }
+
+    private boolean isAnomalousInteraction(InteractionEvent interaction) {
         // Simple anomaly detection - can be enhanced with ML models
-        return interaction.getMetadata() != null && 
-               interaction.getMetadata().containsKey("suspicious");
+        return interaction.metadata().containsKey("suspicious");
     }
 
-    private void updateRealTimeMetrics(UserInteraction interaction) {
-        // Update real-time dashboards, metrics, etc.
-        log.debug("Updated real-time metrics for interaction: {}", interaction.getId());
+    private void updateRealTimeMetrics(InteractionEvent interaction) {
+        realtimeAnalyticsEngine.record(interaction);
+        log.debug("Updated real-time metrics for interaction: userId={}, action={}", 
+                interaction.userId(), interaction.action());
     }
 
-    private void checkForImmediateInsights(UserInteraction interaction) {
+    private void checkForImmediateInsights(InteractionEvent interaction) {
         // Check for patterns that require immediate action
-        if ("error".equals(interaction.getAction())) {
-            insightsService.recordErrorPattern(interaction.getUserId(), interaction.getContext());
+        if ("error".equals(interaction.action())) {
+            insightsService.recordErrorPattern(interaction.userId(), interaction.context());
         }
     }
 }
\ No newline at end of file
@@ -0,0 +1,215 @@
+package com.captainpro.aiassistant.service;
+
+import com.captainpro.aiassistant.entity.AnalyticsSketch;
+import com.captainpro.aiassistant.entity.AnalyticsSketch.Metric;
+import com.captainpro.aiassistant.entity.InteractionRollup.Granularity;
+import com.captainpro.aiassistant.model.InteractionEvent;
+import com.captainpro.aiassistant.repository.AnalyticsSketchRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+
+/**
+ * Analytics Sketch Service
+ *
+ * Maintains platform-wide approximate summaries of interactions including:
+ * - HyperLogLog distinct users per hourly and daily bucket, overall and per action
+ *   (relative standard error {@link HyperLogLog#RELATIVE_ERROR}); per-action sketches are
+ *   kept only for a configured allow-list, so client-chosen action names cannot add rows
+ * - Space-Saving top-K actions, devices, locations and users per bucket; each count
+ *   carries its own overestimate bound
+ * - Buckets merged with each ingestion batch under a row lock, so summaries cost the
+ *   same however large user_interactions grows; missing buckets are inserted through
+ *   {@link BucketRowInserter}
+ * - Range reads that merge hourly buckets for a partial leading day with daily buckets
+ */
+@Service
+@Slf4j
+public class AnalyticsSketchService {
+
+    private static final String INSERT_SQL =
+        "INSERT INTO analytics_sketches (id, metric, dimension_key, granularity, bucket_start, sketch) " +
+        "VALUES (?, ?, ?, ?, ?, ?)";
+
+    private static final Comparator<SketchKey> KEY_ORDER = Comparator
+        .comparing(SketchKey::metric)
+        .thenComparing(SketchKey::dimensionKey)
+        .thenComparing(SketchKey::granularity)
+        .thenComparing(SketchKey::bucketStart);
+
+    private final BucketRowInserter rowInserter;
+    private final SequenceIdAllocator idAllocator;
+    private final AnalyticsSketchRepository sketchRepository;
+
+    @Value("${app.analytics.sketches.top-k-capacity:200}")
+    private int topKCapacity;
+
+    @Value("${app.analytics.sketches.distinct-actions:ai_chat,ai_response_generated,ai_insights_generated,ai_recommendations_generated,generate_insights,action_execute}")
+    private Set<String> distinctActions;
+
+    public AnalyticsSketchService(BucketRowInserter rowInserter,
+                                  SequenceIdAllocator idAllocator,
+                                  AnalyticsSketchRepository sketchRepository) {
+        this.rowInserter = rowInserter;
+        this.idAllocator = idAllocator;
+        this.sketchRepository = sketchRepository;
+    }
+
+    /**
+     * Merge a batch of interaction events into the sketch buckets.
+     * Must run inside the transaction that writes the raw events.
+     */
+    public void apply(List<InteractionEvent> batch) {
+        Map<SketchKey, Object> buckets = new TreeMap<>(KEY_ORDER);
+
+        for (InteractionEvent event : batch) {
+            if (event.action() == null || event.userId() == null) {
+                continue;
+            }
+            boolean perAction = distinctActions.contains(event.action());
+            LocalDateTime hour = event.timestamp().truncatedTo(ChronoUnit.HOURS);
+            LocalDateTime day = event.timestamp().truncatedTo(ChronoUnit.DAYS);
+
+            for (Granularity granularity : Granularity.values()) {
+                LocalDateTime bucketStart = granularity == Granularity.HOURLY ? hour : day;
+
+                distinct(buckets, AnalyticsSketch.ALL, granularity, bucketStart).add(event.userId());
+                if (perAction) {
+                    distinct(buckets, event.action(), granularity, bucketStart).add(event.userId());
+                }
+                topK(buckets, Metric.TOP_ACTIONS, granularity, bucketStart).add(event.action());
+                topK(buckets, Metric.TOP_USERS, granularity, bucketStart).add(event.userId());
+
+                String device = metadataValue(event, "deviceType");
+                if (device != null) {
+                    topK(buckets, Metric.TOP_DEVICES, granularity, bucketStart).add(device);
+                }
+                String location = metadataValue(event, "location");
+                if (location != null) {
+                    topK(buckets, Metric.TOP_LOCATIONS, granularity, bucketStart).add(location);
+                }
+            }
+        }
+
+        // Sorted keys keep row lock order stable across concurrent writers
+        buckets.forEach((key, sketch) -> {
+            Optional<AnalyticsSketch> existing = lockBucket(key);
+            if (existing.isPresent()) {
+                existing.get().setSketch(mergeInto(existing.get(), sketch));
+            } else if (!rowInserter.insertIfAbsent(INSERT_SQL,
+                    idAllocator.nextId("analytics_sketches_seq"), key.metric().name(), key.dimensionKey(),
+                    key.granularity().name(), Timestamp.valueOf(key.bucketStart()), toBytes(sketch))) {
+                // Inserted concurrently by another writer since the lock attempt
+                lockBucket(key).ifPresent(row -> row.setSketch(mergeInto(row, sketch)));
+            }
+        });
+
+        log.debug("Merged {} events into {} analytics sketches", batch.size(), buckets.size());
+    }
+
+    /**
+     * Estimated distinct users over all actions since {@code from}
+     */
+    @Transactional(readOnly = true)
+    public long estimateDistinctUsers(LocalDateTime from) {
+        return distinctUsers(List.of(AnalyticsSketch.ALL), from).getOrDefault(AnalyticsSketch.ALL, 0L);
+    }
+
+    /**
+     * Estimated distinct users since {@code from} for each action, in the given order.
+     * Only actions listed in {@code app.analytics.sketches.distinct-actions} are tracked;
+     * any other action estimates as 0.
+     */
+    @Transactional(readOnly = true)
+    public Map<String, Long> estimateDistinctUsers(List<String> actions, LocalDateTime from) {
+        Map<String, Long> estimates = distinctUsers(actions, from);
+        Map<String, Long> ordered = new LinkedHashMap<>();
+        actions.forEach(action -> ordered.put(action, estimates.getOrDefault(action, 0L)));
+        return ordered;
+    }
+
+    /**
+     * Top-K summary of a metric since {@code from}
+     */
+    @Transactional(readOnly = true)
+    public TopKSketch loadTopK(Metric metric, LocalDateTime from) {
+        TopKSketch merged = new TopKSketch(topKCapacity);
+        for (AnalyticsSketch row : findBucketsSince(metric, List.of(AnalyticsSketch.ALL), from)) {
+            merged.merge(TopKSketch.fromBytes(row.getSketch(), topKCapacity));
+        }
+        return merged;
+    }
+
+    // Helper methods
+
+    private Map<String, Long> distinctUsers(Collection<String> keys, LocalDateTime from) {
+        Map<String, HyperLogLog> merged = new HashMap<>();
+        for (AnalyticsSketch row : findBucketsSince(Metric.DISTINCT_USERS, keys, from)) {
+            merged.computeIfAbsent(row.getDimensionKey(), key -> new HyperLogLog())
+                .merge(HyperLogLog.fromBytes(row.getSketch()));
+        }
+
+        Map<String, Long> estimates = new HashMap<>();
+        merged.forEach((key, sketch) -> estimates.put(key, sketch.estimate()));
+        return estimates;
+    }
+
+    private List<AnalyticsSketch> findBucketsSince(Metric metric, Collection<String> keys, LocalDateTime from) {
+        LocalDateTime start = from.truncatedTo(ChronoUnit.HOURS);
+        LocalDateTime startDay = start.truncatedTo(ChronoUnit.DAYS);
+        LocalDateTime firstFullDay = start.equals(startDay) ? startDay : startDay.plusDays(1);
+        LocalDateTime end = LocalDateTime.now().truncatedTo(ChronoUnit.DAYS).plusDays(1);
+
+        // Partial leading day comes from hourly buckets
+        List<AnalyticsSketch> rows = new ArrayList<>(
+            sketchRepository.findBuckets(metric, keys, Granularity.HOURLY, start, firstFullDay));
+        rows.addAll(sketchRepository.findBuckets(metric, keys, Granularity.DAILY, firstFullDay, end));
+        return rows;
+    }
+
+    private Optional<AnalyticsSketch> lockBucket(SketchKey key) {
+        return sketchRepository.lockBucket(key.metric(), key.dimensionKey(), key.granularity(), key.bucketStart());
+    }
+
+    private byte[] toBytes(Object sketch) {
+        return sketch instanceof HyperLogLog distinct ? distinct.toBytes() : ((TopKSketch) sketch).toBytes();
+    }
+
+    private byte[] mergeInto(AnalyticsSketch row, Object sketch) {
+        if (sketch instanceof HyperLogLog distinct) {
+            distinct.merge(HyperLogLog.fromBytes(row.getSketch()));
+            return distinct.toBytes();
+        }
+        TopKSketch topK = (TopKSketch) sketch;
+        topK.merge(TopKSketch.fromBytes(row.getSketch(), topKCapacity));
+        return topK.toBytes();
+    }
+
+    private HyperLogLog distinct(Map<SketchKey, Object> buckets, String dimensionKey,
+                                 Granularity granularity, LocalDateTime bucketStart) {
+        return (HyperLogLog) buckets.computeIfAbsent(
+            new SketchKey(Metric.DISTINCT_USERS, dimensionKey, granularity, bucketStart),
+            key -> new HyperLogLog());
+    }
+
+    private TopKSketch topK(Map<SketchKey, Object> buckets, Metric metric,
+                            Granularity granularity, LocalDateTime bucketStart) {
+        return (TopKSketch) buckets.computeIfAbsent(
+            new SketchKey(metric, AnalyticsSketch.ALL, granularity, bucketStart),
+            key -> new TopKSketch(topKCapacity));
+    }
+
+    private String metadataValue(InteractionEvent event, String key) {
+        Object value = event.metadata().get(key);
+        return value != null && !value.toString().isBlank() ? value.toString() : null;
+    }
+
+    private record SketchKey(Metric metric, String dimensionKey, Granularity granularity, LocalDateTime bucketStart) {
+    }
+}
@@ -0,0 +1,55 @@
+package com.captainpro.aiassistant.service;
+
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.Assert;
+
+import java.sql.Savepoint;
+
+/**
+ * Bucket Row Inserter
+ *
+ * Portable insert-if-absent for aggregate bucket rows that are otherwise merged
+ * under a row lock. The insert runs behind a savepoint on the caller's transaction
+ * connection; if a concurrent writer inserted the same unique key first, only the
+ * savepoint is rolled back and the caller carries on. Works on PostgreSQL and H2
+ * alike, unlike vendor upsert syntax.
+ *
+ * The savepoint is set on the JDBC connection directly: the JPA transaction manager
+ * cannot open nested transactions with Hibernate, whose JPA dialect exposes no
+ * savepoints.
+ */
+@Component
+public class BucketRowInserter {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public BucketRowInserter(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Run a plain INSERT unless a row with the same unique key exists.
+     * Must run inside a transaction. Returns true if this call inserted the row.
+     */
+    public boolean insertIfAbsent(String insertSql, Object... args) {
+        Assert.state(TransactionSynchronizationManager.isActualTransactionActive(),
+            "Bucket rows must be inserted inside a transaction");
+
+        // The transaction's connection, which the nested update below also uses
+        return Boolean.TRUE.equals(jdbcTemplate.execute((ConnectionCallback<Boolean>) connection -> {
+            Savepoint savepoint = connection.setSavepoint();
+            try {
+                jdbcTemplate.update(insertSql, args);
+            } catch (DuplicateKeyException e) {
+                connection.rollback(savepoint);
+                return false;
+            }
+            connection.releaseSavepoint(savepoint);
+            return true;
+        }));
+    }
+}
@@ -0,0 +1,16 @@
+package com.captainpro.aiassistant.service;
+
+import java.io.Serializable;
+
+/**
+ * Cache Envelope
+ *
+ * Cached value stored together with when it was computed and how long the
+ * computation took, used for early expiration and refresh-ahead decisions.
+ */
+public record CacheEnvelope(Object value, long computedAt, long computeMillis) implements Serializable {
+
+    public long ageMillis(long now) {
+        return now - computedAt;
+    }
+}
@@ -0,0 +1,116 @@
+package com.captainpro.aiassistant.service;
+
+import com.captainpro.aiassistant.config.TieredCacheProperties;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * Cache Invalidation Bus
+ *
+ * Broadcasts L1 invalidations to the other nodes over Redis pub/sub. Every node
+ * tags its messages with its own node id and ignores the messages it sent itself.
+ * Delivery is best effort; the L1 TTL bounds staleness when a message is lost.
+ */
+@Slf4j
+public class CacheInvalidationBus implements MessageListener {
+
+    /**
+     * Invalidation of one key, or of the whole cache when {@code key} is null
+     */
+    public record Invalidation(String node, String cache, String key) {
+    }
+
+    private final String nodeId = UUID.randomUUID().toString();
+    private final Map<String, Consumer<Invalidation>> listeners = new ConcurrentHashMap<>();
+
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final TieredCacheProperties properties;
+    private final MeterRegistry meterRegistry;
+
+    public CacheInvalidationBus(StringRedisTemplate redisTemplate,
+                                ObjectMapper objectMapper,
+                                TieredCacheProperties properties,
+                                MeterRegistry meterRegistry) {
+        this.redisTemplate = redisTemplate;
+        this.objectMapper = objectMapper;
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    /**
+     * Register the L1 of a cache to receive invalidations sent by other nodes
+     */
+    public void register(String cacheName, Consumer<Invalidation> listener) {
+        listeners.put(cacheName, listener);
+    }
+
+    public void publishEvict(String cacheName, String key) {
+        publish(new Invalidation(nodeId, cacheName, key));
+    }
+
+    public void publishClear(String cacheName) {
+        publish(new Invalidation(nodeId, cacheName, null));
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        Invalidation invalidation;
+        try {
+            invalidation = objectMapper.readValue(
+                new String(message.getBody(), StandardCharsets.UTF_8), Invalidation.class);
+        } catch (Exception e) {
+            log.warn("Ignoring malformed cache invalidation message", e);
+            return;
+        }
+
+        if (nodeId.equals(invalidation.node())) {
+            return;
+        }
+
+        Consumer<Invalidation> listener = listeners.get(invalidation.cache());
+        if (listener != null) {
+            listener.accept(invalidation);
+            counter("received", invalidation.cache()).increment();
+        }
+    }
+
+    // Helper methods
+
+    private void publish(Invalidation invalidation) {
+        try {
+            redisTemplate.convertAndSend(properties.getInvalidationChannel(),
+                objectMapper.writeValueAsString(invalidation));
+            counter("published", invalidation.cache()).increment();
+        } catch (JsonProcessingException e) {
+            log.error("Failed to encode cache invalidation for cache {}", invalidation.cache(), e);
+        } catch (Exception e) {
+            // Other nodes fall back to their L1 TTL
+            log.warn("Failed to publish cache invalidation for cache {}: {}", invalidation.cache(), e.getMessage());
+        }
+    }
+
+    private Counter counter(String direction, String cacheName) {
+        return Counter.builder("cache.invalidations")
+            .description("L1 cache invalidations exchanged between nodes")
+            .tag("direction", direction)
+            .tag("cache", cacheName)
+            .register(meterRegistry);
+    }
+}
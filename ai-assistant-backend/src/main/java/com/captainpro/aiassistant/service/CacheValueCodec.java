@@ -0,0 +1,279 @@
+package com.captainpro.aiassistant.service;
+
+import com.captainpro.aiassistant.config.TieredCacheProperties.Codec;
+import com.captainpro.aiassistant.config.TieredCacheProperties.Compression;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import net.jpountz.lz4.LZ4Compressor;
+import net.jpountz.lz4.LZ4Factory;
+import net.jpountz.lz4.LZ4FastDecompressor;
+import org.springframework.cache.support.NullValue;
+import org.springframework.data.redis.serializer.JdkSerializationRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.*;
+
+/**
+ * Cache Value Codec
+ *
+ * Redis value serializer for one cache region:
+ * - JDK, JSON or Smile (binary JSON) encoding
+ * - Optional LZ4 compression above a size threshold
+ * - One-byte header naming codec and compression, so values written in another
+ *   format (e.g. before a codec change) read as cache misses instead of failures
+ * - Payload size and encode/decode timing per region
+ *
+ * JSON and Smile store the root class next to the value, and the timing fields of a
+ * {@link CacheEnvelope} alongside it. Maps and collections are
+ * restored as LinkedHashMap/ArrayList/LinkedHashSet, and nested values use their
+ * natural JSON types.
+ */
+@Slf4j
+public class CacheValueCodec implements RedisSerializer<Object> {
+
+    private static final int FLAG_PLAIN = 0;
+    private static final int FLAG_LZ4 = 1;
+    private static final int FLAG_NULL = 2;
+
+    private static final String ENVELOPE_MARKER = "@envelope";
+
+    private static final List<String> TRUSTED_PACKAGES = List.of(
+        "com.captainpro.aiassistant.", "java.util.", "java.lang.", "java.time.", "java.math.");
+
+    private final String cacheName;
+    private final Codec codec;
+    private final Compression compression;
+    private final int compressionThreshold;
+
+    private final ObjectMapper objectMapper;
+    private final JdkSerializationRedisSerializer jdkSerializer = new JdkSerializationRedisSerializer();
+    private final LZ4Compressor compressor = LZ4Factory.fastestInstance().fastCompressor();
+    private final LZ4FastDecompressor decompressor = LZ4Factory.fastestInstance().fastDecompressor();
+
+    private final DistributionSummary payloadSize;
+    private final Timer encodeTimer;
+    private final Timer decodeTimer;
+    private final Counter decodeMisses;
+
+    public CacheValueCodec(String cacheName,
+                           Codec codec,
+                           Compression compression,
+                           int compressionThreshold,
+                           ObjectMapper objectMapper,
+                           MeterRegistry meterRegistry) {
+        this.cacheName = cacheName;
+        this.codec = codec;
+        this.compression = compression;
+        this.compressionThreshold = compressionThreshold;
+        this.objectMapper = switch (codec) {
+            case JDK -> null;
+            case JSON -> configure(objectMapper.copy());
+            case SMILE -> configure(objectMapper.copyWith(new SmileFactory()));
+        };
+
+        String codecTag = codec.name().toLowerCase();
+        this.payloadSize = DistributionSummary.builder("cache.payload.size")
+            .description("Size of cache values stored in Redis")
+            .baseUnit("bytes")
+            .tag("cache", cacheName)
+            .tag("codec", codecTag)
+            .publishPercentileHistogram()
+            .register(meterRegistry);
+        this.encodeTimer = Timer.builder("cache.codec.encode")
+            .description("Time to serialize a cache value for Redis")
+            .tag("cache", cacheName)
+            .tag("codec", codecTag)
+            .publishPercentileHistogram()
+            .register(meterRegistry);
+        this.decodeTimer = Timer.builder("cache.codec.decode")
+            .description("Time to deserialize a cache value read from Redis")
+            .tag("cache", cacheName)
+            .tag("codec", codecTag)
+            .publishPercentileHistogram()
+            .register(meterRegistry);
+        this.decodeMisses = Counter.builder("cache.codec.unreadable")
+            .description("Cache values that could not be decoded and were treated as misses")
+            .tag("cache", cacheName)
+            .register(meterRegistry);
+    }
+
+    @Override
+    public byte[] serialize(Object value) throws SerializationException {
+        if (value == null || value instanceof NullValue) {
+            return new byte[] { header(FLAG_NULL) };
+        }
+
+        Timer.Sample sample = Timer.start();
+        try {
+            byte[] encoded = encode(value);
+            byte[] frame = compression == Compression.LZ4 && encoded.length >= compressionThreshold
+                ? compress(encoded)
+                : prepend(header(FLAG_PLAIN), encoded);
+            payloadSize.record(frame.length);
+            return frame;
+        } catch (IOException e) {
+            throw new SerializationException("Cannot encode value for cache " + cacheName, e);
+        } finally {
+            sample.stop(encodeTimer);
+        }
+    }
+
+    @Override
+    public Object deserialize(byte[] bytes) throws SerializationException {
+        if (bytes == null || bytes.length == 0) {
+            return null;
+        }
+
+        Timer.Sample sample = Timer.start();
+        try {
+            int header = bytes[0] & 0xFF;
+            if (header >>> 4 != codecId()) {
+                decodeMisses.increment();
+                return null;
+            }
+
+            return switch (header & 0x0F) {
+                case FLAG_NULL -> NullValue.INSTANCE;
+                case FLAG_PLAIN -> decode(Arrays.copyOfRange(bytes, 1, bytes.length));
+                case FLAG_LZ4 -> decode(decompress(bytes));
+                default -> {
+                    decodeMisses.increment();
+                    yield null;
+                }
+            };
+        } catch (Exception e) {
+            // Unreadable values (old class shapes, corrupt frames) are recomputed rather than failing the request
+            decodeMisses.increment();
+            log.debug("Treating unreadable value in cache {} as a miss: {}", cacheName, e.getMessage());
+            return null;
+        } finally {
+            sample.stop(decodeTimer);
+        }
+    }
+
+    // Helper methods
+
+    private byte[] encode(Object value) throws IOException {
+        if (codec == Codec.JDK) {
+            return jdkSerializer.serialize(value);
+        }
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream(256);
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            generator.writeStartArray();
+            if (value instanceof CacheEnvelope envelope) {
+                generator.writeString(ENVELOPE_MARKER);
+                generator.writeNumber(envelope.computedAt());
+                generator.writeNumber(envelope.computeMillis());
+                writeTyped(generator, envelope.value());
+            } else {
+                writeTyped(generator, value);
+            }
+            generator.writeEndArray();
+        }
+        return out.toByteArray();
+    }
+
+    private Object decode(byte[] encoded) throws IOException, ClassNotFoundException {
+        if (codec == Codec.JDK) {
+            return jdkSerializer.deserialize(encoded);
+        }
+
+        try (JsonParser parser = objectMapper.getFactory().createParser(encoded)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new IOException("Missing cache value frame");
+            }
+            String first = parser.nextTextValue();
+            if (!ENVELOPE_MARKER.equals(first)) {
+                return readTyped(parser, first);
+            }
+
+            parser.nextToken();
+            long computedAt = parser.getLongValue();
+            parser.nextToken();
+            long computeMillis = parser.getLongValue();
+            return new CacheEnvelope(readTyped(parser, parser.nextTextValue()), computedAt, computeMillis);
+        }
+    }
+
+    private void writeTyped(JsonGenerator generator, Object value) throws IOException {
+        generator.writeString(value != null ? rootType(value).getName() : "");
+        objectMapper.writeValue(generator, value);
+    }
+
+    private Object readTyped(JsonParser parser, String typeName) throws IOException, ClassNotFoundException {
+        parser.nextToken();
+        if (typeName == null || typeName.isEmpty()) {
+            return null;
+        }
+        return objectMapper.readValue(parser, trustedType(typeName));
+    }
+
+    private byte[] compress(byte[] encoded) {
+        int maxLength = compressor.maxCompressedLength(encoded.length);
+        ByteBuffer frame = ByteBuffer.allocate(1 + Integer.BYTES + maxLength);
+        frame.put(header(FLAG_LZ4)).putInt(encoded.length);
+        int compressedLength = compressor.compress(encoded, 0, encoded.length,
+            frame.array(), 1 + Integer.BYTES, maxLength);
+        return Arrays.copyOf(frame.array(), 1 + Integer.BYTES + compressedLength);
+    }
+
+    private byte[] decompress(byte[] frame) {
+        int originalLength = ByteBuffer.wrap(frame, 1, Integer.BYTES).getInt();
+        return decompressor.decompress(frame, 1 + Integer.BYTES, originalLength);
+    }
+
+    private byte header(int flag) {
+        return (byte) (codecId() << 4 | flag);
+    }
+
+    private int codecId() {
+        return switch (codec) {
+            case JDK -> 1;
+            case JSON -> 2;
+            case SMILE -> 3;
+        };
+    }
+
+    private static byte[] prepend(byte header, byte[] encoded) {
+        byte[] frame = new byte[encoded.length + 1];
+        frame[0] = header;
+        System.arraycopy(encoded, 0, frame, 1, encoded.length);
+        return frame;
+    }
+
+    private static Class<?> rootType(Object value) {
+        if (value instanceof Map) return LinkedHashMap.class;
+        if (value instanceof Set) return LinkedHashSet.class;
+        if (value instanceof Collection) return ArrayList.class;
+        return value.getClass();
+    }
+
+    private static Class<?> trustedType(String className) throws ClassNotFoundException {
+        if (className == null || TRUSTED_PACKAGES.stream().noneMatch(className::startsWith)) {
+            throw new ClassNotFoundException("Untrusted cache value type: " + className);
+        }
+        return Class.forName(className);
+    }
+
+    private static ObjectMapper configure(ObjectMapper mapper) {
+        return mapper
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .disable(SerializationFeature.FAIL_ON_EMPTY_BEANS)
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+    }
+}
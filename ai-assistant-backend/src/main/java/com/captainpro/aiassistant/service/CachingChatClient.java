@@ -0,0 +1,85 @@
+package com.captainpro.aiassistant.service;
+
+import com.captainpro.aiassistant.config.ResponseCacheProperties;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.ai.chat.ChatClient;
+import org.springframework.ai.chat.ChatResponse;
+import org.springframework.ai.chat.Generation;
+import org.springframework.ai.chat.prompt.Prompt;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Caching Chat Client
+ * 
+ * {@link ChatClient} decorator in front of the model that:
+ * - Answers repeated and near-duplicate prompts from the {@link ResponseCache}
+ * - Coalesces concurrent identical prompts onto a single model call
+ * - Accepts an explicit cache key for prompts that embed per-call data, and lets
+ *   streaming callers look up and store complete responses under the same key
+ */
+@RequiredArgsConstructor
+@Slf4j
+public class CachingChatClient implements ChatClient {
+
+    private final ChatClient delegate;
+    private final ResponseCache responseCache;
+    private final ResponseCacheProperties properties;
+    private final InFlightRequestRegistry inFlightRequests;
+
+    @Override
+    public ChatResponse call(Prompt prompt) {
+        return call(prompt, responseCache.keyFor(prompt));
+    }
+
+    /**
+     * Call the model for a prompt, caching and coalescing on the given key
+     */
+    public ChatResponse call(Prompt prompt, ResponseCache.CacheKey key) {
+        Optional<ChatResponse> cached = lookup(key);
+        if (cached.isPresent()) {
+            return cached.get();
+        }
+        
+        return inFlightRequests.execute(key.exact(), key.family(), () -> {
+            ChatResponse response = delegate.call(prompt);
+            
+            // Cache before the in-flight entry is released so late arrivals hit the cache
+            if (properties.isEnabled()) {
+                responseCache.put(key, response);
+            }
+            return response;
+        });
+    }
+
+    /**
+     * Key for a question asked with structured context, see {@link ResponseCache#keyFor(PromptFamily, String, Map)}
+     */
+    public ResponseCache.CacheKey keyFor(PromptFamily family, String query, Map<String, Object> context) {
+        return responseCache.keyFor(family, query, context);
+    }
+
+    /**
+     * Cached response for the key, if caching is enabled and one is present
+     */
+    public Optional<ChatResponse> lookup(ResponseCache.CacheKey key) {
+        if (!properties.isEnabled()) {
+            return Optional.empty();
+        }
+        Optional<ChatResponse> cached = responseCache.get(key);
+        cached.ifPresent(response -> log.debug("Serving {} prompt from response cache", key.family()));
+        return cached;
+    }
+
+    /**
+     * Store a complete response assembled by a streaming caller
+     */
+    public void store(ResponseCache.CacheKey key, String content) {
+        if (properties.isEnabled() && !content.isEmpty()) {
+            responseCache.put(key, new ChatResponse(List.of(new Generation(content))));
+        }
+    }
+}
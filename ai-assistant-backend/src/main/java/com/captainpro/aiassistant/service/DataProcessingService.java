@@ -1,15 +1,15 @@
 package com.captainpro.aiassistant.service;
 
+import com.captainpro.aiassistant.entity.ActionJob;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cache.annotation.Cacheable;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.*;
-import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 
 /**
@@ -28,11 +28,15 @@ import java.util.stream.Collectors;
 public class DataProcessingService {
 
     private final AnalyticsService analyticsService;
+    private final ActionJobService actionJobService;
+
+    @Value("${app.actions.jobs.match-analysis-priority:5}")
+    private int matchAnalysisPriority;
 
     /**
      * Generate comprehensive team report
      */
-    @Cacheable(value = "teamReports", key = "#teamId + '_' + #reportType")
+    @Cacheable(value = "teamReports", key = "#teamId + '_' + #reportType", sync = true)
     public Map<String, Object> generateTeamReport(String teamId, String reportType) {
         log.info("Generating {} report for team: {}", reportType, teamId);
         
@@ -231,32 +235,23 @@ public class DataProcessingService {
     }
 
     /**
-     * Schedule match analysis task
+     * Schedule match analysis task on the durable action job queue
      */
-    @Async
-    public String scheduleMatchAnalysis(String matchId, LocalDateTime scheduledTime) {
-        String taskId = UUID.randomUUID().toString();
-        log.info("Scheduling match analysis task: {} for match: {} at {}", taskId, matchId, scheduledTime);
-        
-        // In a real implementation, this would integrate with a job scheduler like Quartz
-        // For now, we'll simulate the scheduling
-        
-        CompletableFuture.runAsync(() -> {
-            try {
-                // Wait until scheduled time (simplified)
-                Thread.sleep(1000); // Simulate delay
-                
-                // Perform match analysis
-                Map<String, Object> analysis = performMatchAnalysis(matchId);
-                
-                log.info("Match analysis completed for task: {} match: {}", taskId, matchId);
-                
-            } catch (Exception e) {
-                log.error("Failed to complete scheduled match analysis for task: {}", taskId, e);
-            }
-        });
-        
-        return taskId;
+    public String scheduleMatchAnalysis(String userId, String matchId, LocalDateTime scheduledTime) {
+        ActionJob job = actionJobService.enqueue(userId, ActionJob.MATCH_ANALYSIS,
+            Map.of("matchId", matchId), matchAnalysisPriority, scheduledTime);
+        log.info("Scheduled match analysis job: {} for match: {} at {}", job.getJobId(), matchId, job.getAvailableAt());
+        return job.getJobId();
+    }
+
+    /**
+     * Run a match analysis; called by the action job worker when a scheduled analysis is due
+     */
+    public Map<String, Object> runMatchAnalysis(String matchId) {
+        ActionJobContext.throwIfCancelled();
+        Map<String, Object> analysis = performMatchAnalysis(matchId);
+        log.info("Match analysis completed for match: {}", matchId);
+        return analysis;
     }
 
     /**
@@ -701,11 +696,16 @@ public class DataProcessingService {
     }
 
     private Map<String, Object> exportCompleteUserData(String userId) {
+        Map<String, Object> performanceData = exportPerformanceData(userId);
+        ActionJobContext.throwIfCancelled();
+        Map<String, Object> teamData = exportTeamData(userId);
+        ActionJobContext.throwIfCancelled();
+        Map<String, Object> analyticsData = exportAnalyticsData(userId);
         return Map.of(
             "userId", userId,
-            "performanceData", exportPerformanceData(userId),
-            "teamData", exportTeamData(userId),
-            "analyticsData", exportAnalyticsData(userId),
+            "performanceData", performanceData,
+            "teamData", teamData,
+            "analyticsData", analyticsData,
             "exportType", "complete",
             "exportedAt", LocalDateTime.now()
         );
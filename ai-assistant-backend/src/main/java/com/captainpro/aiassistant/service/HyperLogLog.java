@@ -0,0 +1,113 @@
+package com.captainpro.aiassistant.service;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+
+/**
+ * HyperLogLog
+ *
+ * Distinct-count sketch over strings:
+ * - 2^12 registers, for a relative standard error of {@link #RELATIVE_ERROR} (about 1.6%);
+ *   estimates are within twice that in about 95% of cases
+ * - Linear counting below 2.5 times the register count, so small counts are near exact
+ * - Sketches merge by taking the larger register, giving the distinct count of the union
+ * - Stored sparse (non-zero registers only) while that is smaller than the 4 KB dense form
+ *
+ * Not thread-safe; build one per batch or read and merge under a lock.
+ */
+public class HyperLogLog {
+
+    public static final int PRECISION = 12;
+
+    public static final double RELATIVE_ERROR = 1.04 / Math.sqrt(1 << PRECISION);
+
+    private static final int REGISTERS = 1 << PRECISION;
+    private static final byte SPARSE = 0;
+    private static final byte DENSE = 1;
+
+    private final byte[] registers = new byte[REGISTERS];
+
+    /**
+     * Sketch decoded from {@link #toBytes()}
+     */
+    public static HyperLogLog fromBytes(byte[] bytes) {
+        HyperLogLog sketch = new HyperLogLog();
+        if (bytes == null || bytes.length == 0) {
+            return sketch;
+        }
+
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        if (buffer.get() == DENSE) {
+            buffer.get(sketch.registers);
+            return sketch;
+        }
+        int index = 0;
+        while (buffer.hasRemaining()) {
+            index += (int) SketchEncoding.readVarint(buffer);
+            sketch.registers[index] = buffer.get();
+        }
+        return sketch;
+    }
+
+    public void add(String value) {
+        long hash = SketchEncoding.hash64(value);
+        int index = (int) (hash >>> (64 - PRECISION));
+        // Rank of the first set bit in the remaining bits; a sentinel bit caps it
+        byte rank = (byte) (Long.numberOfLeadingZeros((hash << PRECISION) | (1L << (PRECISION - 1))) + 1);
+        if (rank > registers[index]) {
+            registers[index] = rank;
+        }
+    }
+
+    public void merge(HyperLogLog other) {
+        for (int i = 0; i < REGISTERS; i++) {
+            if (other.registers[i] > registers[i]) {
+                registers[i] = other.registers[i];
+            }
+        }
+    }
+
+    public long estimate() {
+        double sum = 0;
+        int zeros = 0;
+        for (byte register : registers) {
+            sum += 1.0 / (1L << register);
+            if (register == 0) {
+                zeros++;
+            }
+        }
+
+        double alpha = 0.7213 / (1 + 1.079 / REGISTERS);
+        double estimate = alpha * REGISTERS * REGISTERS / sum;
+        if (estimate <= 2.5 * REGISTERS && zeros > 0) {
+            estimate = REGISTERS * Math.log((double) REGISTERS / zeros);
+        }
+        return Math.round(estimate);
+    }
+
+    public byte[] toBytes() {
+        ByteArrayOutputStream sparse = new ByteArrayOutputStream();
+        sparse.write(SPARSE);
+        int previous = 0;
+        for (int i = 0; i < REGISTERS; i++) {
+            if (registers[i] != 0) {
+                SketchEncoding.writeVarint(sparse, i - previous);
+                sparse.write(registers[i]);
+                previous = i;
+                if (sparse.size() > REGISTERS) {
+                    return dense();
+                }
+            }
+        }
+        return sparse.toByteArray();
+    }
+
+    // Helper methods
+
+    private byte[] dense() {
+        byte[] bytes = new byte[REGISTERS + 1];
+        bytes[0] = DENSE;
+        System.arraycopy(registers, 0, bytes, 1, REGISTERS);
+        return bytes;
+    }
+}
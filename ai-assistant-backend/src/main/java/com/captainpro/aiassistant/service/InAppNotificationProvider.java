@@ -0,0 +1,54 @@
+package com.captainpro.aiassistant.service;
+
+import com.captainpro.aiassistant.model.NotificationChannel;
+import com.captainpro.aiassistant.model.NotificationDelivery;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * In-App Notification Provider
+ *
+ * Delivers in-app notifications over the push channel. The notification is already in
+ * the recipient's inbox, so a recipient without an open connection is not a failure;
+ * they see it on their next inbox load.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class InAppNotificationProvider implements NotificationProvider {
+
+    private final PushService pushService;
+
+    @Override
+    public NotificationChannel channel() {
+        return NotificationChannel.IN_APP;
+    }
+
+    @Override
+    public List<NotificationDelivery> send(List<NotificationDelivery> batch) {
+        List<NotificationDelivery> failed = new ArrayList<>();
+        LocalDateTime sentAt = LocalDateTime.now();
+        
+        for (NotificationDelivery delivery : batch) {
+            try {
+                pushService.sendToUser(delivery.recipientId(), PushService.NOTIFICATION_QUEUE, Map.of(
+                    "notificationId", delivery.notificationId(),
+                    "type", delivery.type(),
+                    "message", delivery.message(),
+                    "sentAt", sentAt
+                ));
+            } catch (Exception e) {
+                log.warn("Failed to push notification {} to {}: {}",
+                        delivery.notificationId(), delivery.recipientId(), e.getMessage());
+                failed.add(delivery);
+            }
+        }
+        return failed;
+    }
+}
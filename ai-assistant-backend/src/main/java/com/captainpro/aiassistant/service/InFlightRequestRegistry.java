@@ -0,0 +1,105 @@
+package com.captainpro.aiassistant.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * In-Flight Request Registry
+ * 
+ * Single-flight coalescing for identical AI requests. The first caller for a key
+ * runs the request; concurrent callers with the same key wait on its shared
+ * future instead of issuing their own model call. The shared future is completed
+ * however the leader's call ends, and followers wait as long as the leader can
+ * take: the bulkhead wait plus the model client's read timeout.
+ */
+@Component
+@Slf4j
+public class InFlightRequestRegistry {
+
+    private final MeterRegistry meterRegistry;
+    private final Map<String, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+
+    @Value("${app.ai.response-timeout:120000}")
+    private long responseTimeout;
+
+    @Value("${app.ai.bulkhead.acquire-timeout:10000}")
+    private long acquireTimeout;
+
+    public InFlightRequestRegistry(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        
+        Gauge.builder("ai.requests.inflight", inFlight, Map::size)
+            .description("Distinct AI requests currently in flight")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Run the call for the key, or join the call already in flight for it
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T execute(String key, PromptFamily family, Supplier<T> call) {
+        CompletableFuture<Object> leader = new CompletableFuture<>();
+        CompletableFuture<Object> existing = inFlight.putIfAbsent(key, leader);
+        
+        if (existing != null) {
+            coalesced(family).increment();
+            log.debug("Coalescing {} request onto in-flight call", family);
+            return (T) await(existing);
+        }
+        
+        try {
+            T result = call.get();
+            leader.complete(result);
+            return result;
+        } catch (Throwable e) {
+            leader.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, leader);
+            // Followers must never outlive a leader that left without a result
+            leader.completeExceptionally(new IllegalStateException("Coalesced AI request ended without a result"));
+        }
+    }
+
+    public int size() {
+        return inFlight.size();
+    }
+
+    private Object await(CompletableFuture<Object> future) {
+        try {
+            return future.get(acquireTimeout + responseTimeout, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException("Coalesced AI request failed", e.getCause());
+        } catch (TimeoutException e) {
+            throw new IllegalStateException("Timed out waiting for coalesced AI request", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted waiting for coalesced AI request", e);
+        }
+    }
+
+    private Counter coalesced(PromptFamily family) {
+        return Counter.builder("ai.requests.coalesced")
+            .description("AI requests served by joining an identical in-flight request")
+            .tag("family", family.name().toLowerCase())
+            .register(meterRegistry);
+    }
+}
@@ -4,11 +4,20 @@ import com.captainpro.aiassistant.model.InsightType;
 import com.captainpro.aiassistant.model.UserInsight;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 /**
@@ -29,10 +38,17 @@ public class InsightsService {
     private final AnalyticsService analyticsService;
     private final DataProcessingService dataProcessingService;
 
+    @Qualifier("insightsExecutor")
+    private final Executor insightsExecutor;
+
+    @Value("${app.insights.comprehensive-timeout:3000}")
+    private long comprehensiveTimeout;
+
     /**
      * Generate comprehensive insights for a user
      */
-    @Cacheable(value = "userInsights", key = "#userId + '_' + #insightType")
+    @Cacheable(value = "userInsights", key = "#userId + '_' + #insightType",
+               unless = "#result.containsKey('incompleteSections')")
     public Map<String, Object> generateUserInsights(String userId, String insightType) {
         log.info("Generating {} insights for user: {}", insightType, userId);
         
@@ -44,12 +60,7 @@ public class InsightsService {
                 case "team" -> insights.putAll(generateTeamInsights(userId));
                 case "predictive" -> insights.putAll(generatePredictiveInsights(userId));
                 case "comparative" -> insights.putAll(generateComparativeInsights(userId));
-                case "comprehensive" -> {
-                    insights.putAll(generatePerformanceInsights(userId));
-                    insights.putAll(generateTeamInsights(userId));
-                    insights.putAll(generatePredictiveInsights(userId));
-                    insights.putAll(generatePersonalizedRecommendations(userId));
-                }
+                case "comprehensive" -> insights.putAll(generateComprehensiveInsights(userId));
                 default -> insights.putAll(generateBasicInsights(userId));
             }
             
@@ -67,6 +78,58 @@ public class InsightsService {
         return insights;
     }
 
+    /**
+     * Generate comprehensive insights by running the sub-generators concurrently.
+     * Sections that miss the deadline, or that the saturated executor rejects, are
+     * dropped and listed under "incompleteSections".
+     */
+    private Map<String, Object> generateComprehensiveInsights(String userId) {
+        Map<String, Supplier<Map<String, Object>>> generators = new LinkedHashMap<>();
+        generators.put("performance", () -> generatePerformanceInsights(userId));
+        generators.put("team", () -> generateTeamInsights(userId));
+        generators.put("predictive", () -> generatePredictiveInsights(userId));
+        generators.put("recommendations", () -> generatePersonalizedRecommendations(userId));
+        
+        Map<String, CompletableFuture<Map<String, Object>>> sections = new LinkedHashMap<>();
+        generators.forEach((section, generator) -> {
+            try {
+                sections.put(section, CompletableFuture.supplyAsync(generator, insightsExecutor));
+            } catch (RejectedExecutionException e) {
+                log.warn("Insights executor saturated, skipping {} section for user: {}", section, userId);
+                sections.put(section, CompletableFuture.failedFuture(e));
+            }
+        });
+        
+        try {
+            CompletableFuture.allOf(sections.values().toArray(new CompletableFuture[0]))
+                .get(comprehensiveTimeout, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            log.warn("Comprehensive insights for user: {} exceeded {} ms deadline", userId, comprehensiveTimeout);
+        } catch (ExecutionException e) {
+            log.error("Comprehensive insights section failed for user: {}", userId, e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        
+        Map<String, Object> insights = new HashMap<>();
+        List<String> incompleteSections = new ArrayList<>();
+        
+        sections.forEach((section, future) -> {
+            if (future.isDone() && !future.isCompletedExceptionally()) {
+                insights.putAll(future.join());
+            } else {
+                future.cancel(true);
+                incompleteSections.add(section);
+            }
+        });
+        
+        if (!incompleteSections.isEmpty()) {
+            insights.put("incompleteSections", incompleteSections);
+        }
+        
+        return insights;
+    }
+
     /**
      * Generate performance insights
      */
@@ -0,0 +1,105 @@
+package com.captainpro.aiassistant.service;
+
+import com.captainpro.aiassistant.entity.OutboxEvent;
+import com.captainpro.aiassistant.model.InteractionEvent;
+import com.captainpro.aiassistant.repository.OutboxEventRepository;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+/**
+ * Interaction Outbox Handler
+ *
+ * Writes interaction events from the outbox to the analytics tables. The rows are
+ * written in the same transaction that marks their outbox events published, and
+ * events another relay already published are skipped, so each event is counted once.
+ */
+@Component
+@Slf4j
+public class InteractionOutboxHandler implements OutboxHandler {
+
+    private static final TypeReference<Map<String, Object>> PAYLOAD = new TypeReference<>() {};
+
+    private final AnalyticsIngestionPipeline ingestionPipeline;
+    private final OutboxEventRepository outboxEventRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Executor outboxExecutor;
+    private final ObjectMapper objectMapper;
+
+    public InteractionOutboxHandler(AnalyticsIngestionPipeline ingestionPipeline,
+                                    OutboxEventRepository outboxEventRepository,
+                                    PlatformTransactionManager transactionManager,
+                                    @Qualifier("outboxExecutor") Executor outboxExecutor,
+                                    ObjectMapper objectMapper) {
+        this.ingestionPipeline = ingestionPipeline;
+        this.outboxEventRepository = outboxEventRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.outboxExecutor = outboxExecutor;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public String topic() {
+        return OutboxEvent.INTERACTION;
+    }
+
+    @Override
+    public CompletableFuture<Set<String>> publish(List<OutboxEvent> events) {
+        return CompletableFuture.supplyAsync(() -> transactionTemplate.execute(status -> write(events)), outboxExecutor);
+    }
+
+    // Helper methods
+
+    private Set<String> write(List<OutboxEvent> events) {
+        List<OutboxEvent> pending = outboxEventRepository.lockPending(events.stream().map(OutboxEvent::getId).toList());
+        if (pending.size() < events.size()) {
+            log.debug("Skipping {} interaction events already published", events.size() - pending.size());
+        }
+
+        Set<String> malformed = new HashSet<>();
+        List<Long> written = new ArrayList<>(pending.size());
+        List<InteractionEvent> interactions = new ArrayList<>(pending.size());
+        for (OutboxEvent event : pending) {
+            try {
+                interactions.add(toInteraction(event));
+                written.add(event.getId());
+            } catch (Exception e) {
+                log.warn("Malformed interaction outbox event {}: {}", event.getEventId(), e.getMessage());
+                malformed.add(event.getEventId());
+            }
+        }
+
+        if (!interactions.isEmpty()) {
+            ingestionPipeline.write(interactions);
+            outboxEventRepository.markPublished(written, LocalDateTime.now());
+        }
+        return malformed;
+    }
+
+    @SuppressWarnings("unchecked")
+    private InteractionEvent toInteraction(OutboxEvent event) throws Exception {
+        Map<String, Object> payload = objectMapper.readValue(event.getPayload(), PAYLOAD);
+        Object metadata = payload.get("metadata");
+        InteractionEvent interaction = new InteractionEvent(
+            (String) payload.get("userId"),
+            (String) payload.get("action"),
+            (String) payload.getOrDefault("context", ""),
+            metadata instanceof Map ? (Map<String, Object>) metadata : Map.of(),
+            LocalDateTime.parse((String) payload.get("timestamp")),
+            null
+        );
+        if (!AnalyticsIngestionPipeline.isValid(interaction)) {
+            throw new IllegalArgumentException("Interaction needs a user, an action and a timestamp");
+        }
+        return interaction;
+    }
+}
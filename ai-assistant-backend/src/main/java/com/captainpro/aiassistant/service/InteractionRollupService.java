@@ -0,0 +1,169 @@
+package com.captainpro.aiassistant.service;
+
+import com.captainpro.aiassistant.entity.InteractionRollup;
+import com.captainpro.aiassistant.entity.InteractionRollup.Dimension;
+import com.captainpro.aiassistant.entity.InteractionRollup.Granularity;
+import com.captainpro.aiassistant.model.InteractionEvent;
+import com.captainpro.aiassistant.repository.InteractionRollupRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+
+/**
+ * Interaction Rollup Service
+ *
+ * Maintains per-user time-bucket rollups of interactions including:
+ * - Hourly buckets counted per action
+ * - Daily buckets counted per action and hour of day
+ * - Buckets merged with each ingestion batch under a row lock; missing buckets are
+ *   inserted through {@link BucketRowInserter}, so no vendor upsert syntax is needed
+ * - Range reads that combine hourly buckets for a partial leading day with daily buckets
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class InteractionRollupService {
+
+    private static final String INSERT_SQL =
+        "INSERT INTO interaction_rollups " +
+        "(id, user_id, granularity, bucket_start, dimension, dimension_key, event_count, first_seen, last_seen) " +
+        "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final Comparator<RollupKey> KEY_ORDER = Comparator
+        .comparing(RollupKey::userId)
+        .thenComparing(RollupKey::granularity)
+        .thenComparing(RollupKey::bucketStart)
+        .thenComparing(RollupKey::dimension)
+        .thenComparing(RollupKey::dimensionKey);
+
+    private final BucketRowInserter rowInserter;
+    private final SequenceIdAllocator idAllocator;
+    private final InteractionRollupRepository rollupRepository;
+
+    /**
+     * Fold a batch of interaction events into the rollup buckets.
+     * Must run inside the transaction that writes the raw events.
+     */
+    public void apply(List<InteractionEvent> batch) {
+        Map<RollupKey, Accumulator> buckets = new TreeMap<>(KEY_ORDER);
+
+        for (InteractionEvent event : batch) {
+            LocalDateTime hour = event.timestamp().truncatedTo(ChronoUnit.HOURS);
+            LocalDateTime day = event.timestamp().truncatedTo(ChronoUnit.DAYS);
+
+            add(buckets, event, Granularity.HOURLY, hour, Dimension.ACTION, event.action());
+            add(buckets, event, Granularity.DAILY, day, Dimension.ACTION, event.action());
+            add(buckets, event, Granularity.DAILY, day, Dimension.HOUR_OF_DAY, String.valueOf(hour.getHour()));
+        }
+
+        // Sorted keys keep row lock order stable across concurrent writers
+        buckets.forEach((key, acc) -> {
+            Optional<InteractionRollup> existing = lockBucket(key);
+            if (existing.isPresent()) {
+                acc.mergeInto(existing.get());
+            } else if (!rowInserter.insertIfAbsent(INSERT_SQL,
+                    idAllocator.nextId("interaction_rollups_seq"), key.userId(), key.granularity().name(),
+                    Timestamp.valueOf(key.bucketStart()), key.dimension().name(), key.dimensionKey(),
+                    acc.count, Timestamp.valueOf(acc.firstSeen), Timestamp.valueOf(acc.lastSeen))) {
+                // Inserted concurrently by another writer since the lock attempt
+                lockBucket(key).ifPresent(acc::mergeInto);
+            }
+        });
+
+        log.debug("Applied {} events to {} rollup buckets", batch.size(), buckets.size());
+    }
+
+    /**
+     * Load the rollups covering everything from {@code from} (truncated to the hour) until now
+     */
+    @Transactional(readOnly = true)
+    public RollupSnapshot loadSince(String userId, LocalDateTime from) {
+        LocalDateTime start = from.truncatedTo(ChronoUnit.HOURS);
+        LocalDateTime startDay = start.truncatedTo(ChronoUnit.DAYS);
+        LocalDateTime firstFullDay = start.equals(startDay) ? startDay : startDay.plusDays(1);
+        LocalDateTime end = LocalDateTime.now().truncatedTo(ChronoUnit.DAYS).plusDays(1);
+
+        Map<LocalDateTime, Long> hourlyCounts = new TreeMap<>();
+        Map<String, Long> actionCounts = new HashMap<>();
+
+        // Partial leading day comes from hourly buckets
+        for (InteractionRollup rollup : rollupRepository.findBuckets(
+                userId, Granularity.HOURLY, Dimension.ACTION, start, firstFullDay)) {
+            hourlyCounts.merge(rollup.getBucketStart(), rollup.getEventCount(), Long::sum);
+            actionCounts.merge(rollup.getDimensionKey(), rollup.getEventCount(), Long::sum);
+        }
+
+        for (InteractionRollup rollup : rollupRepository.findBuckets(
+                userId, Granularity.DAILY, Dimension.ACTION, firstFullDay, end)) {
+            actionCounts.merge(rollup.getDimensionKey(), rollup.getEventCount(), Long::sum);
+        }
+
+        for (InteractionRollup rollup : rollupRepository.findBuckets(
+                userId, Granularity.DAILY, Dimension.HOUR_OF_DAY, firstFullDay, end)) {
+            LocalDateTime hour = rollup.getBucketStart().plusHours(Integer.parseInt(rollup.getDimensionKey()));
+            hourlyCounts.merge(hour, rollup.getEventCount(), Long::sum);
+        }
+
+        return new RollupSnapshot(hourlyCounts, actionCounts);
+    }
+
+    // Helper methods
+
+    private Optional<InteractionRollup> lockBucket(RollupKey key) {
+        return rollupRepository.lockBucket(
+            key.userId(), key.granularity(), key.bucketStart(), key.dimension(), key.dimensionKey());
+    }
+
+    private void add(Map<RollupKey, Accumulator> buckets, InteractionEvent event,
+                     Granularity granularity, LocalDateTime bucketStart, Dimension dimension, String dimensionKey) {
+        buckets.computeIfAbsent(
+                new RollupKey(event.userId(), granularity, bucketStart, dimension, dimensionKey),
+                key -> new Accumulator(event.timestamp()))
+            .add(event.timestamp());
+    }
+
+    private record RollupKey(String userId, Granularity granularity, LocalDateTime bucketStart,
+                             Dimension dimension, String dimensionKey) {
+    }
+
+    private static final class Accumulator {
+        private long count;
+        private LocalDateTime firstSeen;
+        private LocalDateTime lastSeen;
+
+        private Accumulator(LocalDateTime timestamp) {
+            this.firstSeen = timestamp;
+            this.lastSeen = timestamp;
+        }
+
+        private void add(LocalDateTime timestamp) {
+            count++;
+            if (timestamp.isBefore(firstSeen)) firstSeen = timestamp;
+            if (timestamp.isAfter(lastSeen)) lastSeen = timestamp;
+        }
+
+        private void mergeInto(InteractionRollup rollup) {
+            rollup.setEventCount(rollup.getEventCount() + count);
+            if (firstSeen.isBefore(rollup.getFirstSeen())) rollup.setFirstSeen(firstSeen);
+            if (lastSeen.isAfter(rollup.getLastSeen())) rollup.setLastSeen(lastSeen);
+        }
+    }
+
+    /**
+     * Rollups for one user and time range, keyed for dashboard calculations
+     */
+    public record RollupSnapshot(
+        Map<LocalDateTime, Long> hourlyCounts,
+        Map<String, Long> actionCounts
+    ) {
+        public long totalInteractions() {
+            return hourlyCounts.values().stream().mapToLong(Long::longValue).sum();
+        }
+    }
+}
@@ -1,15 +1,24 @@
 package com.captainpro.aiassistant.service;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.util.Date;
 import java.util.List;
 import java.util.Map;
@@ -23,11 +32,15 @@ import java.util.function.Function;
  * - Token validation
  * - Claims extraction
  * - Token refresh
+ * - Cache of verified claims, so each token is verified once per node until it expires
  */
 @Service
+@RequiredArgsConstructor
 @Slf4j
 public class JwtService {
 
+    private final MeterRegistry meterRegistry;
+
     @Value("${app.security.jwt.secret-key:mySecretKey123456789012345678901234567890}")
     private String secretKey;
 
@@ -37,6 +50,29 @@ public class JwtService {
     @Value("${app.security.jwt.refresh-expiration:604800000}") // 7 days
     private long refreshExpiration;
 
+    @Value("${app.security.jwt.claims-cache-size:10000}")
+    private long claimsCacheSize;
+
+    private SecretKey signingKey;
+    private JwtParser parser;
+    private Cache<String, Claims> claimsCache;
+
+    @PostConstruct
+    public void init() {
+        signingKey = Keys.hmacShaKeyFor(secretKey.getBytes(StandardCharsets.UTF_8));
+        parser = Jwts.parserBuilder()
+            .setSigningKey(signingKey)
+            .build();
+        
+        // Verified claims live until the token itself expires
+        claimsCache = Caffeine.newBuilder()
+            .maximumSize(claimsCacheSize)
+            .expireAfter(Expiry.<String, Claims>creating((token, claims) -> timeUntilExpiry(claims)))
+            .recordStats()
+            .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, claimsCache, "jwtClaims");
+    }
+
     /**
      * Extract username from JWT token
      */
@@ -156,15 +192,12 @@ public class JwtService {
     }
 
     /**
-     * Extract all claims from JWT token
+     * Extract all claims from JWT token, verifying it only on the first use
      */
     private Claims extractAllClaims(String token) {
         try {
-            return Jwts.parserBuilder()
-                .setSigningKey(getSignInKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+            // Tokens that fail verification throw and are never cached
+            return claimsCache.get(token, t -> parser.parseClaimsJws(t).getBody());
                 
         } catch (Exception e) {
             log.debug("Failed to extract claims from token: {}", e.getMessage());
@@ -176,8 +209,16 @@ public class JwtService {
      * Get signing key for JWT
      */
     private SecretKey getSignInKey() {
-        byte[] keyBytes = secretKey.getBytes(StandardCharsets.UTF_8);
-        return Keys.hmacShaKeyFor(keyBytes);
+        return signingKey;
+    }
+
+    private static Duration timeUntilExpiry(Claims claims) {
+        Date expiration = claims.getExpiration();
+        if (expiration == null) {
+            return Duration.ZERO;
+        }
+        long remaining = expiration.getTime() - System.currentTimeMillis();
+        return Duration.ofMillis(Math.max(0, remaining));
     }
 
     /**
@@ -0,0 +1,82 @@
+package com.captainpro.aiassistant.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Model Call Bulkhead
+ *
+ * Bounds the number of concurrent calls to the chat model. With virtual threads
+ * nothing else limits how many requests reach OpenAI at once, so callers beyond
+ * the limit wait briefly for a permit and then fail fast.
+ */
+@Component
+@Slf4j
+public class ModelCallBulkhead {
+
+    private final Semaphore permits;
+    private final long acquireTimeout;
+    private final Counter rejected;
+
+    public ModelCallBulkhead(@Value("${app.ai.bulkhead.max-concurrent-calls:32}") int maxConcurrentCalls,
+                             @Value("${app.ai.bulkhead.acquire-timeout:10000}") long acquireTimeout,
+                             MeterRegistry meterRegistry) {
+        this.permits = new Semaphore(maxConcurrentCalls, true);
+        this.acquireTimeout = acquireTimeout;
+
+        this.rejected = Counter.builder("ai.bulkhead.rejected")
+            .description("Model calls rejected because no permit became available in time")
+            .register(meterRegistry);
+        Gauge.builder("ai.bulkhead.available", permits, Semaphore::availablePermits)
+            .description("Free model call permits")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Run a blocking model call while holding a permit
+     */
+    public <T> T call(Supplier<T> call) {
+        acquire();
+        try {
+            return call.get();
+        } finally {
+            permits.release();
+        }
+    }
+
+    /**
+     * Hold a permit from subscription until the stream terminates or is cancelled
+     */
+    public <T> Flux<T> stream(Supplier<Flux<T>> stream) {
+        return Flux.defer(() -> {
+            acquire();
+            try {
+                return stream.get().doFinally(signal -> permits.release());
+            } catch (RuntimeException e) {
+                permits.release();
+                throw e;
+            }
+        });
+    }
+
+    private void acquire() {
+        try {
+            if (!permits.tryAcquire(acquireTimeout, TimeUnit.MILLISECONDS)) {
+                rejected.increment();
+                throw new IllegalStateException("AI model capacity exhausted, try again shortly");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for AI model capacity", e);
+        }
+    }
+}
@@ -0,0 +1,305 @@
+package com.captainpro.aiassistant.service;
+
+import com.captainpro.aiassistant.model.InboxCounts;
+import com.captainpro.aiassistant.repository.NotificationRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.*;
+
+/**
+ * Notification Counter Service
+ *
+ * Serves inbox badge counts without counting the notifications table:
+ * - Per-user total and unread counters live in a Redis hash, plus one hash for all inboxes
+ * - Create, read, read-all and delete adjust the counters once their transaction commits
+ * - Counters are built from the table on first read and expire when unused, so only
+ *   users who poll are kept in Redis
+ * - A periodic reconciliation recounts recently read users and corrects any drift,
+ *   e.g. from a counter adjusted while it was being built
+ * - When Redis is unavailable, counts fall back to the table
+ */
+@Service
+@Slf4j
+public class NotificationCounterService {
+
+    private static final String USER_KEY_PREFIX = "notifications:counters:user:";
+    private static final String GLOBAL_KEY = "notifications:counters:global";
+    private static final String GLOBAL_ID = "*";
+
+    /**
+     * Users whose counters were read, scored by the time of their last read
+     */
+    private static final String ACTIVE_KEY = "notifications:counters:active";
+
+    private static final String TOTAL = "total";
+    private static final String UNREAD = "unread";
+
+    /**
+     * Adjust existing counters only; a missing counter is built from the table on its next read
+     */
+    private static final RedisScript<Long> ADJUST = new DefaultRedisScript<>(
+        "if redis.call('EXISTS', KEYS[1]) == 0 then return 0 end " +
+        "if redis.call('HINCRBY', KEYS[1], 'total', ARGV[1]) < 0 then redis.call('HSET', KEYS[1], 'total', 0) end " +
+        "if redis.call('HINCRBY', KEYS[1], 'unread', ARGV[2]) < 0 then redis.call('HSET', KEYS[1], 'unread', 0) end " +
+        "redis.call('PEXPIRE', KEYS[1], ARGV[3]) " +
+        "return 1", Long.class);
+
+    /**
+     * Set counters; with ARGV[4] = 1 only if they do not exist yet, otherwise only if they do
+     */
+    private static final RedisScript<Long> SET = new DefaultRedisScript<>(
+        "if (redis.call('EXISTS', KEYS[1]) == 1) == (ARGV[4] == '1') then return 0 end " +
+        "redis.call('HSET', KEYS[1], 'total', ARGV[1], 'unread', ARGV[2]) " +
+        "redis.call('PEXPIRE', KEYS[1], ARGV[3]) " +
+        "return 1", Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final NotificationRepository notificationRepository;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${app.notifications.counters.ttl:86400000}")
+    private long ttl;
+
+    @Value("${app.notifications.counters.reconcile-interval:300000}")
+    private long reconcileInterval;
+
+    @Value("${app.notifications.counters.reconcile-batch-size:500}")
+    private int reconcileBatchSize;
+
+    private long reconciledUntil = System.currentTimeMillis();
+
+    public NotificationCounterService(StringRedisTemplate redisTemplate,
+                                      NotificationRepository notificationRepository,
+                                      MeterRegistry meterRegistry) {
+        this.redisTemplate = redisTemplate;
+        this.notificationRepository = notificationRepository;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Inbox counts of a user
+     */
+    public InboxCounts getCounts(String userId) {
+        try {
+            InboxCounts cached = read(userKey(userId), userId);
+            if (cached != null) {
+                lookup("cache").increment();
+                return cached;
+            }
+
+            InboxCounts counts = countInbox(userId);
+            set(userKey(userId), counts, true);
+            lookup("database").increment();
+            return counts;
+        } catch (Exception e) {
+            log.warn("Notification counters unavailable for user {}, counting the table: {}", userId, e.getMessage());
+            lookup("fallback").increment();
+            return countInbox(userId);
+        }
+    }
+
+    /**
+     * Counts over all inboxes
+     */
+    public InboxCounts getGlobalCounts() {
+        try {
+            InboxCounts cached = read(GLOBAL_KEY, GLOBAL_ID);
+            if (cached != null) {
+                lookup("cache").increment();
+                return cached;
+            }
+
+            InboxCounts counts = notificationRepository.countAllInboxes();
+            set(GLOBAL_KEY, counts, true);
+            lookup("database").increment();
+            return counts;
+        } catch (Exception e) {
+            log.warn("Global notification counters unavailable, counting the table: {}", e.getMessage());
+            lookup("fallback").increment();
+            return notificationRepository.countAllInboxes();
+        }
+    }
+
+    /**
+     * Adjust a user's counters once the current transaction commits; adjustments made in
+     * one transaction are combined and applied in a single Redis round trip
+     */
+    public void adjustAfterCommit(String userId, long totalDelta, long unreadDelta) {
+        if (totalDelta == 0 && unreadDelta == 0) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            apply(Map.of(userId, new long[] {totalDelta, unreadDelta}));
+            return;
+        }
+
+        @SuppressWarnings("unchecked")
+        Map<String, long[]> pending = (Map<String, long[]>) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            Map<String, long[]> deltas = new HashMap<>();
+            TransactionSynchronizationManager.bindResource(this, deltas);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    apply(deltas);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResource(NotificationCounterService.this);
+                }
+            });
+            pending = deltas;
+        }
+
+        long[] delta = pending.computeIfAbsent(userId, key -> new long[2]);
+        delta[0] += totalDelta;
+        delta[1] += unreadDelta;
+    }
+
+    /**
+     * Recount the users whose counters were read since the previous run and correct drifted counters
+     */
+    @Scheduled(fixedDelayString = "${app.notifications.counters.reconcile-interval:300000}")
+    public void reconcile() {
+        long now = System.currentTimeMillis();
+        try {
+            redisTemplate.opsForZSet().removeRangeByScore(ACTIVE_KEY, 0, now - ttl);
+            Set<String> active = redisTemplate.opsForZSet().rangeByScore(ACTIVE_KEY, reconciledUntil, Double.MAX_VALUE);
+
+            int corrected = 0;
+            List<String> users = active != null ? new ArrayList<>(active) : List.of();
+            for (int start = 0; start < users.size(); start += reconcileBatchSize) {
+                List<String> batch = users.subList(start, Math.min(users.size(), start + reconcileBatchSize));
+                Map<String, InboxCounts> counts = new HashMap<>();
+                notificationRepository.countInboxes(batch).forEach(count -> counts.put(count.userId(), count));
+
+                for (String userId : batch) {
+                    InboxCounts expected = counts.getOrDefault(userId, InboxCounts.empty(userId));
+                    if (correct(userKey(userId), userId, expected)) {
+                        corrected++;
+                    }
+                }
+            }
+            if (correct(GLOBAL_KEY, GLOBAL_ID, notificationRepository.countAllInboxes())) {
+                corrected++;
+            }
+
+            // Overlap the next window a little so reads racing this run are not missed
+            reconciledUntil = now - Math.min(reconcileInterval, 60000);
+            if (corrected > 0) {
+                log.info("Corrected {} of {} notification counters", corrected, users.size() + 1);
+            }
+        } catch (Exception e) {
+            log.warn("Failed to reconcile notification counters: {}", e.getMessage());
+        }
+    }
+
+    // Helper methods
+
+    private InboxCounts read(String key, String userId) {
+        List<Object> replies = redisTemplate.executePipelined(new SessionCallback<Object>() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public Object execute(RedisOperations operations) {
+                operations.opsForHash().multiGet(key, List.of(TOTAL, UNREAD));
+                if (!GLOBAL_ID.equals(userId)) {
+                    operations.opsForZSet().add(ACTIVE_KEY, userId, System.currentTimeMillis());
+                }
+                return null;
+            }
+        });
+
+        List<?> values = (List<?>) replies.get(0);
+        if (values == null || values.get(0) == null || values.get(1) == null) {
+            return null;
+        }
+        return new InboxCounts(userId, Long.parseLong((String) values.get(0)), Long.parseLong((String) values.get(1)));
+    }
+
+    private InboxCounts countInbox(String userId) {
+        return notificationRepository.countInboxes(List.of(userId)).stream()
+            .findFirst()
+            .orElse(InboxCounts.empty(userId));
+    }
+
+    private boolean correct(String key, String userId, InboxCounts expected) {
+        List<Object> values = redisTemplate.opsForHash().multiGet(key, List.of(TOTAL, UNREAD));
+        if (values.get(0) == null || values.get(1) == null) {
+            return false;
+        }
+        if (Long.parseLong((String) values.get(0)) == expected.total()
+                && Long.parseLong((String) values.get(1)) == expected.unread()) {
+            return false;
+        }
+
+        log.debug("Notification counters of {} drifted to {}/{}, expected {}/{}",
+                userId, values.get(0), values.get(1), expected.total(), expected.unread());
+        set(key, expected, false);
+        Counter.builder("notifications.counters.corrected")
+            .description("Notification counters corrected by reconciliation")
+            .register(meterRegistry)
+            .increment();
+        return true;
+    }
+
+    private void set(String key, InboxCounts counts, boolean onlyIfAbsent) {
+        redisTemplate.execute(SET, List.of(key),
+            String.valueOf(counts.total()), String.valueOf(counts.unread()),
+            String.valueOf(ttl), onlyIfAbsent ? "1" : "0");
+    }
+
+    private void apply(Map<String, long[]> deltas) {
+        long globalTotal = 0;
+        long globalUnread = 0;
+        for (long[] delta : deltas.values()) {
+            globalTotal += delta[0];
+            globalUnread += delta[1];
+        }
+        long[] global = {globalTotal, globalUnread};
+
+        try {
+            redisTemplate.executePipelined(new SessionCallback<Object>() {
+                @Override
+                @SuppressWarnings("unchecked")
+                public Object execute(RedisOperations operations) {
+                    deltas.forEach((userId, delta) -> adjust(operations, userKey(userId), delta));
+                    adjust(operations, GLOBAL_KEY, global);
+                    return null;
+                }
+            });
+        } catch (Exception e) {
+            // Reconciliation or expiry repairs counters that missed an adjustment
+            log.warn("Failed to adjust notification counters of {} users: {}", deltas.size(), e.getMessage());
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void adjust(RedisOperations operations, String key, long[] delta) {
+        operations.execute(ADJUST, List.of(key),
+            String.valueOf(delta[0]), String.valueOf(delta[1]), String.valueOf(ttl));
+    }
+
+    private String userKey(String userId) {
+        return USER_KEY_PREFIX + userId;
+    }
+
+    private Counter lookup(String source) {
+        return Counter.builder("notifications.counters.lookups")
+            .description("Inbox count lookups by where they were served from")
+            .tag("source", source)
+            .register(meterRegistry);
+    }
+}
@@ -0,0 +1,292 @@
+package com.captainpro.aiassistant.service;
+
+import com.captainpro.aiassistant.config.NotificationDeliveryProperties;
+import com.captainpro.aiassistant.model.NotificationChannel;
+import com.captainpro.aiassistant.model.NotificationDelivery;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Notification Delivery Engine
+ *
+ * Delivers notifications through one lane per channel:
+ * - Each lane has its own bounded queue and worker threads, so a slow SMS
+ *   provider never delays push or in-app delivery
+ * - Workers micro-batch queued deliveries (up to batch-size, waiting at most
+ *   linger for a batch to fill) and hand each batch to the channel provider
+ * - A token bucket caps deliveries per second per channel
+ * - Failed deliveries are retried with exponential backoff until max-attempts
+ */
+@Component
+@Slf4j
+public class NotificationDeliveryEngine {
+
+    private final Map<NotificationChannel, Lane> lanes = new EnumMap<>(NotificationChannel.class);
+    private final List<NotificationProvider> providers;
+    private final NotificationDeliveryProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final ScheduledExecutorService retryScheduler;
+    private volatile boolean stopping;
+
+    public NotificationDeliveryEngine(List<NotificationProvider> providers,
+                                      NotificationDeliveryProperties properties,
+                                      MeterRegistry meterRegistry) {
+        this.providers = providers;
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        this.retryScheduler = Executors.newSingleThreadScheduledExecutor(daemon("notification-retry"));
+    }
+
+    @PostConstruct
+    public void start() {
+        for (NotificationProvider provider : providers) {
+            Lane lane = new Lane(provider, properties.channelFor(provider.channel()));
+            lanes.put(provider.channel(), lane);
+            lane.start();
+        }
+        log.info("Notification delivery lanes started for channels {}", lanes.keySet());
+    }
+
+    @PreDestroy
+    public void stop() {
+        stopping = true;
+        retryScheduler.shutdownNow();
+        lanes.values().forEach(Lane::stop);
+    }
+
+    /**
+     * Queue a delivery; its result completes once delivered or finally failed
+     */
+    public CompletableFuture<Boolean> submit(NotificationDelivery delivery) {
+        Lane lane = lanes.get(delivery.channel());
+        if (lane == null) {
+            log.warn("No provider for channel {}; dropping notification {}",
+                    delivery.channel().key(), delivery.notificationId());
+            delivery.result().complete(false);
+        } else {
+            lane.offer(delivery);
+        }
+        return delivery.result();
+    }
+
+    /**
+     * Queue many deliveries; the returned future completes when all of them are settled
+     */
+    public CompletableFuture<Void> submitAll(Collection<NotificationDelivery> deliveries) {
+        return CompletableFuture.allOf(deliveries.stream()
+            .map(this::submit)
+            .toArray(CompletableFuture[]::new));
+    }
+
+    // Helper methods
+
+    private static ThreadFactory daemon(String name) {
+        return runnable -> {
+            Thread thread = new Thread(runnable, name);
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    private final class Lane {
+
+        private final NotificationProvider provider;
+        private final NotificationDeliveryProperties.Channel settings;
+        private final BlockingQueue<NotificationDelivery> queue;
+        private final TokenBucket rateLimit;
+        private final List<Thread> workers = new ArrayList<>();
+        private final String channel;
+
+        private final DistributionSummary batchSizes;
+        private final Timer providerCalls;
+        private final Timer deliveryLatency;
+
+        Lane(NotificationProvider provider, NotificationDeliveryProperties.Channel settings) {
+            this.provider = provider;
+            this.settings = settings;
+            this.channel = provider.channel().key();
+            this.queue = new ArrayBlockingQueue<>(settings.getQueueCapacity());
+            this.rateLimit = settings.getRatePerSecond() > 0 ? new TokenBucket(settings.getRatePerSecond()) : null;
+
+            Gauge.builder("notifications.queue.depth", queue, BlockingQueue::size)
+                .description("Deliveries waiting in a channel lane")
+                .tag("channel", channel)
+                .register(meterRegistry);
+            this.batchSizes = DistributionSummary.builder("notifications.batch.size")
+                .description("Deliveries per provider batch")
+                .tag("channel", channel)
+                .register(meterRegistry);
+            this.providerCalls = Timer.builder("notifications.provider.call")
+                .description("Time a provider takes to send one batch")
+                .tag("channel", channel)
+                .register(meterRegistry);
+            this.deliveryLatency = Timer.builder("notifications.delivery.latency")
+                .description("Time from queueing a delivery until the provider accepted it")
+                .tag("channel", channel)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        }
+
+        void start() {
+            for (int i = 0; i < settings.getWorkers(); i++) {
+                Thread worker = daemon("notify-" + channel + "-" + i).newThread(this::run);
+                workers.add(worker);
+                worker.start();
+            }
+        }
+
+        void stop() {
+            workers.forEach(Thread::interrupt);
+        }
+
+        void offer(NotificationDelivery delivery) {
+            if (stopping || !queue.offer(delivery)) {
+                outcome("rejected").increment();
+                delivery.result().complete(false);
+            }
+        }
+
+        private void run() {
+            List<NotificationDelivery> batch = new ArrayList<>(settings.getBatchSize());
+            while (!Thread.currentThread().isInterrupted()) {
+                try {
+                    NotificationDelivery first = queue.poll(250, TimeUnit.MILLISECONDS);
+                    if (first == null) {
+                        continue;
+                    }
+
+                    batch.add(first);
+                    fill(batch);
+                    if (rateLimit != null) {
+                        rateLimit.acquire(batch.size());
+                    }
+                    send(batch);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    batch.forEach(delivery -> delivery.result().complete(false));
+                    batch.clear();
+                }
+            }
+        }
+
+        private void fill(List<NotificationDelivery> batch) throws InterruptedException {
+            long deadline = System.nanoTime() + settings.getLinger().toNanos();
+            while (batch.size() < settings.getBatchSize()) {
+                if (queue.drainTo(batch, settings.getBatchSize() - batch.size()) > 0) {
+                    continue;
+                }
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    return;
+                }
+                NotificationDelivery next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                if (next == null) {
+                    return;
+                }
+                batch.add(next);
+            }
+        }
+
+        private void send(List<NotificationDelivery> batch) throws InterruptedException {
+            batchSizes.record(batch.size());
+
+            Set<NotificationDelivery> failed = Collections.newSetFromMap(new IdentityHashMap<>());
+            long startedAt = System.nanoTime();
+            try {
+                failed.addAll(provider.send(batch));
+            } catch (InterruptedException e) {
+                throw e;
+            } catch (Exception e) {
+                log.warn("{} provider failed a batch of {}: {}", channel, batch.size(), e.getMessage());
+                failed.addAll(batch);
+            } finally {
+                providerCalls.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+            }
+
+            long now = System.nanoTime();
+            for (NotificationDelivery delivery : batch) {
+                if (failed.contains(delivery)) {
+                    retry(delivery);
+                } else {
+                    deliveryLatency.record(now - delivery.enqueuedAtNanos(), TimeUnit.NANOSECONDS);
+                    outcome("delivered").increment();
+                    delivery.result().complete(true);
+                }
+            }
+            batch.clear();
+        }
+
+        private void retry(NotificationDelivery delivery) {
+            if (delivery.attempt() >= settings.getMaxAttempts() || stopping) {
+                log.warn("Giving up on {} delivery of notification {} to {} after {} attempts",
+                        channel, delivery.notificationId(), delivery.recipientId(), delivery.attempt());
+                outcome("failed").increment();
+                delivery.result().complete(false);
+                return;
+            }
+
+            long delay = settings.getRetryBackoff().toMillis() << Math.min(delivery.attempt() - 1, 16);
+            outcome("retried").increment();
+            try {
+                retryScheduler.schedule(() -> offer(delivery.nextAttempt()), delay, TimeUnit.MILLISECONDS);
+            } catch (RejectedExecutionException e) {
+                delivery.result().complete(false);
+            }
+        }
+
+        private Counter outcome(String outcome) {
+            return Counter.builder("notifications.deliveries")
+                .description("Channel deliveries by outcome")
+                .tag("channel", channel)
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+        }
+    }
+
+    /**
+     * Token bucket that lets a caller run into debt and then waits it off,
+     * so batches larger than one second's budget are still admitted
+     */
+    private static final class TokenBucket {
+
+        private final double ratePerNano;
+        private final double capacity;
+        private double tokens;
+        private long refilledAt = System.nanoTime();
+
+        TokenBucket(double ratePerSecond) {
+            this.ratePerNano = ratePerSecond / TimeUnit.SECONDS.toNanos(1);
+            this.capacity = ratePerSecond;
+            this.tokens = ratePerSecond;
+        }
+
+        void acquire(int permits) throws InterruptedException {
+            long waitNanos;
+            synchronized (this) {
+                long now = System.nanoTime();
+                tokens = Math.min(capacity, tokens + (now - refilledAt) * ratePerNano);
+                refilledAt = now;
+                tokens -= permits;
+                waitNanos = tokens >= 0 ? 0 : (long) (-tokens / ratePerNano);
+            }
+            if (waitNanos > 0) {
+                LockSupport.parkNanos(waitNanos);
+                if (Thread.interrupted()) {
+                    throw new InterruptedException();
+                }
+            }
+        }
+    }
+}
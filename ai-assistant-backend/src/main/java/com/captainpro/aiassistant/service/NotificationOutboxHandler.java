@@ -0,0 +1,160 @@
+package com.captainpro.aiassistant.service;
+
+import com.captainpro.aiassistant.entity.Notification;
+import com.captainpro.aiassistant.entity.OutboxEvent;
+import com.captainpro.aiassistant.model.NotificationChannel;
+import com.captainpro.aiassistant.model.NotificationDelivery;
+import com.captainpro.aiassistant.repository.NotificationRepository;
+import com.captainpro.aiassistant.repository.OutboxEventRepository;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+
+/**
+ * Notification Outbox Handler
+ *
+ * Hands notification outbox events to the delivery engine. Before sending, the outbox
+ * rows are locked and their still-PENDING notifications are claimed as SENDING in one
+ * transaction, so an event published again after its lease expired finds nothing left
+ * to send. Claimed notifications are marked SENT once any of their channels reached the
+ * recipient, and released back to PENDING for the retry otherwise. A notification whose
+ * sender died mid-delivery stays SENDING rather than risk notifying the recipient twice.
+ */
+@Component
+@Slf4j
+public class NotificationOutboxHandler implements OutboxHandler {
+
+    private static final TypeReference<Map<String, Object>> PAYLOAD = new TypeReference<>() {};
+
+    private final NotificationDeliveryEngine deliveryEngine;
+    private final NotificationRepository notificationRepository;
+    private final OutboxEventRepository outboxEventRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Executor outboxExecutor;
+    private final ObjectMapper objectMapper;
+
+    public NotificationOutboxHandler(NotificationDeliveryEngine deliveryEngine,
+                                     NotificationRepository notificationRepository,
+                                     OutboxEventRepository outboxEventRepository,
+                                     PlatformTransactionManager transactionManager,
+                                     @Qualifier("outboxExecutor") Executor outboxExecutor,
+                                     ObjectMapper objectMapper) {
+        this.deliveryEngine = deliveryEngine;
+        this.notificationRepository = notificationRepository;
+        this.outboxEventRepository = outboxEventRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.outboxExecutor = outboxExecutor;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public String topic() {
+        return OutboxEvent.NOTIFICATION;
+    }
+
+    @Override
+    public CompletableFuture<Set<String>> publish(List<OutboxEvent> events) {
+        Set<String> failed = new HashSet<>();
+        List<Send> sends = new ArrayList<>(events.size());
+        for (OutboxEvent event : events) {
+            try {
+                sends.add(toSend(event));
+            } catch (Exception e) {
+                log.warn("Malformed notification outbox event {}: {}", event.getEventId(), e.getMessage());
+                failed.add(event.getEventId());
+            }
+        }
+
+        Set<Long> claimed = sends.isEmpty() ? Set.of() : transactionTemplate.execute(status -> claim(sends));
+        List<Send> unsent = sends.stream().filter(send -> claimed.contains(send.notificationId())).toList();
+        if (unsent.size() < sends.size()) {
+            log.debug("Skipping {} notifications already sent or being sent", sends.size() - unsent.size());
+        }
+        if (unsent.isEmpty()) {
+            return CompletableFuture.completedFuture(failed);
+        }
+
+        List<NotificationDelivery> deliveries = unsent.stream().flatMap(send -> send.deliveries().stream()).toList();
+        return deliveryEngine.submitAll(deliveries)
+            .handleAsync((done, error) -> {
+                List<Long> sent = new ArrayList<>(unsent.size());
+                List<Long> unclaimed = new ArrayList<>();
+                for (Send send : unsent) {
+                    // Sent if at least one channel reached the recipient
+                    if (error == null && send.deliveries().stream().anyMatch(delivery -> delivery.result().join())) {
+                        sent.add(send.notificationId());
+                    } else {
+                        unclaimed.add(send.notificationId());
+                        failed.add(send.event().getEventId());
+                    }
+                }
+                LocalDateTime now = LocalDateTime.now();
+                transactionTemplate.executeWithoutResult(status -> {
+                    if (!sent.isEmpty()) {
+                        notificationRepository.markSent(sent, now);
+                    }
+                    if (!unclaimed.isEmpty()) {
+                        notificationRepository.releaseClaims(unclaimed);
+                    }
+                });
+                if (error != null) {
+                    throw error instanceof CompletionException completion ? completion : new CompletionException(error);
+                }
+                return failed;
+            }, outboxExecutor);
+    }
+
+    // Helper methods
+
+    /**
+     * Claim the notifications of events no other relay has published, under the outbox row lock
+     */
+    private Set<Long> claim(List<Send> sends) {
+        Set<Long> pendingEvents = new HashSet<>();
+        outboxEventRepository.lockPending(sends.stream().map(send -> send.event().getId()).toList())
+            .forEach(event -> pendingEvents.add(event.getId()));
+
+        List<Long> notificationIds = sends.stream()
+            .filter(send -> pendingEvents.contains(send.event().getId()))
+            .map(Send::notificationId)
+            .toList();
+        if (notificationIds.isEmpty()) {
+            return Set.of();
+        }
+
+        Set<Long> claimed = new HashSet<>();
+        for (Notification notification : notificationRepository.lockPendingForDelivery(notificationIds)) {
+            notification.setStatus(Notification.Status.SENDING);
+            claimed.add(notification.getId());
+        }
+        return claimed;
+    }
+
+    @SuppressWarnings("unchecked")
+    private Send toSend(OutboxEvent event) throws Exception {
+        Map<String, Object> payload = objectMapper.readValue(event.getPayload(), PAYLOAD);
+        String notificationId = (String) payload.get("notificationId");
+        String recipientId = (String) payload.get("recipientId");
+        String type = (String) payload.get("type");
+        String message = (String) payload.get("message");
+
+        List<NotificationDelivery> deliveries = ((List<String>) payload.get("channels")).stream()
+            .map(channel -> NotificationDelivery.of(
+                notificationId, recipientId, NotificationChannel.fromKey(channel), type, message))
+            .toList();
+        return new Send(event, Long.valueOf(notificationId), deliveries);
+    }
+
+    private record Send(OutboxEvent event, Long notificationId, List<NotificationDelivery> deliveries) {
+    }
+}
@@ -0,0 +1,24 @@
+package com.captainpro.aiassistant.service;
+
+import com.captainpro.aiassistant.model.NotificationChannel;
+import com.captainpro.aiassistant.model.NotificationDelivery;
+
+import java.util.List;
+
+/**
+ * Notification Provider
+ *
+ * Sends batches of deliveries for one channel, e.g. an email API or push gateway.
+ * Providers should group a batch into as few upstream calls as the API allows
+ * (multi-recipient email, multicast push).
+ */
+public interface NotificationProvider {
+
+    NotificationChannel channel();
+
+    /**
+     * Send a batch; returns the deliveries that failed and may be retried.
+     * Throwing marks the whole batch as failed.
+     */
+    List<NotificationDelivery> send(List<NotificationDelivery> batch) throws Exception;
+}
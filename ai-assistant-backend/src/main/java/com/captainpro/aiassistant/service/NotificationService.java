@@ -1,9 +1,21 @@
 package com.captainpro.aiassistant.service;
 
+import com.captainpro.aiassistant.entity.Notification;
+import com.captainpro.aiassistant.entity.OutboxEvent;
+import com.captainpro.aiassistant.entity.User;
+import com.captainpro.aiassistant.model.CursorPage;
+import com.captainpro.aiassistant.model.InboxCounts;
+import com.captainpro.aiassistant.model.PageCursor;
+import com.captainpro.aiassistant.repository.NotificationRepository;
+import com.captainpro.aiassistant.repository.UserRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.*;
@@ -25,79 +37,151 @@ import java.util.concurrent.CompletableFuture;
 public class NotificationService {
 
     private final AnalyticsService analyticsService;
+    private final NotificationRepository notificationRepository;
+    private final UserRepository userRepository;
+    private final TimeWheelScheduler timeWheelScheduler;
+    private final OutboxService outboxService;
+    private final NotificationCounterService counterService;
+    private final ObjectMapper objectMapper;
 
     /**
-     * Send notification to a user
+     * Send notification to a user on the notification executor; the notification and its
+     * delivery are recorded in one transaction and sent by the outbox relay after commit.
+     * Throws {@link org.springframework.core.task.TaskRejectedException} when the executor is saturated.
      */
-    @Async
-    public String sendNotification(String recipientId, String message, String type) {
-        String notificationId = UUID.randomUUID().toString();
-        log.info("Sending {} notification to user: {} - ID: {}", type, recipientId, notificationId);
-        
-        try {
-            // Create notification record
-            Map<String, Object> notification = createNotificationRecord(notificationId, recipientId, message, type);
-            
-            // Send based on type and user preferences
-            CompletableFuture<Boolean> deliveryResult = deliverNotification(notification);
-            
-            // Track notification sent
-            analyticsService.trackUserInteraction(
-                "system",
-                "notification_sent",
-                type,
-                Map.of(
-                    "notificationId", notificationId,
-                    "recipientId", recipientId,
-                    "messageLength", message.length()
-                )
-            );
-            
-            log.info("Notification queued successfully: {}", notificationId);
-            
-        } catch (Exception e) {
-            log.error("Failed to send notification: {}", notificationId, e);
+    @Async("notificationExecutor")
+    @Transactional
+    public CompletableFuture<String> sendNotification(String recipientId, String message, String type) {
+        return CompletableFuture.completedFuture(recordNotification(recipientId, message, type));
+    }
+
+    // Records a notification in the caller's transaction
+    private String recordNotification(String recipientId, String message, String type) {
+        User recipient = resolveRecipients(List.of(recipientId)).get(recipientId);
+        if (recipient == null) {
+            throw new IllegalArgumentException("Unknown notification recipient: " + recipientId);
         }
         
+        Notification notification = notificationRepository.save(createNotificationRecord(recipient, message, type));
+        enqueueDeliveries(List.of(notification));
+        
+        String notificationId = String.valueOf(notification.getId());
+        outboxService.recordInteraction(
+            "system",
+            "notification_sent",
+            type,
+            Map.of(
+                "notificationId", notificationId,
+                "recipientId", recipientId,
+                "messageLength", message.length()
+            )
+        );
+        
+        log.info("Queued {} notification {} for user: {}", type, notificationId, recipientId);
         return notificationId;
     }
 
     /**
-     * Send bulk notifications
+     * Send bulk notifications; all notifications are recorded in one transaction and
+     * delivered by the outbox relay in per-channel batches. Unknown recipients are skipped.
      */
-    @Async
+    @Transactional
     public CompletableFuture<List<String>> sendBulkNotifications(List<String> recipientIds, String message, String type) {
         log.info("Sending bulk {} notifications to {} recipients", type, recipientIds.size());
         
-        return CompletableFuture.supplyAsync(() -> {
-            List<String> notificationIds = new ArrayList<>();
-            
-            for (String recipientId : recipientIds) {
-                try {
-                    String notificationId = sendNotification(recipientId, message, type);
-                    notificationIds.add(notificationId);
-                } catch (Exception e) {
-                    log.error("Failed to send notification to recipient: {}", recipientId, e);
-                }
-            }
-            
-            log.info("Bulk notification completed. Sent: {}/{}", notificationIds.size(), recipientIds.size());
-            return notificationIds;
-        });
+        List<String> distinctIds = recipientIds.stream().distinct().toList();
+        Map<String, User> recipients = resolveRecipients(distinctIds);
+        List<Notification> notifications = distinctIds.stream()
+            .map(recipients::get)
+            .filter(Objects::nonNull)
+            .map(recipient -> createNotificationRecord(recipient, message, type))
+            .toList();
+        
+        List<Notification> saved = notificationRepository.saveAll(notifications);
+        enqueueDeliveries(saved);
+        
+        if (saved.size() < distinctIds.size()) {
+            log.warn("Skipped {} unknown recipients of bulk {} notification", distinctIds.size() - saved.size(), type);
+        }
+        
+        outboxService.recordInteraction(
+            "system",
+            "bulk_notification_sent",
+            type,
+            Map.of(
+                "recipientCount", saved.size(),
+                "messageLength", message.length()
+            )
+        );
+        
+        return CompletableFuture.completedFuture(saved.stream().map(notification -> String.valueOf(notification.getId())).toList());
+    }
+
+    /**
+     * Persist a notification to be sent at {@code scheduledAt} by the time wheel scheduler
+     */
+    @Transactional
+    public Notification scheduleNotification(Long userId, String title, String message,
+                                             Notification.NotificationType type, LocalDateTime scheduledAt) {
+        Notification notification = Notification.builder()
+            .user(userRepository.getReferenceById(userId))
+            .title(title)
+            .message(message)
+            .type(type)
+            .priority(Notification.Priority.MEDIUM)
+            .status(Notification.Status.SCHEDULED)
+            .scheduledAt(scheduledAt)
+            .retryCount(0)
+            .maxRetries(3)
+            .isRead(false)
+            .isArchived(false)
+            .createdAt(LocalDateTime.now())
+            .build();
+
+        Notification saved = notificationRepository.save(notification);
+        timeWheelScheduler.offerAfterCommit(ScheduledNotificationDispatcher.SOURCE, String.valueOf(saved.getId()), scheduledAt);
+        log.info("Scheduled {} notification {} for user: {} at {}", type, saved.getId(), userId, scheduledAt);
+        return saved;
+    }
+
+    /**
+     * Record the delivery of persisted notifications in the outbox and mark them PENDING.
+     * Must run in the transaction that saved or claimed them.
+     */
+    @Transactional
+    public void enqueueDeliveries(List<Notification> notifications) {
+        for (Notification notification : notifications) {
+            String type = notification.getType().name().toLowerCase();
+            String recipientId = notification.getUser().getUsername();
+            List<String> channels = determineDeliveryChannels(recipientId, type);
+            notification.setStatus(Notification.Status.PENDING);
+            notification.setChannels(toJson(channels));
+            
+            outboxService.record(OutboxEvent.NOTIFICATION, String.valueOf(notification.getId()), Map.of(
+                "notificationId", String.valueOf(notification.getId()),
+                "recipientId", recipientId,
+                "message", notification.getMessage(),
+                "type", type,
+                "channels", channels
+            ));
+            counterService.adjustAfterCommit(recipientId, 1, Boolean.TRUE.equals(notification.getIsRead()) ? 0 : 1);
+        }
     }
 
     /**
      * Send personalized recommendation notifications
      */
-    public String sendRecommendationNotification(String userId, Map<String, Object> recommendation) {
+    @Async("notificationExecutor")
+    @Transactional
+    public CompletableFuture<String> sendRecommendationNotification(String userId, Map<String, Object> recommendation) {
         log.info("Sending recommendation notification to user: {}", userId);
         
         try {
             String message = formatRecommendationMessage(recommendation);
-            String notificationId = sendNotification(userId, message, "recommendation");
+            String notificationId = recordNotification(userId, message, "recommendation");
             
             // Track recommendation notification
-            analyticsService.trackUserInteraction(
+            outboxService.recordInteraction(
                 userId,
                 "recommendation_notification",
                 (String) recommendation.get("type"),
@@ -108,7 +192,7 @@ public class NotificationService {
                 )
             );
             
-            return notificationId;
+            return CompletableFuture.completedFuture(notificationId);
             
         } catch (Exception e) {
             log.error("Failed to send recommendation notification to user: {}", userId, e);
@@ -119,6 +203,7 @@ public class NotificationService {
     /**
      * Send match alert notifications
      */
+    @Transactional
     public String sendMatchAlert(String teamId, Map<String, Object> matchData) {
         log.info("Sending match alert for team: {}", teamId);
         
@@ -131,7 +216,7 @@ public class NotificationService {
             String alertId = UUID.randomUUID().toString();
             
             // Track match alert
-            analyticsService.trackUserInteraction(
+            outboxService.recordInteraction(
                 "system",
                 "match_alert_sent",
                 "team_notification",
@@ -154,15 +239,17 @@ public class NotificationService {
     /**
      * Send performance insights notification
      */
-    public String sendPerformanceInsights(String userId, Map<String, Object> insights) {
+    @Async("notificationExecutor")
+    @Transactional
+    public CompletableFuture<String> sendPerformanceInsights(String userId, Map<String, Object> insights) {
         log.info("Sending performance insights to user: {}", userId);
         
         try {
             String message = formatInsightsMessage(insights);
-            String notificationId = sendNotification(userId, message, "insights");
+            String notificationId = recordNotification(userId, message, "insights");
             
             // Track insights notification
-            analyticsService.trackUserInteraction(
+            outboxService.recordInteraction(
                 userId,
                 "insights_notification",
                 "performance_update",
@@ -173,7 +260,7 @@ public class NotificationService {
                 )
             );
             
-            return notificationId;
+            return CompletableFuture.completedFuture(notificationId);
             
         } catch (Exception e) {
             log.error("Failed to send performance insights to user: {}", userId, e);
@@ -184,6 +271,7 @@ public class NotificationService {
     /**
      * Send training reminder notifications
      */
+    @Transactional
     public String sendTrainingReminder(String teamId, Map<String, Object> trainingSession) {
         log.info("Sending training reminder for team: {}", teamId);
         
@@ -196,7 +284,7 @@ public class NotificationService {
             String reminderId = UUID.randomUUID().toString();
             
             // Track training reminder
-            analyticsService.trackUserInteraction(
+            outboxService.recordInteraction(
                 "system",
                 "training_reminder_sent",
                 "team_notification",
@@ -219,6 +307,7 @@ public class NotificationService {
     /**
      * Send injury alert notifications
      */
+    @Transactional
     public String sendInjuryAlert(String playerId, Map<String, Object> injuryData) {
         log.info("Sending injury alert for player: {}", playerId);
         
@@ -231,7 +320,7 @@ public class NotificationService {
             String alertId = UUID.randomUUID().toString();
             
             // Track injury alert
-            analyticsService.trackUserInteraction(
+            outboxService.recordInteraction(
                 "system",
                 "injury_alert_sent",
                 "medical_notification",
@@ -268,47 +357,110 @@ public class NotificationService {
     }
 
     /**
-     * Mark notification as read
+     * Page of the user's inbox, newest first, continuing after {@code cursor} if given.
+     * {@code status} is one of all, unread or read.
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<Map<String, Object>> getInbox(String userId, String status, int limit, String cursor) {
+        Boolean isRead = switch (status) {
+            case "all" -> null;
+            case "unread" -> false;
+            case "read" -> true;
+            default -> throw new IllegalArgumentException("Unknown status: " + status);
+        };
+        
+        PageCursor after = PageCursor.decode(cursor);
+        PageRequest page = PageRequest.of(0, limit + 1);
+        List<Notification> notifications = after == null
+            ? notificationRepository.findInbox(userId, isRead, page)
+            : notificationRepository.findInboxBefore(userId, isRead, after.createdAt(), after.id(), page);
+        return CursorPage.of(notifications, limit, n -> new PageCursor(n.getCreatedAt(), n.getId()))
+            .map(this::describe);
+    }
+
+    /**
+     * Mark notification as read; returns false if it was already read or is not in the user's inbox
      */
+    @Transactional
     public boolean markAsRead(String notificationId, String userId) {
         log.info("Marking notification as read: {} for user: {}", notificationId, userId);
         
-        try {
-            // In real implementation, this would update the database
-            
-            // Track notification read
-            analyticsService.trackUserInteraction(
+        LocalDateTime now = LocalDateTime.now();
+        boolean marked = notificationRepository.markRead(Long.valueOf(notificationId), userId, now) > 0;
+        if (marked) {
+            counterService.adjustAfterCommit(userId, 0, -1);
+            outboxService.recordInteraction(
                 userId,
                 "notification_read",
                 "engagement",
                 Map.of(
                     "notificationId", notificationId,
-                    "readAt", LocalDateTime.now()
+                    "readAt", now
                 )
             );
-            
-            return true;
-            
-        } catch (Exception e) {
-            log.error("Failed to mark notification as read: {}", notificationId, e);
+        }
+        return marked;
+    }
+
+    /**
+     * Mark all notifications in the user's inbox as read; returns how many were unread
+     */
+    @Transactional
+    public int markAllAsRead(String userId) {
+        log.info("Marking all notifications as read for user: {}", userId);
+        
+        int marked = notificationRepository.markAllRead(userId, LocalDateTime.now());
+        if (marked > 0) {
+            counterService.adjustAfterCommit(userId, 0, -marked);
+            outboxService.recordInteraction(userId, "notification_read", "mark_all_read", Map.of("markedCount", marked));
+        }
+        return marked;
+    }
+
+    /**
+     * Delete a notification from the user's inbox; returns false if it is not there
+     */
+    @Transactional
+    public boolean deleteNotification(String notificationId, String userId) {
+        log.info("Deleting notification: {} for user: {}", notificationId, userId);
+        
+        Optional<Notification> found = notificationRepository.findInInbox(Long.valueOf(notificationId), userId);
+        if (found.isEmpty()) {
             return false;
         }
+        
+        Notification notification = found.get();
+        if (notification.getStatus() == Notification.Status.SCHEDULED) {
+            // Not in the inbox yet, so not counted; cancelling keeps it from being dispatched
+            notification.setStatus(Notification.Status.CANCELLED);
+        } else {
+            counterService.adjustAfterCommit(userId, -1, Boolean.TRUE.equals(notification.getIsRead()) ? 0 : -1);
+        }
+        notification.setDeletedAt(LocalDateTime.now());
+        
+        outboxService.recordInteraction(userId, "notification_delete", "delete", Map.of("notificationId", notificationId));
+        return true;
     }
 
     /**
      * Get unread notification count
      */
     public int getUnreadCount(String userId) {
-        log.debug("Getting unread notification count for user: {}", userId);
-        
-        try {
-            // In real implementation, this would query the database
-            return generateMockUnreadCount(userId);
-            
-        } catch (Exception e) {
-            log.error("Failed to get unread count for user: {}", userId, e);
-            return 0;
-        }
+        return (int) counterService.getCounts(userId).unread();
+    }
+
+    /**
+     * Get total and unread notification counts of the user's inbox
+     */
+    public InboxCounts getInboxCounts(String userId) {
+        return counterService.getCounts(userId);
+    }
+
+    /**
+     * Get total and unread notification counts over all inboxes
+     */
+    public InboxCounts getGlobalInboxCounts() {
+        return counterService.getGlobalCounts();
     }
 
     /**
@@ -341,69 +493,89 @@ public class NotificationService {
 
     // Helper methods
     
-    private Map<String, Object> createNotificationRecord(String notificationId, String recipientId, String message, String type) {
-        return Map.of(
-            "notificationId", notificationId,
-            "recipientId", recipientId,
-            "message", message,
-            "type", type,
-            "status", "pending",
-            "createdAt", LocalDateTime.now(),
-            "priority", determinePriority(type),
-            "channels", determineDeliveryChannels(recipientId, type)
-        );
+    private Notification createNotificationRecord(User recipient, String message, String type) {
+        return Notification.builder()
+            .user(recipient)
+            .title(formatTitle(type))
+            .message(message)
+            .type(toNotificationType(type))
+            .priority(toPriority(determinePriority(type)))
+            .status(Notification.Status.PENDING)
+            .retryCount(0)
+            .maxRetries(3)
+            .isRead(false)
+            .isArchived(false)
+            .createdAt(LocalDateTime.now())
+            .build();
     }
 
-    private CompletableFuture<Boolean> deliverNotification(Map<String, Object> notification) {
-        return CompletableFuture.supplyAsync(() -> {
-            try {
-                String type = (String) notification.get("type");
-                List<String> channels = (List<String>) notification.get("channels");
-                
-                // Simulate delivery to different channels
-                for (String channel : channels) {
-                    deliverToChannel(notification, channel);
-                }
-                
-                return true;
-                
-            } catch (Exception e) {
-                log.error("Failed to deliver notification: {}", notification.get("notificationId"), e);
-                return false;
+    /**
+     * Recipients by the ID they were given as: numeric user IDs or usernames
+     */
+    private Map<String, User> resolveRecipients(Collection<String> recipientIds) {
+        List<Long> ids = new ArrayList<>();
+        List<String> usernames = new ArrayList<>();
+        for (String recipientId : recipientIds) {
+            if (!recipientId.isEmpty() && recipientId.chars().allMatch(Character::isDigit)) {
+                ids.add(Long.valueOf(recipientId));
+            } else {
+                usernames.add(recipientId);
             }
-        });
-    }
-
-    private void deliverToChannel(Map<String, Object> notification, String channel) {
-        log.debug("Delivering notification {} via {}", notification.get("notificationId"), channel);
+        }
         
-        switch (channel.toLowerCase()) {
-            case "email" -> deliverEmail(notification);
-            case "push" -> deliverPushNotification(notification);
-            case "sms" -> deliverSMS(notification);
-            case "in_app" -> deliverInAppNotification(notification);
-            default -> log.warn("Unknown delivery channel: {}", channel);
+        Map<String, User> recipients = new HashMap<>();
+        if (!ids.isEmpty()) {
+            userRepository.findAllById(ids).forEach(user -> recipients.put(String.valueOf(user.getId()), user));
+        }
+        if (!usernames.isEmpty()) {
+            userRepository.findByUsernameIn(usernames).forEach(user -> recipients.put(user.getUsername(), user));
         }
+        return recipients;
     }
 
-    private void deliverEmail(Map<String, Object> notification) {
-        // Mock email delivery
-        log.info("Email sent for notification: {}", notification.get("notificationId"));
+    private Map<String, Object> describe(Notification notification) {
+        Map<String, Object> view = new LinkedHashMap<>();
+        view.put("id", notification.getId());
+        view.put("type", notification.getType() != null ? notification.getType().name().toLowerCase() : null);
+        view.put("title", notification.getTitle());
+        view.put("message", notification.getMessage());
+        view.put("status", Boolean.TRUE.equals(notification.getIsRead()) ? "read" : "unread");
+        view.put("priority", notification.getPriority() != null ? notification.getPriority().name().toLowerCase() : null);
+        view.put("createdAt", notification.getCreatedAt());
+        view.put("readAt", notification.getReadAt());
+        return view;
+    }
+
+    private Notification.NotificationType toNotificationType(String type) {
+        return switch (type.toLowerCase()) {
+            case "insights" -> Notification.NotificationType.PERFORMANCE_INSIGHT;
+            case "emergency" -> Notification.NotificationType.ALERT;
+            default -> Arrays.stream(Notification.NotificationType.values())
+                .filter(value -> value.name().equalsIgnoreCase(type))
+                .findFirst()
+                .orElse(Notification.NotificationType.INFO);
+        };
     }
 
-    private void deliverPushNotification(Map<String, Object> notification) {
-        // Mock push notification delivery
-        log.info("Push notification sent for: {}", notification.get("notificationId"));
+    private Notification.Priority toPriority(String priority) {
+        return switch (priority) {
+            case "high" -> Notification.Priority.HIGH;
+            case "low" -> Notification.Priority.LOW;
+            default -> Notification.Priority.MEDIUM;
+        };
     }
 
-    private void deliverSMS(Map<String, Object> notification) {
-        // Mock SMS delivery
-        log.info("SMS sent for notification: {}", notification.get("notificationId"));
+    private String formatTitle(String type) {
+        String words = type.toLowerCase().replace('_', ' ');
+        return words.isEmpty() ? "Notification" : Character.toUpperCase(words.charAt(0)) + words.substring(1);
     }
 
-    private void deliverInAppNotification(Map<String, Object> notification) {
-        // Mock in-app notification delivery
-        log.info("In-app notification delivered: {}", notification.get("notificationId"));
+    private String toJson(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            return "[]";
+        }
     }
 
     private String determinePriority(String type) {
@@ -490,9 +662,4 @@ public class NotificationService {
         
         return history;
     }
-
-    private int generateMockUnreadCount(String userId) {
-        // Mock implementation - return random count between 0-5
-        return new Random().nextInt(6);
-    }
 }
\ No newline at end of file
@@ -0,0 +1,25 @@
+package com.captainpro.aiassistant.service;
+
+import com.captainpro.aiassistant.entity.OutboxEvent;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Outbox Handler
+ *
+ * Publishes outbox events of one topic to their downstream pipeline. Events are
+ * delivered at least once, so handlers must recognise an {@code eventId} they have
+ * already published and skip it.
+ */
+public interface OutboxHandler {
+
+    String topic();
+
+    /**
+     * Publish a batch; completes with the IDs of the events that failed and should be retried.
+     * Completing exceptionally fails the whole batch.
+     */
+    CompletableFuture<Set<String>> publish(List<OutboxEvent> events);
+}
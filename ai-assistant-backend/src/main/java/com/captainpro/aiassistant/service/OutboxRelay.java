@@ -0,0 +1,300 @@
+package com.captainpro.aiassistant.service;
+
+import com.captainpro.aiassistant.entity.OutboxEvent;
+import com.captainpro.aiassistant.repository.OutboxEventRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.stream.Collectors;
+
+/**
+ * Outbox Relay
+ *
+ * Publishes committed outbox events to their {@link OutboxHandler}:
+ * - A single relay thread leases batches of pending events ({@code FOR UPDATE SKIP LOCKED},
+ *   so relays on several nodes take disjoint batches) and hands them to the handler of
+ *   their topic without waiting for the result
+ * - Up to max-in-flight batches are published at once; acknowledgements are written
+ *   on the outbox executor as each batch settles
+ * - Failed events are retried with exponential backoff and parked as DEAD after max-attempts
+ * - Events whose lease expires unacknowledged, e.g. after a crash, are published again
+ * - The relay is woken when an outbox transaction commits and otherwise polls
+ */
+@Component
+@Slf4j
+public class OutboxRelay {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final ObjectProvider<OutboxHandler> handlerProvider;
+    private final TransactionTemplate transactionTemplate;
+    private final Executor outboxExecutor;
+    private final MeterRegistry meterRegistry;
+
+    private final Map<String, OutboxHandler> handlers = new HashMap<>();
+    private final Semaphore wakeSignal = new Semaphore(0);
+
+    private Semaphore inFlight;
+    private Thread relay;
+    private volatile boolean running;
+    private Timer lag;
+
+    @Value("${app.outbox.batch-size:500}")
+    private int batchSize;
+
+    @Value("${app.outbox.max-in-flight:8}")
+    private int maxInFlight;
+
+    @Value("${app.outbox.poll-interval:1000}")
+    private long pollInterval;
+
+    @Value("${app.outbox.lease:60000}")
+    private long lease;
+
+    @Value("${app.outbox.max-attempts:10}")
+    private int maxAttempts;
+
+    @Value("${app.outbox.retry-backoff:1000}")
+    private long retryBackoff;
+
+    @Value("${app.outbox.max-retry-backoff:300000}")
+    private long maxRetryBackoff;
+
+    @Value("${app.outbox.retention:86400000}")
+    private long retention;
+
+    public OutboxRelay(OutboxEventRepository outboxEventRepository,
+                       ObjectProvider<OutboxHandler> handlerProvider,
+                       PlatformTransactionManager transactionManager,
+                       @Qualifier("outboxExecutor") Executor outboxExecutor,
+                       MeterRegistry meterRegistry) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.handlerProvider = handlerProvider;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.outboxExecutor = outboxExecutor;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Start relaying once the application is ready; handlers are resolved lazily so they
+     * may depend on services that record outbox events
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        handlerProvider.orderedStream().forEach(handler -> handlers.put(handler.topic(), handler));
+        inFlight = new Semaphore(maxInFlight);
+
+        lag = Timer.builder("outbox.lag")
+            .description("Time from recording an event until it was published")
+            .publishPercentileHistogram()
+            .register(meterRegistry);
+        Gauge.builder("outbox.batches.in_flight", inFlight, permits -> maxInFlight - permits.availablePermits())
+            .description("Outbox batches handed to handlers and not yet acknowledged")
+            .register(meterRegistry);
+
+        running = true;
+        relay = new Thread(this::run, "outbox-relay");
+        relay.setDaemon(true);
+        relay.start();
+
+        log.info("Outbox relay started for topics {} (batch size {}, {} batches in flight)",
+                handlers.keySet(), batchSize, maxInFlight);
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        if (relay != null) {
+            relay.interrupt();
+        }
+    }
+
+    /**
+     * Signal that new events were committed
+     */
+    public void wake() {
+        if (wakeSignal.availablePermits() == 0) {
+            wakeSignal.release();
+        }
+    }
+
+    /**
+     * Delete published events older than the retention period
+     */
+    @Scheduled(fixedDelayString = "${app.outbox.purge-interval:3600000}")
+    public void purgePublished() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(Duration.ofMillis(retention));
+        Integer purged = transactionTemplate.execute(status -> outboxEventRepository.deletePublishedBefore(cutoff));
+        if (purged != null && purged > 0) {
+            log.info("Purged {} published outbox events older than {}", purged, cutoff);
+        }
+    }
+
+    // Helper methods
+
+    private void run() {
+        while (running) {
+            try {
+                inFlight.acquire();
+                List<OutboxEvent> claimed;
+                try {
+                    claimed = claim();
+                } catch (RuntimeException e) {
+                    inFlight.release();
+                    throw e;
+                }
+
+                if (claimed.isEmpty()) {
+                    inFlight.release();
+                    wakeSignal.tryAcquire(pollInterval, TimeUnit.MILLISECONDS);
+                    wakeSignal.drainPermits();
+                    continue;
+                }
+
+                dispatch(claimed).whenComplete((done, error) -> {
+                    inFlight.release();
+                    wake();
+                });
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                running = false;
+            } catch (Exception e) {
+                log.error("Outbox relay failed to claim events", e);
+                sleepQuietly(pollInterval);
+            }
+        }
+    }
+
+    private List<OutboxEvent> claim() {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime leaseExpiresAt = now.plus(Duration.ofMillis(lease));
+
+        return transactionTemplate.execute(status -> {
+            List<OutboxEvent> events = outboxEventRepository.findClaimable(now, PageRequest.of(0, batchSize));
+            events.forEach(event -> event.setLeaseExpiresAt(leaseExpiresAt));
+            return events;
+        });
+    }
+
+    private CompletableFuture<Void> dispatch(List<OutboxEvent> claimed) {
+        Map<String, List<OutboxEvent>> byTopic = claimed.stream()
+            .collect(Collectors.groupingBy(OutboxEvent::getTopic, LinkedHashMap::new, Collectors.toList()));
+
+        List<CompletableFuture<Void>> acknowledgements = new ArrayList<>(byTopic.size());
+        byTopic.forEach((topic, events) -> acknowledgements.add(publish(topic, events)
+            .handleAsync((failed, error) -> {
+                acknowledge(topic, events, failed, error);
+                return null;
+            }, outboxExecutor)));
+        return CompletableFuture.allOf(acknowledgements.toArray(CompletableFuture[]::new));
+    }
+
+    private CompletableFuture<Set<String>> publish(String topic, List<OutboxEvent> events) {
+        OutboxHandler handler = handlers.get(topic);
+        if (handler == null) {
+            return CompletableFuture.failedFuture(new IllegalStateException("No outbox handler for topic " + topic));
+        }
+        try {
+            return handler.publish(events);
+        } catch (Exception e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    private void acknowledge(String topic, List<OutboxEvent> events, Set<String> failedIds, Throwable error) {
+        List<OutboxEvent> published = new ArrayList<>(events.size());
+        List<OutboxEvent> failed = new ArrayList<>();
+        for (OutboxEvent event : events) {
+            if (error != null || failedIds.contains(event.getEventId())) {
+                failed.add(event);
+            } else {
+                published.add(event);
+            }
+        }
+
+        String reason = error != null ? String.valueOf(error.getMessage()) : "Handler reported failure";
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            transactionTemplate.executeWithoutResult(status -> {
+                if (!published.isEmpty()) {
+                    outboxEventRepository.markPublished(published.stream().map(OutboxEvent::getId).toList(), now);
+                }
+                if (!failed.isEmpty()) {
+                    reschedule(failed, reason, now);
+                }
+            });
+        } catch (Exception e) {
+            // Unacknowledged events are published again once their lease expires
+            log.warn("Failed to acknowledge {} {} outbox events: {}", events.size(), topic, e.getMessage());
+            return;
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        published.forEach(event -> lag.record(Duration.between(event.getCreatedAt(), now)));
+        outcome(topic, "published").increment(published.size());
+        outcome(topic, "failed").increment(failed.size());
+        if (error != null) {
+            log.warn("Publishing {} {} outbox events failed: {}", events.size(), topic, reason);
+        }
+    }
+
+    private void reschedule(List<OutboxEvent> failed, String reason, LocalDateTime now) {
+        List<OutboxEvent> pending = outboxEventRepository.lockPending(failed.stream().map(OutboxEvent::getId).toList());
+        for (OutboxEvent event : pending) {
+            int attempts = event.getAttempts() + 1;
+            event.setAttempts(attempts);
+            event.setLeaseExpiresAt(null);
+            event.setLastError(reason.length() > 1000 ? reason.substring(0, 1000) : reason);
+
+            if (attempts >= maxAttempts) {
+                event.setStatus(OutboxEvent.Status.DEAD);
+                outcome(event.getTopic(), "dead").increment();
+                log.error("Giving up on {} outbox event {} after {} attempts: {}",
+                        event.getTopic(), event.getEventId(), attempts, reason);
+            } else {
+                event.setAvailableAt(now.plus(Duration.ofMillis(backoff(attempts))));
+            }
+        }
+    }
+
+    private long backoff(int attempt) {
+        long exponential = retryBackoff << Math.min(attempt - 1, 20);
+        long capped = Math.min(maxRetryBackoff, exponential);
+        // Equal jitter keeps at least half the delay while spreading out synchronized retries
+        return capped / 2 + ThreadLocalRandom.current().nextLong(capped / 2 + 1);
+    }
+
+    private void sleepQuietly(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            running = false;
+        }
+    }
+
+    private Counter outcome(String topic, String outcome) {
+        return Counter.builder("outbox.events")
+            .description("Outbox events by publish outcome")
+            .tag("topic", topic)
+            .tag("outcome", outcome)
+            .register(meterRegistry);
+    }
+}
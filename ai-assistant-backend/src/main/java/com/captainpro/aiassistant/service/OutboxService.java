@@ -0,0 +1,104 @@
+package com.captainpro.aiassistant.service;
+
+import com.captainpro.aiassistant.entity.OutboxEvent;
+import com.captainpro.aiassistant.repository.OutboxEventRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Outbox Service
+ *
+ * Records messages for other systems in the transaction of the change that caused them:
+ * - The outbox row commits or rolls back together with the business rows
+ * - Nothing leaves the process on the request path; the outbox relay publishes
+ *   committed events in batches and is woken as soon as the transaction commits
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class OutboxService {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final OutboxRelay outboxRelay;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * Record an event in the current transaction; returns its event ID
+     */
+    @Transactional
+    public String record(String topic, String aggregateId, Map<String, Object> payload) {
+        LocalDateTime now = LocalDateTime.now();
+        OutboxEvent event = OutboxEvent.builder()
+            .eventId(UUID.randomUUID().toString())
+            .topic(topic)
+            .aggregateId(aggregateId)
+            .payload(toJson(payload))
+            .status(OutboxEvent.Status.PENDING)
+            .attempts(0)
+            .availableAt(now)
+            .createdAt(now)
+            .build();
+
+        outboxEventRepository.save(event);
+        Counter.builder("outbox.recorded")
+            .description("Events written to the outbox")
+            .tag("topic", topic)
+            .register(meterRegistry)
+            .increment();
+
+        wakeRelayAfterCommit();
+        log.debug("Recorded {} outbox event {} for {}", topic, event.getEventId(), aggregateId);
+        return event.getEventId();
+    }
+
+    /**
+     * Record a user interaction for the analytics tables in the current transaction
+     */
+    @Transactional
+    public String recordInteraction(String userId, String action, String context, Map<String, Object> metadata) {
+        Map<String, Object> payload = new HashMap<>();
+        payload.put("userId", userId);
+        payload.put("action", action);
+        payload.put("context", context != null ? context : "");
+        payload.put("metadata", metadata != null ? metadata : Map.of());
+        payload.put("timestamp", LocalDateTime.now().toString());
+        return record(OutboxEvent.INTERACTION, userId, payload);
+    }
+
+    // Helper methods
+
+    private void wakeRelayAfterCommit() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            outboxRelay.wake();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                outboxRelay.wake();
+            }
+        });
+    }
+
+    private String toJson(Map<String, Object> payload) {
+        try {
+            return objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Outbox payload is not serializable: " + e.getMessage(), e);
+        }
+    }
+}
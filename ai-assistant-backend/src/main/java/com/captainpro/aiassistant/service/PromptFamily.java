@@ -0,0 +1,58 @@
+package com.captainpro.aiassistant.service;
+
+import org.springframework.ai.chat.messages.Message;
+import org.springframework.ai.chat.messages.MessageType;
+import org.springframework.ai.chat.prompt.Prompt;
+
+/**
+ * Prompt Family
+ * 
+ * Identifies the kind of AI request by its system prompt. Used to apply
+ * per-family policies (cache TTLs, near-duplicate matching) and to tag metrics.
+ */
+public enum PromptFamily {
+
+    CHAT("You are an intelligent football assistant with access to comprehensive user data and insights. " +
+         "Provide helpful, personalized responses based on the user's context and football-related needs. " +
+         "Be concise, actionable, and supportive."),
+
+    INSIGHTS("You are a data analyst specializing in football performance analysis. " +
+             "Analyze the provided data and generate meaningful insights with actionable recommendations."),
+
+    RECOMMENDATIONS("You are a personalized recommendation engine for football players and teams. " +
+                    "Generate specific, actionable recommendations based on user behavior and performance data."),
+
+    TEAM_ANALYSIS("You are a football team performance analyst. " +
+                  "Analyze team data and provide comprehensive insights for improvement."),
+
+    TRAINING("You are a football training specialist. " +
+             "Create personalized training plans based on player data and performance metrics."),
+
+    OTHER(null);
+
+    private final String systemPrompt;
+
+    PromptFamily(String systemPrompt) {
+        this.systemPrompt = systemPrompt;
+    }
+
+    public String getSystemPrompt() {
+        return systemPrompt;
+    }
+
+    /**
+     * Resolve the family of a prompt from its system message
+     */
+    public static PromptFamily of(Prompt prompt) {
+        for (Message message : prompt.getInstructions()) {
+            if (message.getMessageType() == MessageType.SYSTEM) {
+                for (PromptFamily family : values()) {
+                    if (family.systemPrompt != null && family.systemPrompt.equals(message.getContent())) {
+                        return family;
+                    }
+                }
+            }
+        }
+        return OTHER;
+    }
+}
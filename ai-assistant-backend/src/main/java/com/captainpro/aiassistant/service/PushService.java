@@ -0,0 +1,82 @@
+package com.captainpro.aiassistant.service;
+
+import com.captainpro.aiassistant.config.JwtChannelInterceptor;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.simp.user.SimpUserRegistry;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+/**
+ * Push Service
+ *
+ * Publishes to clients connected to the STOMP push channel including:
+ * - Per-user messages such as in-app notifications, skipped for users with no open connection
+ * - Live analytics counters broadcast at a fixed tick while anyone is subscribed
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class PushService {
+
+    public static final String NOTIFICATION_QUEUE = "/queue/notifications";
+
+    private final SimpMessagingTemplate messagingTemplate;
+    private final SimpUserRegistry userRegistry;
+    private final AnalyticsService analyticsService;
+    private final MeterRegistry meterRegistry;
+
+    @PostConstruct
+    public void registerMetrics() {
+        Gauge.builder("push.users", userRegistry, SimpUserRegistry::getUserCount)
+            .description("Users with an open push connection on this node")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Send a message to every push connection of a user; returns false if the user is not connected
+     */
+    public boolean sendToUser(String username, String destination, Object payload) {
+        if (userRegistry.getUser(username) == null) {
+            published("offline").increment();
+            return false;
+        }
+        
+        messagingTemplate.convertAndSendToUser(username, destination, payload);
+        published("sent").increment();
+        return true;
+    }
+
+    /**
+     * Broadcast live analytics counters to subscribers of the analytics topic
+     */
+    @Scheduled(fixedRateString = "${app.push.analytics-tick:2000}")
+    public void broadcastAnalytics() {
+        boolean subscribed = !userRegistry.findSubscriptions(
+            subscription -> JwtChannelInterceptor.ANALYTICS_TOPIC.equals(subscription.getDestination())).isEmpty();
+        if (!subscribed) {
+            return;
+        }
+        
+        try {
+            messagingTemplate.convertAndSend(JwtChannelInterceptor.ANALYTICS_TOPIC, analyticsService.getRealTimeAnalytics());
+            published("broadcast").increment();
+        } catch (Exception e) {
+            log.warn("Failed to broadcast live analytics: {}", e.getMessage());
+        }
+    }
+
+    // Helper methods
+
+    private Counter published(String outcome) {
+        return Counter.builder("push.messages")
+            .description("Push messages by outcome")
+            .tag("outcome", outcome)
+            .register(meterRegistry);
+    }
+}
@@ -0,0 +1,172 @@
+package com.captainpro.aiassistant.service;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Quantile Sketch
+ *
+ * Mergeable histogram of latencies in logarithmically sized buckets (DDSketch-style):
+ * - Any quantile it reports is within {@code relativeAccuracy} of a recorded value at that rank
+ * - Recording is a lock-free increment of one bucket
+ * - Sketches with the same accuracy merge by adding bucket counts, so windows, time
+ *   buckets and nodes can be combined without keeping raw values
+ * - The non-empty bucket counts are the compact serialized form, as a map or as
+ *   varint-encoded bytes for storage
+ *
+ * Values at or below 1 share the first bucket; values above the maximum share the last.
+ */
+public class QuantileSketch {
+
+    public static final double DEFAULT_RELATIVE_ACCURACY = 0.02;
+
+    /**
+     * One hour in milliseconds
+     */
+    public static final double DEFAULT_MAX_VALUE = 3_600_000;
+
+    private final double relativeAccuracy;
+    private final double logGamma;
+    private final AtomicLongArray counts;
+
+    public QuantileSketch() {
+        this(DEFAULT_RELATIVE_ACCURACY, DEFAULT_MAX_VALUE);
+    }
+
+    public QuantileSketch(double relativeAccuracy, double maxValue) {
+        if (relativeAccuracy <= 0 || relativeAccuracy >= 1) {
+            throw new IllegalArgumentException("Relative accuracy must be between 0 and 1");
+        }
+        this.relativeAccuracy = relativeAccuracy;
+        this.logGamma = Math.log((1 + relativeAccuracy) / (1 - relativeAccuracy));
+        this.counts = new AtomicLongArray((int) Math.ceil(Math.log(maxValue) / logGamma) + 2);
+    }
+
+    /**
+     * Sketch with the default accuracy holding the given bucket counts
+     */
+    public static QuantileSketch fromBuckets(Map<Integer, Long> buckets) {
+        QuantileSketch sketch = new QuantileSketch();
+        sketch.addBuckets(buckets);
+        return sketch;
+    }
+
+    /**
+     * Sketch with the default accuracy decoded from {@link #toBytes()}
+     */
+    public static QuantileSketch fromBytes(byte[] bytes) {
+        QuantileSketch sketch = new QuantileSketch();
+        if (bytes == null) {
+            return sketch;
+        }
+
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        int index = 0;
+        while (buffer.hasRemaining()) {
+            index += (int) SketchEncoding.readVarint(buffer);
+            sketch.counts.addAndGet(Math.min(sketch.counts.length() - 1, index), SketchEncoding.readVarint(buffer));
+        }
+        return sketch;
+    }
+
+    public void record(double value) {
+        counts.incrementAndGet(index(value));
+    }
+
+    public void merge(QuantileSketch other) {
+        if (other.relativeAccuracy != relativeAccuracy || other.counts.length() != counts.length()) {
+            throw new IllegalArgumentException("Only sketches with the same accuracy and range can be merged");
+        }
+        for (int i = 0; i < counts.length(); i++) {
+            long count = other.counts.get(i);
+            if (count != 0) {
+                counts.addAndGet(i, count);
+            }
+        }
+    }
+
+    public void addBuckets(Map<Integer, Long> buckets) {
+        buckets.forEach((index, count) -> counts.addAndGet(Math.max(0, Math.min(counts.length() - 1, index)), count));
+    }
+
+    /**
+     * Non-empty buckets by index
+     */
+    public Map<Integer, Long> toBuckets() {
+        Map<Integer, Long> buckets = new TreeMap<>();
+        for (int i = 0; i < counts.length(); i++) {
+            long count = counts.get(i);
+            if (count != 0) {
+                buckets.put(i, count);
+            }
+        }
+        return buckets;
+    }
+
+    /**
+     * Non-empty buckets as pairs of varints: index delta from the previous bucket, then count
+     */
+    public byte[] toBytes() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        int previous = 0;
+        for (int i = 0; i < counts.length(); i++) {
+            long count = counts.get(i);
+            if (count != 0) {
+                SketchEncoding.writeVarint(out, i - previous);
+                SketchEncoding.writeVarint(out, count);
+                previous = i;
+            }
+        }
+        return out.toByteArray();
+    }
+
+    public long count() {
+        long total = 0;
+        for (int i = 0; i < counts.length(); i++) {
+            total += counts.get(i);
+        }
+        return total;
+    }
+
+    /**
+     * Estimated value at quantile {@code q} (0..1), or 0 when empty
+     */
+    public double quantile(double q) {
+        long total = count();
+        if (total == 0) {
+            return 0;
+        }
+
+        long rank = (long) Math.floor(Math.max(0, Math.min(1, q)) * (total - 1));
+        long seen = 0;
+        for (int i = 0; i < counts.length(); i++) {
+            seen += counts.get(i);
+            if (seen > rank) {
+                return value(i);
+            }
+        }
+        return value(counts.length() - 1);
+    }
+
+    // Helper methods
+
+    private int index(double value) {
+        if (value <= 1) {
+            return 0;
+        }
+        return Math.min(counts.length() - 1, (int) Math.ceil(Math.log(value) / logGamma));
+    }
+
+    /**
+     * Representative value of a bucket: the point within relative accuracy of both its bounds
+     */
+    private double value(int index) {
+        if (index == 0) {
+            return 1;
+        }
+        return Math.exp(index * logGamma) * (1 - relativeAccuracy);
+    }
+}
@@ -0,0 +1,302 @@
+package com.captainpro.aiassistant.service;
+
+import com.captainpro.aiassistant.model.InteractionEvent;
+import com.captainpro.aiassistant.model.RealtimeWindow;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Realtime Analytics Engine
+ *
+ * Sliding-window activity counters fed by the ingest path:
+ * - A ring of fixed-length time slots covering the longest window; each slot holds
+ *   striped counters, a latency sketch and per-action counts, and is recycled lock-free
+ *   once its time has passed
+ * - Active users and sessions are counted exactly: each one is counted only in the slot
+ *   where it was last seen, so summing slots never counts it twice
+ * - 1, 5 and 15 minute windows are summed from the ring on every refresh; readers only
+ *   fetch the last result
+ * - Each node publishes its windows to Redis on refresh and merges those of the other
+ *   live nodes, so every node serves cluster-wide figures
+ */
+@Component
+@Slf4j
+public class RealtimeAnalyticsEngine {
+
+    public static final List<Integer> WINDOWS = List.of(1, 5, 15);
+
+    private static final String NODES_KEY = "analytics:realtime:nodes";
+    private static final String OTHER_ACTIONS = "other";
+
+    /**
+     * Windows of one node as published to Redis
+     */
+    public record NodeSnapshot(long publishedAt, List<RealtimeWindow> windows) {
+    }
+
+    private final String nodeId = UUID.randomUUID().toString();
+    private final Map<String, Long> usersLastSeen = new ConcurrentHashMap<>();
+    private final Map<String, Long> sessionsLastSeen = new ConcurrentHashMap<>();
+
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${app.analytics.realtime.slot-seconds:5}")
+    private int slotSeconds;
+
+    @Value("${app.analytics.realtime.publish-interval:2000}")
+    private long publishInterval;
+
+    @Value("${app.analytics.realtime.max-actions-per-slot:200}")
+    private int maxActionsPerSlot;
+
+    private AtomicReferenceArray<Slot> ring;
+
+    private volatile Map<Integer, RealtimeWindow> clusterWindows = emptyWindows();
+    private volatile int nodes = 1;
+
+    public RealtimeAnalyticsEngine(StringRedisTemplate redisTemplate,
+                                   ObjectMapper objectMapper,
+                                   MeterRegistry meterRegistry) {
+        this.redisTemplate = redisTemplate;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @PostConstruct
+    public void init() {
+        // One spare slot so the oldest slot of the longest window is not recycled while it is summed
+        int slots = WINDOWS.get(WINDOWS.size() - 1) * 60 / slotSeconds + 1;
+        ring = new AtomicReferenceArray<>(slots);
+        for (int i = 0; i < slots; i++) {
+            ring.set(i, new Slot(-1));
+        }
+
+        Gauge.builder("analytics.realtime.users", usersLastSeen, Map::size)
+            .description("Users seen on this node within the longest realtime window")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Count an ingested interaction
+     */
+    public void record(InteractionEvent event) {
+        long epoch = currentEpoch();
+        Slot slot = slot(epoch);
+
+        slot.events.increment();
+        if ("ai_chat".equals(event.action())) {
+            slot.aiQueries.increment();
+        }
+        if (event.isError()) {
+            slot.errors.increment();
+        }
+        Long responseTime = ResponseTimeSketchService.responseTime(event);
+        if (responseTime != null) {
+            slot.latency.record(responseTime);
+        }
+        countAction(slot, event.action());
+
+        markSeen(usersLastSeen, event.userId(), epoch, slot, true);
+        if (event.sessionId() != null) {
+            markSeen(sessionsLastSeen, event.sessionId(), epoch, slot, false);
+        }
+    }
+
+    /**
+     * Cluster-wide window of the given length as of the last refresh
+     */
+    public RealtimeWindow getWindow(int minutes) {
+        RealtimeWindow window = clusterWindows.get(minutes);
+        if (window == null) {
+            throw new IllegalArgumentException("Unsupported realtime window: " + minutes + " minutes, expected one of " + WINDOWS);
+        }
+        return window;
+    }
+
+    /**
+     * Nodes whose windows were merged in the last refresh
+     */
+    public int getNodes() {
+        return nodes;
+    }
+
+    /**
+     * Sum the local windows, publish them and merge the windows of the other live nodes
+     */
+    @Scheduled(fixedRateString = "${app.analytics.realtime.publish-interval:2000}")
+    public void refresh() {
+        long epoch = currentEpoch();
+        sweep(usersLastSeen, epoch);
+        sweep(sessionsLastSeen, epoch);
+
+        Map<Integer, RealtimeWindow> local = new HashMap<>();
+        for (int minutes : WINDOWS) {
+            local.put(minutes, sum(minutes, epoch));
+        }
+
+        try {
+            clusterWindows = publishAndMerge(local);
+        } catch (Exception e) {
+            log.warn("Failed to exchange realtime analytics with other nodes, serving local figures: {}", e.getMessage());
+            clusterWindows = local;
+            nodes = 1;
+        }
+    }
+
+    // Helper methods
+
+    private Map<Integer, RealtimeWindow> publishAndMerge(Map<Integer, RealtimeWindow> local) throws Exception {
+        long now = System.currentTimeMillis();
+        NodeSnapshot snapshot = new NodeSnapshot(now, List.copyOf(local.values()));
+        redisTemplate.opsForHash().put(NODES_KEY, nodeId, objectMapper.writeValueAsString(snapshot));
+
+        Map<Integer, RealtimeWindow> merged = new HashMap<>(local);
+        int merging = 1;
+        List<Object> stale = new ArrayList<>();
+        for (Map.Entry<Object, Object> entry : redisTemplate.opsForHash().entries(NODES_KEY).entrySet()) {
+            if (nodeId.equals(entry.getKey())) {
+                continue;
+            }
+            NodeSnapshot other;
+            try {
+                other = objectMapper.readValue((String) entry.getValue(), NodeSnapshot.class);
+            } catch (Exception e) {
+                stale.add(entry.getKey());
+                continue;
+            }
+            // A node that missed a few refreshes has stopped or lost Redis
+            if (other.publishedAt() < now - 5 * publishInterval) {
+                stale.add(entry.getKey());
+                continue;
+            }
+
+            other.windows().forEach(window -> merged.computeIfPresent(window.minutes(), (minutes, mine) -> mine.merge(window)));
+            merging++;
+        }
+
+        if (!stale.isEmpty()) {
+            redisTemplate.opsForHash().delete(NODES_KEY, stale.toArray());
+        }
+        nodes = merging;
+        return merged;
+    }
+
+    private RealtimeWindow sum(int minutes, long epoch) {
+        int slots = minutes * 60 / slotSeconds;
+        long events = 0;
+        long aiQueries = 0;
+        long errors = 0;
+        long activeUsers = 0;
+        long sessions = 0;
+        QuantileSketch latency = new QuantileSketch();
+        Map<String, Long> actions = new HashMap<>();
+
+        for (long slotEpoch = epoch - slots + 1; slotEpoch <= epoch; slotEpoch++) {
+            Slot slot = ring.get(index(slotEpoch));
+            if (slot.epoch != slotEpoch) {
+                continue;
+            }
+            events += slot.events.sum();
+            aiQueries += slot.aiQueries.sum();
+            errors += slot.errors.sum();
+            activeUsers += slot.activeUsers.sum();
+            sessions += slot.activeSessions.sum();
+            latency.merge(slot.latency);
+            slot.actions.forEach((action, count) -> actions.merge(action, count.sum(), Long::sum));
+        }
+
+        return new RealtimeWindow(minutes, events, aiQueries, errors,
+                Math.max(0, activeUsers), Math.max(0, sessions), latency.toBuckets(), actions);
+    }
+
+    /**
+     * Move a user or session to the slot it was seen in, uncounting it from its previous slot
+     */
+    private void markSeen(Map<String, Long> lastSeen, String key, long epoch, Slot slot, boolean user) {
+        lastSeen.compute(key, (id, previous) -> {
+            if (previous != null && previous == epoch) {
+                return previous;
+            }
+            if (previous != null) {
+                Slot previousSlot = ring.get(index(previous));
+                if (previousSlot.epoch == previous) {
+                    (user ? previousSlot.activeUsers : previousSlot.activeSessions).decrement();
+                }
+            }
+            (user ? slot.activeUsers : slot.activeSessions).increment();
+            return epoch;
+        });
+    }
+
+    private void sweep(Map<String, Long> lastSeen, long epoch) {
+        long oldest = epoch - ring.length() + 1;
+        lastSeen.values().removeIf(seen -> seen < oldest);
+    }
+
+    private void countAction(Slot slot, String action) {
+        LongAdder count = slot.actions.get(action);
+        if (count == null) {
+            String key = slot.actions.size() < maxActionsPerSlot ? action : OTHER_ACTIONS;
+            count = slot.actions.computeIfAbsent(key, k -> new LongAdder());
+        }
+        count.increment();
+    }
+
+    private Slot slot(long epoch) {
+        int index = index(epoch);
+        while (true) {
+            Slot slot = ring.get(index);
+            if (slot.epoch >= epoch) {
+                return slot;
+            }
+            Slot fresh = new Slot(epoch);
+            if (ring.compareAndSet(index, slot, fresh)) {
+                return fresh;
+            }
+        }
+    }
+
+    private int index(long epoch) {
+        return (int) Math.floorMod(epoch, (long) ring.length());
+    }
+
+    private long currentEpoch() {
+        return System.currentTimeMillis() / (slotSeconds * 1000L);
+    }
+
+    private static Map<Integer, RealtimeWindow> emptyWindows() {
+        Map<Integer, RealtimeWindow> windows = new HashMap<>();
+        WINDOWS.forEach(minutes -> windows.put(minutes, RealtimeWindow.empty(minutes)));
+        return windows;
+    }
+
+    private static final class Slot {
+
+        private final long epoch;
+        private final LongAdder events = new LongAdder();
+        private final LongAdder aiQueries = new LongAdder();
+        private final LongAdder errors = new LongAdder();
+        private final LongAdder activeUsers = new LongAdder();
+        private final LongAdder activeSessions = new LongAdder();
+        private final QuantileSketch latency = new QuantileSketch();
+        private final Map<String, LongAdder> actions = new ConcurrentHashMap<>();
+
+        Slot(long epoch) {
+            this.epoch = epoch;
+        }
+    }
+}
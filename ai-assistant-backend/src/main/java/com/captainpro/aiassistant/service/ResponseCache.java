@@ -0,0 +1,363 @@
+package com.captainpro.aiassistant.service;
+
+import com.captainpro.aiassistant.config.ResponseCacheProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.ai.chat.ChatResponse;
+import org.springframework.ai.chat.Generation;
+import org.springframework.ai.chat.messages.Message;
+import org.springframework.ai.chat.messages.MessageType;
+import org.springframework.ai.chat.prompt.Prompt;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.temporal.TemporalAccessor;
+import java.util.*;
+
+/**
+ * AI Response Cache
+ * 
+ * Size-bounded LRU cache of chat model responses keyed on the normalized prompt.
+ * Supports:
+ * - Exact-match lookup on the normalized system and user messages
+ * - Keys built from the user's question plus a digest of the structured context,
+ *   for callers whose prompt text embeds per-call data
+ * - Near-duplicate lookup (SimHash) for families that opt in
+ * - Per prompt-family TTLs
+ * - Hit/miss and byte-savings metrics
+ * 
+ * Near-duplicate matching only varies the user's question. Everything else (context,
+ * user insights, data) forms the fingerprint and must match exactly, so answers never
+ * cross users or data sets.
+ */
+@Component
+@Slf4j
+public class ResponseCache {
+
+    /**
+     * Context keys that change on every call without changing the answer
+     */
+    private static final Set<String> VOLATILE_CONTEXT_KEYS =
+        Set.of("timestamp", "generatedAt", "createdAt", "updatedAt", "requestId");
+
+    private final ResponseCacheProperties properties;
+    private final MeterRegistry meterRegistry;
+
+    private final LinkedHashMap<String, CacheEntry> entries = new LinkedHashMap<>(256, 0.75f, true);
+    private final Map<String, Set<CacheEntry>> fingerprintIndex = new HashMap<>();
+    private long totalBytes;
+
+    public ResponseCache(ResponseCacheProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        
+        Gauge.builder("ai.response.cache.entries", this, ResponseCache::size)
+            .description("Number of cached AI responses")
+            .register(meterRegistry);
+        Gauge.builder("ai.response.cache.bytes", this, ResponseCache::bytes)
+            .description("Total size of cached AI response content")
+            .baseUnit("bytes")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Build the lookup key for a prompt
+     */
+    public CacheKey keyFor(Prompt prompt) {
+        PromptFamily family = PromptFamily.of(prompt);
+        
+        StringBuilder system = new StringBuilder();
+        StringBuilder user = new StringBuilder();
+        for (Message message : prompt.getInstructions()) {
+            StringBuilder target = message.getMessageType() == MessageType.USER ? user : system;
+            target.append(message.getMessageType()).append(':').append(normalize(message.getContent())).append('\n');
+        }
+        
+        String userText = user.toString();
+        int split = userText.indexOf("\n\n");
+        String query = split >= 0 ? userText.substring(0, split) : userText;
+        String remainder = split >= 0 ? userText.substring(split) : "";
+        
+        return new CacheKey(
+            family,
+            sha256(family + "\n" + system + userText),
+            sha256(family + "\n" + system + remainder),
+            simHash(query),
+            tokenCount(query)
+        );
+    }
+
+    /**
+     * Build the lookup key for a question asked with structured context. The context
+     * digest ignores map ordering, timestamps and the keys in {@link #VOLATILE_CONTEXT_KEYS}.
+     */
+    public CacheKey keyFor(PromptFamily family, String query, Map<String, Object> context) {
+        String normalizedQuery = normalize(query);
+        String digest = sha256(canonical(context));
+        
+        return new CacheKey(
+            family,
+            sha256(family + "\n" + normalizedQuery + "\n" + digest),
+            sha256(family + "\n" + digest),
+            simHash(normalizedQuery),
+            tokenCount(normalizedQuery)
+        );
+    }
+
+    /**
+     * Look up a cached response, exact match first then near-duplicate
+     */
+    public synchronized Optional<ChatResponse> get(CacheKey key) {
+        long now = System.currentTimeMillis();
+        
+        CacheEntry entry = entries.get(key.exact());
+        if (entry != null && entry.isExpired(now)) {
+            remove(entry);
+            entry = null;
+        }
+        
+        String result = "hit";
+        if (entry == null && isNearDuplicateCandidate(key)) {
+            entry = findNearDuplicate(key, now);
+            result = "near_hit";
+        }
+        
+        if (entry == null) {
+            requests(key.family(), "miss").increment();
+            return Optional.empty();
+        }
+        
+        requests(key.family(), result).increment();
+        savedBytes(key.family()).increment(entry.bytes());
+        return Optional.of(entry.response());
+    }
+
+    /**
+     * Store a response for the given key
+     */
+    public synchronized void put(CacheKey key, ChatResponse response) {
+        long bytes = contentBytes(response);
+        if (bytes == 0 || bytes > properties.getMaxBytes()) {
+            return;
+        }
+        
+        CacheEntry previous = entries.get(key.exact());
+        if (previous != null) {
+            remove(previous);
+        }
+        
+        long expiresAt = System.currentTimeMillis() + properties.ttlFor(key.family()).toMillis();
+        CacheEntry entry = new CacheEntry(key, response, bytes, expiresAt);
+        
+        entries.put(key.exact(), entry);
+        fingerprintIndex.computeIfAbsent(key.fingerprint(), k -> new LinkedHashSet<>()).add(entry);
+        totalBytes += bytes;
+        
+        evictIfNeeded();
+    }
+
+    /**
+     * Drop all cached responses
+     */
+    public synchronized void clear() {
+        entries.clear();
+        fingerprintIndex.clear();
+        totalBytes = 0;
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public synchronized long bytes() {
+        return totalBytes;
+    }
+
+    // Helper methods
+
+    private boolean isNearDuplicateCandidate(CacheKey key) {
+        return properties.nearDuplicateEnabledFor(key.family()) &&
+               key.tokens() >= properties.getNearDuplicateMinTokens();
+    }
+
+    private CacheEntry findNearDuplicate(CacheKey key, long now) {
+        Set<CacheEntry> candidates = fingerprintIndex.get(key.fingerprint());
+        if (candidates == null) {
+            return null;
+        }
+        
+        CacheEntry best = null;
+        int bestDistance = Integer.MAX_VALUE;
+        for (CacheEntry candidate : candidates) {
+            if (candidate.isExpired(now) || candidate.key().tokens() < properties.getNearDuplicateMinTokens()) {
+                continue;
+            }
+            int distance = Long.bitCount(candidate.key().simHash() ^ key.simHash());
+            if (distance <= properties.getNearDuplicateMaxDistance() && distance < bestDistance) {
+                best = candidate;
+                bestDistance = distance;
+            }
+        }
+        
+        if (best != null) {
+            // Refresh LRU position of the matched entry
+            entries.get(best.key().exact());
+        }
+        return best;
+    }
+
+    private void evictIfNeeded() {
+        Iterator<CacheEntry> eldest = entries.values().iterator();
+        while ((entries.size() > properties.getMaxEntries() || totalBytes > properties.getMaxBytes()) && eldest.hasNext()) {
+            CacheEntry entry = eldest.next();
+            eldest.remove();
+            unindex(entry);
+        }
+    }
+
+    private void remove(CacheEntry entry) {
+        entries.remove(entry.key().exact());
+        unindex(entry);
+    }
+
+    private void unindex(CacheEntry entry) {
+        totalBytes -= entry.bytes();
+        Set<CacheEntry> bucket = fingerprintIndex.get(entry.key().fingerprint());
+        if (bucket != null) {
+            bucket.remove(entry);
+            if (bucket.isEmpty()) {
+                fingerprintIndex.remove(entry.key().fingerprint());
+            }
+        }
+    }
+
+    private Counter requests(PromptFamily family, String result) {
+        return Counter.builder("ai.response.cache.requests")
+            .description("AI response cache lookups")
+            .tag("family", family.name().toLowerCase())
+            .tag("result", result)
+            .register(meterRegistry);
+    }
+
+    private Counter savedBytes(PromptFamily family) {
+        return Counter.builder("ai.response.cache.saved")
+            .description("Response content served from cache instead of the model")
+            .baseUnit("bytes")
+            .tag("family", family.name().toLowerCase())
+            .register(meterRegistry);
+    }
+
+    private static long contentBytes(ChatResponse response) {
+        long bytes = 0;
+        for (Generation generation : response.getResults()) {
+            String content = generation.getOutput().getContent();
+            if (content != null) {
+                bytes += content.getBytes(StandardCharsets.UTF_8).length;
+            }
+        }
+        return bytes;
+    }
+
+    private static String normalize(String content) {
+        if (content == null) {
+            return "";
+        }
+        // Keep paragraph breaks, they separate the query from its context
+        return content.toLowerCase(Locale.ROOT)
+            .replaceAll("[ \\t\\x0B\\f\\r]+", " ")
+            .replaceAll(" ?\\n ?", "\n")
+            .replaceAll("\\n{3,}", "\n\n")
+            .trim();
+    }
+
+    private static String canonical(Object value) {
+        if (value instanceof Map<?, ?> map) {
+            TreeMap<String, Object> sorted = new TreeMap<>();
+            map.forEach((key, item) -> {
+                if (!VOLATILE_CONTEXT_KEYS.contains(String.valueOf(key))
+                        && !(item instanceof TemporalAccessor) && !(item instanceof Date)) {
+                    sorted.put(String.valueOf(key), item);
+                }
+            });
+            StringBuilder out = new StringBuilder("{");
+            sorted.forEach((key, item) -> out.append(key).append('=').append(canonical(item)).append(';'));
+            return out.append('}').toString();
+        }
+        if (value instanceof Collection<?> collection) {
+            StringBuilder out = new StringBuilder("[");
+            collection.forEach(item -> out.append(canonical(item)).append(';'));
+            return out.append(']').toString();
+        }
+        return value instanceof String text ? normalize(text) : String.valueOf(value);
+    }
+
+    private static String[] tokens(String text) {
+        return text.split("[^\\p{L}\\p{N}]+");
+    }
+
+    private static int tokenCount(String text) {
+        int count = 0;
+        for (String token : tokens(text)) {
+            if (!token.isEmpty()) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private static long simHash(String text) {
+        int[] weights = new int[64];
+        for (String token : tokens(text)) {
+            if (token.isEmpty()) {
+                continue;
+            }
+            long hash = fnv1a64(token);
+            for (int bit = 0; bit < 64; bit++) {
+                weights[bit] += ((hash >>> bit) & 1L) == 1L ? 1 : -1;
+            }
+        }
+        
+        long fingerprint = 0;
+        for (int bit = 0; bit < 64; bit++) {
+            if (weights[bit] > 0) {
+                fingerprint |= 1L << bit;
+            }
+        }
+        return fingerprint;
+    }
+
+    private static long fnv1a64(String token) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < token.length(); i++) {
+            hash ^= token.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
+
+    private static String sha256(String value) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(value.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * Lookup key for a prompt
+     */
+    public record CacheKey(PromptFamily family, String exact, String fingerprint, long simHash, int tokens) {
+    }
+
+    private record CacheEntry(CacheKey key, ChatResponse response, long bytes, long expiresAt) {
+
+        boolean isExpired(long now) {
+            return now >= expiresAt;
+        }
+    }
+}
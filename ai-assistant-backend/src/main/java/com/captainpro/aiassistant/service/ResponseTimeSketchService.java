@@ -0,0 +1,190 @@
+package com.captainpro.aiassistant.service;
+
+import com.captainpro.aiassistant.entity.InteractionRollup.Granularity;
+import com.captainpro.aiassistant.entity.ResponseTimeSketch;
+import com.captainpro.aiassistant.model.InteractionEvent;
+import com.captainpro.aiassistant.model.ResponseTimeStats;
+import com.captainpro.aiassistant.repository.ResponseTimeSketchRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+
+/**
+ * Response Time Sketch Service
+ *
+ * Maintains response-time distributions per interaction type including:
+ * - Hourly and daily buckets holding a mergeable quantile sketch plus exact count, min, max and sum
+ * - Buckets merged with each ingestion batch that carries response times, under a row
+ *   lock; missing buckets are inserted through {@link BucketRowInserter}
+ * - Response times recorded only by server-side call sites; client-tracked events
+ *   have the key stripped before they are queued
+ * - Range reads that merge hourly buckets for a partial leading day with daily buckets,
+ *   so p50/p95/p99 never require scanning user_interactions
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ResponseTimeSketchService {
+
+    public static final String RESPONSE_TIME_KEY = "responseTimeMs";
+
+    private static final String INSERT_SQL =
+        "INSERT INTO response_time_sketches " +
+        "(id, interaction_type, granularity, bucket_start, sample_count, min_ms, max_ms, sum_ms, sketch) " +
+        "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final Comparator<SketchKey> KEY_ORDER = Comparator
+        .comparing(SketchKey::interactionType)
+        .thenComparing(SketchKey::granularity)
+        .thenComparing(SketchKey::bucketStart);
+
+    private final BucketRowInserter rowInserter;
+    private final SequenceIdAllocator idAllocator;
+    private final ResponseTimeSketchRepository sketchRepository;
+
+    /**
+     * Response time carried by an event, or null if it has none
+     */
+    public static Long responseTime(InteractionEvent event) {
+        Object value = event.metadata().get(RESPONSE_TIME_KEY);
+        return value instanceof Number number && number.longValue() >= 0 ? number.longValue() : null;
+    }
+
+    /**
+     * Merge the response times of a batch of interaction events into their buckets.
+     * Must run inside the transaction that writes the raw events.
+     */
+    public void apply(List<InteractionEvent> batch) {
+        Map<SketchKey, Accumulator> buckets = new TreeMap<>(KEY_ORDER);
+
+        for (InteractionEvent event : batch) {
+            Long responseTime = responseTime(event);
+            if (responseTime == null) {
+                continue;
+            }
+            LocalDateTime hour = event.timestamp().truncatedTo(ChronoUnit.HOURS);
+            LocalDateTime day = event.timestamp().truncatedTo(ChronoUnit.DAYS);
+
+            buckets.computeIfAbsent(new SketchKey(event.action(), Granularity.HOURLY, hour), key -> new Accumulator())
+                .add(responseTime);
+            buckets.computeIfAbsent(new SketchKey(event.action(), Granularity.DAILY, day), key -> new Accumulator())
+                .add(responseTime);
+        }
+        if (buckets.isEmpty()) {
+            return;
+        }
+
+        // Sorted keys keep row lock order stable across concurrent writers
+        buckets.forEach((key, acc) -> {
+            Optional<ResponseTimeSketch> existing = lockBucket(key);
+            if (existing.isPresent()) {
+                acc.mergeInto(existing.get());
+            } else if (!rowInserter.insertIfAbsent(INSERT_SQL,
+                    idAllocator.nextId("response_time_sketches_seq"), key.interactionType(),
+                    key.granularity().name(), Timestamp.valueOf(key.bucketStart()),
+                    acc.count, acc.min, acc.max, acc.sum, acc.sketch.toBytes())) {
+                // Inserted concurrently by another writer since the lock attempt
+                lockBucket(key).ifPresent(acc::mergeInto);
+            }
+        });
+
+        log.debug("Merged response times into {} sketch buckets", buckets.size());
+    }
+
+    /**
+     * Response-time statistics per interaction type from {@code from} (truncated to the hour) until now
+     */
+    @Transactional(readOnly = true)
+    public Map<String, ResponseTimeStats> loadSince(LocalDateTime from) {
+        Map<String, Accumulator> byType = new TreeMap<>();
+        for (ResponseTimeSketch bucket : findBucketsSince(from)) {
+            byType.computeIfAbsent(bucket.getInteractionType(), type -> new Accumulator()).add(bucket);
+        }
+
+        Map<String, ResponseTimeStats> stats = new LinkedHashMap<>();
+        byType.forEach((type, acc) -> stats.put(type, acc.toStats()));
+        return stats;
+    }
+
+    /**
+     * Response-time statistics over all interaction types from {@code from} until now
+     */
+    @Transactional(readOnly = true)
+    public ResponseTimeStats loadOverallSince(LocalDateTime from) {
+        Accumulator overall = new Accumulator();
+        findBucketsSince(from).forEach(overall::add);
+        return overall.toStats();
+    }
+
+    // Helper methods
+
+    private Optional<ResponseTimeSketch> lockBucket(SketchKey key) {
+        return sketchRepository.lockBucket(key.interactionType(), key.granularity(), key.bucketStart());
+    }
+
+    private List<ResponseTimeSketch> findBucketsSince(LocalDateTime from) {
+        LocalDateTime start = from.truncatedTo(ChronoUnit.HOURS);
+        LocalDateTime startDay = start.truncatedTo(ChronoUnit.DAYS);
+        LocalDateTime firstFullDay = start.equals(startDay) ? startDay : startDay.plusDays(1);
+        LocalDateTime end = LocalDateTime.now().truncatedTo(ChronoUnit.DAYS).plusDays(1);
+
+        // Partial leading day comes from hourly buckets
+        List<ResponseTimeSketch> buckets = new ArrayList<>(
+            sketchRepository.findBuckets(Granularity.HOURLY, start, firstFullDay));
+        buckets.addAll(sketchRepository.findBuckets(Granularity.DAILY, firstFullDay, end));
+        return buckets;
+    }
+
+    private record SketchKey(String interactionType, Granularity granularity, LocalDateTime bucketStart) {
+    }
+
+    private static final class Accumulator {
+        private final QuantileSketch sketch = new QuantileSketch();
+        private long count;
+        private long min = Long.MAX_VALUE;
+        private long max = Long.MIN_VALUE;
+        private long sum;
+
+        private void add(long responseTime) {
+            sketch.record(responseTime);
+            count++;
+            min = Math.min(min, responseTime);
+            max = Math.max(max, responseTime);
+            sum += responseTime;
+        }
+
+        private void add(ResponseTimeSketch bucket) {
+            if (bucket.getSampleCount() == 0) {
+                return;
+            }
+            sketch.merge(QuantileSketch.fromBytes(bucket.getSketch()));
+            count += bucket.getSampleCount();
+            min = Math.min(min, bucket.getMinMs());
+            max = Math.max(max, bucket.getMaxMs());
+            sum += bucket.getSumMs();
+        }
+
+        private void mergeInto(ResponseTimeSketch bucket) {
+            add(bucket);
+            bucket.setSketch(sketch.toBytes());
+            bucket.setSampleCount(count);
+            bucket.setMinMs(min);
+            bucket.setMaxMs(max);
+            bucket.setSumMs(sum);
+        }
+
+        private ResponseTimeStats toStats() {
+            if (count == 0) {
+                return new ResponseTimeStats(0, 0, 0, 0, 0, 0, 0);
+            }
+            return new ResponseTimeStats(count, min, max, (double) sum / count,
+                sketch.quantile(0.50), sketch.quantile(0.95), sketch.quantile(0.99));
+        }
+    }
+}
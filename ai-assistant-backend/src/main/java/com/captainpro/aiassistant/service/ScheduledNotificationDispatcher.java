@@ -0,0 +1,56 @@
+package com.captainpro.aiassistant.service;
+
+import com.captainpro.aiassistant.entity.Notification;
+import com.captainpro.aiassistant.model.ScheduledTask;
+import com.captainpro.aiassistant.repository.NotificationRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Scheduled Notification Dispatcher
+ *
+ * Time wheel source for notifications with status SCHEDULED. When a batch comes
+ * due, the rows still waiting are locked and their delivery is recorded in the
+ * outbox in the same transaction, so a claimed notification is never lost.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ScheduledNotificationDispatcher implements ScheduledTaskSource {
+
+    public static final String SOURCE = "notifications";
+
+    private final NotificationRepository notificationRepository;
+    private final NotificationService notificationService;
+
+    @Override
+    public String name() {
+        return SOURCE;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<ScheduledTask> findDue(LocalDateTime from, long afterId, LocalDateTime to, int limit) {
+        return notificationRepository.findScheduledWindow(from, afterId, to, PageRequest.of(0, limit));
+    }
+
+    @Override
+    @Transactional
+    public void fire(List<String> keys) {
+        List<Long> ids = keys.stream().map(Long::valueOf).toList();
+        List<Notification> claimed = notificationRepository.lockScheduledForDispatch(ids);
+        if (claimed.isEmpty()) {
+            return;
+        }
+
+        notificationService.enqueueDeliveries(claimed);
+        log.info("Dispatching {} scheduled notifications ({} already claimed elsewhere)",
+                claimed.size(), keys.size() - claimed.size());
+    }
+}
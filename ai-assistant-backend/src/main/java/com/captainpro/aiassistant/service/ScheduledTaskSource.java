@@ -0,0 +1,33 @@
+package com.captainpro.aiassistant.service;
+
+import com.captainpro.aiassistant.model.ScheduledTask;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Scheduled Task Source
+ *
+ * A table of time-triggered work that the {@link TimeWheelScheduler} loads ahead
+ * of time in windows and fires in batches once due.
+ */
+public interface ScheduledTaskSource {
+
+    /**
+     * Unique source name, used for metrics and {@link TimeWheelScheduler#offer}
+     */
+    String name();
+
+    /**
+     * Tasks due before {@code to} that come after {@code (from, afterId)} in (due time, ID)
+     * order, ordered that way, at most {@code limit}. Pass {@link Long#MIN_VALUE} as
+     * {@code afterId} to include every task due at {@code from}.
+     */
+    List<ScheduledTask> findDue(LocalDateTime from, long afterId, LocalDateTime to, int limit);
+
+    /**
+     * Run the given due tasks. Called on the scheduler executor; other nodes may fire
+     * the same keys, so implementations claim each task before running it.
+     */
+    void fire(List<String> keys);
+}
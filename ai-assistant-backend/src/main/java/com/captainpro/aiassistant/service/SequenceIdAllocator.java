@@ -0,0 +1,60 @@
+package com.captainpro.aiassistant.service;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.dialect.Dialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Sequence ID Allocator
+ * 
+ * Hands out entity IDs for rows written with plain JDBC, using the same pooled
+ * scheme as Hibernate: every sequence call reserves a block of {@link #POOL_SIZE}
+ * IDs ending at the returned value. JDBC writers and Hibernate can therefore share
+ * a sequence without colliding.
+ */
+@Component
+public class SequenceIdAllocator {
+
+    /**
+     * Allocation size of the entity sequences. Must match their {@code allocationSize}.
+     */
+    public static final int POOL_SIZE = 50;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Dialect dialect;
+    private final Map<String, Block> blocks = new ConcurrentHashMap<>();
+
+    public SequenceIdAllocator(JdbcTemplate jdbcTemplate, EntityManagerFactory entityManagerFactory) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.dialect = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+            .getJdbcServices()
+            .getDialect();
+    }
+
+    /**
+     * Allocate the next ID from the named sequence
+     */
+    public long nextId(String sequenceName) {
+        Block block = blocks.computeIfAbsent(sequenceName, name -> new Block());
+        
+        synchronized (block) {
+            if (block.next > block.hi) {
+                long hi = jdbcTemplate.queryForObject(
+                    dialect.getSequenceSupport().getSequenceNextValString(sequenceName), Long.class);
+                block.hi = hi;
+                block.next = Math.max(1, hi - POOL_SIZE + 1);
+            }
+            return block.next++;
+        }
+    }
+
+    private static final class Block {
+        private long next = 1;
+        private long hi = 0;
+    }
+}
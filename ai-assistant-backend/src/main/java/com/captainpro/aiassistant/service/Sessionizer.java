@@ -0,0 +1,209 @@
+package com.captainpro.aiassistant.service;
+
+import com.captainpro.aiassistant.entity.UserSession.CloseReason;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.github.benmanes.caffeine.cache.Scheduler;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Sessionizer
+ *
+ * Assigns session IDs to interactions as they are tracked:
+ * - A session is a run of one user's interactions with no gap longer than the inactivity gap;
+ *   the next interaction after a longer gap starts a new session
+ * - Open sessions live in a bounded in-memory map; a session is closed when its gap expires,
+ *   or early when the map is full and it is the least recently active
+ * - Closed sessions are summarised (duration, action count, first and last action) and
+ *   written to user_sessions in batches; open sessions are closed on shutdown
+ *
+ * Sessions are tracked per node, so a user whose requests alternate between nodes gets one
+ * session per node. Session IDs carry a random suffix so sessions opened on different nodes
+ * never collide.
+ */
+@Component
+@Slf4j
+public class Sessionizer {
+
+    private static final String INSERT_SESSION_SQL =
+        "INSERT INTO user_sessions " +
+        "(id, session_id, user_id, started_at, ended_at, duration_ms, action_count, first_action, last_action, close_reason) " +
+        "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final SequenceIdAllocator idAllocator;
+    private final MeterRegistry meterRegistry;
+
+    private final Queue<ClosedSession> closed = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger closedCount = new AtomicInteger();
+
+    @Value("${app.analytics.sessions.inactivity-gap:1800000}")
+    private long inactivityGap;
+
+    @Value("${app.analytics.sessions.max-open:100000}")
+    private long maxOpen;
+
+    @Value("${app.analytics.sessions.max-pending:50000}")
+    private int maxPending;
+
+    private Cache<String, OpenSession> open;
+    private Counter dropped;
+
+    public Sessionizer(JdbcTemplate jdbcTemplate, SequenceIdAllocator idAllocator, MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.idAllocator = idAllocator;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @PostConstruct
+    public void init() {
+        // The scheduler expires idle sessions promptly instead of on the next cache access
+        open = Caffeine.newBuilder()
+            .maximumSize(maxOpen)
+            .expireAfterAccess(Duration.ofMillis(inactivityGap))
+            .scheduler(Scheduler.systemScheduler())
+            .executor(Runnable::run)
+            .removalListener((String userId, OpenSession session, RemovalCause cause) -> {
+                if (session != null && cause != RemovalCause.REPLACED) {
+                    close(session, cause == RemovalCause.SIZE ? CloseReason.EVICTED
+                        : cause == RemovalCause.EXPIRED ? CloseReason.INACTIVE : CloseReason.SHUTDOWN);
+                }
+            })
+            .build();
+
+        Gauge.builder("analytics.sessions.open", open, Cache::estimatedSize)
+            .description("Sessions open on this node")
+            .register(meterRegistry);
+        dropped = Counter.builder("analytics.sessions.dropped")
+            .description("Closed sessions dropped before they were written")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Session of an interaction, opening a new one if the user's last interaction
+     * is older than the inactivity gap
+     */
+    public String assign(String userId, String action, LocalDateTime timestamp) {
+        OpenSession session = open.asMap().compute(userId, (id, current) -> {
+            if (current != null && !timestamp.isAfter(current.lastSeen.plus(Duration.ofMillis(inactivityGap)))) {
+                current.add(action, timestamp);
+                return current;
+            }
+            if (current != null) {
+                close(current, CloseReason.INACTIVE);
+            }
+            return new OpenSession(userId, action, timestamp);
+        });
+        return session.sessionId;
+    }
+
+    /**
+     * Write the sessions closed since the previous flush
+     */
+    @Scheduled(fixedDelayString = "${app.analytics.sessions.flush-interval:10000}")
+    public void flush() {
+        open.cleanUp();
+
+        List<Object[]> rows = new ArrayList<>();
+        ClosedSession session;
+        while ((session = closed.poll()) != null) {
+            closedCount.decrementAndGet();
+            rows.add(session.toRow(idAllocator.nextId("user_sessions_seq")));
+        }
+        if (rows.isEmpty()) {
+            return;
+        }
+
+        try {
+            jdbcTemplate.batchUpdate(INSERT_SESSION_SQL, rows);
+            log.debug("Wrote {} closed sessions", rows.size());
+        } catch (Exception e) {
+            dropped.increment(rows.size());
+            log.error("Failed to write {} closed sessions", rows.size(), e);
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        open.invalidateAll();
+        open.cleanUp();
+        flush();
+    }
+
+    // Helper methods
+
+    private void close(OpenSession session, CloseReason reason) {
+        if (closedCount.incrementAndGet() > maxPending) {
+            closedCount.decrementAndGet();
+            dropped.increment();
+            return;
+        }
+        closed.add(session.close(reason));
+    }
+
+    private static final class OpenSession {
+        private final String sessionId;
+        private final String userId;
+        private final String firstAction;
+        private final LocalDateTime startedAt;
+        private String lastAction;
+        private LocalDateTime lastSeen;
+        private long actionCount;
+
+        private OpenSession(String userId, String action, LocalDateTime timestamp) {
+            // Random suffix keeps IDs unique when two nodes open a session for the same user in the same millisecond
+            this.sessionId = userId + "_" + timestamp.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli()
+                + "_" + String.format("%08x", ThreadLocalRandom.current().nextInt());
+            this.userId = userId;
+            this.firstAction = action;
+            this.startedAt = timestamp;
+            this.lastAction = action;
+            this.lastSeen = timestamp;
+            this.actionCount = 1;
+        }
+
+        private void add(String action, LocalDateTime timestamp) {
+            actionCount++;
+            if (!timestamp.isBefore(lastSeen)) {
+                lastAction = action;
+                lastSeen = timestamp;
+            }
+        }
+
+        private ClosedSession close(CloseReason reason) {
+            return new ClosedSession(sessionId, userId, startedAt, lastSeen, actionCount, firstAction, lastAction, reason);
+        }
+    }
+
+    private record ClosedSession(String sessionId, String userId, LocalDateTime startedAt, LocalDateTime endedAt,
+                                 long actionCount, String firstAction, String lastAction, CloseReason reason) {
+
+        private Object[] toRow(long id) {
+            return new Object[] {
+                id, sessionId, userId, Timestamp.valueOf(startedAt), Timestamp.valueOf(endedAt),
+                Duration.between(startedAt, endedAt).toMillis(), actionCount, firstAction, lastAction, reason.name()
+            };
+        }
+    }
+}
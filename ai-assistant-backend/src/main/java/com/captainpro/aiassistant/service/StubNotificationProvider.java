@@ -0,0 +1,59 @@
+package com.captainpro.aiassistant.service;
+
+import com.captainpro.aiassistant.model.NotificationChannel;
+import com.captainpro.aiassistant.model.NotificationDelivery;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Stub Notification Provider
+ *
+ * Local stand-in for a real channel provider. Deliveries sharing a message are sent
+ * as one multi-recipient call of up to {@code recipientsPerCall}, each call taking
+ * {@code callLatency}, so delivery throughput can be measured without external services.
+ */
+@Slf4j
+public class StubNotificationProvider implements NotificationProvider {
+
+    private final NotificationChannel channel;
+    private final Duration callLatency;
+    private final int recipientsPerCall;
+
+    public StubNotificationProvider(NotificationChannel channel, Duration callLatency, int recipientsPerCall) {
+        this.channel = channel;
+        this.callLatency = callLatency;
+        this.recipientsPerCall = Math.max(1, recipientsPerCall);
+    }
+
+    @Override
+    public NotificationChannel channel() {
+        return channel;
+    }
+
+    @Override
+    public List<NotificationDelivery> send(List<NotificationDelivery> batch) throws InterruptedException {
+        Map<String, List<NotificationDelivery>> byMessage = new LinkedHashMap<>();
+        batch.forEach(delivery -> byMessage.computeIfAbsent(delivery.message(), message -> new ArrayList<>()).add(delivery));
+
+        int calls = 0;
+        for (List<NotificationDelivery> group : byMessage.values()) {
+            for (int start = 0; start < group.size(); start += recipientsPerCall) {
+                List<NotificationDelivery> call = group.subList(start, Math.min(group.size(), start + recipientsPerCall));
+                if (!callLatency.isZero()) {
+                    Thread.sleep(callLatency.toMillis());
+                }
+                calls++;
+                log.debug("Stub {} call delivered notification {} to {} recipients",
+                        channel.key(), call.get(0).notificationId(), call.size());
+            }
+        }
+
+        log.debug("Stub {} provider sent {} deliveries in {} calls", channel.key(), batch.size(), calls);
+        return List.of();
+    }
+}
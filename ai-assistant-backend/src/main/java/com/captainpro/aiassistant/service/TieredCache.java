@@ -0,0 +1,330 @@
+package com.captainpro.aiassistant.service;
+
+import com.captainpro.aiassistant.config.TieredCacheProperties.Region;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.support.SimpleValueWrapper;
+
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tiered Cache
+ *
+ * Spring cache region backed by an in-process Caffeine L1 in front of a shared
+ * Redis L2. Reads are served from L1 when possible and L1 is filled from L2 on
+ * a miss. Writes go to both tiers and tell the other nodes to drop their L1 copy.
+ *
+ * Stampede protection per key:
+ * - With {@code @Cacheable(sync = true)}, only one caller per node recomputes a missing
+ *   key; the others wait for its result. The lease is released whether the loader
+ *   returns or throws
+ * - Values may be recomputed early with probability rising towards expiry (XFetch),
+ *   while the other callers keep getting the current value
+ * - With {@code @Cacheable(sync = true)}, values past the refresh-ahead point are
+ *   recomputed in the background while the current value is served
+ *
+ * Lookups without sync take no lease: the caller may throw or have its result rejected
+ * by an {@code unless} condition and never come back, so nothing could release it.
+ */
+@Slf4j
+public class TieredCache implements org.springframework.cache.Cache {
+
+    private final String name;
+    private final Region region;
+    private final Cache<String, CacheEnvelope> local;
+    private final org.springframework.cache.Cache remote;
+    private final CacheInvalidationBus invalidationBus;
+    private final Executor refreshExecutor;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Lease> leases = new ConcurrentHashMap<>();
+    private final Cache<String, Miss> misses;
+
+    public TieredCache(String name,
+                       Region region,
+                       Cache<String, CacheEnvelope> local,
+                       org.springframework.cache.Cache remote,
+                       CacheInvalidationBus invalidationBus,
+                       Executor refreshExecutor,
+                       MeterRegistry meterRegistry) {
+        this.name = name;
+        this.region = region;
+        this.local = local;
+        this.remote = remote;
+        this.invalidationBus = invalidationBus;
+        this.refreshExecutor = refreshExecutor;
+        this.meterRegistry = meterRegistry;
+        // Only times recomputations for XFetch; entries of callers that never put simply expire
+        this.misses = Caffeine.newBuilder()
+            .maximumSize(10_000)
+            .expireAfterWrite(region.getLockTimeout())
+            .build();
+
+        invalidationBus.register(name, invalidation -> {
+            if (invalidation.key() == null) {
+                local.invalidateAll();
+            } else {
+                local.invalidate(invalidation.key());
+            }
+        });
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return remote.getNativeCache();
+    }
+
+    /**
+     * Lookup used by {@code @Cacheable} without sync. A null result makes the caller
+     * compute the value and {@link #put} it; concurrent callers of a missing key each
+     * compute it, since no lease is taken here.
+     */
+    @Override
+    public ValueWrapper get(Object key) {
+        String localKey = localKey(key);
+        CacheEnvelope envelope = lookup(key, localKey);
+        if (envelope != null && !expiresEarly(envelope, System.currentTimeMillis())) {
+            return new SimpleValueWrapper(envelope.value());
+        }
+
+        misses.put(localKey, new Miss(envelope == null ? "miss" : "early_expiration", System.nanoTime()));
+        return null;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Class<T> type) {
+        ValueWrapper wrapper = get(key);
+        Object value = wrapper != null ? wrapper.get() : null;
+        if (value != null && type != null && !type.isInstance(value)) {
+            throw new IllegalStateException(
+                "Cached value is not of required type [" + type.getName() + "]: " + value);
+        }
+        return (T) value;
+    }
+
+    /**
+     * Lookup used by {@code @Cacheable(sync = true)}
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        String localKey = localKey(key);
+        long now = System.currentTimeMillis();
+        CacheEnvelope envelope = lookup(key, localKey);
+
+        if (envelope != null) {
+            if (refreshAheadDue(envelope, now)) {
+                refreshInBackground(key, localKey, valueLoader);
+                return (T) envelope.value();
+            }
+            if (!expiresEarly(envelope, now)) {
+                return (T) envelope.value();
+            }
+        }
+
+        Lease lease = acquire(localKey, envelope == null ? "miss" : "early_expiration");
+        if (lease == null) {
+            if (envelope != null) {
+                return (T) envelope.value();
+            }
+            CacheEnvelope computed = await(localKey);
+            if (computed != null) {
+                return (T) computed.value();
+            }
+            // The other caller gave up; compute without holding the lease
+            lease = new Lease("lock_timeout", System.nanoTime(), 0);
+        }
+
+        return (T) load(key, localKey, lease, valueLoader).value();
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        String localKey = localKey(key);
+        Miss miss = misses.asMap().remove(localKey);
+
+        store(key, localKey, value, miss != null ? miss.elapsedMillis() : 0);
+        recomputed(miss != null ? miss.reason() : "put");
+    }
+
+    @Override
+    public void evict(Object key) {
+        remote.evict(key);
+        local.invalidate(localKey(key));
+        invalidationBus.publishEvict(name, localKey(key));
+    }
+
+    @Override
+    public void clear() {
+        remote.clear();
+        local.invalidateAll();
+        invalidationBus.publishClear(name);
+    }
+
+    // Helper methods
+
+    private CacheEnvelope lookup(Object key, String localKey) {
+        CacheEnvelope cached = local.getIfPresent(localKey);
+        if (cached != null) {
+            return cached;
+        }
+
+        ValueWrapper stored = remote.get(key);
+        if (stored == null) {
+            return null;
+        }
+
+        CacheEnvelope envelope = stored.get() instanceof CacheEnvelope found
+            ? found
+            : new CacheEnvelope(stored.get(), System.currentTimeMillis(), 0);
+        local.put(localKey, envelope);
+        return envelope;
+    }
+
+    private CacheEnvelope store(Object key, String localKey, Object value, long computeMillis) {
+        CacheEnvelope envelope = new CacheEnvelope(value, System.currentTimeMillis(), computeMillis);
+        remote.put(key, envelope);
+        local.put(localKey, envelope);
+        invalidationBus.publishEvict(name, localKey);
+        return envelope;
+    }
+
+    private CacheEnvelope load(Object key, String localKey, Lease lease, Callable<?> valueLoader) {
+        try {
+            Object value = valueLoader.call();
+            CacheEnvelope envelope = store(key, localKey, value, lease.elapsedMillis());
+            recomputed(lease.reason());
+            lease.result().complete(envelope);
+            return envelope;
+        } catch (Exception e) {
+            throw new ValueRetrievalException(key, valueLoader, e);
+        } finally {
+            // Releases waiters on every outcome, errors included; a no-op once the value was stored
+            leases.remove(localKey, lease);
+            lease.result().complete(null);
+        }
+    }
+
+    private void refreshInBackground(Object key, String localKey, Callable<?> valueLoader) {
+        Lease lease = acquire(localKey, "refresh_ahead");
+        if (lease == null) {
+            return;
+        }
+
+        try {
+            refreshExecutor.execute(() -> {
+                try {
+                    load(key, localKey, lease, valueLoader);
+                } catch (ValueRetrievalException e) {
+                    log.warn("Refresh-ahead of cache {} key {} failed", name, localKey, e.getCause());
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            leases.remove(localKey, lease);
+            lease.result().complete(null);
+        }
+    }
+
+    /**
+     * Take the right to compute a key. Returns null if another caller holds a live lease.
+     */
+    private Lease acquire(String localKey, String reason) {
+        long lockTimeout = region.getLockTimeout().toMillis();
+        Lease fresh = new Lease(reason, System.nanoTime(), System.currentTimeMillis() + lockTimeout);
+        Lease current = leases.putIfAbsent(localKey, fresh);
+        if (current == null) {
+            return fresh;
+        }
+
+        // A loader still running past the lock timeout no longer blocks others
+        if (current.expired() && leases.replace(localKey, current, fresh)) {
+            current.result().complete(null);
+            return fresh;
+        }
+        return null;
+    }
+
+    private CacheEnvelope await(String localKey) {
+        Lease lease = leases.get(localKey);
+        if (lease == null) {
+            return local.getIfPresent(localKey);
+        }
+
+        long remaining = Math.max(1, lease.expiresAt() - System.currentTimeMillis());
+        try {
+            return lease.result().get(remaining, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    private boolean expiresEarly(CacheEnvelope envelope, long now) {
+        double beta = region.getEarlyExpirationBeta();
+        if (beta <= 0 || envelope.computeMillis() <= 0) {
+            return false;
+        }
+
+        // XFetch: now - delta * beta * ln(rand) >= expiry
+        double gap = -envelope.computeMillis() * beta * Math.log(1.0 - ThreadLocalRandom.current().nextDouble());
+        return now + gap >= envelope.computedAt() + region.getTtl().toMillis();
+    }
+
+    private boolean refreshAheadDue(CacheEnvelope envelope, long now) {
+        double ratio = region.getRefreshAheadRatio();
+        return ratio > 0 && envelope.ageMillis(now) >= region.getTtl().toMillis() * ratio;
+    }
+
+    private void recomputed(String reason) {
+        Counter.builder("cache.recompute")
+            .description("Cache values computed and stored, by reason")
+            .tag("cache", name)
+            .tag("reason", reason)
+            .register(meterRegistry)
+            .increment();
+    }
+
+    private String localKey(Object key) {
+        // Matches the string form RedisCache uses, so invalidations can name keys across nodes
+        return String.valueOf(key);
+    }
+
+    private record Miss(String reason, long startedNanos) {
+
+        long elapsedMillis() {
+            return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedNanos);
+        }
+    }
+
+    private record Lease(String reason, long startedNanos, long expiresAt, CompletableFuture<CacheEnvelope> result) {
+
+        Lease(String reason, long startedNanos, long expiresAt) {
+            this(reason, startedNanos, expiresAt, new CompletableFuture<>());
+        }
+
+        long elapsedMillis() {
+            return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedNanos);
+        }
+
+        boolean expired() {
+            return System.currentTimeMillis() >= expiresAt;
+        }
+    }
+}
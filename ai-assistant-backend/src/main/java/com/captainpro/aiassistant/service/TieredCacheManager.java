@@ -0,0 +1,79 @@
+package com.captainpro.aiassistant.service;
+
+import com.captainpro.aiassistant.config.TieredCacheProperties;
+import com.captainpro.aiassistant.config.TieredCacheProperties.Region;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.redis.cache.RedisCacheManager;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+
+/**
+ * Tiered Cache Manager
+ *
+ * Creates one {@link TieredCache} per cache name, each with its own:
+ * - Redis (L2) TTL
+ * - In-process (L1) TTL and maximum size
+ * - Hit/miss metrics for the L1 tier
+ * - Early expiration, refresh-ahead and lock timeout settings
+ */
+@Slf4j
+public class TieredCacheManager implements CacheManager {
+
+    private final RedisCacheManager redisCacheManager;
+    private final CacheInvalidationBus invalidationBus;
+    private final TieredCacheProperties properties;
+    private final Executor refreshExecutor;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Cache> caches = new ConcurrentHashMap<>();
+
+    public TieredCacheManager(RedisCacheManager redisCacheManager,
+                              CacheInvalidationBus invalidationBus,
+                              TieredCacheProperties properties,
+                              Executor refreshExecutor,
+                              MeterRegistry meterRegistry) {
+        this.redisCacheManager = redisCacheManager;
+        this.invalidationBus = invalidationBus;
+        this.properties = properties;
+        this.refreshExecutor = refreshExecutor;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public Cache getCache(String name) {
+        return caches.computeIfAbsent(name, this::createCache);
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return Collections.unmodifiableSet(caches.keySet());
+    }
+
+    // Helper methods
+
+    private Cache createCache(String name) {
+        Region region = properties.regionFor(name);
+        Cache remote = redisCacheManager.getCache(name);
+
+        com.github.benmanes.caffeine.cache.Cache<String, CacheEnvelope> local = Caffeine.newBuilder()
+            .maximumSize(region.getLocalMaxSize())
+            .expireAfterWrite(region.effectiveLocalTtl())
+            .recordStats()
+            .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, local, name, Tags.of("tier", "l1"));
+
+        log.info("Created tiered cache '{}' - ttl: {}, local ttl: {}, local max size: {}, beta: {}, refresh-ahead: {}",
+                name, region.getTtl(), region.effectiveLocalTtl(), region.getLocalMaxSize(),
+                region.getEarlyExpirationBeta(), region.getRefreshAheadRatio());
+        return new TieredCache(name, region, local, remote, invalidationBus, refreshExecutor, meterRegistry);
+    }
+}
@@ -0,0 +1,313 @@
+package com.captainpro.aiassistant.service;
+
+import com.captainpro.aiassistant.model.ScheduledTask;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Time Wheel Scheduler
+ *
+ * Fires persisted, time-triggered tasks without per-task threads or tight polling:
+ * - Every load interval, each {@link ScheduledTaskSource} is asked for tasks due
+ *   before now + horizon, continuing from where its previous window ended; windows are
+ *   paged by (due time, ID), so any number of tasks may share one due time
+ * - Loaded tasks wait in a hierarchical {@link TimingWheel} ticked by a single thread
+ * - Tasks coming due in the same tick are handed to their source in batches
+ * - Tasks created inside an already-loaded window are offered directly; the offer
+ *   watermark is raised before a window is queried, so a task committed meanwhile is
+ *   either offered or loaded, never neither
+ *
+ * Sources claim what they fire, so several nodes may load the same window safely.
+ */
+@Component
+@Slf4j
+public class TimeWheelScheduler {
+
+    private static final ZoneId ZONE = ZoneId.systemDefault();
+
+    private final ObjectProvider<ScheduledTaskSource> sourceProvider;
+    private final Executor schedulerExecutor;
+    private final MeterRegistry meterRegistry;
+
+    private final Map<String, ScheduledTaskSource> sources = new ConcurrentHashMap<>();
+    private final Map<String, LocalDateTime> loadedUntil = new ConcurrentHashMap<>();
+    private final Map<String, LoadPosition> loadPositions = new ConcurrentHashMap<>();
+    private final Map<TaskKey, TimingWheel.Entry<TaskKey>> pending = new HashMap<>();
+    private final Object lock = new Object();
+
+    private TimingWheel<TaskKey> wheel;
+    private ScheduledExecutorService ticker;
+
+    @Value("${app.scheduler.tick:200}")
+    private long tickMs;
+
+    @Value("${app.scheduler.wheel-size:512}")
+    private int wheelSize;
+
+    @Value("${app.scheduler.horizon:600000}")
+    private long horizon;
+
+    @Value("${app.scheduler.catch-up:3600000}")
+    private long catchUp;
+
+    @Value("${app.scheduler.load-batch-size:10000}")
+    private int loadBatchSize;
+
+    @Value("${app.scheduler.fire-batch-size:500}")
+    private int fireBatchSize;
+
+    public TimeWheelScheduler(ObjectProvider<ScheduledTaskSource> sourceProvider,
+                              @Qualifier("schedulerExecutor") Executor schedulerExecutor,
+                              MeterRegistry meterRegistry) {
+        this.sourceProvider = sourceProvider;
+        this.schedulerExecutor = schedulerExecutor;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Start ticking once the application is ready; sources are resolved lazily so they
+     * may themselves depend on services that offer tasks to this scheduler
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        sourceProvider.orderedStream().forEach(source -> sources.put(source.name(), source));
+
+        synchronized (lock) {
+            wheel = new TimingWheel<>(tickMs, wheelSize, System.currentTimeMillis());
+        }
+        Gauge.builder("scheduler.pending", pending, map -> {
+                synchronized (lock) {
+                    return map.size();
+                }
+            })
+            .description("Tasks waiting in the time wheel")
+            .register(meterRegistry);
+
+        ticker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "time-wheel");
+            thread.setDaemon(true);
+            return thread;
+        });
+        ticker.scheduleAtFixedRate(this::tick, tickMs, tickMs, TimeUnit.MILLISECONDS);
+
+        log.info("Time wheel scheduler started with sources {} ({} ms tick, {} ms horizon)",
+                sources.keySet(), tickMs, horizon);
+        loadWindows();
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (ticker != null) {
+            ticker.shutdownNow();
+        }
+    }
+
+    /**
+     * Load the next window of due tasks from every source
+     */
+    @Scheduled(fixedDelayString = "${app.scheduler.load-interval:60000}")
+    public void loadWindows() {
+        if (ticker == null) {
+            return;
+        }
+
+        LocalDateTime to = LocalDateTime.now().plus(Duration.ofMillis(horizon));
+        for (ScheduledTaskSource source : sources.values()) {
+            try {
+                loadWindow(source, to);
+            } catch (Exception e) {
+                log.warn("Failed to load scheduled tasks from {}: {}", source.name(), e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Offer a task created or moved after its window was loaded; tasks beyond the
+     * loaded window are left for the loader
+     */
+    public void offer(String source, String key, LocalDateTime dueAt) {
+        LocalDateTime watermark = loadedUntil.get(source);
+        if (ticker != null && watermark != null && dueAt.isBefore(watermark)) {
+            schedule(new TaskKey(source, key), dueAt);
+        }
+    }
+
+    /**
+     * Offer a task once the current transaction commits, so it never fires before its row is visible
+     */
+    public void offerAfterCommit(String source, String key, LocalDateTime dueAt) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            offer(source, key, dueAt);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                offer(source, key, dueAt);
+            }
+        });
+    }
+
+    /**
+     * Drop a pending task, e.g. when it was cancelled or rescheduled
+     */
+    public void cancel(String source, String key) {
+        synchronized (lock) {
+            TimingWheel.Entry<TaskKey> entry = pending.remove(new TaskKey(source, key));
+            if (entry != null) {
+                entry.cancelled = true;
+            }
+        }
+    }
+
+    // Helper methods
+
+    private void loadWindow(ScheduledTaskSource source, LocalDateTime to) {
+        String name = source.name();
+        // Offers below the watermark go straight to the wheel; raising it before the queries
+        // below means a task committed while they run is seen by them or offered directly
+        loadedUntil.merge(name, to, (current, next) -> next.isAfter(current) ? next : current);
+
+        LoadPosition position = loadPositions.getOrDefault(name,
+            new LoadPosition(LocalDateTime.now().minus(Duration.ofMillis(catchUp)), Long.MIN_VALUE));
+        int loaded = 0;
+        List<ScheduledTask> page;
+        do {
+            page = source.findDue(position.dueAt(), position.afterId(), to, loadBatchSize);
+            page.forEach(task -> schedule(new TaskKey(name, task.key()), task.dueAt()));
+            loaded += page.size();
+
+            if (!page.isEmpty()) {
+                ScheduledTask last = page.get(page.size() - 1);
+                position = new LoadPosition(last.dueAt(), last.id());
+                // Keep the progress of a window that fails halfway
+                loadPositions.put(name, position);
+            }
+        } while (page.size() >= loadBatchSize);
+        loadPositions.put(name, new LoadPosition(to, Long.MIN_VALUE));
+
+        if (loaded > 0) {
+            Counter.builder("scheduler.loaded")
+                .tag("source", name)
+                .register(meterRegistry)
+                .increment(loaded);
+            log.debug("Loaded {} scheduled tasks from {} due before {}", loaded, name, to);
+        }
+    }
+
+    private void schedule(TaskKey key, LocalDateTime dueAt) {
+        long dueMs = dueAt.atZone(ZONE).toInstant().toEpochMilli();
+        List<TimingWheel.Entry<TaskKey>> due = new ArrayList<>();
+
+        synchronized (lock) {
+            TimingWheel.Entry<TaskKey> existing = pending.get(key);
+            if (existing != null) {
+                if (existing.dueMs == dueMs) {
+                    return;
+                }
+                existing.cancelled = true;
+            }
+
+            TimingWheel.Entry<TaskKey> entry = new TimingWheel.Entry<>(key, dueMs);
+            if (wheel.add(entry)) {
+                pending.put(key, entry);
+            } else {
+                pending.remove(key);
+                due.add(entry);
+            }
+        }
+
+        dispatch(due);
+    }
+
+    private void tick() {
+        List<TimingWheel.Entry<TaskKey>> due = new ArrayList<>();
+        try {
+            synchronized (lock) {
+                wheel.advance(System.currentTimeMillis(), due);
+                due.forEach(entry -> pending.remove(entry.task));
+            }
+            dispatch(due);
+        } catch (Exception e) {
+            log.error("Time wheel tick failed", e);
+        }
+    }
+
+    private void dispatch(List<TimingWheel.Entry<TaskKey>> due) {
+        if (due.isEmpty()) {
+            return;
+        }
+
+        Map<String, List<TimingWheel.Entry<TaskKey>>> bySource = new HashMap<>();
+        due.forEach(entry -> bySource.computeIfAbsent(entry.task.source(), name -> new ArrayList<>()).add(entry));
+
+        long now = System.currentTimeMillis();
+        bySource.forEach((name, entries) -> {
+            ScheduledTaskSource source = sources.get(name);
+            if (source == null) {
+                return;
+            }
+
+            Timer lag = Timer.builder("scheduler.lag")
+                .description("Delay between a task's due time and its dispatch")
+                .tag("source", name)
+                .register(meterRegistry);
+            entries.forEach(entry -> lag.record(Math.max(0, now - entry.dueMs), TimeUnit.MILLISECONDS));
+
+            for (int start = 0; start < entries.size(); start += fireBatchSize) {
+                List<TimingWheel.Entry<TaskKey>> batch = entries.subList(start, Math.min(entries.size(), start + fireBatchSize));
+                fire(source, batch);
+            }
+        });
+    }
+
+    private void fire(ScheduledTaskSource source, List<TimingWheel.Entry<TaskKey>> batch) {
+        List<String> keys = batch.stream().map(entry -> entry.task.key()).toList();
+        try {
+            schedulerExecutor.execute(() -> {
+                try {
+                    source.fire(keys);
+                    Counter.builder("scheduler.fired")
+                        .tag("source", source.name())
+                        .register(meterRegistry)
+                        .increment(keys.size());
+                } catch (Exception e) {
+                    log.error("Failed to fire {} scheduled tasks from {}", keys.size(), source.name(), e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // Retry shortly rather than losing tasks whose window has already been loaded
+            log.warn("Scheduler executor saturated; deferring {} tasks from {}", keys.size(), source.name());
+            LocalDateTime retryAt = LocalDateTime.now().plus(Duration.ofMillis(tickMs * 10));
+            batch.forEach(entry -> schedule(entry.task, retryAt));
+        }
+    }
+
+    private record TaskKey(String source, String key) {
+    }
+
+    /**
+     * Where the next window of a source starts: after the task (dueAt, afterId)
+     */
+    private record LoadPosition(LocalDateTime dueAt, long afterId) {
+    }
+}
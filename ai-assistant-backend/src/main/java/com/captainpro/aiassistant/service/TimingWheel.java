@@ -0,0 +1,130 @@
+package com.captainpro.aiassistant.service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Timing Wheel
+ *
+ * Hierarchical hashed timing wheel. Each level is a ring of {@code wheelSize} buckets
+ * covering {@code tickMs} each; entries beyond a level's span go to a coarser overflow
+ * level and cascade down as their bucket comes due. Adding and expiring an entry is
+ * O(1); only non-empty buckets are tracked in a shared queue ordered by expiration,
+ * so an idle wheel costs nothing per tick.
+ *
+ * Not thread-safe; {@link TimeWheelScheduler} guards all access.
+ */
+final class TimingWheel<T> {
+
+    private final long tickMs;
+    private final int wheelSize;
+    private final long interval;
+    private final List<Bucket<T>> buckets;
+    private final PriorityQueue<Bucket<T>> queue;
+    private long currentTime;
+    private TimingWheel<T> overflow;
+
+    TimingWheel(long tickMs, int wheelSize, long startMs) {
+        this(tickMs, wheelSize, startMs, new PriorityQueue<>(Comparator.comparingLong(bucket -> bucket.expiration)));
+    }
+
+    private TimingWheel(long tickMs, int wheelSize, long startMs, PriorityQueue<Bucket<T>> queue) {
+        this.tickMs = tickMs;
+        this.wheelSize = wheelSize;
+        this.interval = tickMs * wheelSize;
+        this.queue = queue;
+        this.currentTime = startMs - (startMs % tickMs);
+        this.buckets = new ArrayList<>(wheelSize);
+        for (int i = 0; i < wheelSize; i++) {
+            buckets.add(new Bucket<>());
+        }
+    }
+
+    /**
+     * Add an entry; returns false if it is already due and should run now
+     */
+    boolean add(Entry<T> entry) {
+        if (entry.dueMs < currentTime + tickMs) {
+            return false;
+        }
+
+        if (entry.dueMs < currentTime + interval) {
+            long virtualId = entry.dueMs / tickMs;
+            Bucket<T> bucket = buckets.get((int) (virtualId % wheelSize));
+            bucket.entries.add(entry);
+            if (bucket.setExpiration(virtualId * tickMs)) {
+                queue.add(bucket);
+            }
+            return true;
+        }
+
+        if (overflow == null) {
+            overflow = new TimingWheel<>(interval, wheelSize, currentTime, queue);
+        }
+        return overflow.add(entry);
+    }
+
+    /**
+     * Advance the clock to {@code nowMs}, collecting every live entry that came due
+     */
+    void advance(long nowMs, List<Entry<T>> due) {
+        Bucket<T> bucket;
+        while ((bucket = queue.peek()) != null && bucket.expiration <= nowMs) {
+            queue.poll();
+            advanceClock(bucket.expiration);
+            for (Entry<T> entry : bucket.drain()) {
+                // Entries from coarser levels cascade into finer buckets, or run if now due
+                if (!entry.cancelled && !add(entry)) {
+                    due.add(entry);
+                }
+            }
+        }
+        advanceClock(nowMs);
+    }
+
+    // Helper methods
+
+    private void advanceClock(long timeMs) {
+        if (timeMs >= currentTime + tickMs) {
+            currentTime = timeMs - (timeMs % tickMs);
+            if (overflow != null) {
+                overflow.advanceClock(currentTime);
+            }
+        }
+    }
+
+    static final class Entry<T> {
+
+        final T task;
+        final long dueMs;
+        boolean cancelled;
+
+        Entry(T task, long dueMs) {
+            this.task = task;
+            this.dueMs = dueMs;
+        }
+    }
+
+    private static final class Bucket<T> {
+
+        private long expiration = -1;
+        private List<Entry<T>> entries = new ArrayList<>();
+
+        boolean setExpiration(long expiration) {
+            if (this.expiration == expiration) {
+                return false;
+            }
+            this.expiration = expiration;
+            return true;
+        }
+
+        List<Entry<T>> drain() {
+            List<Entry<T>> drained = entries;
+            entries = new ArrayList<>();
+            expiration = -1;
+            return drained;
+        }
+    }
+}
@@ -0,0 +1,167 @@
+package com.captainpro.aiassistant.service;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.util.*;
+
+/**
+ * Top-K Sketch
+ *
+ * Space-Saving heavy-hitter summary over strings:
+ * - Tracks at most {@code capacity} items; when full, a new item replaces the smallest
+ *   counter and inherits its count as error
+ * - A reported count is never below the true count and overestimates it by at most the
+ *   item's {@code error}, which is itself at most total / capacity
+ * - Any item whose true count exceeds total / capacity is guaranteed to be tracked
+ * - Sketches merge by adding counters; an item missing from a full sketch is charged that
+ *   sketch's smallest counter, so the bounds hold for the union
+ *
+ * Not thread-safe; build one per batch or read and merge under a lock.
+ */
+public class TopKSketch {
+
+    /**
+     * Estimated count of one item; the true count lies in [count - error, count]
+     */
+    public record Estimate(String item, long count, long error) {
+    }
+
+    private final int capacity;
+    private final Map<String, long[]> counters = new HashMap<>();
+    private long total;
+
+    public TopKSketch(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive");
+        }
+        this.capacity = capacity;
+    }
+
+    /**
+     * Sketch decoded from {@link #toBytes()}, trimmed to the given capacity
+     */
+    public static TopKSketch fromBytes(byte[] bytes, int capacity) {
+        TopKSketch sketch = new TopKSketch(capacity);
+        if (bytes == null || bytes.length == 0) {
+            return sketch;
+        }
+
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        sketch.total = SketchEncoding.readVarint(buffer);
+        while (buffer.hasRemaining()) {
+            String item = SketchEncoding.readString(buffer);
+            long count = SketchEncoding.readVarint(buffer);
+            long error = SketchEncoding.readVarint(buffer);
+            sketch.counters.put(item, new long[] {count, error});
+        }
+        sketch.trim();
+        return sketch;
+    }
+
+    public void add(String item) {
+        add(item, 1);
+    }
+
+    public void add(String item, long weight) {
+        total += weight;
+        long[] counter = counters.get(item);
+        if (counter != null) {
+            counter[0] += weight;
+            return;
+        }
+        if (counters.size() < capacity) {
+            counters.put(item, new long[] {weight, 0});
+            return;
+        }
+
+        String smallest = smallest();
+        long floor = counters.remove(smallest)[0];
+        counters.put(item, new long[] {floor + weight, floor});
+    }
+
+    public void merge(TopKSketch other) {
+        long floor = isFull() ? counters.get(smallest())[0] : 0;
+        long otherFloor = other.isFull() ? other.counters.get(other.smallest())[0] : 0;
+
+        Map<String, long[]> merged = new HashMap<>();
+        counters.forEach((item, counter) -> {
+            long[] theirs = other.counters.get(item);
+            merged.put(item, theirs != null
+                ? new long[] {counter[0] + theirs[0], counter[1] + theirs[1]}
+                : new long[] {counter[0] + otherFloor, counter[1] + otherFloor});
+        });
+        other.counters.forEach((item, counter) -> merged.computeIfAbsent(item,
+            key -> new long[] {counter[0] + floor, counter[1] + floor}));
+
+        counters.clear();
+        counters.putAll(merged);
+        total += other.total;
+        trim();
+    }
+
+    /**
+     * Total weight added, exact
+     */
+    public long total() {
+        return total;
+    }
+
+    /**
+     * Largest possible overestimate of any reported count
+     */
+    public long maxError() {
+        return isFull() ? counters.get(smallest())[0] : 0;
+    }
+
+    /**
+     * The {@code n} items with the highest estimated counts, highest first
+     */
+    public List<Estimate> top(int n) {
+        return counters.entrySet().stream()
+            .sorted((a, b) -> Long.compare(b.getValue()[0], a.getValue()[0]))
+            .limit(n)
+            .map(entry -> new Estimate(entry.getKey(), entry.getValue()[0], entry.getValue()[1]))
+            .toList();
+    }
+
+    /**
+     * Total followed by (item, count, error) for every tracked item
+     */
+    public byte[] toBytes() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        SketchEncoding.writeVarint(out, total);
+        counters.forEach((item, counter) -> {
+            SketchEncoding.writeString(out, item);
+            SketchEncoding.writeVarint(out, counter[0]);
+            SketchEncoding.writeVarint(out, counter[1]);
+        });
+        return out.toByteArray();
+    }
+
+    // Helper methods
+
+    private boolean isFull() {
+        return counters.size() >= capacity;
+    }
+
+    private String smallest() {
+        String smallest = null;
+        long min = Long.MAX_VALUE;
+        for (Map.Entry<String, long[]> entry : counters.entrySet()) {
+            if (entry.getValue()[0] < min) {
+                min = entry.getValue()[0];
+                smallest = entry.getKey();
+            }
+        }
+        return smallest;
+    }
+
+    private void trim() {
+        if (counters.size() <= capacity) {
+            return;
+        }
+        Set<String> keep = new HashSet<>();
+        top(capacity).forEach(estimate -> keep.add(estimate.item()));
+        counters.keySet().retainAll(keep);
+    }
+}
@@ -0,0 +1,174 @@
+-- Pooled sequence IDs, analytics/job/outbox tables and history indexes.
+--
+-- Runs against databases created by ddl-auto (baseline-on-migrate) and against
+-- empty ones, where Hibernate creates the original tables after this migration.
+
+-- Tables added alongside the sequence IDs
+
+CREATE TABLE IF NOT EXISTS analytics_events (
+    id bigint NOT NULL PRIMARY KEY,
+    user_id varchar(255) NOT NULL,
+    event_type varchar(255) NOT NULL,
+    event_data text,
+    created_at timestamp(6) NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS action_jobs (
+    id bigint NOT NULL PRIMARY KEY,
+    job_id varchar(36) NOT NULL,
+    user_id varchar(255) NOT NULL,
+    job_type varchar(64) NOT NULL,
+    parameters text,
+    priority integer NOT NULL,
+    status varchar(16) NOT NULL,
+    attempts integer NOT NULL,
+    max_attempts integer NOT NULL,
+    available_at timestamp(6) NOT NULL,
+    lease_owner varchar(255),
+    lease_expires_at timestamp(6),
+    cancel_requested boolean NOT NULL,
+    result text,
+    error_message text,
+    created_at timestamp(6) NOT NULL,
+    started_at timestamp(6),
+    completed_at timestamp(6),
+    version bigint
+);
+
+CREATE TABLE IF NOT EXISTS interaction_rollups (
+    id bigint NOT NULL PRIMARY KEY,
+    user_id varchar(255) NOT NULL,
+    granularity varchar(16) NOT NULL,
+    bucket_start timestamp(6) NOT NULL,
+    dimension varchar(16) NOT NULL,
+    dimension_key varchar(255) NOT NULL,
+    event_count bigint NOT NULL,
+    first_seen timestamp(6) NOT NULL,
+    last_seen timestamp(6) NOT NULL,
+    CONSTRAINT uk_interaction_rollups_bucket
+        UNIQUE (user_id, granularity, bucket_start, dimension, dimension_key)
+);
+
+CREATE TABLE IF NOT EXISTS outbox_events (
+    id bigint NOT NULL PRIMARY KEY,
+    event_id varchar(36) NOT NULL,
+    topic varchar(64) NOT NULL,
+    aggregate_id varchar(255),
+    payload text NOT NULL,
+    status varchar(255) NOT NULL,
+    attempts integer NOT NULL,
+    available_at timestamp(6) NOT NULL,
+    lease_expires_at timestamp(6),
+    last_error varchar(1000),
+    created_at timestamp(6) NOT NULL,
+    published_at timestamp(6)
+);
+
+CREATE TABLE IF NOT EXISTS response_time_sketches (
+    id bigint NOT NULL PRIMARY KEY,
+    interaction_type varchar(100) NOT NULL,
+    granularity varchar(16) NOT NULL,
+    bucket_start timestamp(6) NOT NULL,
+    sample_count bigint NOT NULL,
+    min_ms bigint NOT NULL,
+    max_ms bigint NOT NULL,
+    sum_ms bigint NOT NULL,
+    sketch bytea NOT NULL,
+    CONSTRAINT uk_response_time_sketches_bucket
+        UNIQUE (interaction_type, granularity, bucket_start)
+);
+
+CREATE TABLE IF NOT EXISTS analytics_sketches (
+    id bigint NOT NULL PRIMARY KEY,
+    metric varchar(32) NOT NULL,
+    dimension_key varchar(255) NOT NULL,
+    granularity varchar(16) NOT NULL,
+    bucket_start timestamp(6) NOT NULL,
+    sketch bytea NOT NULL,
+    CONSTRAINT uk_analytics_sketches_bucket
+        UNIQUE (metric, dimension_key, granularity, bucket_start)
+);
+
+CREATE TABLE IF NOT EXISTS user_sessions (
+    id bigint NOT NULL PRIMARY KEY,
+    session_id varchar(255) NOT NULL,
+    user_id varchar(255) NOT NULL,
+    started_at timestamp(6) NOT NULL,
+    ended_at timestamp(6) NOT NULL,
+    duration_ms bigint NOT NULL,
+    action_count bigint NOT NULL,
+    first_action varchar(255) NOT NULL,
+    last_action varchar(255) NOT NULL,
+    close_reason varchar(16) NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_analytics_events_user_created ON analytics_events (user_id, created_at);
+CREATE UNIQUE INDEX IF NOT EXISTS idx_action_jobs_job_id ON action_jobs (job_id);
+CREATE INDEX IF NOT EXISTS idx_action_jobs_runnable ON action_jobs (status, available_at, priority);
+CREATE INDEX IF NOT EXISTS idx_action_jobs_user ON action_jobs (user_id, created_at, id);
+CREATE INDEX IF NOT EXISTS idx_interaction_rollups_lookup ON interaction_rollups (user_id, granularity, dimension, bucket_start);
+CREATE UNIQUE INDEX IF NOT EXISTS idx_outbox_events_event_id ON outbox_events (event_id);
+CREATE INDEX IF NOT EXISTS idx_outbox_events_pending ON outbox_events (status, available_at, id);
+CREATE INDEX IF NOT EXISTS idx_outbox_events_published ON outbox_events (status, published_at);
+CREATE INDEX IF NOT EXISTS idx_response_time_sketches_lookup ON response_time_sketches (granularity, bucket_start);
+CREATE INDEX IF NOT EXISTS idx_analytics_sketches_lookup ON analytics_sketches (metric, granularity, bucket_start);
+CREATE UNIQUE INDEX IF NOT EXISTS idx_user_sessions_session ON user_sessions (session_id);
+CREATE INDEX IF NOT EXISTS idx_user_sessions_user_started ON user_sessions (user_id, started_at);
+CREATE INDEX IF NOT EXISTS idx_user_sessions_started ON user_sessions (started_at);
+
+-- Pooled sequences (allocationSize = 50)
+--
+-- Each nextval hands out the block [value - 49, value], so a table that already
+-- has rows needs its sequence to continue at max(id) + 50. Tables that used
+-- IDENTITY keep their identity column; the entities now always supply the id.
+-- Sequences created earlier by ddl-auto are only ever moved forward.
+
+DO $$
+DECLARE
+    tbl text;
+    seq text;
+    max_id bigint;
+    last_id bigint; -- highest id in the blocks handed out so far
+BEGIN
+    FOREACH tbl IN ARRAY ARRAY[
+        'chat_messages', 'notifications', 'user_interactions',
+        'analytics_events', 'action_jobs', 'interaction_rollups', 'outbox_events',
+        'response_time_sketches', 'analytics_sketches', 'user_sessions'
+    ] LOOP
+        seq := tbl || '_seq';
+        EXECUTE format('CREATE SEQUENCE IF NOT EXISTS %I START WITH 1 INCREMENT BY 50', seq);
+        IF to_regclass(tbl) IS NOT NULL THEN
+            EXECUTE format('SELECT COALESCE(MAX(id), 0) FROM %I', tbl) INTO max_id;
+            EXECUTE format('SELECT CASE WHEN is_called THEN last_value ELSE last_value - 50 END FROM %I', seq)
+                INTO last_id;
+            IF max_id > last_id THEN
+                PERFORM setval(seq, max_id + 50, false);
+            END IF;
+        END IF;
+    END LOOP;
+END $$;
+
+-- Indexes on the original tables (created by Hibernate when absent)
+
+DO $$
+BEGIN
+    IF to_regclass('chat_messages') IS NOT NULL THEN
+        CREATE INDEX IF NOT EXISTS idx_chat_messages_user_created ON chat_messages (user_id, created_at, id);
+    END IF;
+    IF to_regclass('notifications') IS NOT NULL THEN
+        CREATE INDEX IF NOT EXISTS idx_notifications_user_inbox ON notifications (user_id, is_read, deleted_at);
+        CREATE INDEX IF NOT EXISTS idx_notifications_user_created ON notifications (user_id, created_at, id);
+        -- Hibernate's enum check predates the SENDING claim status
+        ALTER TABLE notifications DROP CONSTRAINT IF EXISTS notifications_status_check;
+        ALTER TABLE notifications ADD CONSTRAINT notifications_status_check CHECK (status IN (
+            'PENDING', 'SCHEDULED', 'SENDING', 'SENT', 'DELIVERED', 'READ', 'CLICKED',
+            'FAILED', 'EXPIRED', 'CANCELLED', 'BOUNCED'));
+    END IF;
+    IF to_regclass('user_insights') IS NOT NULL THEN
+        CREATE INDEX IF NOT EXISTS idx_user_insights_user_created ON user_insights (user_id, created_at, id);
+    END IF;
+    IF to_regclass('user_interactions') IS NOT NULL THEN
+        CREATE INDEX IF NOT EXISTS idx_user_interactions_user_created ON user_interactions (user_id, created_at, id);
+        CREATE INDEX IF NOT EXISTS idx_user_interactions_created ON user_interactions (created_at, id);
+    END IF;
+END $$;
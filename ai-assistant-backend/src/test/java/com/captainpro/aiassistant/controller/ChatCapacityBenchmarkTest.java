@@ -0,0 +1,189 @@
+package com.captainpro.aiassistant.controller;
+
+import com.captainpro.aiassistant.service.AIService;
+import com.captainpro.aiassistant.service.AnalyticsService;
+import com.captainpro.aiassistant.service.ModelCallBulkhead;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.Filter;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.ai.chat.ChatClient;
+import org.springframework.ai.chat.ChatResponse;
+import org.springframework.ai.chat.Generation;
+import org.springframework.ai.chat.prompt.Prompt;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.context.PropertyPlaceholderAutoConfiguration;
+import org.springframework.boot.autoconfigure.http.HttpMessageConvertersAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.embedded.EmbeddedWebServerFactoryCustomizerAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.servlet.DispatcherServletAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.servlet.ServletWebServerFactoryAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.servlet.WebMvcAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.security.Principal;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Concurrent chat capacity of the servlet stack with platform request threads
+ * (Tomcat's default pool of 200) against virtual threads, with a stub chat model
+ * that blocks for a fixed latency behind the model call bulkhead.
+ *
+ * Run with: mvn test -Pbenchmark (platform threads only), or on a Java 21 JDK with
+ * mvn test -Pjava21,benchmark to compare both modes.
+ */
+@Tag("benchmark")
+@Slf4j
+class ChatCapacityBenchmarkTest {
+
+    private static final int CONCURRENT_REQUESTS = 1_000;
+    private static final int WARMUP_REQUESTS = 100;
+    private static final long MODEL_LATENCY_MS = 200;
+
+    @Test
+    void chatCapacityWithPlatformAndVirtualThreads() throws Exception {
+        Capacity platform = measure(false);
+        assertThat(platform.succeeded()).isEqualTo(CONCURRENT_REQUESTS);
+
+        assumeTrue(Runtime.version().feature() >= 21, "virtual threads need a Java 21 runtime");
+        Capacity virtual = measure(true);
+        assertThat(virtual.succeeded()).isEqualTo(CONCURRENT_REQUESTS);
+
+        log.info("{} concurrent chats: virtual threads serve {}x the platform thread throughput",
+            CONCURRENT_REQUESTS, String.format("%.1f", virtual.requestsPerSecond() / platform.requestsPerSecond()));
+    }
+
+    // Helper methods
+
+    private Capacity measure(boolean virtualThreads) throws Exception {
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(BenchmarkApplication.class)
+                .web(WebApplicationType.SERVLET)
+                .properties(
+                    "server.port=0",
+                    "spring.threads.virtual.enabled=" + virtualThreads,
+                    // Measure request threads, not the model call limit
+                    "app.ai.bulkhead.max-concurrent-calls=" + CONCURRENT_REQUESTS)
+                .run()) {
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            String contextPath = context.getEnvironment().getProperty("server.servlet.context-path", "");
+            HttpRequest request = HttpRequest.newBuilder(URI.create(
+                    "http://localhost:" + port + contextPath + "/api/v1/ai/chat"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString("{\"message\":\"How do we beat a high press?\"}"))
+                .build();
+            HttpClient client = HttpClient.newHttpClient();
+
+            send(client, request, WARMUP_REQUESTS);
+            long started = System.nanoTime();
+            int succeeded = send(client, request, CONCURRENT_REQUESTS);
+            long elapsed = System.nanoTime() - started;
+
+            Capacity capacity = new Capacity(succeeded, CONCURRENT_REQUESTS * 1e9 / elapsed);
+            log.info("{} threads: {} of {} chats in {} ms, {} requests/s ({} ms model latency)",
+                virtualThreads ? "Virtual" : "Platform", succeeded, CONCURRENT_REQUESTS, elapsed / 1_000_000,
+                String.format("%.0f", capacity.requestsPerSecond()), MODEL_LATENCY_MS);
+            return capacity;
+        }
+    }
+
+    private int send(HttpClient client, HttpRequest request, int count) {
+        List<CompletableFuture<HttpResponse<String>>> responses = IntStream.range(0, count)
+            .mapToObj(i -> client.sendAsync(request, HttpResponse.BodyHandlers.ofString()))
+            .toList();
+        return (int) responses.stream()
+            .map(CompletableFuture::join)
+            .filter(response -> response.statusCode() == 200)
+            .count();
+    }
+
+    private record Capacity(int succeeded, double requestsPerSecond) {
+    }
+
+    /**
+     * The chat endpoint on an embedded Tomcat, with a stub model behind the bulkhead
+     */
+    @Configuration(proxyBeanMethods = false)
+    @ImportAutoConfiguration({
+        PropertyPlaceholderAutoConfiguration.class,
+        ServletWebServerFactoryAutoConfiguration.class,
+        EmbeddedWebServerFactoryCustomizerAutoConfiguration.class,
+        DispatcherServletAutoConfiguration.class,
+        WebMvcAutoConfiguration.class,
+        HttpMessageConvertersAutoConfiguration.class,
+        JacksonAutoConfiguration.class
+    })
+    @Import({AIController.class, ModelCallBulkhead.class})
+    static class BenchmarkApplication {
+
+        private static final Principal USER = new UsernamePasswordAuthenticationToken("benchmark", null, List.of());
+
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+
+        @Bean
+        AnalyticsService analyticsService() {
+            return mock(AnalyticsService.class);
+        }
+
+        @Bean
+        AIService aiService(ModelCallBulkhead modelCallBulkhead) {
+            ChatClient model = prompt -> {
+                try {
+                    Thread.sleep(MODEL_LATENCY_MS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return new ChatResponse(List.of(new Generation("Play through the lines.")));
+            };
+
+            AIService aiService = mock(AIService.class);
+            when(aiService.processChat(anyString(), anyString(), anyMap())).thenAnswer(invocation -> {
+                Prompt prompt = new Prompt(invocation.<String>getArgument(1));
+                ChatResponse response = modelCallBulkhead.call(() -> model.call(prompt));
+                return Map.of("response", response.getResult().getOutput().getContent());
+            });
+            return aiService;
+        }
+
+        /**
+         * Authenticates every request as one user; the security filter chain is not part of the benchmark
+         */
+        @Bean
+        Filter benchmarkUser() {
+            return (request, response, chain) -> chain.doFilter(
+                new HttpServletRequestWrapper((HttpServletRequest) request) {
+                    @Override
+                    public Principal getUserPrincipal() {
+                        return USER;
+                    }
+                }, response);
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package com.captainpro.aiassistant.controller;
+
+import com.captainpro.aiassistant.config.AsyncConfig;
+import com.captainpro.aiassistant.config.ExecutorProperties;
+import com.captainpro.aiassistant.repository.NotificationRepository;
+import com.captainpro.aiassistant.repository.UserRepository;
+import com.captainpro.aiassistant.service.AnalyticsService;
+import com.captainpro.aiassistant.service.NotificationCounterService;
+import com.captainpro.aiassistant.service.NotificationService;
+import com.captainpro.aiassistant.service.OutboxService;
+import com.captainpro.aiassistant.service.TimeWheelScheduler;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringJUnitConfig(NotificationControllerTest.Config.class)
+class NotificationControllerTest {
+
+    @Autowired
+    private NotificationService notificationService;
+
+    @Autowired
+    private ExecutorRejectionHandler rejectionHandler;
+
+    @Autowired
+    @Qualifier("notificationExecutor")
+    private ThreadPoolTaskExecutor notificationExecutor;
+
+    @MockBean
+    private AnalyticsService analyticsService;
+
+    @MockBean
+    private NotificationRepository notificationRepository;
+
+    @MockBean
+    private UserRepository userRepository;
+
+    @MockBean
+    private TimeWheelScheduler timeWheelScheduler;
+
+    @MockBean
+    private OutboxService outboxService;
+
+    @MockBean
+    private NotificationCounterService counterService;
+
+    @Test
+    void saturatedNotificationExecutorAnswersServiceUnavailable() throws Exception {
+        MockMvc mockMvc = MockMvcBuilders
+            .standaloneSetup(new NotificationController(notificationService, analyticsService))
+            .setControllerAdvice(rejectionHandler)
+            .build();
+
+        // Occupy the executor's only thread; it has no queue
+        CountDownLatch release = new CountDownLatch(1);
+        notificationExecutor.execute(() -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+
+        try {
+            mockMvc.perform(post("/api/v1/notifications/send")
+                    .principal(new UsernamePasswordAuthenticationToken("coach", null, List.of()))
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content("{\"recipientId\":\"alice\",\"title\":\"Kick-off\",\"message\":\"Match moved to 18:00\"}"))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, "5"))
+                .andExpect(jsonPath("$.success").value(false));
+        } finally {
+            release.countDown();
+        }
+
+        verifyNoInteractions(notificationRepository);
+    }
+
+    @Configuration
+    @EnableAsync
+    @Import({AsyncConfig.class, NotificationService.class, ExecutorRejectionHandler.class})
+    static class Config {
+
+        @Bean
+        ExecutorProperties executorProperties() {
+            ExecutorProperties.Pool notification = new ExecutorProperties.Pool();
+            notification.setCoreSize(1);
+            notification.setMaxSize(1);
+            notification.setQueueCapacity(0);
+            notification.setRejectionPolicy(ExecutorProperties.RejectionPolicy.ABORT);
+
+            ExecutorProperties properties = new ExecutorProperties();
+            properties.getPools().put("notification", notification);
+            return properties;
+        }
+
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+
+        @Bean
+        ObjectMapper objectMapper() {
+            return new ObjectMapper();
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package com.captainpro.aiassistant.service;
+
+import com.captainpro.aiassistant.model.InteractionEvent;
+import com.captainpro.aiassistant.model.ResponseTimeStats;
+import com.captainpro.aiassistant.repository.AnalyticsSketchRepository;
+import com.captainpro.aiassistant.repository.InteractionRollupRepository;
+import com.captainpro.aiassistant.repository.ResponseTimeSketchRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Bucket stores on H2 through the JPA transaction manager, one transaction per
+ * batch as in the ingestion pipeline.
+ */
+@DataJpaTest(properties = {
+    "spring.flyway.enabled=false",
+    "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect"
+})
+@Import({BucketRowInserter.class, SequenceIdAllocator.class, InteractionRollupService.class,
+    ResponseTimeSketchService.class, AnalyticsSketchService.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class BucketRowInserterTest {
+
+    private static final String INSERT_SQL =
+        "INSERT INTO interaction_rollups " +
+        "(id, user_id, granularity, bucket_start, dimension, dimension_key, event_count, first_seen, last_seen) " +
+        "VALUES (?, ?, 'HOURLY', ?, 'ACTION', 'ai_chat', 1, ?, ?)";
+
+    @Autowired
+    private BucketRowInserter rowInserter;
+
+    @Autowired
+    private InteractionRollupService rollupService;
+
+    @Autowired
+    private ResponseTimeSketchService responseTimeSketchService;
+
+    @Autowired
+    private AnalyticsSketchService analyticsSketchService;
+
+    @Autowired
+    private InteractionRollupRepository rollupRepository;
+
+    @Autowired
+    private ResponseTimeSketchRepository responseTimeSketchRepository;
+
+    @Autowired
+    private AnalyticsSketchRepository analyticsSketchRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @AfterEach
+    void deleteBuckets() {
+        rollupRepository.deleteAllInBatch();
+        responseTimeSketchRepository.deleteAllInBatch();
+        analyticsSketchRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void insertsOnceAndKeepsTheTransactionUsable() {
+        Timestamp hour = Timestamp.valueOf(LocalDateTime.now().truncatedTo(ChronoUnit.HOURS));
+
+        List<Boolean> inserted = new TransactionTemplate(transactionManager).execute(status -> List.of(
+            rowInserter.insertIfAbsent(INSERT_SQL, 1L, "alice", hour, hour, hour),
+            rowInserter.insertIfAbsent(INSERT_SQL, 2L, "alice", hour, hour, hour),
+            rowInserter.insertIfAbsent(INSERT_SQL, 3L, "bob", hour, hour, hour)));
+
+        assertThat(inserted).containsExactly(true, false, true);
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM interaction_rollups", Long.class)).isEqualTo(2);
+    }
+
+    @Test
+    void secondBatchMergesIntoBucketsCreatedByTheFirst() {
+        LocalDateTime timestamp = LocalDateTime.now();
+        List<InteractionEvent> first = List.of(
+            event("alice", "ai_chat", timestamp, 100),
+            event("bob", "ai_chat", timestamp, 300));
+        List<InteractionEvent> second = List.of(
+            event("alice", "ai_chat", timestamp, 200),
+            event("carol", "ai_chat", timestamp, 50));
+
+        ingest(first);
+        ingest(second);
+
+        LocalDateTime from = timestamp.minusHours(1);
+        assertThat(rollupService.loadSince("alice", from).actionCounts()).containsEntry("ai_chat", 2L);
+        assertThat(rollupService.loadSince("carol", from).actionCounts()).containsEntry("ai_chat", 1L);
+
+        ResponseTimeStats stats = responseTimeSketchService.loadSince(from).get("ai_chat");
+        assertThat(stats.count()).isEqualTo(4);
+        assertThat(stats.min()).isEqualTo(50);
+        assertThat(stats.max()).isEqualTo(300);
+
+        assertThat(analyticsSketchService.estimateDistinctUsers(from)).isEqualTo(3);
+        assertThat(analyticsSketchService.estimateDistinctUsers(List.of("ai_chat"), from))
+            .containsEntry("ai_chat", 3L);
+    }
+
+    // Helper methods
+
+    private void ingest(List<InteractionEvent> batch) {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            rollupService.apply(batch);
+            responseTimeSketchService.apply(batch);
+            analyticsSketchService.apply(batch);
+        });
+    }
+
+    private InteractionEvent event(String userId, String action, LocalDateTime timestamp, long responseTimeMs) {
+        return new InteractionEvent(userId, action, "",
+            Map.of(ResponseTimeSketchService.RESPONSE_TIME_KEY, responseTimeMs), timestamp, null);
+    }
+}
@@ -0,0 +1,101 @@
+package com.captainpro.aiassistant.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class HyperLogLogTest {
+
+    @Test
+    void emptySketchEstimatesZero() {
+        assertThat(new HyperLogLog().estimate()).isZero();
+        assertThat(HyperLogLog.fromBytes(null).estimate()).isZero();
+        assertThat(HyperLogLog.fromBytes(new byte[0]).estimate()).isZero();
+    }
+
+    @Test
+    void duplicatesAreCountedOnce() {
+        HyperLogLog sketch = new HyperLogLog();
+        for (int round = 0; round < 10; round++) {
+            for (int i = 0; i < 500; i++) {
+                sketch.add("user-" + i);
+            }
+        }
+
+        assertThat((double) sketch.estimate()).isCloseTo(500, within(500 * 2 * HyperLogLog.RELATIVE_ERROR));
+    }
+
+    @Test
+    void estimatesStayWithinErrorBound() {
+        for (int distinct : new int[] {100, 1_000, 10_000, 100_000, 1_000_000}) {
+            HyperLogLog sketch = sketchOf(0, distinct);
+
+            assertThat((double) sketch.estimate())
+                .as("estimate of %d distinct values", distinct)
+                .isCloseTo(distinct, within(distinct * 3 * HyperLogLog.RELATIVE_ERROR));
+        }
+    }
+
+    @Test
+    void mergeEstimatesTheUnion() {
+        HyperLogLog left = sketchOf(0, 60_000);
+        HyperLogLog right = sketchOf(40_000, 100_000);
+
+        left.merge(right);
+
+        assertThat((double) left.estimate()).isCloseTo(100_000, within(100_000 * 3 * HyperLogLog.RELATIVE_ERROR));
+    }
+
+    @Test
+    void mergeIsAssociativeAndCommutative() {
+        HyperLogLog abc = sketchOf(0, 5_000);
+        abc.merge(sketchOf(3_000, 9_000));
+        abc.merge(sketchOf(8_000, 20_000));
+
+        HyperLogLog bc = sketchOf(3_000, 9_000);
+        bc.merge(sketchOf(8_000, 20_000));
+        HyperLogLog aBc = sketchOf(0, 5_000);
+        aBc.merge(bc);
+
+        HyperLogLog cba = sketchOf(8_000, 20_000);
+        cba.merge(sketchOf(3_000, 9_000));
+        cba.merge(sketchOf(0, 5_000));
+
+        assertThat(abc.toBytes()).isEqualTo(aBc.toBytes()).isEqualTo(cba.toBytes());
+    }
+
+    @Test
+    void sparseEncodingRoundTrips() {
+        HyperLogLog sketch = sketchOf(0, 50);
+        byte[] bytes = sketch.toBytes();
+
+        HyperLogLog decoded = HyperLogLog.fromBytes(bytes);
+
+        assertThat(bytes.length).isLessThan(1 << HyperLogLog.PRECISION);
+        assertThat(decoded.toBytes()).isEqualTo(bytes);
+        assertThat(decoded.estimate()).isEqualTo(sketch.estimate());
+    }
+
+    @Test
+    void denseEncodingRoundTrips() {
+        HyperLogLog sketch = sketchOf(0, 200_000);
+        byte[] bytes = sketch.toBytes();
+
+        HyperLogLog decoded = HyperLogLog.fromBytes(bytes);
+
+        assertThat(bytes).hasSize((1 << HyperLogLog.PRECISION) + 1);
+        assertThat(decoded.toBytes()).isEqualTo(bytes);
+        assertThat(decoded.estimate()).isEqualTo(sketch.estimate());
+    }
+
+    // Helper methods
+
+    private static HyperLogLog sketchOf(int from, int to) {
+        HyperLogLog sketch = new HyperLogLog();
+        for (int i = from; i < to; i++) {
+            sketch.add("user-" + i);
+        }
+        return sketch;
+    }
+}
@@ -0,0 +1,119 @@
+package com.captainpro.aiassistant.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+class QuantileSketchTest {
+
+    @Test
+    void emptySketchReportsZero() {
+        QuantileSketch sketch = new QuantileSketch();
+
+        assertThat(sketch.count()).isZero();
+        assertThat(sketch.quantile(0.5)).isZero();
+        assertThat(QuantileSketch.fromBytes(null).count()).isZero();
+    }
+
+    @Test
+    void quantilesStayWithinRelativeAccuracy() {
+        QuantileSketch sketch = new QuantileSketch();
+        for (int value = 1; value <= 10_000; value++) {
+            sketch.record(value);
+        }
+
+        assertThat(sketch.count()).isEqualTo(10_000);
+        for (double q : new double[] {0.5, 0.9, 0.95, 0.99}) {
+            double expected = Math.floor(q * 9_999) + 1;
+            assertThat(sketch.quantile(q))
+                .as("p%s", q * 100)
+                .isCloseTo(expected, within(expected * QuantileSketch.DEFAULT_RELATIVE_ACCURACY));
+        }
+    }
+
+    @Test
+    void valuesOutsideTheRangeShareTheEdgeBuckets() {
+        QuantileSketch sketch = new QuantileSketch();
+        sketch.record(0);
+        sketch.record(QuantileSketch.DEFAULT_MAX_VALUE * 10);
+
+        assertThat(sketch.quantile(0)).isEqualTo(1);
+        assertThat(sketch.quantile(1)).isGreaterThanOrEqualTo(QuantileSketch.DEFAULT_MAX_VALUE)
+            .isLessThanOrEqualTo(QuantileSketch.DEFAULT_MAX_VALUE * 1.1);
+    }
+
+    @Test
+    void mergeIsAssociativeAndCommutative() {
+        QuantileSketch abc = sketchOf(1, 100);
+        abc.merge(sketchOf(2, 200));
+        abc.merge(sketchOf(3, 300));
+
+        QuantileSketch bc = sketchOf(2, 200);
+        bc.merge(sketchOf(3, 300));
+        QuantileSketch aBc = sketchOf(1, 100);
+        aBc.merge(bc);
+
+        QuantileSketch cba = sketchOf(3, 300);
+        cba.merge(sketchOf(2, 200));
+        cba.merge(sketchOf(1, 100));
+
+        assertThat(abc.toBuckets()).isEqualTo(aBc.toBuckets()).isEqualTo(cba.toBuckets());
+        assertThat(abc.count()).isEqualTo(600);
+    }
+
+    @Test
+    void mergedQuantilesMatchASingleSketch() {
+        QuantileSketch whole = new QuantileSketch();
+        QuantileSketch even = new QuantileSketch();
+        QuantileSketch odd = new QuantileSketch();
+        for (int value = 1; value <= 5_000; value++) {
+            whole.record(value);
+            (value % 2 == 0 ? even : odd).record(value);
+        }
+
+        even.merge(odd);
+
+        assertThat(even.toBuckets()).isEqualTo(whole.toBuckets());
+        assertThat(even.quantile(0.99)).isEqualTo(whole.quantile(0.99));
+    }
+
+    @Test
+    void rejectsMergeOfDifferentAccuracy() {
+        QuantileSketch sketch = new QuantileSketch();
+
+        assertThatThrownBy(() -> sketch.merge(new QuantileSketch(0.01, QuantileSketch.DEFAULT_MAX_VALUE)))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void encodingRoundTrips() {
+        QuantileSketch sketch = new QuantileSketch();
+        Random random = new Random(7);
+        for (int i = 0; i < 20_000; i++) {
+            sketch.record(Math.exp(random.nextGaussian() * 2 + 6));
+        }
+
+        QuantileSketch fromBytes = QuantileSketch.fromBytes(sketch.toBytes());
+        QuantileSketch fromBuckets = QuantileSketch.fromBuckets(sketch.toBuckets());
+
+        assertThat(fromBytes.toBuckets()).isEqualTo(sketch.toBuckets());
+        assertThat(fromBuckets.toBuckets()).isEqualTo(sketch.toBuckets());
+        assertThat(fromBytes.toBytes()).isEqualTo(sketch.toBytes());
+        assertThat(fromBytes.quantile(0.95)).isEqualTo(sketch.quantile(0.95));
+    }
+
+    // Helper methods
+
+    private static QuantileSketch sketchOf(int seed, int samples) {
+        QuantileSketch sketch = new QuantileSketch();
+        Random random = new Random(seed);
+        for (int i = 0; i < samples; i++) {
+            sketch.record(random.nextInt(60_000));
+        }
+        return sketch;
+    }
+}
@@ -0,0 +1,137 @@
+package com.captainpro.aiassistant.service;
+
+import com.captainpro.aiassistant.service.TopKSketch.Estimate;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TopKSketchTest {
+
+    @Test
+    void countsAreExactBelowCapacity() {
+        TopKSketch sketch = new TopKSketch(10);
+        sketch.add("chat", 5);
+        sketch.add("insights", 3);
+        sketch.add("chat");
+
+        assertThat(sketch.total()).isEqualTo(9);
+        assertThat(sketch.maxError()).isZero();
+        assertThat(sketch.top(2)).containsExactly(new Estimate("chat", 6, 0), new Estimate("insights", 3, 0));
+    }
+
+    @Test
+    void rejectsNonPositiveCapacity() {
+        assertThatThrownBy(() -> new TopKSketch(0)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void reportedCountsBoundTheTrueCounts() {
+        TopKSketch sketch = new TopKSketch(20);
+        Map<String, Long> exact = new HashMap<>();
+        Random random = new Random(42);
+        for (int i = 0; i < 50_000; i++) {
+            // Skewed stream: a few heavy hitters over a long tail
+            String item = random.nextInt(4) == 0 ? "heavy-" + random.nextInt(5) : "tail-" + random.nextInt(2_000);
+            sketch.add(item);
+            exact.merge(item, 1L, Long::sum);
+        }
+
+        assertThat(sketch.total()).isEqualTo(50_000);
+        assertThat(sketch.maxError()).isLessThanOrEqualTo(sketch.total() / 20);
+        for (Estimate estimate : sketch.top(20)) {
+            long trueCount = exact.get(estimate.item());
+            assertThat(estimate.count()).isGreaterThanOrEqualTo(trueCount);
+            assertThat(estimate.count() - estimate.error()).isLessThanOrEqualTo(trueCount);
+            assertThat(estimate.error()).isLessThanOrEqualTo(sketch.maxError());
+        }
+        assertThat(sketch.top(5)).extracting(Estimate::item)
+            .containsExactlyInAnyOrder("heavy-0", "heavy-1", "heavy-2", "heavy-3", "heavy-4");
+    }
+
+    @Test
+    void mergeIsAssociativeAndCommutativeBelowCapacity() {
+        TopKSketch abc = sketchOf(List.of("a", "b", "a"));
+        abc.merge(sketchOf(List.of("b", "c")));
+        abc.merge(sketchOf(List.of("c", "c", "d")));
+
+        TopKSketch bc = sketchOf(List.of("b", "c"));
+        bc.merge(sketchOf(List.of("c", "c", "d")));
+        TopKSketch aBc = sketchOf(List.of("a", "b", "a"));
+        aBc.merge(bc);
+
+        TopKSketch cba = sketchOf(List.of("c", "c", "d"));
+        cba.merge(sketchOf(List.of("b", "c")));
+        cba.merge(sketchOf(List.of("a", "b", "a")));
+
+        assertThat(abc.total()).isEqualTo(aBc.total()).isEqualTo(cba.total()).isEqualTo(8);
+        assertThat(asMap(abc)).isEqualTo(asMap(aBc)).isEqualTo(asMap(cba))
+            .isEqualTo(Map.of("a", 2L, "b", 2L, "c", 3L, "d", 1L));
+    }
+
+    @Test
+    void mergeKeepsBoundsWhenFull() {
+        TopKSketch left = new TopKSketch(3);
+        TopKSketch right = new TopKSketch(3);
+        Map<String, Long> exact = new HashMap<>();
+        for (int i = 0; i < 300; i++) {
+            // "hot" is above total / capacity, so Space-Saving must keep it
+            String item = i % 2 == 0 ? "hot" : "cold-" + (i % 7);
+            (i < 150 ? left : right).add(item);
+            exact.merge(item, 1L, Long::sum);
+        }
+
+        left.merge(right);
+
+        assertThat(left.total()).isEqualTo(300);
+        assertThat(left.top(1)).extracting(Estimate::item).containsExactly("hot");
+        for (Estimate estimate : left.top(3)) {
+            long trueCount = exact.get(estimate.item());
+            assertThat(estimate.count()).isGreaterThanOrEqualTo(trueCount);
+            assertThat(estimate.count() - estimate.error()).isLessThanOrEqualTo(trueCount);
+        }
+    }
+
+    @Test
+    void encodingRoundTrips() {
+        TopKSketch sketch = new TopKSketch(5);
+        for (int i = 0; i < 1_000; i++) {
+            sketch.add("action-" + (i % 9) * (i % 4));
+        }
+
+        TopKSketch decoded = TopKSketch.fromBytes(sketch.toBytes(), 5);
+
+        assertThat(decoded.total()).isEqualTo(sketch.total());
+        assertThat(decoded.maxError()).isEqualTo(sketch.maxError());
+        assertThat(decoded.top(5)).containsExactlyInAnyOrderElementsOf(sketch.top(5));
+    }
+
+    @Test
+    void decodingTrimsToSmallerCapacity() {
+        TopKSketch sketch = sketchOf(List.of("a", "a", "a", "b", "b", "c"));
+
+        TopKSketch decoded = TopKSketch.fromBytes(sketch.toBytes(), 2);
+
+        assertThat(decoded.total()).isEqualTo(6);
+        assertThat(decoded.top(5)).extracting(Estimate::item).containsExactly("a", "b");
+    }
+
+    // Helper methods
+
+    private static TopKSketch sketchOf(List<String> items) {
+        TopKSketch sketch = new TopKSketch(10);
+        items.forEach(sketch::add);
+        return sketch;
+    }
+
+    private static Map<String, Long> asMap(TopKSketch sketch) {
+        Map<String, Long> counts = new HashMap<>();
+        sketch.top(Integer.MAX_VALUE).forEach(estimate -> counts.put(estimate.item(), estimate.count()));
+        return counts;
+    }
+}